@@ -0,0 +1,15 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para realizar acciones sobre vértices de gráficas compactas, que
+ * se identifican por su índice.
+ */
+@FunctionalInterface
+public interface AccionVerticeCompacto {
+
+    /**
+     * Realiza una acción sobre un vértice de gráfica compacta.
+     * @param vertice el índice del vértice sobre el que se realizará la acción.
+     */
+    public void actua(int vertice);
+}
@@ -0,0 +1,51 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Interfaz para árboles de trayectorias de peso mínimo. Un árbol de
+ * trayectorias se calcula una sola vez desde un origen, y después puede
+ * regresar la distancia y la trayectoria a cualquier destino siguiendo los
+ * vértices anteriores, en tiempo proporcional a la longitud de la
+ * trayectoria.
+ */
+public interface ArbolTrayectorias<T> {
+
+    /**
+     * Regresa el elemento de origen del árbol.
+     * @return el elemento de origen del árbol.
+     * @throws IllegalStateException si el árbol ya no es válido.
+     */
+    public T getOrigen();
+
+    /**
+     * Nos dice si el destino se puede alcanzar desde el origen.
+     * @param destino el elemento de destino.
+     * @return <code>true</code> si el destino se puede alcanzar desde el
+     *         origen, <code>false</code> en otro caso.
+     * @throws NoSuchElementException si el destino no está en la gráfica.
+     * @throws IllegalStateException si el árbol ya no es válido.
+     */
+    public boolean alcanza(T destino);
+
+    /**
+     * Regresa la distancia del origen al destino.
+     * @param destino el elemento de destino.
+     * @return la distancia del origen al destino, o
+     *         {@link Double#POSITIVE_INFINITY} si no se puede alcanzar.
+     * @throws NoSuchElementException si el destino no está en la gráfica.
+     * @throws IllegalStateException si el árbol ya no es válido.
+     */
+    public double getDistancia(T destino);
+
+    /**
+     * Regresa la trayectoria del origen al destino.
+     * @param destino el elemento de destino.
+     * @return una lista con los vértices de la trayectoria, del origen al
+     *         destino. Si el destino no se puede alcanzar, regresa una lista
+     *         vacía.
+     * @throws NoSuchElementException si el destino no está en la gráfica.
+     * @throws IllegalStateException si el árbol ya no es válido.
+     */
+    public Lista<VerticeGrafica<T>> trayectoria(T destino);
+}
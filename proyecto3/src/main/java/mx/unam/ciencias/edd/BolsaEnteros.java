@@ -0,0 +1,99 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * <p>Clase para bolsas de enteros que se sacan al azar.</p>
+ *
+ * <p>Los elementos se guardan en un arreglo de enteros que crece al doble
+ * cuando se llena. Meter un elemento lo pone al final del arreglo; sacar un
+ * elemento elige una posición al azar, pone en ella el último elemento y
+ * regresa el elegido, por lo que ambas operaciones toman tiempo
+ * <i>O</i>(1) amortizado. La bolsa no guarda el orden de sus elementos y
+ * puede tener elementos repetidos.</p>
+ */
+public class BolsaEnteros {
+
+    /* Capacidad inicial del arreglo. */
+    private static final int CAPACIDAD = 16;
+
+    /* Los elementos de la bolsa. */
+    private int[] elementos;
+    /* El número de elementos en la bolsa. */
+    private int n;
+    /* Generador de números aleatorios. */
+    private Random random;
+
+    /**
+     * Construye una bolsa vacía.
+     * @param random el generador de números aleatorios con el que se eligen
+     *        los elementos que se sacan.
+     */
+    public BolsaEnteros(Random random) {
+        this(random, CAPACIDAD);
+    }
+
+    /**
+     * Construye una bolsa vacía con una capacidad inicial.
+     * @param random el generador de números aleatorios con el que se eligen
+     *        los elementos que se sacan.
+     * @param capacidad la capacidad inicial de la bolsa.
+     * @throws IllegalArgumentException si la capacidad es negativa.
+     */
+    public BolsaEnteros(Random random, int capacidad) {
+        if(capacidad < 0)
+            throw new IllegalArgumentException("Capacidad inválida.");
+        this.random = random;
+        elementos = new int[Math.max(capacidad, 1)];
+    }
+
+    /**
+     * Agrega un elemento a la bolsa.
+     * @param elemento el elemento a agregar.
+     */
+    public void mete(int elemento) {
+        if(n == elementos.length)
+            elementos = Arrays.copyOf(elementos, 2 * n);
+        elementos[n++] = elemento;
+    }
+
+    /**
+     * Elimina un elemento al azar de la bolsa y lo regresa.
+     * @return el elemento eliminado.
+     * @throws NoSuchElementException si la bolsa está vacía.
+     */
+    public int saca() {
+        if(n == 0)
+            throw new NoSuchElementException("Es vacía.");
+        int i = random.nextInt(n);
+        int elemento = elementos[i];
+        elementos[i] = elementos[--n];
+        return elemento;
+    }
+
+    /**
+     * Regresa el número de elementos en la bolsa.
+     * @return el número de elementos en la bolsa.
+     */
+    public int getElementos() {
+        return n;
+    }
+
+    /**
+     * Nos dice si la bolsa está vacía.
+     * @return <code>true</code> si la bolsa no tiene elementos,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return n == 0;
+    }
+
+    /**
+     * Vacía la bolsa, sin reducir su capacidad.
+     */
+    public void limpia() {
+        n = 0;
+    }
+}
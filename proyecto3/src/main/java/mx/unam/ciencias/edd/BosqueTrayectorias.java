@@ -0,0 +1,61 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Interfaz para bosques de trayectorias de peso mínimo. Un bosque se calcula
+ * una sola vez desde varios orígenes hacia varios destinos: cada vértice
+ * cuelga del origen más cercano, y el primer destino cuya distancia se vuelve
+ * definitiva es el ganador. Sólo los vértices con distancia definitiva se
+ * consideran alcanzados.
+ */
+public interface BosqueTrayectorias<T> {
+
+    /**
+     * Regresa el destino más cercano a alguno de los orígenes.
+     * @return el destino más cercano, o <code>null</code> si ningún destino
+     *         se puede alcanzar.
+     * @throws IllegalStateException si el bosque ya no es válido.
+     */
+    public T getGanador();
+
+    /**
+     * Nos dice si la distancia al destino es definitiva.
+     * @param destino el elemento de destino.
+     * @return <code>true</code> si la distancia al destino es definitiva,
+     *         <code>false</code> en otro caso.
+     * @throws NoSuchElementException si el destino no está en la gráfica.
+     * @throws IllegalStateException si el bosque ya no es válido.
+     */
+    public boolean alcanza(T destino);
+
+    /**
+     * Regresa la distancia del origen más cercano al destino.
+     * @param destino el elemento de destino.
+     * @return la distancia del origen más cercano al destino, o
+     *         {@link Double#POSITIVE_INFINITY} si no se alcanzó.
+     * @throws NoSuchElementException si el destino no está en la gráfica.
+     * @throws IllegalStateException si el bosque ya no es válido.
+     */
+    public double getDistancia(T destino);
+
+    /**
+     * Regresa el origen más cercano al destino.
+     * @param destino el elemento de destino.
+     * @return el origen más cercano al destino, o <code>null</code> si no se
+     *         alcanzó.
+     * @throws NoSuchElementException si el destino no está en la gráfica.
+     * @throws IllegalStateException si el bosque ya no es válido.
+     */
+    public T getOrigen(T destino);
+
+    /**
+     * Regresa la trayectoria del origen más cercano al destino.
+     * @param destino el elemento de destino.
+     * @return una lista con los vértices de la trayectoria, del origen al
+     *         destino. Si el destino no se alcanzó, regresa una lista vacía.
+     * @throws NoSuchElementException si el destino no está en la gráfica.
+     * @throws IllegalStateException si el bosque ya no es válido.
+     */
+    public Lista<VerticeGrafica<T>> trayectoria(T destino);
+}
@@ -0,0 +1,252 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+
+/**
+ * <p>Clase para búsquedas en gráficas implícitas.</p>
+ *
+ * <p>La búsqueda sólo conoce la {@link GraficaImplicita}: pide los vecinos de
+ * cada vértice en un arreglo propio y el peso de cada arista cuando la
+ * relaja, así que no hace falta construir una {@link Grafica}. Las
+ * distancias, los vértices anteriores y las marcas se guardan en arreglos de
+ * enteros que se reservan una sola vez y se reutilizan en cada búsqueda.</p>
+ */
+public class BusquedaImplicita {
+
+    /** Distancia de los vértices que no se pueden alcanzar. */
+    public static final int INFINITO = Integer.MAX_VALUE;
+    /** Vértice anterior de los vértices sin anterior. */
+    public static final int NINGUNO = -1;
+
+    /* La gráfica. */
+    private GraficaImplicita grafica;
+    /* Arreglo para los vecinos del vértice actual. */
+    private int[] vecinos;
+    /* Arreglo para los pesos de las aristas del vértice actual. */
+    private int[] pesos;
+    /* Distancia de cada vértice al origen de la última búsqueda. */
+    private int[] distancias;
+    /* Vértice anterior de cada vértice en la última búsqueda. */
+    private int[] anteriores;
+    /* Marca de la búsqueda en la que cada vértice fue alcanzado. */
+    private int[] marcas;
+    /* La marca de la última búsqueda. */
+    private int marca;
+    /* Marca del recorrido en el que cada vértice fue visitado. */
+    private int[] visitas;
+    /* La marca del último recorrido. */
+    private int visita;
+    /* Arreglo de trabajo para la cola o la pila de los recorridos. */
+    private int[] pendientes;
+    /* Montículo de vértices por distancia. */
+    private MonticuloIndexado monticulo;
+
+    /**
+     * Define el estado inicial de la búsqueda.
+     * @param grafica la gráfica implícita donde buscar.
+     */
+    public BusquedaImplicita(GraficaImplicita grafica) {
+        this.grafica = grafica;
+        int n = grafica.getElementos();
+        vecinos = new int[grafica.getGradoMaximo()];
+        pesos = new int[grafica.getGradoMaximo()];
+        distancias = new int[n];
+        anteriores = new int[n];
+        marcas = new int[n];
+        Arrays.fill(marcas, NINGUNO);
+        visitas = new int[n];
+        pendientes = new int[n];
+        monticulo = new MonticuloIndexado(n);
+    }
+
+    /**
+     * Realiza la acción recibida en todos los vértices alcanzables desde un
+     * vértice, en el orden determinado por BFS.
+     * @param origen el vértice donde comienza el recorrido.
+     * @param accion la acción a realizar.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    public void bfs(int origen, AccionVerticeCompacto accion) {
+        recorre(origen, accion);
+    }
+
+    /**
+     * Realiza la acción recibida en todos los vértices alcanzables desde un
+     * vértice, en el orden determinado por DFS.
+     * @param origen el vértice donde comienza el recorrido.
+     * @param accion la acción a realizar.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    public void dfs(int origen, AccionVerticeCompacto accion) {
+        recorreProfundidad(origen, accion);
+    }
+
+    /**
+     * Nos dice si la gráfica es conexa.
+     * @return <code>true</code> si la gráfica es conexa, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esConexa() {
+        int n = grafica.getElementos();
+        return n < 2 || recorre(0, v -> {}) == n;
+    }
+
+    /**
+     * Ejecuta el algoritmo de Dijkstra desde un vértice. Después de llamar a
+     * este método, {@link #getDistancia(int)} y {@link #getAnterior(int)}
+     * regresan la información del árbol de trayectorias mínimas desde el
+     * origen.
+     * @param origen el vértice de origen.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    public void dijkstra(int origen) {
+        busca(origen, NINGUNO);
+    }
+
+    /**
+     * Calcula una trayectoria de peso mínimo entre dos vértices. La búsqueda
+     * termina en cuanto la distancia al destino es definitiva.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return los vértices de la trayectoria, del origen al destino. Si el
+     *         destino no se puede alcanzar, regresa un arreglo vacío.
+     * @throws IndexOutOfBoundsException si alguno de los vértices es inválido.
+     */
+    public int[] dijkstra(int origen, int destino) {
+        verifica(destino);
+        busca(origen, destino);
+        return trayectoria(destino);
+    }
+
+    /**
+     * Reconstruye la trayectoria a un vértice a partir de la última búsqueda.
+     * @param destino el vértice de destino.
+     * @return los vértices de la trayectoria, del origen al destino. Si el
+     *         destino no se alcanzó, regresa un arreglo vacío.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    public int[] trayectoria(int destino) {
+        if(getDistancia(destino) == INFINITO)
+            return new int[0];
+        int n = 0;
+        for(int v = destino; v != NINGUNO; v = anteriores[v])
+            n++;
+        int[] trayectoria = new int[n];
+        for(int v = destino; v != NINGUNO; v = anteriores[v])
+            trayectoria[--n] = v;
+        return trayectoria;
+    }
+
+    /**
+     * Regresa la distancia del origen de la última búsqueda a un vértice, o
+     * {@link #INFINITO} si no se alcanzó. Si la búsqueda terminó en un
+     * destino, las distancias sólo son definitivas en su trayectoria.
+     * @param vertice el vértice.
+     * @return la distancia del origen al vértice.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    public int getDistancia(int vertice) {
+        verifica(vertice);
+        return (marcas[vertice] == marca) ? distancias[vertice] : INFINITO;
+    }
+
+    /**
+     * Regresa el vértice anterior en la trayectoria desde el origen de la
+     * última búsqueda, o {@link #NINGUNO} si el vértice es el origen o no se
+     * alcanzó.
+     * @param vertice el vértice.
+     * @return el vértice anterior.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    public int getAnterior(int vertice) {
+        verifica(vertice);
+        return (marcas[vertice] == marca) ? anteriores[vertice] : NINGUNO;
+    }
+
+    /* Ejecuta el algoritmo de Dijkstra desde el origen; si el destino no es
+     * NINGUNO, termina cuando su distancia es definitiva. */
+    private void busca(int origen, int destino) {
+        verifica(origen);
+        int m = ++marca;
+        monticulo.limpia();
+        marcas[origen] = m;
+        distancias[origen] = 0;
+        anteriores[origen] = NINGUNO;
+        monticulo.agrega(origen, 0);
+        while(!monticulo.esVacia()) {
+            int v = monticulo.elimina();
+            if(v == destino)
+                return;
+            int dv = distancias[v];
+            int grado = grafica.vecinos(v, vecinos, pesos);
+            for(int i = 0; i < grado; i++) {
+                int u = vecinos[i];
+                int d = dv + pesos[i];
+                if(marcas[u] != m) {
+                    marcas[u] = m;
+                    distancias[u] = d;
+                    anteriores[u] = v;
+                    monticulo.agrega(u, d);
+                } else if(d < distancias[u]) {
+                    distancias[u] = d;
+                    anteriores[u] = v;
+                    monticulo.actualiza(u, d);
+                }
+            }
+        }
+    }
+
+    /* Recorre en amplitud desde el origen y regresa el número de vértices
+     * visitados. */
+    private int recorre(int origen, AccionVerticeCompacto accion) {
+        verifica(origen);
+        int m = ++visita;
+        int cabeza = 0, cola = 0;
+        pendientes[cola++] = origen;
+        visitas[origen] = m;
+        while(cabeza < cola) {
+            int v = pendientes[cabeza++];
+            accion.actua(v);
+            int grado = grafica.vecinos(v, vecinos);
+            for(int i = 0; i < grado; i++) {
+                int u = vecinos[i];
+                if(visitas[u] != m) {
+                    visitas[u] = m;
+                    pendientes[cola++] = u;
+                }
+            }
+        }
+        return cola;
+    }
+
+    /* Recorre en profundidad desde el origen y regresa el número de vértices
+     * visitados. Los vértices se marcan al meterse a la pila, como en {@link
+     * Grafica#dfs}. */
+    private int recorreProfundidad(int origen, AccionVerticeCompacto accion) {
+        verifica(origen);
+        int m = ++visita;
+        int cima = 0, visitados = 0;
+        pendientes[cima++] = origen;
+        visitas[origen] = m;
+        while(cima > 0) {
+            int v = pendientes[--cima];
+            accion.actua(v);
+            visitados++;
+            int grado = grafica.vecinos(v, vecinos);
+            for(int i = 0; i < grado; i++) {
+                int u = vecinos[i];
+                if(visitas[u] != m) {
+                    visitas[u] = m;
+                    pendientes[cima++] = u;
+                }
+            }
+        }
+        return visitados;
+    }
+
+    /* Verifica que el vértice sea válido. */
+    private void verifica(int vertice) {
+        if(vertice < 0 || vertice >= distancias.length)
+            throw new IndexOutOfBoundsException("Vértice inválido: " + vertice);
+    }
+}
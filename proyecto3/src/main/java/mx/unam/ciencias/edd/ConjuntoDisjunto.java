@@ -0,0 +1,119 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Clase para bosques de conjuntos disjuntos (unión-búsqueda).</p>
+ *
+ * <p>Los elementos son los enteros en el rango [0, <i>n</i>), y al inicio
+ * cada uno está en su propio conjunto. Cada conjunto es un árbol guardado en
+ * un arreglo de padres, y su representante es la raíz. La unión cuelga el
+ * árbol de menor rango del de mayor rango, y la búsqueda comprime la
+ * trayectoria que recorre, por lo que cualquier sucesión de <i>m</i>
+ * operaciones toma tiempo <i>O</i>(<i>m</i> α(<i>n</i>)), donde α es la
+ * inversa de la función de Ackermann.</p>
+ */
+public class ConjuntoDisjunto {
+
+    /* El padre de cada elemento; las raíces son su propio padre. */
+    private int[] padres;
+    /* El rango de cada raíz, una cota superior de la altura de su árbol. */
+    private byte[] rangos;
+    /* El número de conjuntos. */
+    private int conjuntos;
+
+    /**
+     * Construye un bosque de conjuntos disjuntos con <i>n</i> elementos, cada
+     * uno en su propio conjunto.
+     * @param n el número de elementos.
+     * @throws IllegalArgumentException si <i>n</i> es negativo.
+     */
+    public ConjuntoDisjunto(int n) {
+        if(n < 0)
+            throw new IllegalArgumentException("Número de elementos inválido.");
+        padres = new int[n];
+        rangos = new byte[n];
+        for(int i = 0; i < n; i++)
+            padres[i] = i;
+        conjuntos = n;
+    }
+
+    /**
+     * Regresa el número de elementos.
+     * @return el número de elementos.
+     */
+    public int getElementos() {
+        return padres.length;
+    }
+
+    /**
+     * Regresa el número de conjuntos.
+     * @return el número de conjuntos.
+     */
+    public int getConjuntos() {
+        return conjuntos;
+    }
+
+    /**
+     * Regresa el representante del conjunto del elemento. Todos los
+     * elementos de la trayectoria al representante quedan como hijos de él.
+     * @param elemento el elemento.
+     * @return el representante del conjunto del elemento.
+     * @throws IndexOutOfBoundsException si el elemento no es válido.
+     */
+    public int busca(int elemento) {
+        verifica(elemento);
+        int raiz = elemento;
+        while(padres[raiz] != raiz)
+            raiz = padres[raiz];
+        while(padres[elemento] != raiz) {
+            int padre = padres[elemento];
+            padres[elemento] = raiz;
+            elemento = padre;
+        }
+        return raiz;
+    }
+
+    /**
+     * Nos dice si dos elementos están en el mismo conjunto.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return <code>true</code> si los elementos están en el mismo conjunto,
+     *         <code>false</code> en otro caso.
+     * @throws IndexOutOfBoundsException si alguno de los elementos no es
+     *         válido.
+     */
+    public boolean mismoConjunto(int a, int b) {
+        return busca(a) == busca(b);
+    }
+
+    /**
+     * Une los conjuntos de dos elementos.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return <code>true</code> si los elementos estaban en conjuntos
+     *         distintos, <code>false</code> en otro caso.
+     * @throws IndexOutOfBoundsException si alguno de los elementos no es
+     *         válido.
+     */
+    public boolean une(int a, int b) {
+        a = busca(a);
+        b = busca(b);
+        if(a == b)
+            return false;
+        if(rangos[a] < rangos[b]) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+        padres[b] = a;
+        if(rangos[a] == rangos[b])
+            rangos[a]++;
+        conjuntos--;
+        return true;
+    }
+
+    /* Verifica que el elemento sea válido. */
+    private void verifica(int elemento) {
+        if(elemento < 0 || elemento >= padres.length)
+            throw new IndexOutOfBoundsException("Elemento inválido: " + elemento);
+    }
+}
@@ -1,5 +1,7 @@
 package mx.unam.ciencias.edd;
 
+import java.lang.reflect.Array;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -38,6 +40,25 @@ public class Grafica<T> implements Coleccion<T> {
         private T elemento;
         /* La distancia del vértice. */
         private double distancia;
+        /* La estimación de la distancia del vértice al destino. */
+        private double heuristica;
+        /* La distancia del vértice al destino, en búsquedas hacia atrás. */
+        private double distanciaInversa;
+        /* El vértice anterior en la trayectoria desde el origen. */
+        private Vertice anterior;
+        /* El vértice siguiente en la trayectoria hacia el destino. */
+        private Vertice siguiente;
+        /* Nos dice si la distancia desde el origen es definitiva. */
+        private boolean definitivo;
+        /* La versión de la gráfica en la que el vértice fue alcanzado por
+         * última vez en una búsqueda perezosa. */
+        private int marca;
+        /* La versión de la gráfica en la que el vértice es destino de una
+         * búsqueda múltiple. */
+        private int marcaDestino;
+        /* El índice del vértice en la última numeración de los vértices; lo
+         * usan los algoritmos que guardan su estado en arreglos. */
+        private int indice;
         /* El diccionario de vecinos del vértice. */
         private Diccionario<T, Vecino> vecinos;
 
@@ -62,9 +83,35 @@ public class Grafica<T> implements Coleccion<T> {
             return vecinos;
         }
 
-        /* Compara dos vértices por distancia. */
+        /* Compara dos vértices por distancia más la estimación al destino. */
         @Override public int compareTo(Vertice vertice) {
-            return Double.compare(distancia, vertice.distancia);
+            return Double.compare(distancia + heuristica,
+                                  vertice.distancia + vertice.heuristica);
+        }
+    }
+
+    /* Clase interna privada para el estado de un vértice en la búsqueda
+     * hacia atrás de Dijkstra bidireccional. */
+    private class Reverso implements Comparable<Reverso> {
+
+        /* El vértice. */
+        private Vertice vertice;
+        /* La distancia del vértice al destino. */
+        private double distancia;
+        /* El vértice siguiente en la trayectoria hacia el destino. */
+        private Vertice siguiente;
+        /* Nos dice si la distancia al destino es definitiva. */
+        private boolean definitivo;
+
+        /* Crea el estado inverso de un vértice recién alcanzado. */
+        public Reverso(Vertice vertice) {
+            this.vertice = vertice;
+            distancia = Double.POSITIVE_INFINITY;
+        }
+
+        /* Compara dos vértices por su distancia al destino. */
+        @Override public int compareTo(Reverso reverso) {
+            return Double.compare(distancia, reverso.distancia);
         }
     }
 
@@ -99,24 +146,232 @@ public class Grafica<T> implements Coleccion<T> {
         }
     }
 
-    /* Interface para poder usar lambdas al buscar el elemento que sigue al
-     * reconstruir un camino. */
-    @FunctionalInterface
-    private interface BuscadorCamino<T> {
-        /* Regresa true si el vértice se sigue del vecino. */
-        public boolean seSiguen(Grafica<T>.Vertice v, Grafica<T>.Vecino a);
+    /* Clase interna privada para árboles de trayectorias. El árbol es una
+     * vista de las distancias y los vértices anteriores guardados en los
+     * vértices, y deja de ser válido cuando la gráfica cambia o se calcula
+     * otra trayectoria. */
+    private class Arbol implements ArbolTrayectorias<T> {
+
+        /* El vértice de origen. */
+        private Vertice origen;
+        /* La versión de la gráfica con la que se calculó el árbol. */
+        private int version;
+
+        /* Crea un árbol con el origen y la versión actual de la gráfica. */
+        public Arbol(Vertice origen) {
+            this.origen = origen;
+            version = Grafica.this.version;
+        }
+
+        /* Regresa el elemento de origen del árbol. */
+        @Override public T getOrigen() {
+            valida();
+            return origen.elemento;
+        }
+
+        /* Nos dice si el destino se puede alcanzar desde el origen. */
+        @Override public boolean alcanza(T destino) {
+            return getDistancia(destino) != Double.POSITIVE_INFINITY;
+        }
+
+        /* Regresa la distancia del origen al destino. */
+        @Override public double getDistancia(T destino) {
+            Vertice v = vertices.get(destino);
+            valida();
+            return v.distancia;
+        }
+
+        /* Regresa la trayectoria del origen al destino. */
+        @Override public Lista<VerticeGrafica<T>> trayectoria(T destino) {
+            Vertice v = vertices.get(destino);
+            valida();
+            return reconstruyeTrayectoria(v);
+        }
+
+        /* Verifica que el árbol siga siendo válido. */
+        private void valida() {
+            if(version != Grafica.this.version)
+                throw new IllegalStateException("El árbol de trayectorias ya no es válido.");
+        }
+    }
+
+    /* Clase interna privada para bosques de trayectorias. Como el árbol, es
+     * una vista de los vértices y deja de ser válida cuando la gráfica cambia
+     * o se calcula otra trayectoria. */
+    private class Bosque implements BosqueTrayectorias<T> {
+
+        /* El destino ganador. */
+        private Vertice ganador;
+        /* La marca de la búsqueda con la que se calculó el bosque. */
+        private int version;
+
+        /* Crea un bosque con el ganador y la versión actual de la gráfica. */
+        public Bosque(Vertice ganador) {
+            this.ganador = ganador;
+            version = Grafica.this.version;
+        }
+
+        /* Regresa el destino ganador. */
+        @Override public T getGanador() {
+            valida();
+            return ganador == null ? null : ganador.elemento;
+        }
+
+        /* Nos dice si la distancia al destino es definitiva. */
+        @Override public boolean alcanza(T destino) {
+            Vertice v = vertices.get(destino);
+            valida();
+            return v.marca == version && v.definitivo;
+        }
+
+        /* Regresa la distancia del origen más cercano al destino. */
+        @Override public double getDistancia(T destino) {
+            return alcanza(destino) ? vertices.get(destino).distancia
+                                    : Double.POSITIVE_INFINITY;
+        }
+
+        /* Regresa el origen más cercano al destino. */
+        @Override public T getOrigen(T destino) {
+            if(!alcanza(destino))
+                return null;
+            Vertice v = vertices.get(destino);
+            while(v.anterior != null)
+                v = v.anterior;
+            return v.elemento;
+        }
+
+        /* Regresa la trayectoria del origen más cercano al destino. */
+        @Override public Lista<VerticeGrafica<T>> trayectoria(T destino) {
+            if(!alcanza(destino))
+                return new Lista<VerticeGrafica<T>>();
+            return reconstruyeTrayectoria(vertices.get(destino));
+        }
+
+        /* Verifica que el bosque siga siendo válido. */
+        private void valida() {
+            if(version != Grafica.this.version)
+                throw new IllegalStateException("El bosque de trayectorias ya no es válido.");
+        }
+    }
+
+    /* Clase interna privada para las trayectorias candidatas del algoritmo
+     * de Yen. Dos candidatas son iguales si pasan por los mismos vértices. */
+    private class Candidata {
+
+        /* Los vértices de la trayectoria. */
+        private Vertice[] trayectoria;
+        /* El peso de la trayectoria. */
+        private double peso;
+        /* La posición del vértice de desviación. */
+        private int desvio;
+
+        /* Crea una candidata con sus vértices, su peso y su desviación. */
+        public Candidata(Vertice[] trayectoria, double peso, int desvio) {
+            this.trayectoria = trayectoria;
+            this.peso = peso;
+            this.desvio = desvio;
+        }
+
+        /* Nos dice si la candidata pasa por los mismos vértices que otra. */
+        @Override public boolean equals(Object objeto) {
+            if(objeto == null || getClass() != objeto.getClass())
+                return false;
+            @SuppressWarnings("unchecked") Candidata candidata = (Candidata)objeto;
+            return Arrays.equals(trayectoria, candidata.trayectoria);
+        }
+
+        /* Regresa la dispersión de los vértices de la candidata. */
+        @Override public int hashCode() {
+            return Arrays.hashCode(trayectoria);
+        }
     }
 
+    /* Clase interna privada para el estado de una llamada al algoritmo de
+     * Yen, en arreglos indexados por el índice de los vértices. */
+    private class EstadoYen {
+
+        /* La marca de la iteración actual. */
+        private int iteracion;
+        /* La iteración en la que cada vértice está en la trayectoria anterior. */
+        private int[] marcas;
+        /* La posición de cada vértice en la trayectoria anterior. */
+        private int[] posiciones;
+        /* La iteración en la que se calculó el cruce de cada vértice. */
+        private int[] marcasCruce;
+        /* La menor posición en la trayectoria anterior por la que pasa la
+         * trayectoria del árbol desde cada vértice. */
+        private int[] cruces;
+        /* Arreglo auxiliar con espacio para todos los vértices. */
+        private Vertice[] pila;
+
+        /* Crea el estado para los vértices numerados de 0 a n-1. */
+        public EstadoYen(int n) {
+            marcas = new int[n];
+            posiciones = new int[n];
+            marcasCruce = new int[n];
+            cruces = new int[n];
+            pila = nuevaTrayectoria(n);
+        }
+
+        /* Empieza una iteración con la trayectoria anterior recibida. */
+        public void itera(Vertice[] anterior) {
+            iteracion = ++version;
+            for(int i = 0; i < anterior.length; i++) {
+                marcas[anterior[i].indice] = iteracion;
+                posiciones[anterior[i].indice] = i;
+            }
+        }
+
+        /* Regresa la posición del vértice en la trayectoria anterior, o
+         * Integer.MAX_VALUE si no está en ella. */
+        public int posicion(Vertice v) {
+            return (marcas[v.indice] == iteracion) ? posiciones[v.indice] : Integer.MAX_VALUE;
+        }
+
+        /* Regresa la menor posición en la trayectoria anterior de los
+         * vértices por los que pasa la trayectoria del árbol desde el vértice,
+         * o Integer.MAX_VALUE si no la toca. El resultado se guarda para cada
+         * vértice recorrido, por lo que en una iteración cada vértice se
+         * recorre una sola vez. */
+        public int cruce(Vertice v) {
+            int n = 0;
+            Vertice w = v;
+            for(; w != null && marcasCruce[w.indice] != iteracion; w = w.siguiente)
+                pila[n++] = w;
+            int cruce = (w == null) ? Integer.MAX_VALUE : cruces[w.indice];
+            while(n > 0) {
+                w = pila[--n];
+                cruce = Math.min(cruce, posicion(w));
+                marcasCruce[w.indice] = iteracion;
+                cruces[w.indice] = cruce;
+            }
+            return cruces[v.indice];
+        }
+    }
+
+    /* Peso máximo para usar un montículo de cubetas en Dijkstra; también
+     * acota el número de cubetas. */
+    private static final int CUBETAS_MAXIMAS = 256;
+    /* Capacidad inicial de los montículos de las búsquedas perezosas. */
+    private static final int CAPACIDAD_PEREZOSA = 16;
+
     /* Vértices. */
     private Diccionario<T, Vertice> vertices;
     /* Número de aristas. */
     private int aristas;
+    /* Nos dice si todos los pesos asignados a las aristas son enteros. */
+    private boolean pesosEnteros;
+    /* El peso máximo asignado a una arista. */
+    private double pesoMaximo;
+    /* La versión de la gráfica; cambia al modificarla o calcular trayectorias. */
+    private int version;
 
     /**
      * Constructor único.
      */
     public Grafica() {
         vertices = new Diccionario<T, Vertice>();
+        pesosEnteros = true;
     }
 
     /**
@@ -146,6 +401,7 @@ public class Grafica<T> implements Coleccion<T> {
         if(contiene(elemento))
             throw new IllegalArgumentException("El elemento ya ha sido agregado.");
         vertices.agrega(elemento, new Vertice(elemento));
+        version++;
     }
 
     /**
@@ -181,6 +437,20 @@ public class Grafica<T> implements Coleccion<T> {
         va.vecinos.agrega(b, new Vecino(vb, peso));
         vb.vecinos.agrega(a, new Vecino(va, peso));
         aristas++;
+        version++;
+        registraPeso(peso);
+    }
+
+    /**
+     * Registra un peso asignado a una arista, para saber si todos los pesos de
+     * la gráfica son enteros pequeños. El registro es conservador: no cambia
+     * al desconectar aristas.
+     * @param peso el peso asignado.
+     */
+    private void registraPeso(double peso) {
+        if(peso != Math.rint(peso))
+            pesosEnteros = false;
+        pesoMaximo = Math.max(pesoMaximo, peso);
     }
 
     /**
@@ -222,6 +492,7 @@ public class Grafica<T> implements Coleccion<T> {
         a.vecinos.elimina(b.get());
         b.vecinos.elimina(a.get());
         aristas--;
+        version++;
     }
 
     /**
@@ -244,6 +515,7 @@ public class Grafica<T> implements Coleccion<T> {
         Vertice v = vertices.get(elemento);
         v.vecinos.forEach(u -> desconecta(v, u.vecino));
         vertices.elimina(elemento);
+        version++;
     }
 
     /**
@@ -293,6 +565,8 @@ public class Grafica<T> implements Coleccion<T> {
         if(peso <= 0 || !sonVecinos(va, vb))
             throw new IllegalArgumentException("Argumentos inválidos.");
         va.vecinos.get(b).peso = vb.vecinos.get(a).peso = peso;
+        version++;
+        registraPeso(peso);
     }
 
     /**
@@ -315,6 +589,38 @@ public class Grafica<T> implements Coleccion<T> {
         return recorre(vertices.iterator().next().get(), v -> {}, new Pila<Vertice>()) == vertices.getElementos();
     }
 
+    /**
+     * Congela la gráfica en una {@link GraficaCompacta}. El vértice con índice
+     * <i>i</i> de la gráfica compacta corresponde al <i>i</i>-ésimo elemento
+     * en el orden de iteración de esta gráfica, y los vecinos de cada vértice
+     * quedan en el orden de su diccionario. La gráfica compacta no cambia si
+     * después se modifica esta gráfica.
+     * @return la gráfica compacta equivalente a esta gráfica.
+     * @throws IllegalStateException si algún peso no es un entero entre 1 y
+     *         {@link GraficaCompacta#PESO_MAXIMO}.
+     */
+    public GraficaCompacta compacta() {
+        int[] inicios = new int[vertices.getElementos() + 1];
+        int n = 0;
+        for(Vertice v : vertices) {
+            v.indice = n;
+            inicios[n + 1] = inicios[n] + v.vecinos.getElementos();
+            n++;
+        }
+        int[] destinos = new int[inicios[n]];
+        byte[] pesos = new byte[inicios[n]];
+        int i = 0;
+        for(Vertice v : vertices) {
+            for(Vecino w : v.vecinos) {
+                if(w.peso != Math.rint(w.peso) || w.peso > GraficaCompacta.PESO_MAXIMO)
+                    throw new IllegalStateException("Peso no representable: " + w.peso);
+                destinos[i] = w.vecino.indice;
+                pesos[i++] = (byte)w.peso;
+            }
+        }
+        return new GraficaCompacta(inicios, destinos, pesos);
+    }
+
     /**
      * Realiza la acción recibida en cada uno de los vértices de la gráfica, en
      * el orden en que fueron agregados.
@@ -394,6 +700,9 @@ public class Grafica<T> implements Coleccion<T> {
     @Override public void limpia() {
         vertices.limpia();
         aristas = 0;
+        pesosEnteros = true;
+        pesoMaximo = 0;
+        version++;
     }
 
     /**
@@ -462,17 +771,27 @@ public class Grafica<T> implements Coleccion<T> {
      *         la gráfica.
      */
     public Lista<VerticeGrafica<T>> trayectoriaMinima(T origen, T destino) {
-        // Obtenemos los vértices de origen y destino.
-        Vertice s = vertices.get(origen);
         Vertice t = vertices.get(destino);
-        // Trayectoria trivial.
-        if(s.equals(t)) {
-            Lista<VerticeGrafica<T>> l = new Lista<VerticeGrafica<T>>();
-            l.agrega(s);
-            return l;
-        }
+        arbolTrayectoriasMinimas(origen);
+        return reconstruyeTrayectoria(t);
+    }
+
+    /**
+     * Calcula el árbol de trayectorias de distancia mínima desde un vértice,
+     * con búsqueda en amplitud. El árbol deja de ser válido cuando la gráfica
+     * se modifica o se calcula otra trayectoria en ella.
+     * @param origen el vértice de origen.
+     * @return el árbol de trayectorias de distancia mínima desde el origen.
+     * @throws NoSuchElementException si el origen no está en la gráfica.
+     */
+    public ArbolTrayectorias<T> arbolTrayectoriasMinimas(T origen) {
+        Vertice s = vertices.get(origen);
         // Inicializamos las distancias.
-        vertices.forEach(v -> v.distancia = Double.POSITIVE_INFINITY);
+        version++;
+        vertices.forEach(v -> {
+                v.distancia = Double.POSITIVE_INFINITY;
+                v.anterior = null;
+            });
         s.distancia = 0;
         // BFS.
         Cola<Vertice> q = new Cola<Vertice>();
@@ -482,10 +801,11 @@ public class Grafica<T> implements Coleccion<T> {
             for(Vecino u : v.vecinos)
                 if(u.vecino.distancia == Double.POSITIVE_INFINITY) {
                     u.vecino.distancia = v.distancia + 1;
+                    u.vecino.anterior = v;
                     q.mete(u.vecino);
                 }
         }
-        return reconstruyeTrayectoria(t, (v, u) -> u.vecino.distancia == v.distancia - 1);
+        return new Arbol(s);
     }
 
     /**
@@ -500,6 +820,302 @@ public class Grafica<T> implements Coleccion<T> {
      *         la gráfica.
      */
     public Lista<VerticeGrafica<T>> dijkstra(T origen, T destino) {
+        return dijkstra(origen, destino, TipoMonticulo.AUTOMATICO);
+    }
+
+    /**
+     * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
+     * de destino, usando el tipo de montículo recibido.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @param tipo el tipo de montículo a usar.
+     * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
+     *         el vértice <code>destino</code>. Si los vértices están en componentes
+     *         conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     * @throws IllegalArgumentException si se pide un montículo de cubetas y
+     *         los pesos de la gráfica no son enteros o pasan de 256.
+     */
+    public Lista<VerticeGrafica<T>> dijkstra(T origen, T destino, TipoMonticulo tipo) {
+        Vertice t = vertices.get(destino);
+        arbolDijkstra(origen, tipo);
+        return reconstruyeTrayectoria(t);
+    }
+
+    /**
+     * Calcula el árbol de trayectorias de peso mínimo desde un vértice, con
+     * el algoritmo de Dijkstra. El árbol deja de ser válido cuando la gráfica
+     * se modifica o se calcula otra trayectoria en ella.
+     * @param origen el vértice de origen.
+     * @return el árbol de trayectorias de peso mínimo desde el origen.
+     * @throws NoSuchElementException si el origen no está en la gráfica.
+     */
+    public ArbolTrayectorias<T> arbolDijkstra(T origen) {
+        return arbolDijkstra(origen, TipoMonticulo.AUTOMATICO);
+    }
+
+    /**
+     * Calcula el árbol de trayectorias de peso mínimo desde un vértice, con
+     * el algoritmo de Dijkstra y el tipo de montículo recibido. El árbol deja
+     * de ser válido cuando la gráfica se modifica o se calcula otra
+     * trayectoria en ella.
+     * @param origen el vértice de origen.
+     * @param tipo el tipo de montículo a usar.
+     * @return el árbol de trayectorias de peso mínimo desde el origen.
+     * @throws NoSuchElementException si el origen no está en la gráfica.
+     * @throws IllegalArgumentException si se pide un montículo de cubetas y
+     *         los pesos de la gráfica no son enteros o pasan de 256.
+     */
+    public ArbolTrayectorias<T> arbolDijkstra(T origen, TipoMonticulo tipo) {
+        Vertice s = vertices.get(origen);
+        // Inicializamos las distancias.
+        version++;
+        vertices.forEach(v -> {
+                v.distancia = Double.POSITIVE_INFINITY;
+                v.heuristica = 0;
+                v.anterior = null;
+            });
+        s.distancia = 0;
+        // Dijkstra.
+        MonticuloDijkstra<Vertice> m = creaMonticulo(tipo, vertices, v -> llave(v.distancia));
+        while(!m.esVacia()) {
+            Vertice v = m.elimina();
+            for(Vecino u : v.vecinos)
+                if(v.distancia + u.peso < u.vecino.distancia) {
+                    u.vecino.distancia = v.distancia + u.peso;
+                    u.vecino.anterior = v;
+                    m.reordena(u.vecino);
+                }
+        }
+        return new Arbol(s);
+    }
+
+    /**
+     * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
+     * de destino con el algoritmo de Dijkstra perezoso.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
+     *         el vértice <code>destino</code>. Si los vértices están en componentes
+     *         conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     */
+    public Lista<VerticeGrafica<T>> dijkstraPerezoso(T origen, T destino) {
+        return dijkstraPerezoso(origen, destino, TipoMonticulo.AUTOMATICO);
+    }
+
+    /**
+     * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
+     * de destino con el algoritmo de Dijkstra perezoso, usando el tipo de
+     * montículo recibido. El montículo empieza sólo con el origen, los
+     * vértices se agregan cuando son alcanzados por primera vez, y el
+     * algoritmo termina en cuanto el destino sale del montículo. Las
+     * distancias tampoco se inicializan de antemano: un vértice se inicializa
+     * al alcanzarlo, por lo que el tiempo es proporcional a la región
+     * explorada y no al tamaño de la gráfica.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @param tipo el tipo de montículo a usar.
+     * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
+     *         el vértice <code>destino</code>. Si los vértices están en componentes
+     *         conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     * @throws IllegalArgumentException si se pide un montículo de cubetas y
+     *         los pesos de la gráfica no son enteros o pasan de 256.
+     */
+    public Lista<VerticeGrafica<T>> dijkstraPerezoso(T origen, T destino,
+                                                     TipoMonticulo tipo) {
+        // Obtenemos los vértices de origen y destino.
+        Vertice s = vertices.get(origen);
+        Vertice t = vertices.get(destino);
+        // Los vértices con otra marca no han sido alcanzados en esta búsqueda.
+        int marca = ++version;
+        alcanza(s, marca);
+        s.distancia = 0;
+        // Dijkstra.
+        MonticuloDijkstra<Vertice> m = creaMonticulo(tipo, new Lista<Vertice>(), CAPACIDAD_PEREZOSA,
+                                                     v -> llave(v.distancia));
+        m.agrega(s);
+        while(!m.esVacia()) {
+            Vertice v = m.elimina();
+            if(v == t)
+                return reconstruyeTrayectoria(t);
+            for(Vecino u : v.vecinos) {
+                Vertice w = u.vecino;
+                boolean nuevo = w.marca != marca;
+                if(nuevo)
+                    alcanza(w, marca);
+                if(v.distancia + u.peso < w.distancia) {
+                    w.distancia = v.distancia + u.peso;
+                    w.anterior = v;
+                    if(nuevo)
+                        m.agrega(w);
+                    else
+                        m.reordena(w);
+                }
+            }
+        }
+        return new Lista<VerticeGrafica<T>>();
+    }
+
+    /**
+     * Inicializa un vértice alcanzado por primera vez en una búsqueda
+     * perezosa.
+     * @param v el vértice.
+     * @param marca la marca de la búsqueda.
+     */
+    private void alcanza(Vertice v, int marca) {
+        v.marca = marca;
+        v.distancia = Double.POSITIVE_INFINITY;
+        v.heuristica = 0;
+        v.anterior = null;
+        v.definitivo = false;
+    }
+
+    /**
+     * Calcula el bosque de trayectorias de peso mínimo desde varios orígenes
+     * hacia varios destinos con el algoritmo de Dijkstra perezoso.
+     * @param origenes los elementos de origen.
+     * @param destinos los elementos de destino.
+     * @param todos si es <code>true</code>, la búsqueda termina cuando todos
+     *        los destinos alcanzables son definitivos; en otro caso, termina
+     *        con el primero.
+     * @return el bosque de trayectorias; su ganador es el destino más cercano
+     *         a alguno de los orígenes.
+     * @throws NoSuchElementException si alguno de los elementos no está en la
+     *         gráfica.
+     */
+    public BosqueTrayectorias<T> dijkstraMultiple(Iterable<T> origenes,
+                                                  Iterable<T> destinos,
+                                                  boolean todos) {
+        return dijkstraMultiple(origenes, destinos, todos, TipoMonticulo.AUTOMATICO);
+    }
+
+    /**
+     * Calcula el bosque de trayectorias de peso mínimo desde varios orígenes
+     * hacia varios destinos con el algoritmo de Dijkstra perezoso, usando el
+     * tipo de montículo recibido. Todos los orígenes empiezan en el montículo
+     * con distancia cero, por lo que una sola búsqueda equivale a una búsqueda
+     * desde un origen virtual conectado a todos ellos. El primer destino que
+     * sale del montículo es el más cercano a alguno de los orígenes.
+     * @param origenes los elementos de origen.
+     * @param destinos los elementos de destino.
+     * @param todos si es <code>true</code>, la búsqueda termina cuando todos
+     *        los destinos alcanzables son definitivos; en otro caso, termina
+     *        con el primero.
+     * @param tipo el tipo de montículo a usar.
+     * @return el bosque de trayectorias; su ganador es el destino más cercano
+     *         a alguno de los orígenes.
+     * @throws NoSuchElementException si alguno de los elementos no está en la
+     *         gráfica.
+     * @throws IllegalArgumentException si se pide un montículo de cubetas y
+     *         los pesos de la gráfica no son enteros o pasan de 256.
+     */
+    public BosqueTrayectorias<T> dijkstraMultiple(Iterable<T> origenes,
+                                                  Iterable<T> destinos,
+                                                  boolean todos,
+                                                  TipoMonticulo tipo) {
+        int marca = ++version;
+        // Marcamos los destinos y contamos los distintos.
+        int pendientes = 0;
+        for(T destino : destinos) {
+            Vertice t = vertices.get(destino);
+            if(t.marcaDestino != marca) {
+                t.marcaDestino = marca;
+                pendientes++;
+            }
+        }
+        MonticuloDijkstra<Vertice> m = creaMonticulo(tipo, new Lista<Vertice>(), CAPACIDAD_PEREZOSA,
+                                                     v -> llave(v.distancia));
+        for(T origen : origenes) {
+            Vertice s = vertices.get(origen);
+            if(s.marca == marca)
+                continue;
+            alcanza(s, marca);
+            s.distancia = 0;
+            m.agrega(s);
+        }
+        // Dijkstra.
+        Vertice ganador = null;
+        while(!m.esVacia() && pendientes > 0) {
+            Vertice v = m.elimina();
+            v.definitivo = true;
+            if(v.marcaDestino == marca) {
+                if(ganador == null)
+                    ganador = v;
+                if(--pendientes == 0 || !todos)
+                    break;
+            }
+            for(Vecino u : v.vecinos) {
+                Vertice w = u.vecino;
+                boolean nuevo = w.marca != marca;
+                if(nuevo)
+                    alcanza(w, marca);
+                if(v.distancia + u.peso < w.distancia) {
+                    w.distancia = v.distancia + u.peso;
+                    w.anterior = v;
+                    if(nuevo)
+                        m.agrega(w);
+                    else
+                        m.reordena(w);
+                }
+            }
+        }
+        return new Bosque(ganador);
+    }
+
+    /**
+     * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
+     * de destino con el algoritmo A*, usando un montículo mínimo.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @param heuristica la heurística; no debe sobreestimar el peso al destino.
+     * @param paradaTemprana si es <code>true</code>, el algoritmo termina en
+     *        cuanto el destino sale del montículo; en otro caso se recorren
+     *        todos los vértices alcanzables.
+     * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
+     *         el vértice <code>destino</code>. Si los vértices están en componentes
+     *         conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     */
+    public Lista<VerticeGrafica<T>> aEstrella(T origen, T destino,
+                                              Heuristica<T> heuristica,
+                                              boolean paradaTemprana) {
+        return aEstrella(origen, destino, heuristica, paradaTemprana, TipoMonticulo.MINIMO);
+    }
+
+    /**
+     * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
+     * de destino con el algoritmo A*, usando el tipo de montículo recibido.
+     * Como en {@link #dijkstraPerezoso}, los vértices se inicializan y se
+     * agregan al montículo sólo cuando son alcanzados, y se ordenan por su
+     * distancia más la estimación de la heurística al destino. Un vértice que
+     * ya salió del montículo vuelve a entrar si se le encuentra una distancia
+     * menor, lo que sólo pasa si la heurística no es consistente. El montículo
+     * de cubetas requiere además una heurística entera y consistente.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @param heuristica la heurística; no debe sobreestimar el peso al destino.
+     * @param paradaTemprana si es <code>true</code>, el algoritmo termina en
+     *        cuanto el destino sale del montículo; en otro caso se recorren
+     *        todos los vértices alcanzables.
+     * @param tipo el tipo de montículo a usar.
+     * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
+     *         el vértice <code>destino</code>. Si los vértices están en componentes
+     *         conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     * @throws IllegalArgumentException si se pide un montículo de cubetas y
+     *         los pesos de la gráfica no son enteros o pasan de 256.
+     */
+    public Lista<VerticeGrafica<T>> aEstrella(T origen, T destino,
+                                              Heuristica<T> heuristica,
+                                              boolean paradaTemprana,
+                                              TipoMonticulo tipo) {
         // Obtenemos los vértices de origen y destino.
         Vertice s = vertices.get(origen);
         Vertice t = vertices.get(destino);
@@ -509,44 +1125,525 @@ public class Grafica<T> implements Coleccion<T> {
             l.agrega(s);
             return l;
         }
-        // Inicializamos las distancias.
-        vertices.forEach(v -> v.distancia = Double.POSITIVE_INFINITY);
+        // Los vértices con otra marca no han sido alcanzados en esta búsqueda.
+        int marca = ++version;
+        alcanza(s, marca);
         s.distancia = 0;
-        // Dijkstra.
-        // Usamos un montículo de arreglo si el número de aristas es mayor a n(n-1)/2 - n.
-        // En otro caso, usamos un montículo mínimo.
-        int n = vertices.getElementos();
-        int b = (((n - 1) * n) >> 1 )- n;
-        MonticuloDijkstra<Vertice> m = (aristas > b) ? new MonticuloArreglo<Vertice>(vertices, vertices.getElementos()) : new MonticuloMinimo<Vertice>(vertices, vertices.getElementos());
+        s.heuristica = heuristica.estima(origen, destino);
+        // El origen va en los elementos iniciales, para que las cubetas empiecen en su prioridad.
+        Lista<Vertice> inicial = new Lista<Vertice>();
+        inicial.agrega(s);
+        // Con la heurística, la prioridad de un vecino crece hasta el doble del peso de la arista.
+        MonticuloDijkstra<Vertice> m = creaMonticulo(tipo, inicial, CAPACIDAD_PEREZOSA, 2,
+                                                     v -> llave(v.distancia + v.heuristica));
         while(!m.esVacia()) {
             Vertice v = m.elimina();
-            for(Vecino u : v.vecinos)
-                if(v.distancia + u.peso < u.vecino.distancia) {
-                    u.vecino.distancia = v.distancia + u.peso;
-                    m.reordena(u.vecino);
+            v.definitivo = true;
+            if(paradaTemprana && v == t)
+                break;
+            for(Vecino u : v.vecinos) {
+                Vertice w = u.vecino;
+                boolean nuevo = w.marca != marca;
+                if(nuevo) {
+                    alcanza(w, marca);
+                    w.heuristica = heuristica.estima(w.elemento, destino);
                 }
+                if(v.distancia + u.peso < w.distancia) {
+                    w.distancia = v.distancia + u.peso;
+                    w.anterior = v;
+                    if(nuevo || w.definitivo) {
+                        w.definitivo = false;
+                        m.agrega(w);
+                    } else {
+                        m.reordena(w);
+                    }
+                }
+            }
         }
-        return reconstruyeTrayectoria(t, (v, u) -> u.vecino.distancia == v.distancia - u.peso);
+        if(t.marca != marca)
+            return new Lista<VerticeGrafica<T>>();
+        return reconstruyeTrayectoria(t);
     }
 
     /**
-     * Reconstruye una trayectoria de vértices a partir de un vértice final y un
-     * buscador de camino.
+     * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
+     * de destino con el algoritmo de Dijkstra bidireccional.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
+     *         el vértice <code>destino</code>. Si los vértices están en componentes
+     *         conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     */
+    public Lista<VerticeGrafica<T>> dijkstraBidireccional(T origen, T destino) {
+        return dijkstraBidireccional(origen, destino, TipoMonticulo.AUTOMATICO);
+    }
+
+    /**
+     * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
+     * de destino con el algoritmo de Dijkstra bidireccional. Se alternan una
+     * búsqueda desde el origen y otra desde el destino, cada una con su propio
+     * montículo del tipo recibido, y se termina cuando un vértice es definitivo
+     * en ambas búsquedas. La trayectoria pasa por la arista que minimiza la
+     * distancia desde el origen más el peso más la distancia al destino. Como
+     * en {@link #dijkstraPerezoso}, los vértices entran a los montículos cuando
+     * se alcanzan, y el estado de la búsqueda hacia atrás se guarda en un
+     * diccionario de la llamada, por lo que sólo se tocan los vértices
+     * alcanzados por alguna de las dos búsquedas.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @param tipo el tipo de montículo a usar en ambas búsquedas.
+     * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
+     *         el vértice <code>destino</code>. Si los vértices están en componentes
+     *         conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     * @throws IllegalArgumentException si se pide un montículo de cubetas y
+     *         los pesos de la gráfica no son enteros o pasan de 256.
+     */
+    public Lista<VerticeGrafica<T>> dijkstraBidireccional(T origen, T destino,
+                                                          TipoMonticulo tipo) {
+        // Obtenemos los vértices de origen y destino.
+        Vertice s = vertices.get(origen);
+        Vertice t = vertices.get(destino);
+        Lista<VerticeGrafica<T>> l = new Lista<VerticeGrafica<T>>();
+        // Trayectoria trivial.
+        if(s.equals(t)) {
+            l.agrega(s);
+            return l;
+        }
+        // Hacia adelante, los vértices con otra marca no han sido alcanzados;
+        // hacia atrás, los que no están en el diccionario.
+        int marca = ++version;
+        alcanza(s, marca);
+        s.distancia = 0;
+        Diccionario<Vertice, Reverso> reversos = new Diccionario<Vertice, Reverso>();
+        Reverso r = new Reverso(t);
+        r.distancia = 0;
+        reversos.agrega(t, r);
+        MonticuloDijkstra<Vertice> mo = creaMonticulo(tipo, new Lista<Vertice>(), CAPACIDAD_PEREZOSA,
+                                                      v -> llave(v.distancia));
+        MonticuloDijkstra<Reverso> md = creaMonticulo(tipo, new Lista<Reverso>(), CAPACIDAD_PEREZOSA,
+                                                      x -> llave(x.distancia));
+        mo.agrega(s);
+        md.agrega(r);
+        // Mejor distancia encontrada y la arista donde se encuentran las búsquedas.
+        double mejor = Double.POSITIVE_INFINITY;
+        Vertice a = null;
+        Reverso b = null;
+        while(!mo.esVacia() && !md.esVacia()) {
+            // Paso hacia adelante.
+            Vertice v = mo.elimina();
+            v.definitivo = true;
+            for(Vecino u : v.vecinos) {
+                Vertice w = u.vecino;
+                boolean nuevo = w.marca != marca;
+                if(nuevo)
+                    alcanza(w, marca);
+                if(v.distancia + u.peso < w.distancia) {
+                    w.distancia = v.distancia + u.peso;
+                    w.anterior = v;
+                    if(nuevo)
+                        mo.agrega(w);
+                    else
+                        mo.reordena(w);
+                }
+                Reverso x = reversos.contiene(w) ? reversos.get(w) : null;
+                if(x != null && v.distancia + u.peso + x.distancia < mejor) {
+                    mejor = v.distancia + u.peso + x.distancia;
+                    a = v;
+                    b = x;
+                }
+            }
+            if(reversos.contiene(v) && reversos.get(v).definitivo)
+                break;
+            // Paso hacia atrás.
+            Reverso x = md.elimina();
+            x.definitivo = true;
+            for(Vecino u : x.vertice.vecinos) {
+                Vertice w = u.vecino;
+                Reverso y = reversos.contiene(w) ? reversos.get(w) : null;
+                boolean nuevo = y == null;
+                if(nuevo) {
+                    y = new Reverso(w);
+                    reversos.agrega(w, y);
+                }
+                if(x.distancia + u.peso < y.distancia) {
+                    y.distancia = x.distancia + u.peso;
+                    y.siguiente = x.vertice;
+                    if(nuevo)
+                        md.agrega(y);
+                    else
+                        md.reordena(y);
+                }
+                if(w.marca == marca && w.distancia + u.peso + x.distancia < mejor) {
+                    mejor = w.distancia + u.peso + x.distancia;
+                    a = w;
+                    b = x;
+                }
+            }
+            if(x.vertice.marca == marca && x.vertice.definitivo)
+                break;
+        }
+        if(mejor == Double.POSITIVE_INFINITY)
+            return l;
+        for(Vertice v = a; v != null; v = v.anterior)
+            l.agregaInicio(v);
+        for(Vertice v = b.vertice; v != null; v = reversos.get(v).siguiente)
+            l.agrega(v);
+        return l;
+    }
+
+    /**
+     * Calcula las <i>k</i> trayectorias sin ciclos de menor peso entre el
+     * elemento de origen y el elemento de destino, con el algoritmo de Yen.
+     *
+     * El árbol de trayectorias de peso mínimo hacia el destino se calcula una
+     * sola vez y se reutiliza en todas las desviaciones. Cada desviación se
+     * busca con A*, usando las distancias del árbol como heurística, que nunca
+     * sobreestiman porque bloquear vértices y aristas sólo alarga las
+     * trayectorias. La búsqueda termina en cuanto sale del montículo un
+     * vértice cuya trayectoria en el árbol no toca la raíz de la desviación:
+     * para ese vértice la heurística es exacta, y la desviación sigue el árbol
+     * desde ahí. Las candidatas se guardan en un montículo indexado con llaves
+     * primitivas; de cada trayectoria aceptada sólo se calculan las
+     * desviaciones a partir de la suya (Lawler), y una desviación se abandona
+     * en cuanto pesa más que la peor de las candidatas que todavía podrían
+     * aceptarse.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @param k el número de trayectorias.
+     * @return una lista con a lo más <i>k</i> trayectorias sin ciclos, en orden
+     *         de peso no decreciente. Si los vértices están en componentes
+     *         conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     * @throws IllegalArgumentException si <i>k</i> no es positivo.
+     */
+    public Lista<Lista<VerticeGrafica<T>>> yen(T origen, T destino, int k) {
+        if(k < 1)
+            throw new IllegalArgumentException("El número de trayectorias debe ser positivo.");
+        Vertice s = vertices.get(origen);
+        Vertice t = vertices.get(destino);
+        Lista<Lista<VerticeGrafica<T>>> l = new Lista<Lista<VerticeGrafica<T>>>();
+        // Árbol de trayectorias hacia el destino.
+        arbolDijkstra(destino);
+        int n = 0;
+        for(Vertice v : vertices) {
+            v.distanciaInversa = v.distancia;
+            v.siguiente = v.anterior;
+            v.indice = n++;
+        }
+        if(s.distanciaInversa == Double.POSITIVE_INFINITY)
+            return l;
+        Candidata[] aceptadas = nuevasCandidatas(k);
+        aceptadas[0] = new Candidata(trayectoriaArbol(s), s.distanciaInversa, 0);
+        Conjunto<Candidata> vistas = new Conjunto<Candidata>();
+        vistas.agrega(aceptadas[0]);
+        Candidata[] candidatas = nuevasCandidatas(CAPACIDAD_PEREZOSA);
+        n = 0;
+        MonticuloIndexado m = new MonticuloIndexado(CAPACIDAD_PEREZOSA);
+        // Las mejores candidatas que faltan, con la peor hasta arriba.
+        MonticuloIndexado mejores = new MonticuloIndexado(CAPACIDAD_PEREZOSA);
+        int[] prefijos = new int[k];
+        Lista<Vertice> bloqueadas = new Lista<Vertice>();
+        EstadoYen estado = new EstadoYen(vertices.getElementos());
+        int j = 1;
+        for(; j < k; j++) {
+            int restantes = k - j;
+            while(mejores.getElementos() > restantes)
+                mejores.elimina();
+            Vertice[] anterior = aceptadas[j - 1].trayectoria;
+            // Longitud del prefijo común de cada trayectoria aceptada con la anterior.
+            for(int a = 0; a < j; a++)
+                prefijos[a] = prefijoComun(aceptadas[a].trayectoria, anterior);
+            estado.itera(anterior);
+            // Las desviaciones antes de la de la anterior ya se calcularon (Lawler).
+            int inicio = aceptadas[j - 1].desvio;
+            double raiz = 0;
+            for(int i = 1; i <= inicio; i++)
+                raiz += anterior[i - 1].vecinos.get(anterior[i].elemento).peso;
+            for(int i = inicio; i < anterior.length - 1; i++) {
+                Vertice desvio = anterior[i];
+                if(i > inicio)
+                    raiz += anterior[i - 1].vecinos.get(desvio.elemento).peso;
+                // Bloqueamos las aristas de las aceptadas que comparten la raíz.
+                bloqueadas.limpia();
+                for(int a = 0; a < j; a++)
+                    if(prefijos[a] > i && aceptadas[a].trayectoria.length > i + 1)
+                        bloqueadas.agrega(aceptadas[a].trayectoria[i + 1]);
+                // Si ya hay suficientes candidatas, las desviaciones más pesadas no sirven.
+                double cota = (mejores.getElementos() == restantes) ?
+                    candidatas[mejores.minimo()].peso : Double.POSITIVE_INFINITY;
+                Vertice[] desviacion = desvia(desvio, t, estado, i, bloqueadas,
+                                              cota - raiz);
+                if(desviacion == null)
+                    continue;
+                Vertice[] trayectoria = nuevaTrayectoria(i + desviacion.length);
+                System.arraycopy(anterior, 0, trayectoria, 0, i);
+                System.arraycopy(desviacion, 0, trayectoria, i, desviacion.length);
+                Candidata c = new Candidata(trayectoria, raiz + t.distancia, i);
+                if(vistas.contiene(c))
+                    continue;
+                vistas.agrega(c);
+                if(n == candidatas.length)
+                    candidatas = Arrays.copyOf(candidatas, 2 * n);
+                candidatas[n] = c;
+                m.agrega(n, Double.doubleToLongBits(c.peso));
+                mejores.agrega(n++, -Double.doubleToLongBits(c.peso));
+                if(mejores.getElementos() > restantes)
+                    mejores.elimina();
+            }
+            if(m.esVacia())
+                break;
+            int elegida = m.elimina();
+            if(mejores.contiene(elegida))
+                mejores.elimina(elegida);
+            aceptadas[j] = candidatas[elegida];
+        }
+        for(int a = 0; a < j; a++) {
+            Lista<VerticeGrafica<T>> trayectoria = new Lista<VerticeGrafica<T>>();
+            for(Vertice v : aceptadas[a].trayectoria)
+                trayectoria.agrega(v);
+            l.agrega(trayectoria);
+        }
+        return l;
+    }
+
+    /**
+     * Regresa la trayectoria del árbol hacia el destino que empieza en el
+     * vértice recibido, siguiendo los vértices siguientes.
+     * @param v el vértice inicial.
+     * @return los vértices de la trayectoria.
+     */
+    private Vertice[] trayectoriaArbol(Vertice v) {
+        int n = 0;
+        for(Vertice w = v; w != null; w = w.siguiente)
+            n++;
+        Vertice[] trayectoria = nuevaTrayectoria(n);
+        n = 0;
+        for(Vertice w = v; w != null; w = w.siguiente)
+            trayectoria[n++] = w;
+        return trayectoria;
+    }
+
+    /**
+     * Regresa la longitud del prefijo común de dos trayectorias.
+     * @param a la primera trayectoria.
+     * @param b la segunda trayectoria.
+     * @return el número de vértices iniciales en los que coinciden.
+     */
+    private int prefijoComun(Vertice[] a, Vertice[] b) {
+        int i = 0;
+        while(i < a.length && i < b.length && a[i] == b[i])
+            i++;
+        return i;
+    }
+
+    /**
+     * Calcula la desviación de peso mínimo de un vértice de la trayectoria
+     * anterior al destino, sin pasar por los vértices anteriores a él en la
+     * trayectoria ni salir de él por las aristas bloqueadas. Al terminar, la
+     * distancia del destino es el peso de la desviación.
+     * @param desvio el vértice de desviación.
+     * @param t el vértice destino.
+     * @param estado el estado de la llamada al algoritmo de Yen.
+     * @param i la posición del vértice de desviación en la trayectoria anterior.
+     * @param bloqueadas los vecinos del vértice de desviación a los que no se
+     *        puede ir directamente.
+     * @param cota el peso máximo de una desviación que todavía sirve.
+     * @return los vértices de la desviación, del vértice de desviación al
+     *         destino; o <code>null</code> si no hay desviación con peso
+     *         menor o igual a la cota.
+     */
+    private Vertice[] desvia(Vertice desvio, Vertice t, EstadoYen estado, int i,
+                             Lista<Vertice> bloqueadas, double cota) {
+        int marca = ++version;
+        alcanza(desvio, marca);
+        desvio.distancia = 0;
+        desvio.heuristica = desvio.distanciaInversa;
+        // A*, con las distancias del árbol como heurística.
+        Lista<Vertice> inicial = new Lista<Vertice>();
+        inicial.agrega(desvio);
+        // Con la heurística, la prioridad de un vecino crece hasta el doble del peso de la arista.
+        MonticuloDijkstra<Vertice> m = (pesosEnteros && pesoMaximo <= CUBETAS_MAXIMAS) ?
+            new MonticuloCubetas<Vertice>(inicial, CAPACIDAD_PEREZOSA,
+                                          2 * Math.max(1, (int)pesoMaximo),
+                                          v -> llave(v.distancia + v.heuristica)) :
+            new MonticuloMinimo<Vertice>(inicial, CAPACIDAD_PEREZOSA);
+        Vertice libre = null;
+        while(!m.esVacia()) {
+            Vertice v = m.elimina();
+            if(v.distancia + v.heuristica > cota)
+                break;
+            boolean arbol = (v == desvio) ?
+                !bloqueadas.contiene(v.siguiente) && estado.cruce(v.siguiente) > i :
+                estado.cruce(v) > i;
+            if(arbol) {
+                libre = v;
+                break;
+            }
+            for(Vecino u : v.vecinos) {
+                Vertice w = u.vecino;
+                if(estado.posicion(w) <= i ||
+                   w.distanciaInversa == Double.POSITIVE_INFINITY ||
+                   (v == desvio && bloqueadas.contiene(w)) ||
+                   v.distancia + u.peso + w.distanciaInversa > cota)
+                    continue;
+                boolean nuevo = w.marca != marca;
+                if(nuevo) {
+                    alcanza(w, marca);
+                    w.heuristica = w.distanciaInversa;
+                }
+                if(v.distancia + u.peso < w.distancia) {
+                    w.distancia = v.distancia + u.peso;
+                    w.anterior = v;
+                    if(nuevo)
+                        m.agrega(w);
+                    else
+                        m.reordena(w);
+                }
+            }
+        }
+        if(libre == null)
+            return null;
+        if(t.marca != marca)
+            alcanza(t, marca);
+        t.distancia = libre.distancia + libre.distanciaInversa;
+        // La desviación sigue los anteriores hasta el vértice libre, y el árbol desde ahí.
+        int subida = 0;
+        for(Vertice v = libre; v != null; v = v.anterior)
+            subida++;
+        int n = subida;
+        for(Vertice v = libre.siguiente; v != null; v = v.siguiente)
+            n++;
+        Vertice[] desviacion = nuevaTrayectoria(n);
+        n = subida;
+        for(Vertice v = libre; v != null; v = v.anterior)
+            desviacion[--n] = v;
+        for(Vertice v = libre.siguiente; v != null; v = v.siguiente)
+            desviacion[subida++] = v;
+        return desviacion;
+    }
+
+    /* Crea un arreglo de vértices; no podemos usar new porque la clase de
+     * los vértices es genérica. */
+    @SuppressWarnings("unchecked") private Vertice[] nuevaTrayectoria(int n) {
+        return (Vertice[])Array.newInstance(Vertice.class, n);
+    }
+
+    /* Crea un arreglo de candidatas del algoritmo de Yen. */
+    @SuppressWarnings("unchecked") private Candidata[] nuevasCandidatas(int n) {
+        return (Candidata[])Array.newInstance(Candidata.class, n);
+    }
+
+    /**
+     * Crea un montículo para los algoritmos de trayectorias de peso mínimo. Si
+     * el tipo es automático y todos los pesos son enteros pequeños, usamos un
+     * montículo de cubetas; si el número de aristas es mayor a n(n-1)/2 - n,
+     * usamos un montículo de arreglo; y en otro caso, usamos un montículo
+     * mínimo.
+     * @param <E> el tipo de los elementos del montículo.
+     * @param tipo el tipo de montículo.
+     * @param iterable los elementos del montículo, uno por vértice.
+     * @param prioridad la prioridad entera de los elementos, para el montículo
+     *        de cubetas.
+     * @return el montículo.
+     * @throws IllegalArgumentException si se pide un montículo de cubetas y
+     *         los pesos de la gráfica no son enteros o pasan de 256.
+     */
+    private <E extends Comparable<E>> MonticuloDijkstra<E>
+    creaMonticulo(TipoMonticulo tipo, Iterable<E> iterable, Prioridad<E> prioridad) {
+        return creaMonticulo(tipo, iterable, vertices.getElementos(), prioridad);
+    }
+
+    /**
+     * Crea un montículo para los algoritmos de trayectorias de peso mínimo,
+     * con la capacidad inicial recibida. El tipo de montículo se elige como en
+     * {@link #creaMonticulo(TipoMonticulo,Iterable,Prioridad)}.
+     * @param <E> el tipo de los elementos del montículo.
+     * @param tipo el tipo de montículo.
+     * @param iterable los elementos iniciales del montículo.
+     * @param capacidad la capacidad inicial del montículo.
+     * @param prioridad la prioridad entera de los elementos, para el montículo
+     *        de cubetas.
+     * @return el montículo.
+     * @throws IllegalArgumentException si se pide un montículo de cubetas y
+     *         los pesos de la gráfica no son enteros o pasan de 256.
+     */
+    private <E extends Comparable<E>> MonticuloDijkstra<E>
+    creaMonticulo(TipoMonticulo tipo, Iterable<E> iterable, int capacidad,
+                  Prioridad<E> prioridad) {
+        return creaMonticulo(tipo, iterable, capacidad, 1, prioridad);
+    }
+
+    /**
+     * Crea un montículo para los algoritmos de trayectorias de peso mínimo,
+     * con la capacidad inicial recibida y el rango de las cubetas igual a un
+     * múltiplo del peso máximo. El tipo de montículo se elige como en
+     * {@link #creaMonticulo(TipoMonticulo,Iterable,Prioridad)}.
+     * @param <E> el tipo de los elementos del montículo.
+     * @param tipo el tipo de montículo.
+     * @param iterable los elementos iniciales del montículo.
+     * @param capacidad la capacidad inicial del montículo.
+     * @param factor el número de pesos máximos en los que pueden diferir las
+     *        prioridades del montículo.
+     * @param prioridad la prioridad entera de los elementos, para el montículo
+     *        de cubetas.
+     * @return el montículo.
+     * @throws IllegalArgumentException si se pide un montículo de cubetas y
+     *         los pesos de la gráfica no son enteros o pasan de 256.
+     */
+    private <E extends Comparable<E>> MonticuloDijkstra<E>
+    creaMonticulo(TipoMonticulo tipo, Iterable<E> iterable, int capacidad,
+                  int factor, Prioridad<E> prioridad) {
+        int n = vertices.getElementos();
+        if(tipo == TipoMonticulo.AUTOMATICO) {
+            int b = (((n - 1) * n) >> 1 )- n;
+            if(pesosEnteros && pesoMaximo <= CUBETAS_MAXIMAS)
+                tipo = TipoMonticulo.CUBETAS;
+            else
+                tipo = (aristas > b) ? TipoMonticulo.ARREGLO : TipoMonticulo.MINIMO;
+        }
+        switch(tipo) {
+            case CUBETAS:
+                if(!pesosEnteros)
+                    throw new IllegalArgumentException("Los pesos de la gráfica no son enteros.");
+                if(pesoMaximo > CUBETAS_MAXIMAS)
+                    throw new IllegalArgumentException("Los pesos de la gráfica son " +
+                                                       "demasiado grandes para cubetas.");
+                return new MonticuloCubetas<E>(iterable, capacidad,
+                                               factor * Math.max(1, (int)pesoMaximo),
+                                               prioridad);
+            case ARREGLO:
+                return new MonticuloArreglo<E>(iterable, capacidad);
+            default:
+                return new MonticuloMinimo<E>(iterable, capacidad);
+        }
+    }
+
+    /**
+     * Regresa la llave entera de una distancia para el montículo de cubetas.
+     * @param distancia la distancia.
+     * @return la llave entera de la distancia.
+     */
+    private static int llave(double distancia) {
+        return (distancia == Double.POSITIVE_INFINITY) ? MonticuloCubetas.INFINITO : (int)distancia;
+    }
+
+    /**
+     * Reconstruye la trayectoria de vértices que termina en el vértice
+     * recibido, siguiendo los vértices anteriores desde el final.
      * @param v el vértice final.
-     * @param buscador el buscador de camino.
-     * @return una lista con la trayectoria de vértices.
+     * @return una lista con la trayectoria de vértices; si el vértice final
+     *         no se alcanzó, una lista vacía.
      */
-    private Lista<VerticeGrafica<T>> reconstruyeTrayectoria(Vertice v, BuscadorCamino<T> buscador) {
+    private Lista<VerticeGrafica<T>> reconstruyeTrayectoria(Vertice v) {
         Lista<VerticeGrafica<T>> l = new Lista<VerticeGrafica<T>>();
         if(v.distancia == Double.POSITIVE_INFINITY) return l;
-        l.agrega(v);
-        while(v.distancia != 0)
-            for(Vecino u : v.vecinos)
-                if(buscador.seSiguen(v, u)) {
-                    l.agregaInicio(u.vecino);
-                    v = u.vecino;
-                    break;
-                }
+        for(; v != null; v = v.anterior)
+            l.agregaInicio(v);
         return l;
     }
 }
@@ -0,0 +1,286 @@
+package mx.unam.ciencias.edd;
+
+import java.util.Arrays;
+
+/**
+ * <p>Clase para gráficas congeladas en formato de renglones dispersos
+ * comprimidos (CSR).</p>
+ *
+ * <p>Los vértices son los enteros en el rango [0, <i>n</i>). Los vecinos del
+ * vértice <i>v</i> ocupan las posiciones [<code>inicios[v]</code>,
+ * <code>inicios[v+1]</code>) de los arreglos <code>destinos</code> y
+ * <code>pesos</code>, por lo que recorrer las aristas de un vértice es leer
+ * memoria contigua. Los pesos son enteros sin signo de un byte, entre 1 y
+ * 255. Una arista no dirigida se guarda una vez en cada sentido.</p>
+ *
+ * <p>La gráfica también es una {@link GraficaImplicita}, y sus recorridos y
+ * búsquedas son los de una {@link BusquedaImplicita} propia, que lee los
+ * vecinos y los pesos de cada vértice directamente de los arreglos.</p>
+ *
+ * <p>La gráfica no se puede modificar después de construirla. Los arreglos
+ * de las búsquedas se reservan una sola vez, por lo que una gráfica compacta
+ * no debe usarse desde varios hilos al mismo tiempo.</p>
+ */
+public class GraficaCompacta implements GraficaImplicita {
+
+    /** Distancia de los vértices que no se pueden alcanzar. */
+    public static final int INFINITO = BusquedaImplicita.INFINITO;
+    /** Vértice anterior de los vértices sin anterior. */
+    public static final int NINGUNO = BusquedaImplicita.NINGUNO;
+    /** El peso máximo de una arista. */
+    public static final int PESO_MAXIMO = 0xFF;
+
+    /* Inicio de los vecinos de cada vértice; tiene n+1 entradas. */
+    private int[] inicios;
+    /* Vértice destino de cada arco. */
+    private int[] destinos;
+    /* Peso de cada arco, sin signo. */
+    private byte[] pesos;
+    /* El mayor número de vecinos de un vértice. */
+    private int gradoMaximo;
+
+    /* La búsqueda de los recorridos y de Dijkstra. */
+    private BusquedaImplicita busqueda;
+
+    /**
+     * Construye una gráfica compacta a partir de sus arreglos, que no se
+     * copian. Los vecinos del vértice <i>v</i> son
+     * <code>destinos[inicios[v]]</code>, …,
+     * <code>destinos[inicios[v+1]-1]</code>.
+     * @param inicios el inicio de los vecinos de cada vértice, con una
+     *        entrada final igual al número de arcos.
+     * @param destinos el vértice destino de cada arco.
+     * @param pesos el peso de cada arco, como entero sin signo.
+     * @throws IllegalArgumentException si los arreglos son inconsistentes o
+     *         algún peso es cero.
+     */
+    public GraficaCompacta(int[] inicios, int[] destinos, byte[] pesos) {
+        if(inicios.length == 0 || inicios[0] != 0 ||
+           destinos.length != pesos.length ||
+           inicios[inicios.length - 1] != destinos.length)
+            throw new IllegalArgumentException("Arreglos inconsistentes.");
+        int n = inicios.length - 1;
+        for(int v = 0; v < n; v++) {
+            if(inicios[v] > inicios[v + 1])
+                throw new IllegalArgumentException("Arreglos inconsistentes.");
+            gradoMaximo = Math.max(gradoMaximo, inicios[v + 1] - inicios[v]);
+        }
+        for(int i = 0; i < destinos.length; i++)
+            if(destinos[i] < 0 || destinos[i] >= n || pesos[i] == 0)
+                throw new IllegalArgumentException("Arco inválido: " + i);
+        this.inicios = inicios;
+        this.destinos = destinos;
+        this.pesos = pesos;
+        busqueda = new BusquedaImplicita(this);
+    }
+
+    /**
+     * Regresa el número de vértices de la gráfica.
+     * @return el número de vértices de la gráfica.
+     */
+    @Override public int getElementos() {
+        return inicios.length - 1;
+    }
+
+    /**
+     * Regresa el número de arcos de la gráfica; cada arista no dirigida cuenta
+     * como dos arcos.
+     * @return el número de arcos de la gráfica.
+     */
+    public int getArcos() {
+        return destinos.length;
+    }
+
+    /**
+     * Regresa el grado de un vértice.
+     * @param vertice el vértice.
+     * @return el número de vecinos del vértice.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    public int getGrado(int vertice) {
+        verifica(vertice);
+        return inicios[vertice + 1] - inicios[vertice];
+    }
+
+    /**
+     * Regresa el mayor número de vecinos de un vértice.
+     * @return el grado máximo de la gráfica.
+     */
+    @Override public int getGradoMaximo() {
+        return gradoMaximo;
+    }
+
+    /**
+     * Escribe los vecinos de un vértice al inicio del arreglo recibido.
+     * @param vertice el vértice.
+     * @param vecinos el arreglo donde escribir los vecinos.
+     * @return el número de vecinos escritos.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    @Override public int vecinos(int vertice, int[] vecinos) {
+        int grado = getGrado(vertice);
+        System.arraycopy(destinos, inicios[vertice], vecinos, 0, grado);
+        return grado;
+    }
+
+    /**
+     * Escribe los vecinos de un vértice y los pesos de sus arcos al inicio de
+     * los arreglos recibidos.
+     * @param vertice el vértice.
+     * @param vecinos el arreglo donde escribir los vecinos.
+     * @param pesos el arreglo donde escribir los pesos.
+     * @return el número de vecinos escritos.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    @Override public int vecinos(int vertice, int[] vecinos, int[] pesos) {
+        int grado = getGrado(vertice);
+        int inicio = inicios[vertice];
+        for(int i = 0; i < grado; i++) {
+            vecinos[i] = destinos[inicio + i];
+            pesos[i] = this.pesos[inicio + i] & PESO_MAXIMO;
+        }
+        return grado;
+    }
+
+    /**
+     * Nos dice si hay un arco entre dos vértices.
+     * @param a el vértice de origen.
+     * @param b el vértice de destino.
+     * @return <code>true</code> si b es vecino de a, <code>false</code> en
+     *         otro caso.
+     * @throws IndexOutOfBoundsException si alguno de los vértices es inválido.
+     */
+    public boolean sonVecinos(int a, int b) {
+        return arco(a, b) != NINGUNO;
+    }
+
+    /**
+     * Regresa el peso del arco entre dos vértices.
+     * @param a el vértice de origen.
+     * @param b el vértice de destino.
+     * @return el peso del arco de a a b.
+     * @throws IndexOutOfBoundsException si alguno de los vértices es inválido.
+     * @throws IllegalArgumentException si a y b no están conectados.
+     */
+    @Override public int getPeso(int a, int b) {
+        int i = arco(a, b);
+        if(i == NINGUNO)
+            throw new IllegalArgumentException("Los vértices no están conectados.");
+        return pesos[i] & PESO_MAXIMO;
+    }
+
+    /**
+     * Realiza la acción recibida en todos los vértices alcanzables desde un
+     * vértice, en el orden determinado por BFS.
+     * @param origen el vértice donde comienza el recorrido.
+     * @param accion la acción a realizar.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    public void bfs(int origen, AccionVerticeCompacto accion) {
+        busqueda.bfs(origen, accion);
+    }
+
+    /**
+     * Realiza la acción recibida en todos los vértices alcanzables desde un
+     * vértice, en el orden determinado por DFS.
+     * @param origen el vértice donde comienza el recorrido.
+     * @param accion la acción a realizar.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    public void dfs(int origen, AccionVerticeCompacto accion) {
+        busqueda.dfs(origen, accion);
+    }
+
+    /**
+     * Nos dice si la gráfica es conexa.
+     * @return <code>true</code> si la gráfica es conexa, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esConexa() {
+        return busqueda.esConexa();
+    }
+
+    /**
+     * Ejecuta el algoritmo de Dijkstra desde un vértice. Después de llamar a
+     * este método, {@link #getDistancia(int)} y {@link #getAnterior(int)}
+     * regresan la información del árbol de trayectorias mínimas desde el
+     * origen.
+     * @param origen el vértice de origen.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    public void dijkstra(int origen) {
+        busqueda.dijkstra(origen);
+    }
+
+    /**
+     * Calcula una trayectoria de peso mínimo entre dos vértices. La búsqueda
+     * termina en cuanto la distancia al destino es definitiva.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return los vértices de la trayectoria, del origen al destino. Si el
+     *         destino no se puede alcanzar, regresa un arreglo vacío.
+     * @throws IndexOutOfBoundsException si alguno de los vértices es inválido.
+     */
+    public int[] dijkstra(int origen, int destino) {
+        return busqueda.dijkstra(origen, destino);
+    }
+
+    /**
+     * Reconstruye la trayectoria a un vértice a partir de la última búsqueda.
+     * @param destino el vértice de destino.
+     * @return los vértices de la trayectoria, del origen al destino. Si el
+     *         destino no se alcanzó, regresa un arreglo vacío.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    public int[] trayectoria(int destino) {
+        return busqueda.trayectoria(destino);
+    }
+
+    /**
+     * Regresa la distancia del origen de la última búsqueda a un vértice, o
+     * {@link #INFINITO} si no se alcanzó. Si la búsqueda terminó en un
+     * destino, las distancias sólo son definitivas en su trayectoria.
+     * @param vertice el vértice.
+     * @return la distancia del origen al vértice.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    public int getDistancia(int vertice) {
+        return busqueda.getDistancia(vertice);
+    }
+
+    /**
+     * Regresa el vértice anterior en la trayectoria desde el origen de la
+     * última búsqueda, o {@link #NINGUNO} si el vértice es el origen o no se
+     * alcanzó.
+     * @param vertice el vértice.
+     * @return el vértice anterior.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    public int getAnterior(int vertice) {
+        return busqueda.getAnterior(vertice);
+    }
+
+    /**
+     * Regresa una representación en cadena de la gráfica.
+     * @return una representación en cadena de la gráfica.
+     */
+    @Override public String toString() {
+        return "{" + Arrays.toString(inicios) + ", " + Arrays.toString(destinos) + "}";
+    }
+
+    /* Regresa la posición del arco de a a b, o NINGUNO si no existe. */
+    private int arco(int a, int b) {
+        verifica(a);
+        verifica(b);
+        for(int i = inicios[a]; i < inicios[a + 1]; i++)
+            if(destinos[i] == b)
+                return i;
+        return NINGUNO;
+    }
+
+    /* Verifica que el vértice sea válido. */
+    private void verifica(int vertice) {
+        if(vertice < 0 || vertice >= inicios.length - 1)
+            throw new IndexOutOfBoundsException("Vértice inválido: " + vertice);
+    }
+}
@@ -0,0 +1,610 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para gráficas con pesos enteros.</p>
+ *
+ * <p>Los pesos de las aristas y las distancias de los vértices son enteros,
+ * por lo que las distancias son exactas y compararlas es barato. Cada vértice
+ * tiene un índice entre 0 y el número de vértices, y el algoritmo de Dijkstra
+ * usa un {@link MonticuloIndexado} con llaves primitivas sobre esos índices.
+ * Las trayectorias se reconstruyen con el vértice anterior de cada vértice,
+ * sin comparar distancias.</p>
+ *
+ * <p>Los vértices de la gráfica implementan {@link VerticeGrafica}, igual que
+ * los de {@link Grafica}.</p>
+ */
+public class GraficaEntera<T> implements Coleccion<T> {
+
+    /** Distancia de los vértices que no se pueden alcanzar. */
+    public static final int INFINITO = Integer.MAX_VALUE;
+
+    /* Clase interna privada para iteradores. */
+    private class Iterador implements Iterator<T> {
+
+        /* Índice del siguiente vértice. */
+        private int siguiente;
+
+        /* Nos dice si hay un siguiente elemento. */
+        @Override public boolean hasNext() {
+            return siguiente < elementos;
+        }
+
+        /* Regresa el siguiente elemento. */
+        @Override public T next() {
+            if(siguiente >= elementos)
+                throw new NoSuchElementException("No hay siguiente elemento.");
+            return indices[siguiente++].elemento;
+        }
+    }
+
+    /* Clase interna privada para vértices. */
+    private class Vertice implements VerticeGrafica<T> {
+
+        /* El elemento del vértice. */
+        private T elemento;
+        /* El índice del vértice. */
+        private int indice;
+        /* La distancia del vértice. */
+        private int distancia;
+        /* El vértice anterior en la trayectoria desde el origen. */
+        private Vertice anterior;
+        /* La versión de la gráfica en la que el vértice fue alcanzado por
+         * última vez. */
+        private int marca;
+        /* La lista de vecinos del vértice. */
+        private Lista<Vecino> vecinos;
+
+        /* Crea un nuevo vértice a partir de un elemento y su índice. */
+        public Vertice(T elemento, int indice) {
+            this.elemento = elemento;
+            this.indice = indice;
+            vecinos = new Lista<Vecino>();
+        }
+
+        /* Regresa el elemento del vértice. */
+        @Override public T get() {
+            return elemento;
+        }
+
+        /* Regresa el grado del vértice. */
+        @Override public int getGrado() {
+            return vecinos.getElementos();
+        }
+
+        /* Regresa un iterable para los vecinos. */
+        @Override public Iterable<? extends VerticeGrafica<T>> vecinos() {
+            return vecinos;
+        }
+
+        /* Regresa el vecino con el vértice recibido, o null si no lo es. */
+        private Vecino vecino(Vertice v) {
+            for(Vecino u : vecinos)
+                if(u.vecino == v)
+                    return u;
+            return null;
+        }
+    }
+
+    /* Clase interna privada para vértices vecinos. */
+    private class Vecino implements VerticeGrafica<T> {
+
+        /* El vértice vecino. */
+        public Vertice vecino;
+        /* El peso de la arista conectando al vértice con su vértice vecino. */
+        public int peso;
+
+        /* Construye un nuevo vecino con el vértice recibido como vecino y el
+         * peso especificado. */
+        public Vecino(Vertice vecino, int peso) {
+            this.vecino = vecino;
+            this.peso = peso;
+        }
+
+        /* Regresa el elemento del vecino. */
+        @Override public T get() {
+            return vecino.get();
+        }
+
+        /* Regresa el grado del vecino. */
+        @Override public int getGrado() {
+            return vecino.getGrado();
+        }
+
+        /* Regresa un iterable para los vecinos del vecino. */
+        @Override public Iterable<? extends VerticeGrafica<T>> vecinos() {
+            return vecino.vecinos();
+        }
+    }
+
+    /* Capacidad inicial del arreglo de vértices. */
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    /* Vértices por elemento. */
+    private Diccionario<T, Vertice> vertices;
+    /* Vértices por índice. */
+    private Vertice[] indices;
+    /* Número de vértices. */
+    private int elementos;
+    /* Número de aristas. */
+    private int aristas;
+    /* La versión de la gráfica; cambia con cada búsqueda. */
+    private int version;
+    /* Montículo de las búsquedas, reutilizado entre búsquedas. */
+    private MonticuloIndexado monticulo;
+
+    /**
+     * Constructor único.
+     */
+    public GraficaEntera() {
+        vertices = new Diccionario<T, Vertice>();
+        indices = nuevoArreglo(CAPACIDAD_INICIAL);
+        monticulo = new MonticuloIndexado(CAPACIDAD_INICIAL);
+    }
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private Vertice[] nuevoArreglo(int n) {
+        return (Vertice[])Array.newInstance(Vertice.class, n);
+    }
+
+    /**
+     * Regresa el número de elementos en la gráfica. El número de elementos es
+     * igual al número de vértices.
+     * @return el número de elementos en la gráfica.
+     */
+    @Override public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Regresa el número de aristas.
+     * @return el número de aristas.
+     */
+    public int getAristas() {
+        return aristas;
+    }
+
+    /**
+     * Agrega un nuevo elemento a la gráfica.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento ya había sido agregado a
+     *         la gráfica.
+     */
+    @Override public void agrega(T elemento) {
+        if(contiene(elemento))
+            throw new IllegalArgumentException("El elemento ya ha sido agregado.");
+        Vertice v = new Vertice(elemento, elementos);
+        vertices.agrega(elemento, v);
+        if(elementos == indices.length) {
+            Vertice[] nuevos = nuevoArreglo(2 * elementos);
+            System.arraycopy(indices, 0, nuevos, 0, elementos);
+            indices = nuevos;
+        }
+        indices[elementos++] = v;
+    }
+
+    /**
+     * Conecta dos elementos de la gráfica. Los elementos deben estar en la
+     * gráfica. El peso de la arista que conecte a los elementos será 1.
+     * @param a el primer elemento a conectar.
+     * @param b el segundo elemento a conectar.
+     * @throws NoSuchElementException si a o b no son elementos de la gráfica.
+     * @throws IllegalArgumentException si a o b ya están conectados, o si a es
+     *         igual a b.
+     */
+    public void conecta(T a, T b) {
+        conecta(a, b, 1);
+    }
+
+    /**
+     * Conecta dos elementos de la gráfica. Los elementos deben estar en la
+     * gráfica.
+     * @param a el primer elemento a conectar.
+     * @param b el segundo elemento a conectar.
+     * @param peso el peso de la nueva arista.
+     * @throws NoSuchElementException si a o b no son elementos de la gráfica.
+     * @throws IllegalArgumentException si a o b ya están conectados, si a es
+     *         igual a b, o si el peso es no positivo.
+     */
+    public void conecta(T a, T b, int peso) {
+        if(a.equals(b) || peso <= 0)
+            throw new IllegalArgumentException("Argumentos inválidos.");
+        Vertice va = vertices.get(a);
+        Vertice vb = vertices.get(b);
+        if(va.vecino(vb) != null)
+            throw new IllegalArgumentException("Los elementos ya están conectados.");
+        va.vecinos.agrega(new Vecino(vb, peso));
+        vb.vecinos.agrega(new Vecino(va, peso));
+        aristas++;
+    }
+
+    /**
+     * Desconecta dos elementos de la gráfica. Los elementos deben estar en la
+     * gráfica y estar conectados entre ellos.
+     * @param a el primer elemento a desconectar.
+     * @param b el segundo elemento a desconectar.
+     * @throws NoSuchElementException si a o b no son elementos de la gráfica.
+     * @throws IllegalArgumentException si a o b no están conectados.
+     */
+    public void desconecta(T a, T b) {
+        Vertice va = vertices.get(a);
+        Vertice vb = vertices.get(b);
+        if(va.vecino(vb) == null)
+            throw new IllegalArgumentException("Los elementos no están conectados.");
+        desconecta(va, vb);
+    }
+
+    /**
+     * Elimina la arista que conecta dos vértices conectados de la gráfica.
+     * @param a el primer vértice.
+     * @param b el segundo vértice.
+     */
+    private void desconecta(Vertice a, Vertice b) {
+        a.vecinos.elimina(a.vecino(b));
+        b.vecinos.elimina(b.vecino(a));
+        aristas--;
+    }
+
+    /**
+     * Nos dice si el elemento está contenido en la gráfica.
+     * @return <code>true</code> si el elemento está contenido en la gráfica,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean contiene(T elemento) {
+        return vertices.contiene(elemento);
+    }
+
+    /**
+     * Elimina un elemento de la gráfica. El elemento tiene que estar contenido
+     * en la gráfica. El último vértice toma el índice del eliminado.
+     * @param elemento el elemento a eliminar.
+     * @throws NoSuchElementException si el elemento no está contenido en la
+     *         gráfica.
+     */
+    @Override public void elimina(T elemento) {
+        Vertice v = vertices.get(elemento);
+        while(!v.vecinos.esVacia())
+            desconecta(v, v.vecinos.getPrimero().vecino);
+        vertices.elimina(elemento);
+        Vertice ultimo = indices[--elementos];
+        indices[v.indice] = ultimo;
+        ultimo.indice = v.indice;
+        indices[elementos] = null;
+    }
+
+    /**
+     * Nos dice si dos elementos de la gráfica están conectados. Los elementos
+     * deben estar en la gráfica.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return <code>true</code> si a y b son vecinos, <code>false</code> en otro caso.
+     * @throws NoSuchElementException si a o b no son elementos de la gráfica.
+     */
+    public boolean sonVecinos(T a, T b) {
+        return vertices.get(a).vecino(vertices.get(b)) != null;
+    }
+
+    /**
+     * Regresa el peso de la arista que comparten los vértices que contienen a
+     * los elementos recibidos.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @return el peso de la arista que comparten los vértices que contienen a
+     *         los elementos recibidos.
+     * @throws NoSuchElementException si a o b no son elementos de la gráfica.
+     * @throws IllegalArgumentException si a o b no están conectados.
+     */
+    public int getPeso(T a, T b) {
+        Vecino u = vertices.get(a).vecino(vertices.get(b));
+        if(u == null)
+            throw new IllegalArgumentException("Los elementos no están conectados.");
+        return u.peso;
+    }
+
+    /**
+     * Define el peso de la arista que comparten los vértices que contienen a
+     * los elementos recibidos.
+     * @param a el primer elemento.
+     * @param b el segundo elemento.
+     * @param peso el nuevo peso de la arista que comparten los vértices que
+     *        contienen a los elementos recibidos.
+     * @throws NoSuchElementException si a o b no son elementos de la gráfica.
+     * @throws IllegalArgumentException si a o b no están conectados, o si peso
+     *         es menor o igual que cero.
+     */
+    public void setPeso(T a, T b, int peso) {
+        Vertice va = vertices.get(a);
+        Vertice vb = vertices.get(b);
+        Vecino u = va.vecino(vb);
+        if(peso <= 0 || u == null)
+            throw new IllegalArgumentException("Argumentos inválidos.");
+        u.peso = vb.vecino(va).peso = peso;
+    }
+
+    /**
+     * Regresa el vértice correspondiente el elemento recibido.
+     * @param elemento el elemento del que queremos el vértice.
+     * @throws NoSuchElementException si elemento no es elemento de la gráfica.
+     * @return el vértice correspondiente el elemento recibido.
+     */
+    public VerticeGrafica<T> vertice(T elemento) {
+        return vertices.get(elemento);
+    }
+
+    /**
+     * Nos dice si la gráfica es conexa.
+     * @return <code>true</code> si la gráfica es conexa, <code>false</code> en
+     *         otro caso.
+     */
+    public boolean esConexa() {
+        if(elementos < 2)
+            return true;
+        return recorre(indices[0], v -> {}, new Pila<Vertice>()) == elementos;
+    }
+
+    /**
+     * Realiza la acción recibida en cada uno de los vértices de la gráfica, en
+     * el orden de sus índices.
+     * @param accion la acción a realizar.
+     */
+    public void paraCadaVertice(AccionVerticeGrafica<T> accion) {
+        for(int i = 0; i < elementos; i++)
+            accion.actua(indices[i]);
+    }
+
+    /**
+     * Realiza la acción recibida en todos los vértices de la gráfica, en el
+     * orden determinado por BFS, comenzando por el vértice correspondiente al
+     * elemento recibido.
+     * @param elemento el elemento sobre cuyo vértice queremos comenzar el
+     *        recorrido.
+     * @param accion la acción a realizar.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     */
+    public void bfs(T elemento, AccionVerticeGrafica<T> accion) {
+        recorre(vertices.get(elemento), accion, new Cola<Vertice>());
+    }
+
+    /**
+     * Realiza la acción recibida en todos los vértices de la gráfica, en el
+     * orden determinado por DFS, comenzando por el vértice correspondiente al
+     * elemento recibido.
+     * @param elemento el elemento sobre cuyo vértice queremos comenzar el
+     *        recorrido.
+     * @param accion la acción a realizar.
+     * @throws NoSuchElementException si el elemento no está en la gráfica.
+     */
+    public void dfs(T elemento, AccionVerticeGrafica<T> accion) {
+        recorre(vertices.get(elemento), accion, new Pila<Vertice>());
+    }
+
+    /**
+     * Realiza la acción recibida en todos los vértices alcanzables desde el
+     * vértice recibido, en el orden determinado por la estructura dada. Los
+     * vértices visitados se marcan con la versión del recorrido.
+     * @param v el vértice donde comienza el recorrido.
+     * @param accion la acción a realizar.
+     * @param meteSaca la estructura de datos que se utilizará para recorrer la gráfica.
+     * @return el número de vértices visitados.
+     */
+    private int recorre(Vertice v, AccionVerticeGrafica<T> accion, MeteSaca<Vertice> meteSaca) {
+        int marca = ++version;
+        v.marca = marca;
+        meteSaca.mete(v);
+        int visitados = 1;
+        while(!meteSaca.esVacia()) {
+            Vertice u = meteSaca.saca();
+            accion.actua(u);
+            for(Vecino w : u.vecinos)
+                if(w.vecino.marca != marca) {
+                    w.vecino.marca = marca;
+                    meteSaca.mete(w.vecino);
+                    visitados++;
+                }
+        }
+        return visitados;
+    }
+
+    /**
+     * Nos dice si la gráfica es vacía.
+     * @return <code>true</code> si la gráfica es vacía, <code>false</code> en
+     *         otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Limpia la gráfica de vértices y aristas, dejándola vacía.
+     */
+    @Override public void limpia() {
+        vertices.limpia();
+        for(int i = 0; i < elementos; i++)
+            indices[i] = null;
+        elementos = 0;
+        aristas = 0;
+    }
+
+    /**
+     * Regresa una representación en cadena de la gráfica.
+     * @return una representación en cadena de la gráfica.
+     */
+    @Override public String toString() {
+        StringBuilder sbVertices = new StringBuilder();
+        StringBuilder sbAristas = new StringBuilder();
+        for(int i = 0; i < elementos; i++) {
+            Vertice v = indices[i];
+            sbVertices.append(v.get() + ", ");
+            for(Vecino w : v.vecinos)
+                if(w.vecino.indice > i)
+                    sbAristas.append("(" + v.get() + ", " + w.get() + "), ");
+        }
+        return "{" + sbVertices + "}, {" + sbAristas + "}";
+    }
+
+    /**
+     * Nos dice si la gráfica es igual al objeto recibido.
+     * @param objeto el objeto con el que hay que comparar.
+     * @return <code>true</code> si la gráfica es igual al objeto recibido;
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean equals(Object objeto) {
+        if(objeto == null || getClass() != objeto.getClass())
+            return false;
+        @SuppressWarnings("unchecked") GraficaEntera<T> grafica = (GraficaEntera<T>)objeto;
+        if(elementos != grafica.elementos || aristas != grafica.aristas)
+            return false;
+        for(int i = 0; i < elementos; i++) {
+            Vertice v = indices[i];
+            if(!grafica.contiene(v.elemento))
+                return false;
+            for(Vecino u : v.vecinos)
+                if(!grafica.sonVecinos(v.elemento, u.get()))
+                    return false;
+        }
+        return true;
+    }
+
+    /**
+     * Regresa la dispersión de la gráfica. Como {@link #equals}, no depende
+     * del orden de los vértices ni de los pesos de las aristas.
+     * @return la dispersión de la gráfica.
+     */
+    @Override public int hashCode() {
+        int dispersion = aristas;
+        for(int i = 0; i < elementos; i++)
+            dispersion += indices[i].elemento.hashCode();
+        return dispersion;
+    }
+
+    /**
+     * Regresa un iterador para iterar la gráfica, en el orden de los índices
+     * de sus vértices.
+     * @return un iterador para iterar la gráfica.
+     */
+    @Override public Iterator<T> iterator() {
+        return new Iterador();
+    }
+
+    /**
+     * Calcula una trayectoria de distancia mínima entre dos vértices, con
+     * búsqueda en amplitud.
+     * @param origen el vértice de origen.
+     * @param destino el vértice de destino.
+     * @return una lista con vértices de la gráfica, tal que forman una
+     *         trayectoria de distancia mínima entre los vértices. Si los
+     *         elementos se encuentran en componentes conexas distintas,
+     *         regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     */
+    public Lista<VerticeGrafica<T>> trayectoriaMinima(T origen, T destino) {
+        Vertice s = vertices.get(origen);
+        Vertice t = vertices.get(destino);
+        int marca = ++version;
+        alcanza(s, marca);
+        s.distancia = 0;
+        Cola<Vertice> q = new Cola<Vertice>();
+        q.mete(s);
+        while(!q.esVacia()) {
+            Vertice v = q.saca();
+            if(v == t)
+                break;
+            for(Vecino u : v.vecinos)
+                if(u.vecino.marca != marca) {
+                    alcanza(u.vecino, marca);
+                    u.vecino.distancia = v.distancia + 1;
+                    u.vecino.anterior = v;
+                    q.mete(u.vecino);
+                }
+        }
+        return reconstruyeTrayectoria(t, marca);
+    }
+
+    /**
+     * Calcula la ruta de peso mínimo entre el elemento de origen y el elemento
+     * de destino con el algoritmo de Dijkstra. Sólo se inicializan los
+     * vértices alcanzados, y la búsqueda termina en cuanto la distancia al
+     * destino es definitiva.
+     * @param origen el vértice origen.
+     * @param destino el vértice destino.
+     * @return una trayectoria de peso mínimo entre el vértice <code>origen</code> y
+     *         el vértice <code>destino</code>. Si los vértices están en componentes
+     *         conexas distintas, regresa una lista vacía.
+     * @throws NoSuchElementException si alguno de los dos elementos no está en
+     *         la gráfica.
+     */
+    public Lista<VerticeGrafica<T>> dijkstra(T origen, T destino) {
+        Vertice s = vertices.get(origen);
+        Vertice t = vertices.get(destino);
+        int marca = ++version;
+        alcanza(s, marca);
+        s.distancia = 0;
+        monticulo.limpia();
+        monticulo.agrega(s.indice, 0);
+        while(!monticulo.esVacia()) {
+            Vertice v = indices[monticulo.elimina()];
+            if(v == t)
+                break;
+            for(Vecino u : v.vecinos) {
+                Vertice w = u.vecino;
+                if(w.marca != marca)
+                    alcanza(w, marca);
+                int d = v.distancia + u.peso;
+                if(d < w.distancia) {
+                    w.distancia = d;
+                    w.anterior = v;
+                    monticulo.actualiza(w.indice, d);
+                }
+            }
+        }
+        return reconstruyeTrayectoria(t, marca);
+    }
+
+    /**
+     * Regresa la distancia a un vértice calculada por la última búsqueda, ya
+     * sea {@link #dijkstra} o {@link #trayectoriaMinima}. Como la búsqueda
+     * termina al llegar a su destino, la distancia sólo es definitiva para los
+     * vértices de la trayectoria que regresó.
+     * @param destino el elemento de destino.
+     * @return la distancia del origen de la última búsqueda al destino, o
+     *         {@link #INFINITO} si no se alcanzó.
+     * @throws NoSuchElementException si el destino no está en la gráfica.
+     */
+    public int getDistancia(T destino) {
+        Vertice t = vertices.get(destino);
+        return (t.marca == version) ? t.distancia : INFINITO;
+    }
+
+    /**
+     * Inicializa un vértice alcanzado por primera vez en una búsqueda.
+     * @param v el vértice.
+     * @param marca la marca de la búsqueda.
+     */
+    private void alcanza(Vertice v, int marca) {
+        v.marca = marca;
+        v.distancia = INFINITO;
+        v.anterior = null;
+    }
+
+    /**
+     * Reconstruye la trayectoria al destino con los vértices anteriores.
+     * @param t el vértice de destino.
+     * @param marca la marca de la búsqueda.
+     * @return la trayectoria del origen al destino, o una lista vacía si el
+     *         destino no se alcanzó.
+     */
+    private Lista<VerticeGrafica<T>> reconstruyeTrayectoria(Vertice t, int marca) {
+        Lista<VerticeGrafica<T>> trayectoria = new Lista<VerticeGrafica<T>>();
+        if(t.marca != marca || t.distancia == INFINITO)
+            return trayectoria;
+        for(Vertice v = t; v != null; v = v.anterior)
+            trayectoria.agregaInicio(v);
+        return trayectoria;
+    }
+}
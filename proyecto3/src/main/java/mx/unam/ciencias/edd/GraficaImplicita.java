@@ -0,0 +1,68 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * <p>Interfaz para gráficas implícitas, cuyos vecinos y pesos se calculan
+ * cuando se necesitan en lugar de guardarse en una estructura.</p>
+ *
+ * <p>Los vértices son los enteros en el rango [0, {@link #getElementos()}).
+ * Los vecinos de un vértice se escriben en un arreglo que proporciona quien
+ * llama, de al menos {@link #getGradoMaximo()} entradas, por lo que
+ * recorrer la gráfica no crea objetos.</p>
+ */
+public interface GraficaImplicita {
+
+    /**
+     * Regresa el número de vértices de la gráfica.
+     * @return el número de vértices de la gráfica.
+     */
+    public int getElementos();
+
+    /**
+     * Regresa el mayor número de vecinos que puede tener un vértice, es
+     * decir, el tamaño mínimo del arreglo para {@link #vecinos}.
+     * @return el grado máximo de la gráfica.
+     */
+    public int getGradoMaximo();
+
+    /**
+     * Escribe los vecinos de un vértice al inicio del arreglo recibido.
+     * @param vertice el vértice.
+     * @param vecinos el arreglo donde escribir los vecinos; debe tener al
+     *        menos {@link #getGradoMaximo()} entradas.
+     * @return el número de vecinos escritos.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    public int vecinos(int vertice, int[] vecinos);
+
+    /**
+     * Escribe los vecinos de un vértice al inicio del arreglo recibido, y el
+     * peso de la arista hacia cada uno en la misma posición del arreglo de
+     * pesos. Por omisión pide cada peso a {@link #getPeso}; las gráficas que
+     * conocen los pesos al calcular los vecinos pueden escribirlos
+     * directamente.
+     * @param vertice el vértice.
+     * @param vecinos el arreglo donde escribir los vecinos; debe tener al
+     *        menos {@link #getGradoMaximo()} entradas.
+     * @param pesos el arreglo donde escribir los pesos; debe tener al menos
+     *        {@link #getGradoMaximo()} entradas.
+     * @return el número de vecinos escritos.
+     * @throws IndexOutOfBoundsException si el vértice es inválido.
+     */
+    default public int vecinos(int vertice, int[] vecinos, int[] pesos) {
+        int grado = vecinos(vertice, vecinos);
+        for(int i = 0; i < grado; i++)
+            pesos[i] = getPeso(vertice, vecinos[i]);
+        return grado;
+    }
+
+    /**
+     * Regresa el peso de la arista entre dos vértices vecinos. El peso es
+     * positivo.
+     * @param a el vértice de origen.
+     * @param b el vértice de destino.
+     * @return el peso de la arista de a a b.
+     * @throws IndexOutOfBoundsException si alguno de los vértices es inválido.
+     * @throws IllegalArgumentException si a y b no son vecinos.
+     */
+    public int getPeso(int a, int b);
+}
@@ -0,0 +1,19 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para heurísticas de búsqueda en gráficas. Una heurística estima
+ * el peso de una trayectoria de peso mínimo entre dos elementos.
+ */
+@FunctionalInterface
+public interface Heuristica<T> {
+
+    /**
+     * Estima el peso de una trayectoria de peso mínimo entre dos elementos.
+     * Para que el algoritmo A* regrese trayectorias de peso mínimo, la
+     * estimación no debe ser mayor que el peso real.
+     * @param elemento el elemento de origen.
+     * @param destino el elemento de destino.
+     * @return la estimación del peso entre los elementos.
+     */
+    public double estima(T elemento, T destino);
+}
@@ -41,6 +41,25 @@ public class MonticuloArreglo<T extends Comparable<T>>
         iterable.forEach(e -> arreglo[elementos++] = e);
     }
 
+    /**
+     * Agrega un elemento al montículo, en el primer lugar libre del arreglo.
+     * Si el arreglo está lleno, se duplica su tamaño.
+     * @param elemento el elemento a agregar.
+     */
+    @Override public void agrega(T elemento) {
+        int i = 0;
+        while(i < arreglo.length && arreglo[i] != null)
+            i++;
+        if(i == arreglo.length) {
+            T[] nuevo = nuevoArreglo(Math.max(1, arreglo.length << 1));
+            for(int j = 0; j < arreglo.length; j++)
+                nuevo[j] = arreglo[j];
+            arreglo = nuevo;
+        }
+        arreglo[i] = elemento;
+        elementos++;
+    }
+
     /**
      * Elimina el elemento mínimo del montículo.
      * @return el elemento mínimo del montículo.
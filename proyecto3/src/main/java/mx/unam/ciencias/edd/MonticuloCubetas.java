@@ -0,0 +1,221 @@
+package mx.unam.ciencias.edd;
+
+import java.lang.reflect.Array;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para montículos de Dijkstra con cubetas (algoritmo de Dial).</p>
+ *
+ * <p>El montículo sirve cuando las prioridades son enteros no negativos y, en
+ * todo momento, las prioridades finitas de los elementos en el montículo están
+ * entre la última prioridad eliminada y ésta más un rango fijo, como ocurre en
+ * el algoritmo de Dijkstra cuando los pesos son enteros entre 1 y el rango.
+ * Las cubetas forman un arreglo circular de <i>rango</i>+1 listas; agregar y
+ * reordenar toman tiempo <i>O</i>(1), y eliminar el mínimo toma tiempo
+ * <i>O</i>(<i>rango</i>) en el peor caso.</p>
+ *
+ * <p>Los elementos con prioridad {@link #INFINITO} se guardan aparte, y sólo
+ * se eliminan cuando ya no hay elementos con prioridad finita.</p>
+ */
+public class MonticuloCubetas<T extends Comparable<T>>
+    implements MonticuloDijkstra<T> {
+
+    /** Prioridad de los elementos que aún no son alcanzables. */
+    public static final int INFINITO = Integer.MAX_VALUE;
+
+    /* Clase interna privada para nodos de las cubetas. */
+    private class Nodo {
+
+        /* El elemento del nodo. */
+        private T elemento;
+        /* La prioridad con la que se guardó el elemento. */
+        private int llave;
+        /* Nos dice si el nodo está en el montículo. */
+        private boolean contenido;
+        /* El nodo anterior en la cubeta. */
+        private Nodo anterior;
+        /* El nodo siguiente en la cubeta. */
+        private Nodo siguiente;
+
+        /* Construye un nodo con un elemento. */
+        public Nodo(T elemento) {
+            this.elemento = elemento;
+        }
+    }
+
+    /* Número de elementos en el montículo. */
+    private int elementos;
+    /* Las cubetas del montículo. */
+    private Nodo[] cubetas;
+    /* La cubeta de elementos con prioridad infinita. */
+    private Nodo infinitos;
+    /* La última prioridad eliminada, cota inferior de las prioridades. */
+    private int actual;
+    /* Los nodos de cada elemento. */
+    private Diccionario<T, Nodo> nodos;
+    /* La prioridad de los elementos. */
+    private Prioridad<T> prioridad;
+
+    /* Truco para crear arreglos genéricos. Es necesario hacerlo así por cómo
+       Java implementa sus genéricos; de otra forma obtenemos advertencias del
+       compilador. */
+    @SuppressWarnings("unchecked") private Nodo[] nuevoArreglo(int n) {
+        return (Nodo[])Array.newInstance(Nodo.class, n);
+    }
+
+    /**
+     * Construye un montículo de cubetas a partir de un iterable.
+     * @param iterable el iterable a partir de la cual construir el montículo.
+     * @param n el número de elementos en el iterable.
+     * @param rango la diferencia máxima entre las prioridades finitas de los
+     *              elementos del montículo.
+     * @param prioridad la prioridad de los elementos.
+     * @throws IllegalArgumentException si el rango es negativo, o si las
+     *         prioridades finitas de los elementos difieren en más del rango.
+     */
+    public MonticuloCubetas(Iterable<T> iterable, int n, int rango,
+                            Prioridad<T> prioridad) {
+        if(rango < 0)
+            throw new IllegalArgumentException("Rango inválido.");
+        this.prioridad = prioridad;
+        cubetas = nuevoArreglo(rango + 1);
+        nodos = new Diccionario<T, Nodo>(n);
+        actual = INFINITO;
+        for(T e : iterable)
+            actual = Math.min(actual, prioridad.prioridad(e));
+        if(actual == INFINITO)
+            actual = 0;
+        for(T e : iterable)
+            agrega(e);
+    }
+
+    /**
+     * Agrega un elemento al montículo.
+     * @param elemento el elemento a agregar.
+     * @throws IllegalArgumentException si el elemento ya está en el montículo,
+     *         o si su prioridad está fuera del rango de las cubetas.
+     */
+    public void agrega(T elemento) {
+        Nodo nodo = nodos.contiene(elemento) ? nodos.get(elemento) : null;
+        if(nodo != null && nodo.contenido)
+            throw new IllegalArgumentException("El elemento ya está en el montículo.");
+        if(nodo == null) {
+            nodo = new Nodo(elemento);
+            nodos.agrega(elemento, nodo);
+        }
+        inserta(nodo);
+        elementos++;
+    }
+
+    /**
+     * Elimina el elemento mínimo del montículo.
+     * @return el elemento mínimo del montículo.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    @Override public T elimina() {
+        if(elementos == 0)
+            throw new IllegalStateException("El montículo es vacío.");
+        Nodo nodo = infinitos;
+        for(int k = 0; k < cubetas.length; k++) {
+            Nodo cabeza = cubetas[(int)((actual + (long)k) % cubetas.length)];
+            if(cabeza != null) {
+                nodo = cabeza;
+                actual = cabeza.llave;
+                break;
+            }
+        }
+        saca(nodo);
+        elementos--;
+        return nodo.elemento;
+    }
+
+    /**
+     * Reordena un elemento en el montículo, con su nueva prioridad. Si el
+     * elemento no está en el montículo, no hace nada.
+     * @param elemento el elemento que hay que reordenar.
+     * @throws IllegalArgumentException si la nueva prioridad está fuera del
+     *         rango de las cubetas.
+     */
+    @Override public void reordena(T elemento) {
+        if(!nodos.contiene(elemento))
+            return;
+        Nodo nodo = nodos.get(elemento);
+        if(!nodo.contenido)
+            return;
+        saca(nodo);
+        inserta(nodo);
+    }
+
+    /**
+     * Regresa el <i>i</i>-ésimo elemento del montículo, recorriendo las
+     * cubetas a partir de la prioridad mínima.
+     * @param i el índice del elemento que queremos.
+     * @return el <i>i</i>-ésimo elemento del montículo.
+     * @throws NoSuchElementException si <i>i</i> es inválido.
+     */
+    @Override public T get(int i) {
+        if(i < 0 || i >= elementos)
+            throw new NoSuchElementException("Indíce inválido.");
+        for(int k = 0; k < cubetas.length; k++)
+            for(Nodo n = cubetas[(int)((actual + (long)k) % cubetas.length)]; n != null; n = n.siguiente)
+                if(i-- == 0)
+                    return n.elemento;
+        for(Nodo n = infinitos; n != null; n = n.siguiente)
+            if(i-- == 0)
+                return n.elemento;
+        return null; // Nunca se llega a este punto.
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    @Override public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     * @return el número de elementos en el montículo.
+     */
+    @Override public int getElementos() {
+        return elementos;
+    }
+
+    /* Inserta el nodo en la cubeta de su prioridad. */
+    private void inserta(Nodo nodo) {
+        int llave = prioridad.prioridad(nodo.elemento);
+        if(llave != INFINITO && (llave < 0 || llave < actual || llave - (long)actual >= cubetas.length))
+            throw new IllegalArgumentException("Prioridad fuera del rango de las cubetas.");
+        nodo.llave = llave;
+        nodo.contenido = true;
+        nodo.anterior = null;
+        if(llave == INFINITO) {
+            nodo.siguiente = infinitos;
+            if(infinitos != null)
+                infinitos.anterior = nodo;
+            infinitos = nodo;
+        } else {
+            int c = llave % cubetas.length;
+            nodo.siguiente = cubetas[c];
+            if(cubetas[c] != null)
+                cubetas[c].anterior = nodo;
+            cubetas[c] = nodo;
+        }
+    }
+
+    /* Saca el nodo de su cubeta. */
+    private void saca(Nodo nodo) {
+        if(nodo.anterior != null)
+            nodo.anterior.siguiente = nodo.siguiente;
+        else if(nodo.llave == INFINITO)
+            infinitos = nodo.siguiente;
+        else
+            cubetas[nodo.llave % cubetas.length] = nodo.siguiente;
+        if(nodo.siguiente != null)
+            nodo.siguiente.anterior = nodo.anterior;
+        nodo.anterior = nodo.siguiente = null;
+        nodo.contenido = false;
+    }
+}
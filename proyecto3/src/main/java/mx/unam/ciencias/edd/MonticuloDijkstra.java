@@ -7,6 +7,13 @@ import java.util.NoSuchElementException;
  */
 public interface MonticuloDijkstra<T extends Comparable<T>> {
 
+    /**
+     * Agrega un elemento al montículo. Sirve para llenar el montículo de
+     * forma perezosa, agregando los vértices cuando son alcanzados.
+     * @param elemento el elemento a agregar.
+     */
+    public void agrega(T elemento);
+
     /**
      * Elimina el elemento mínimo del montículo.
      * @return el elemento mínimo del montículo.
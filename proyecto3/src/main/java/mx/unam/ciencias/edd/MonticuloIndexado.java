@@ -0,0 +1,241 @@
+package mx.unam.ciencias.edd;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>Clase para montículos mínimos indexados con llaves primitivas.</p>
+ *
+ * <p>Los elementos del montículo son enteros no negativos (índices), y cada
+ * uno tiene una prioridad de tipo <code>long</code>. El montículo guarda la
+ * posición de cada índice en un arreglo, por lo que agregar, eliminar y
+ * reordenar un índice toma tiempo <i>O</i>(log <i>n</i>) sin crear objetos
+ * por elemento.</p>
+ */
+public class MonticuloIndexado {
+
+    /* Posición de los índices que no están en el montículo. */
+    private static final int FUERA = -1;
+
+    /* El número de elementos en el montículo. */
+    private int elementos;
+    /* El árbol del montículo, con los índices de los elementos. */
+    private int[] arbol;
+    /* La posición en el árbol de cada índice. */
+    private int[] posiciones;
+    /* La prioridad de cada índice. */
+    private long[] prioridades;
+
+    /**
+     * Construye un montículo indexado vacío para índices en el rango
+     * [0, <i>n</i>). El montículo crece si se agregan índices mayores.
+     * @param n el número tentativo de índices.
+     */
+    public MonticuloIndexado(int n) {
+        n = Math.max(n, 1);
+        arbol = new int[n];
+        posiciones = new int[n];
+        prioridades = new long[n];
+        for(int i = 0; i < n; i++)
+            posiciones[i] = FUERA;
+    }
+
+    /**
+     * Agrega un índice al montículo con la prioridad dada.
+     * @param indice el índice a agregar.
+     * @param prioridad la prioridad del índice.
+     * @throws IllegalArgumentException si el índice es negativo o ya está en
+     *         el montículo.
+     */
+    public void agrega(int indice, long prioridad) {
+        if(indice < 0)
+            throw new IllegalArgumentException("Índice inválido.");
+        if(indice >= posiciones.length)
+            crece(indice + 1);
+        if(posiciones[indice] != FUERA)
+            throw new IllegalArgumentException("El índice ya está en el montículo.");
+        if(elementos == arbol.length) {
+            int[] nuevo = new int[elementos << 1];
+            System.arraycopy(arbol, 0, nuevo, 0, elementos);
+            arbol = nuevo;
+        }
+        prioridades[indice] = prioridad;
+        arbol[elementos] = indice;
+        posiciones[indice] = elementos;
+        acomodaArriba(elementos++);
+    }
+
+    /**
+     * Elimina el índice con prioridad mínima del montículo.
+     * @return el índice con prioridad mínima.
+     * @throws IllegalStateException si el montículo es vacío.
+     */
+    public int elimina() {
+        if(elementos == 0)
+            throw new IllegalStateException("El montículo es vacío.");
+        int minimo = arbol[0];
+        eliminaPosicion(0);
+        return minimo;
+    }
+
+    /**
+     * Elimina un índice del montículo, si está contenido.
+     * @param indice el índice a eliminar.
+     */
+    public void elimina(int indice) {
+        if(!contiene(indice))
+            return;
+        eliminaPosicion(posiciones[indice]);
+    }
+
+    /* Elimina el elemento en la posición recibida del árbol. */
+    private void eliminaPosicion(int i) {
+        int indice = arbol[i];
+        intercambia(i, --elementos);
+        posiciones[indice] = FUERA;
+        if(i < elementos) {
+            acomodaArriba(i);
+            acomodaAbajo(i);
+        }
+    }
+
+    /**
+     * Regresa el índice con prioridad mínima, sin eliminarlo.
+     * @return el índice con prioridad mínima.
+     * @throws NoSuchElementException si el montículo es vacío.
+     */
+    public int minimo() {
+        if(elementos == 0)
+            throw new NoSuchElementException("El montículo es vacío.");
+        return arbol[0];
+    }
+
+    /**
+     * Cambia la prioridad de un índice contenido en el montículo y lo
+     * reordena.
+     * @param indice el índice a reordenar.
+     * @param prioridad la nueva prioridad del índice.
+     * @throws NoSuchElementException si el índice no está en el montículo.
+     */
+    public void reordena(int indice, long prioridad) {
+        if(!contiene(indice))
+            throw new NoSuchElementException("El índice no está en el montículo.");
+        long anterior = prioridades[indice];
+        prioridades[indice] = prioridad;
+        if(prioridad < anterior)
+            acomodaArriba(posiciones[indice]);
+        else
+            acomodaAbajo(posiciones[indice]);
+    }
+
+    /**
+     * Agrega un índice al montículo, o lo reordena si ya estaba contenido.
+     * @param indice el índice a agregar o reordenar.
+     * @param prioridad la prioridad del índice.
+     */
+    public void actualiza(int indice, long prioridad) {
+        if(contiene(indice))
+            reordena(indice, prioridad);
+        else
+            agrega(indice, prioridad);
+    }
+
+    /**
+     * Regresa la prioridad de un índice contenido en el montículo.
+     * @param indice el índice.
+     * @return la prioridad del índice.
+     * @throws NoSuchElementException si el índice no está en el montículo.
+     */
+    public long getPrioridad(int indice) {
+        if(!contiene(indice))
+            throw new NoSuchElementException("El índice no está en el montículo.");
+        return prioridades[indice];
+    }
+
+    /**
+     * Nos dice si un índice está contenido en el montículo.
+     * @param indice el índice.
+     * @return <code>true</code> si el índice está en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean contiene(int indice) {
+        return indice >= 0 && indice < posiciones.length &&
+               posiciones[indice] != FUERA;
+    }
+
+    /**
+     * Nos dice si el montículo es vacío.
+     * @return <code>true</code> si ya no hay elementos en el montículo,
+     *         <code>false</code> en otro caso.
+     */
+    public boolean esVacia() {
+        return elementos == 0;
+    }
+
+    /**
+     * Regresa el número de elementos en el montículo.
+     * @return el número de elementos en el montículo.
+     */
+    public int getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Limpia el montículo de elementos, dejándolo vacío. Sólo recorre los
+     * índices que estaban en el montículo.
+     */
+    public void limpia() {
+        for(int i = 0; i < elementos; i++)
+            posiciones[arbol[i]] = FUERA;
+        elementos = 0;
+    }
+
+    /* Crece los arreglos indexados para aceptar al menos n índices. */
+    private void crece(int n) {
+        int m = Math.max(n, posiciones.length << 1);
+        int[] nuevasPosiciones = new int[m];
+        long[] nuevasPrioridades = new long[m];
+        System.arraycopy(posiciones, 0, nuevasPosiciones, 0, posiciones.length);
+        System.arraycopy(prioridades, 0, nuevasPrioridades, 0, prioridades.length);
+        for(int i = posiciones.length; i < m; i++)
+            nuevasPosiciones[i] = FUERA;
+        posiciones = nuevasPosiciones;
+        prioridades = nuevasPrioridades;
+    }
+
+    /* Acomoda hacia arriba el elemento en la posición i. */
+    private void acomodaArriba(int i) {
+        while(i > 0) {
+            int p = (i - 1) >> 1;
+            if(prioridades[arbol[i]] >= prioridades[arbol[p]])
+                return;
+            intercambia(i, p);
+            i = p;
+        }
+    }
+
+    /* Acomoda hacia abajo el elemento en la posición i. */
+    private void acomodaAbajo(int i) {
+        while(true) {
+            int min = i;
+            int izq = 2*i + 1;
+            int der = 2*i + 2;
+            if(izq < elementos && prioridades[arbol[izq]] < prioridades[arbol[min]])
+                min = izq;
+            if(der < elementos && prioridades[arbol[der]] < prioridades[arbol[min]])
+                min = der;
+            if(min == i)
+                return;
+            intercambia(i, min);
+            i = min;
+        }
+    }
+
+    /* Intercambia los elementos en las posiciones i y j del árbol. */
+    private void intercambia(int i, int j) {
+        int aux = arbol[i];
+        arbol[i] = arbol[j];
+        arbol[j] = aux;
+        posiciones[arbol[i]] = i;
+        posiciones[arbol[j]] = j;
+    }
+}
@@ -0,0 +1,15 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Interfaz para obtener la prioridad entera de un elemento.
+ */
+@FunctionalInterface
+public interface Prioridad<T> {
+
+    /**
+     * Regresa la prioridad del elemento recibido.
+     * @param elemento el elemento del que queremos su prioridad.
+     * @return la prioridad del elemento.
+     */
+    public int prioridad(T elemento);
+}
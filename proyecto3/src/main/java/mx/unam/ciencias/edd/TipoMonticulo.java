@@ -0,0 +1,16 @@
+package mx.unam.ciencias.edd;
+
+/**
+ * Enumeración para los tipos de montículo que pueden usar los algoritmos de
+ * trayectorias de peso mínimo en gráficas.
+ */
+public enum TipoMonticulo {
+    /** La gráfica elige el montículo según sus pesos y su densidad. */
+    AUTOMATICO,
+    /** Montículo mínimo ({@link MonticuloMinimo}). */
+    MINIMO,
+    /** Montículo de arreglo ({@link MonticuloArreglo}). */
+    ARREGLO,
+    /** Montículo de cubetas ({@link MonticuloCubetas}); requiere pesos enteros. */
+    CUBETAS
+}
@@ -0,0 +1,135 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * <p>Clase para representar el campo de distancias de un laberinto: el costo mínimo desde la
+ * entrada hasta cada cuarto, por renglones.</p>
+ *
+ * <p>El campo se serializa en un archivo binario con el siguiente formato:</p>
+ * <ul>
+ *      <li>Encabezado de 4 bytes: "DIST".</li>
+ *      <li>2 bytes con las dimensiones del laberinto: renglones y columnas (en ese orden).</li>
+ *      <li>4 bytes por cada cuarto, en big-endian, con su distancia desde la entrada; los cuartos
+ *          inalcanzables tienen -1.</li>
+ * </ul>
+ *
+ * <p>El campo también se puede serializar como una imagen PGM de 16 bits en escala de grises,
+ * donde la entrada es negra, el cuarto más lejano es casi blanco y los cuartos inalcanzables son
+ * blancos.</p>
+ *
+ * <p>En ambos casos el archivo completo se arma en un solo buffer, que se escribe de una vez en
+ * el canal de salida.</p>
+ */
+public class CampoDistancias {
+
+    /* Encabezado del archivo de distancias. */
+    private static final byte[] DIST = new byte[]{0x44, 0x49, 0x53, 0x54};
+    /* Tamaño del encabezado del archivo de distancias. */
+    private static final int ENCABEZADO = DIST.length + 2; // 2 bytes para las dimensiones.
+    /* Distancia que se escribe para los cuartos inalcanzables. */
+    private static final int INALCANZABLE = -1;
+    /* Valor máximo de un pixel de la imagen PGM. */
+    private static final int BLANCO = 0xFFFF;
+
+    /* Distancias de cada cuarto. */
+    private int[] distancias;
+    /* Columnas del laberinto. */
+    private int columnas;
+    /* Renglones del laberinto. */
+    private int renglones;
+
+    /**
+     * Define el estado inicial del campo de distancias.
+     * @param distancias la distancia de cada cuarto, por renglones; los cuartos inalcanzables
+     *        tienen una distancia negativa o {@link Integer#MAX_VALUE}.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @throws IllegalArgumentException si el número de distancias no corresponde a las
+     *         dimensiones.
+     */
+    public CampoDistancias(int[] distancias, int columnas, int renglones) {
+        if(distancias.length != columnas * renglones)
+            throw new IllegalArgumentException("Número inválido de distancias.");
+        this.distancias = distancias;
+        this.columnas = columnas;
+        this.renglones = renglones;
+    }
+
+    /**
+     * Serializa el campo de distancias en el formato binario "DIST".
+     * @param canal el canal de salida donde escribir el campo.
+     * @throws IOException si ocurre un error de entrada o salida.
+     */
+    public void seria(WritableByteChannel canal) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCABEZADO + 4 * distancias.length);
+        buffer.put(DIST);
+        buffer.put((byte)renglones);
+        buffer.put((byte)columnas);
+        for(int distancia : distancias)
+            buffer.putInt(alcanzable(distancia) ? distancia : INALCANZABLE);
+        escribe(canal, buffer);
+    }
+
+    /**
+     * Serializa el campo de distancias como una imagen PGM de 16 bits.
+     * @param canal el canal de salida donde escribir la imagen.
+     * @throws IOException si ocurre un error de entrada o salida.
+     */
+    public void seriaPGM(WritableByteChannel canal) throws IOException {
+        byte[] encabezado = String.format("P5\n%d %d\n%d\n", columnas, renglones, BLANCO)
+                                  .getBytes(StandardCharsets.US_ASCII);
+        ByteBuffer buffer = ByteBuffer.allocate(encabezado.length + 2 * distancias.length);
+        buffer.put(encabezado);
+        long maxima = Math.max(getMaxima(), 1);
+        for(int distancia : distancias) {
+            long gris = alcanzable(distancia) ? (long)distancia * (BLANCO - 1) / maxima : BLANCO;
+            buffer.putShort((short)gris);
+        }
+        escribe(canal, buffer);
+    }
+
+    /**
+     * Escribe un buffer completo en un canal.
+     * @param canal el canal de salida.
+     * @param buffer el buffer a escribir.
+     * @throws IOException si ocurre un error de entrada o salida.
+     */
+    private void escribe(WritableByteChannel canal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while(buffer.hasRemaining())
+            canal.write(buffer);
+    }
+
+    /**
+     * Nos dice si una distancia corresponde a un cuarto alcanzable.
+     * @param distancia la distancia.
+     * @return <code>true</code> si la distancia es finita, <code>false</code> en otro caso.
+     */
+    private static boolean alcanzable(int distancia) {
+        return distancia >= 0 && distancia != Integer.MAX_VALUE;
+    }
+
+    /**
+     * Regresa la distancia máxima entre los cuartos alcanzables.
+     * @return la distancia máxima entre los cuartos alcanzables, o 0 si no hay ninguno.
+     */
+    public int getMaxima() {
+        int maxima = 0;
+        for(int distancia : distancias)
+            if(alcanzable(distancia))
+                maxima = Math.max(maxima, distancia);
+        return maxima;
+    }
+
+    /**
+     * Regresa las distancias de los cuartos, por renglones.
+     * @return las distancias de los cuartos.
+     */
+    public int[] getDistancias() {
+        return distancias;
+    }
+}
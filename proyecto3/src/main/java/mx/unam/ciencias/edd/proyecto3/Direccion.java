@@ -2,18 +2,19 @@ package mx.unam.ciencias.edd.proyecto3;
 
 /**
  * <p>Enumeracion para representar las direcciones de los cuartos de un laberinto. Una dirección
- * cuenta con un nombre, un cambio en el renglón y un cambio en la columna en la matriz de cuartos.</p>
+ * cuenta con un nombre, un cambio en el renglón, un cambio en la columna en la matriz de cuartos
+ * y el bit de la pared correspondiente en el byte de un cuarto.</p>
  */
 public enum Direccion {
 
     /* Dirección norte. */
-    NORTE("Norte", -1, 0),
+    NORTE("Norte", -1, 0, 2),
     /* Dirección sur. */
-    SUR("Sur", 1, 0),
+    SUR("Sur", 1, 0, 8),
     /* Dirección este. */
-    ESTE("Este", 0, 1),
+    ESTE("Este", 0, 1, 1),
     /* Dirección oeste. */
-    OESTE("Oeste", 0, -1);
+    OESTE("Oeste", 0, -1, 4);
 
     /* Nombre de la dirección. */
     private String nombre;
@@ -21,19 +22,24 @@ public enum Direccion {
     private int cambioRenglon;
     /* Cambio en la columna. */
     private int cambioColumna;
+    /* Bit de la pared en el byte del cuarto. */
+    private int pared;
 
     /**
      * Define el estado inicial de la dirección.
      * @param nombre el nombre de la dirección.
      * @param cambioRenglon el cambio en la fila.
      * @param cambioColumna el cambio en la columna.
+     * @param pared el bit de la pared en el byte del cuarto.
      */
     private Direccion(String nombre, 
                       int cambioRenglon, 
-                      int cambioColumna) {
+                      int cambioColumna,
+                      int pared) {
         this.nombre = nombre;
         this.cambioRenglon = cambioRenglon;
         this.cambioColumna = cambioColumna;
+        this.pared = pared;
     }
 
     /**
@@ -52,4 +58,25 @@ public enum Direccion {
     public int getCambioRenglon() {
         return cambioRenglon;
     }
+
+    /**
+     * Regresa el bit de la pared en el byte del cuarto.
+     * @return el bit de la pared en el byte del cuarto.
+     */
+    public int getPared() {
+        return pared;
+    }
+
+    /**
+     * Regresa la dirección opuesta.
+     * @return la dirección opuesta.
+     */
+    public Direccion getOpuesta() {
+        switch(this) {
+            case NORTE: return SUR;
+            case SUR: return NORTE;
+            case ESTE: return OESTE;
+            default: return ESTE;
+        }
+    }
 }
\ No newline at end of file
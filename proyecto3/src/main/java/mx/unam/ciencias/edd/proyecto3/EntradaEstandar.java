@@ -1,11 +1,14 @@
 package mx.unam.ciencias.edd.proyecto3;
 
+import mx.unam.ciencias.edd.proyecto3.resolvedores.RegistroResolvedores;
+
 /**
  * <p>Clase para manejar la entrada estándar del programa. La entrada estándar
  * se compone de banderas y valores que definen la generación de un laberinto, tales como:
- * la semilla, las columnas y los renglones del laberinto.</p>
+ * la semilla, las columnas y los renglones del laberinto; o la resolución de un laberinto,
+ * tales como el archivo a resolver y los archivos donde escribir sus distancias.</p>
  * 
- * <p>Las banderas que se deben ingresar son:</p>
+ * <p>Las banderas para generar un laberinto son:</p>
  * <ul>
  *      <li>-g: para generar un laberinto.</li>
  *      <li>-w: para ingresar el número de columnas del laberinto.</li>
@@ -14,6 +17,18 @@ package mx.unam.ciencias.edd.proyecto3;
  * </ul>
  * 
  * <p>La bandera -s es opcional, si no se ingresa, se asigna la semilla actual (el reloj de la computadora).</p>
+ *
+ * <p>Sin la bandera -g se resuelve un laberinto, y se aceptan:</p>
+ * <ul>
+ *      <li>Un argumento sin bandera: el archivo del laberinto; si no se ingresa, se lee la entrada estándar.</li>
+ *      <li>-d: para escribir el campo de distancias desde la entrada en formato binario.</li>
+ *      <li>-p: para escribir el campo de distancias desde la entrada como imagen PGM de 16 bits.</li>
+ *      <li>-k: para escribir en texto las k trayectorias sin ciclos de menor costo, en lugar de la imagen SVG.</li>
+ *      <li>-j: para resolver con búsqueda jerárquica; la abstracción se guarda junto al archivo del laberinto
+ *          y se reutiliza en las siguientes ejecuciones.</li>
+ *      <li>-a: para elegir el resolvedor por su nombre en {@link RegistroResolvedores}; por omisión es
+ *          <code>auto</code>, que lo elige según el laberinto.</li>
+ * </ul>
  */
 public class EntradaEstandar {
 
@@ -29,7 +44,17 @@ public class EntradaEstandar {
         /* Columnas del laberinto. */
         COLUMNAS("-w"),
         /* Reglones del laberinto. */
-        RENGLONES("-h");
+        RENGLONES("-h"),
+        /* Archivo de distancias. */
+        DISTANCIAS("-d"),
+        /* Imagen de distancias. */
+        IMAGEN("-p"),
+        /* Número de trayectorias. */
+        TRAYECTORIAS("-k"),
+        /* Búsqueda jerárquica. */
+        JERARQUICO("-j"),
+        /* Resolvedor. */
+        RESOLVEDOR("-a");
 
         /* Nombre de la bandera. */
         private String nombre;
@@ -66,6 +91,18 @@ public class EntradaEstandar {
     private int columnas;
     /* Renglones del laberinto. */
     private int renglones;
+    /* Archivo del laberinto a resolver. */
+    private String archivo;
+    /* Archivo donde escribir las distancias. */
+    private String archivoDistancias;
+    /* Archivo donde escribir la imagen de distancias. */
+    private String archivoImagen;
+    /* Número de trayectorias a escribir. */
+    private int trayectorias;
+    /* Nos dice si se resuelve con búsqueda jerárquica. */
+    private boolean isJerarquico;
+    /* Nombre del resolvedor. */
+    private String resolvedor;
 
     /**
      * Define el estado inicial de la entrada estándar.
@@ -74,6 +111,10 @@ public class EntradaEstandar {
     public EntradaEstandar(String[] args) {
         int i = -1;
         while(++i < args.length) {
+            if(!args[i].startsWith("-")) {
+                procesaArchivo(args[i]);
+                continue;
+            }
             Bandera b = Bandera.getBandera(args[i]);
             switch (b) {
                 case GENERA:
@@ -88,6 +129,21 @@ public class EntradaEstandar {
                 case RENGLONES:
                     procesaRenglones(args, ++i);
                     break;
+                case DISTANCIAS:
+                    archivoDistancias = verificaArchivo(args, ++i, "las distancias", archivoDistancias);
+                    break;
+                case IMAGEN:
+                    archivoImagen = verificaArchivo(args, ++i, "la imagen", archivoImagen);
+                    break;
+                case TRAYECTORIAS:
+                    procesaTrayectorias(args, ++i);
+                    break;
+                case JERARQUICO:
+                    procesaJerarquico();
+                    break;
+                case RESOLVEDOR:
+                    procesaResolvedor(args, ++i);
+                    break;
             }
         }
         verificaEntrada();
@@ -140,6 +196,77 @@ public class EntradaEstandar {
                                 renglones);
     }
 
+    /**
+     * Procesa el archivo del laberinto a resolver.
+     * @param archivo el nombre del archivo.
+     * @throws ExcepcionLaberintoInvalido si ya se ingresó un archivo.
+     */
+    private void procesaArchivo(String archivo) {
+        if(this.archivo != null)
+            throw new ExcepcionLaberintoInvalido("No puedes resolver dos laberintos al mismo tiempo.");
+        this.archivo = archivo;
+    }
+
+    /**
+     * Procesa la bandera TRAYECTORIAS.
+     * @param args el arreglo de cadenas de la línea de comandos.
+     * @param i el índice actual del arreglo de cadenas donde se encuentra el número de trayectorias.
+     * @throws ExcepcionLaberintoInvalido si ya se ingresó el número, si no se ingresó o si no es positivo.
+     */
+    private void procesaTrayectorias(String[] args, int i) {
+        if(trayectorias != 0)
+            throw new ExcepcionLaberintoInvalido("No puedes ingresar dos veces el número de trayectorias.");
+        if(i >= args.length)
+            throw new ExcepcionLaberintoInvalido("Debes ingresar un valor para el número de trayectorias.");
+        trayectorias = verificaEntero(args[i], "el número de trayectorias");
+        if(trayectorias < 1)
+            throw new ExcepcionLaberintoInvalido("Valor inválido para el número de trayectorias.");
+    }
+
+    /**
+     * Procesa la bandera JERARQUICO.
+     * @throws ExcepcionLaberintoInvalido si ya se ingresó la bandera.
+     */
+    private void procesaJerarquico() {
+        if(isJerarquico)
+            throw new ExcepcionLaberintoInvalido("No puedes ingresar dos veces la bandera -j.");
+        isJerarquico = true;
+    }
+
+    /**
+     * Procesa la bandera RESOLVEDOR.
+     * @param args el arreglo de cadenas de la línea de comandos.
+     * @param i el índice actual del arreglo de cadenas donde se encuentra el nombre del resolvedor.
+     * @throws ExcepcionLaberintoInvalido si ya se ingresó el resolvedor, si no se ingresó o si no
+     *         está registrado.
+     */
+    private void procesaResolvedor(String[] args, int i) {
+        if(resolvedor != null)
+            throw new ExcepcionLaberintoInvalido("No puedes ingresar dos veces el resolvedor.");
+        if(i >= args.length)
+            throw new ExcepcionLaberintoInvalido("Debes ingresar un nombre para el resolvedor.");
+        if(!RegistroResolvedores.contiene(args[i]))
+            throw new ExcepcionLaberintoInvalido("Resolvedor inválido: " + args[i]);
+        resolvedor = args[i];
+    }
+
+    /**
+     * Verifica que se haya ingresado un archivo de salida y lo regresa.
+     * @param args el arreglo de cadenas de la línea de comandos.
+     * @param i el índice actual del arreglo de cadenas donde se encuentra el archivo.
+     * @param campo el campo al que pertenece el archivo.
+     * @param actual el valor actual del campo.
+     * @return el nombre del archivo.
+     * @throws ExcepcionLaberintoInvalido si ya se ingresó el archivo o si no se ingresó un valor.
+     */
+    private String verificaArchivo(String[] args, int i, String campo, String actual) {
+        if(actual != null)
+            throw new ExcepcionLaberintoInvalido("No puedes ingresar dos veces el archivo de " + campo + ".");
+        if(i >= args.length)
+            throw new ExcepcionLaberintoInvalido("Debes ingresar un archivo para " + campo + ".");
+        return args[i];
+    }
+
     /** 
      * Verifica que el valor de una dimensión del laberinto sea válida y la regresa.
      * @param args el arreglo de cadenas de la línea de comandos.
@@ -196,17 +323,30 @@ public class EntradaEstandar {
     }
 
     /**
-     * Verifica que se hayan ingresado todos los datos necesarios para generar un laberinto.
+     * Verifica que se hayan ingresado todos los datos necesarios para generar o resolver un laberinto.
      * @throws ExcepcionLaberintoInvalido si:
      *         <ul>
-     *            <li>No se ingresó la bandera -g.</li>
+     *            <li>Se ingresó la semilla o una dimensión sin la bandera -g.</li>
+     *            <li>Se ingresó un archivo o una bandera de resolución con la bandera -g.</li>
+     *            <li>Se ingresó un resolvedor con la bandera -j.</li>
+     *            <li>Se ingresó la bandera -k con un resolvedor o con la bandera -j.</li>
      *            <li>No se ingresó el número de columnas.</li>
      *            <li>No se ingresó el número de renglones.</li>
      *         </ul>
      */
     private void verificaEntrada() {
-        if(!isGenerando)
-            throw new ExcepcionLaberintoInvalido("Debes ingresar la bandera -g para generar un laberinto.");
+        if(!isGenerando) {
+            if(semilla != 0 || columnas != 0 || renglones != 0)
+                throw new ExcepcionLaberintoInvalido("Debes ingresar la bandera -g para generar un laberinto.");
+            if(isJerarquico && resolvedor != null)
+                throw new ExcepcionLaberintoInvalido("No puedes elegir un resolvedor con la bandera -j.");
+            if(trayectorias != 0 && (isJerarquico || resolvedor != null))
+                throw new ExcepcionLaberintoInvalido("No puedes elegir un resolvedor ni la bandera -j con la bandera -k.");
+            return;
+        }
+        if(archivo != null || archivoDistancias != null || archivoImagen != null || trayectorias != 0 ||
+           isJerarquico || resolvedor != null)
+            throw new ExcepcionLaberintoInvalido("No puedes generar y resolver un laberinto al mismo tiempo.");
         if(columnas == 0)
             throw new ExcepcionLaberintoInvalido("Debes ingresar el número de columnas.");
         if(renglones == 0)
@@ -246,4 +386,52 @@ public class EntradaEstandar {
     public int getRenglones() {
         return renglones;
     }
+
+    /**
+     * Regresa el archivo del laberinto a resolver.
+     * @return el archivo del laberinto, o <code>null</code> si se lee de la entrada estándar.
+     */
+    public String getArchivo() {
+        return archivo;
+    }
+
+    /**
+     * Regresa el archivo donde escribir el campo de distancias.
+     * @return el archivo de distancias, o <code>null</code> si no se pidió.
+     */
+    public String getArchivoDistancias() {
+        return archivoDistancias;
+    }
+
+    /**
+     * Regresa el archivo donde escribir la imagen del campo de distancias.
+     * @return el archivo de la imagen, o <code>null</code> si no se pidió.
+     */
+    public String getArchivoImagen() {
+        return archivoImagen;
+    }
+
+    /**
+     * Regresa si se resuelve con búsqueda jerárquica.
+     * @return <code>true</code> si se resuelve con búsqueda jerárquica, <code>false</code> en otro caso.
+     */
+    public boolean isJerarquico() {
+        return isJerarquico;
+    }
+
+    /**
+     * Regresa el nombre del resolvedor con el que se resuelve el laberinto.
+     * @return el nombre del resolvedor, o {@link RegistroResolvedores#AUTOMATICO} si no se eligió.
+     */
+    public String getResolvedor() {
+        return (resolvedor == null) ? RegistroResolvedores.AUTOMATICO : resolvedor;
+    }
+
+    /**
+     * Regresa el número de trayectorias a escribir.
+     * @return el número de trayectorias, o 0 si no se pidieron.
+     */
+    public int getTrayectorias() {
+        return trayectorias;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package mx.unam.ciencias.edd.proyecto3;
+
+import mx.unam.ciencias.edd.GraficaImplicita;
+
+/**
+ * <p>Clase para la gráfica implícita de los cuartos de un laberinto.</p>
+ *
+ * <p>La gráfica se calcula directamente de los bytes de los cuartos, sin
+ * crear cuartos ni aristas: el vértice <code>y*columnas+x</code> es el cuarto
+ * en la coordenada (x, y), sus vecinos son los cuartos a los que lleva una
+ * puerta interior, en el orden de {@link Direccion#values()}, y el peso de
+ * cada puerta es la suma de los puntajes de los cuartos más uno.</p>
+ */
+public class GraficaCuartos implements GraficaImplicita {
+
+    /* Direcciones de los cuartos. */
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+
+    /* Bytes de los cuartos. */
+    private byte[] cuartos;
+    /* Columnas del laberinto. */
+    private int columnas;
+    /* Renglones del laberinto. */
+    private int renglones;
+
+    /**
+     * Define el estado inicial de la gráfica. Los bytes no se copian.
+     * @param cuartos los bytes de los cuartos, por renglones.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @throws IllegalArgumentException si el número de bytes no corresponde a
+     *         las dimensiones.
+     */
+    public GraficaCuartos(byte[] cuartos, int columnas, int renglones) {
+        if(cuartos.length != columnas * renglones)
+            throw new IllegalArgumentException("Número inválido de cuartos.");
+        this.cuartos = cuartos;
+        this.columnas = columnas;
+        this.renglones = renglones;
+    }
+
+    /**
+     * Regresa el número de cuartos.
+     * @return el número de cuartos.
+     */
+    @Override public int getElementos() {
+        return cuartos.length;
+    }
+
+    /**
+     * Regresa el número de direcciones, que es el mayor número de puertas
+     * interiores de un cuarto.
+     * @return el número de direcciones.
+     */
+    @Override public int getGradoMaximo() {
+        return DIRECCIONES.length;
+    }
+
+    /**
+     * Escribe los cuartos a los que lleva una puerta interior del cuarto
+     * recibido.
+     * @param vertice el índice del cuarto.
+     * @param vecinos el arreglo donde escribir los índices de los vecinos.
+     * @return el número de vecinos escritos.
+     * @throws IndexOutOfBoundsException si el índice es inválido.
+     */
+    @Override public int vecinos(int vertice, int[] vecinos) {
+        int b = cuartos[vertice];
+        int x = vertice % columnas;
+        int y = vertice / columnas;
+        int n = 0;
+        for(Direccion direccion : DIRECCIONES) {
+            if((b & direccion.getPared()) != 0)
+                continue;
+            int nx = x + direccion.getCambioColumna();
+            int ny = y + direccion.getCambioRenglon();
+            if(nx < 0 || nx >= columnas || ny < 0 || ny >= renglones)
+                continue;
+            vecinos[n++] = ny * columnas + nx;
+        }
+        return n;
+    }
+
+    /**
+     * Escribe los cuartos a los que lleva una puerta interior del cuarto
+     * recibido, y el costo de cada puerta.
+     * @param vertice el índice del cuarto.
+     * @param vecinos el arreglo donde escribir los índices de los vecinos.
+     * @param pesos el arreglo donde escribir los costos de las puertas.
+     * @return el número de vecinos escritos.
+     * @throws IndexOutOfBoundsException si el índice es inválido.
+     */
+    @Override public int vecinos(int vertice, int[] vecinos, int[] pesos) {
+        int n = vecinos(vertice, vecinos);
+        int costo = 1 + puntaje(vertice);
+        for(int i = 0; i < n; i++)
+            pesos[i] = costo + puntaje(vecinos[i]);
+        return n;
+    }
+
+    /**
+     * Regresa el costo de la puerta entre dos cuartos: la suma de sus
+     * puntajes más uno.
+     * @param a el índice del cuarto de origen.
+     * @param b el índice del cuarto de destino.
+     * @return el costo de la puerta de a a b.
+     * @throws IndexOutOfBoundsException si alguno de los índices es inválido.
+     * @throws IllegalArgumentException si no hay una puerta de a a b.
+     */
+    @Override public int getPeso(int a, int b) {
+        if(!hayPuerta(a, b))
+            throw new IllegalArgumentException("No hay una puerta entre los cuartos.");
+        return 1 + puntaje(a) + puntaje(b);
+    }
+
+    /* Regresa el puntaje de un cuarto, guardado en los cuatro bits altos. */
+    private int puntaje(int v) {
+        return (cuartos[v] >> 4) & 0xF;
+    }
+
+    /* Nos dice si hay una puerta interior del cuarto a al cuarto b. */
+    private boolean hayPuerta(int a, int b) {
+        if(b < 0 || b >= cuartos.length)
+            throw new IndexOutOfBoundsException("Índice inválido: " + b);
+        int x = a % columnas;
+        int y = a / columnas;
+        for(Direccion direccion : DIRECCIONES) {
+            int nx = x + direccion.getCambioColumna();
+            int ny = y + direccion.getCambioRenglon();
+            if(nx >= 0 && nx < columnas && ny >= 0 && ny < renglones &&
+               ny * columnas + nx == b)
+                return (cuartos[a] & direccion.getPared()) == 0;
+        }
+        return false;
+    }
+}
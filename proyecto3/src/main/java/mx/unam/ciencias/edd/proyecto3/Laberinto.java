@@ -3,10 +3,23 @@ package mx.unam.ciencias.edd.proyecto3;
 import java.io.InputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Iterator;
+import java.util.NoSuchElementException;
+import mx.unam.ciencias.edd.BusquedaImplicita;
 import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.GraficaCompacta;
 import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.TipoMonticulo;
 import mx.unam.ciencias.edd.VerticeGrafica;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.AbstraccionJerarquica;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.ContraccionPasillos;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.IndiceAncestros;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.RegistroResolvedores;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.RellenoCallejones;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.Resolvedor;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.ResolvedorArbol;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.ResolvedorIncremental;
 
 /**
  * <p>Clase para representar un laberinto. Un laberinto tiene un número de puertas, columnas, renglones, 
@@ -23,11 +36,46 @@ import mx.unam.ciencias.edd.VerticeGrafica;
  * <p>Los laberintos pueden ser serializados por un stream de salida y deserializados por un stream de entrada.</p>
  */
 public class Laberinto implements Iterable<Cuarto> {
+
+    /* Clase interna privada para los vértices de los caminos calculados sobre
+     * los bytes de los cuartos, sin construir la gráfica. */
+    private class VerticeCuarto implements VerticeGrafica<Cuarto> {
+
+        /* El índice del cuarto. */
+        private int indice;
+
+        /* Crea el vértice del cuarto con el índice recibido. */
+        public VerticeCuarto(int indice) {
+            this.indice = indice;
+        }
+
+        /* Regresa el cuarto del vértice. */
+        @Override public Cuarto get() {
+            return getCuarto(indice);
+        }
+
+        /* Regresa el número de puertas interiores del cuarto. */
+        @Override public int getGrado() {
+            return implicita.vecinos(indice, new int[implicita.getGradoMaximo()]);
+        }
+
+        /* Regresa los vértices de los cuartos a los que lleva una puerta. */
+        @Override public Iterable<? extends VerticeGrafica<Cuarto>> vecinos() {
+            int[] vecinos = new int[implicita.getGradoMaximo()];
+            int n = implicita.vecinos(indice, vecinos);
+            Lista<VerticeCuarto> lista = new Lista<VerticeCuarto>();
+            for(int i = 0; i < n; i++)
+                lista.agrega(new VerticeCuarto(vecinos[i]));
+            return lista;
+        }
+    }
     
     /* Encabezado del archivo de laberinto. */
     private static final byte[] MAZE = new byte[]{0x4d, 0x41, 0x5a, 0x45};
     /* Tamaño del encabezado del archivo de laberinto. */
     private static final int ENCABEZADO = MAZE.length + 2; // 2 bytes para las dimensiones.
+    /* Costo mínimo de una puerta: dos cuartos con puntaje 0, más uno. */
+    private static final int COSTO_MINIMO_PUERTA = 1;
     
     /* Número de puertas en el laberinto. */
     private int puertas;
@@ -36,12 +84,23 @@ public class Laberinto implements Iterable<Cuarto> {
     /* Renglones del laberinto. */
     private int renglones;
 
-    /* Grafica que representa el laberinto. */
+    /* Grafica que representa el laberinto; se construye cuando la necesita un algoritmo. */
     private Grafica<Cuarto> grafica;
+    /* Gráfica implícita de los cuartos, calculada de sus bytes. */
+    private GraficaCuartos implicita;
+    /* Gráfica compacta de los cuartos; se construye con la primera consulta. */
+    private GraficaCompacta compacta;
     /* Camino del laberinto. */
     private Lista<VerticeGrafica<Cuarto>> camino;
     /* Cuartos del laberinto. */
     private Cuarto[][] cuartos;
+    /* Bytes de los cuartos del laberinto, por renglones. */
+    private byte[] datos;
+    /* Índice para consultas entre cuartos; se construye con la primera consulta. */
+    private IndiceAncestros indiceAncestros;
+    /* Distancias desde la entrada; se calculan al resolver con el campo de distancias o
+     * con la primera consulta. */
+    private int[] distancias;
 
     /* Entrada del laberinto. */
     private Cuarto entrada;
@@ -52,9 +111,7 @@ public class Laberinto implements Iterable<Cuarto> {
      * Define el estado inicial del laberinto.
      * Después de llamar a este constructor, se debe llamar a {@link Laberinto#deseria()}.
      */
-    public Laberinto() {
-        grafica = new Grafica<Cuarto>();
-    }
+    public Laberinto() {}
 
     /**
      * Define el estado inicial del laberinto. 
@@ -87,6 +144,50 @@ public class Laberinto implements Iterable<Cuarto> {
         return salida;
     }
 
+    /**
+     * Regresa las columnas del laberinto.
+     * @return las columnas del laberinto.
+     */
+    public int getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Regresa los renglones del laberinto.
+     * @return los renglones del laberinto.
+     */
+    public int getRenglones() {
+        return renglones;
+    }
+
+    /**
+     * Regresa los bytes de los cuartos del laberinto, por renglones, tal y como
+     * fueron leídos por {@link Laberinto#deseria(InputStream)}. El cuarto en la
+     * coordenada (x, y) está en el índice <code>y*columnas+x</code>.
+     * @return los bytes de los cuartos del laberinto.
+     */
+    public byte[] getDatos() {
+        return datos;
+    }
+
+    /**
+     * Regresa el índice de un cuarto en los bytes del laberinto.
+     * @param cuarto el cuarto.
+     * @return el índice del cuarto en los bytes del laberinto.
+     */
+    public int getIndice(Cuarto cuarto) {
+        return cuarto.getY() * columnas + cuarto.getX();
+    }
+
+    /**
+     * Regresa el cuarto con el índice recibido en los bytes del laberinto.
+     * @param indice el índice del cuarto.
+     * @return el cuarto con el índice recibido.
+     */
+    public Cuarto getCuarto(int indice) {
+        return cuartos[indice / columnas][indice % columnas];
+    }
+
     /**
      * Regresa el camino de solución del laberinto.
      * @return el camino de solución del laberinto.
@@ -100,7 +201,19 @@ public class Laberinto implements Iterable<Cuarto> {
      * @return un iterador para los cuartos del laberinto.
      */
     public Iterator<Cuarto> iterator() {
-        return grafica.iterator();
+        return new Iterator<Cuarto>() {
+            private int indice;
+
+            @Override public boolean hasNext() {
+                return indice < columnas * renglones;
+            }
+
+            @Override public Cuarto next() {
+                if(!hasNext())
+                    throw new NoSuchElementException("No hay más cuartos.");
+                return getCuarto(indice++);
+            }
+        };
     }
 
     /**
@@ -120,6 +233,20 @@ public class Laberinto implements Iterable<Cuarto> {
      * @throws IOException si ocurre un error de entrada o salida.
      */
     private void seriaEncabezado(OutputStream os) throws IOException {
+        seriaEncabezado(os, columnas, renglones);
+    }
+
+    /**
+     * Serializa el encabezado de un laberinto con las dimensiones recibidas,
+     * para que un generador pueda escribir los cuartos después de él sin
+     * construir el laberinto completo.
+     * @param os el stream de salida donde escribir el encabezado.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @throws IOException si ocurre un error de entrada o salida.
+     */
+    public static void seriaEncabezado(OutputStream os, int columnas, int renglones)
+        throws IOException {
         os.write(MAZE);
         os.write(renglones);
         os.write(columnas);
@@ -140,14 +267,28 @@ public class Laberinto implements Iterable<Cuarto> {
 
     /**
      * Deserializa un laberinto. La seriación producida por el método {@link Laberinto#seria()} 
-     * debe ser aceptada por este método.
+     * debe ser aceptada por este método. El laberinto se resuelve con el resolvedor
+     * {@link RegistroResolvedores#AUTOMATICO}.
      * @param is el stream de donde leer el laberinto.
      * @throws IOException si ocurre un error de entrada o salida.
      */
     public void deseria(InputStream is) throws IOException {
+        deseria(is, RegistroResolvedores.getResolvedor(RegistroResolvedores.AUTOMATICO));
+    }
+
+    /**
+     * Deserializa un laberinto y lo resuelve con el resolvedor recibido.
+     * @param is el stream de donde leer el laberinto.
+     * @param resolvedor el resolvedor con el que se verifica que el laberinto
+     *        tenga solución y se calcula su camino.
+     * @throws IOException si ocurre un error de entrada o salida.
+     * @throws ExcepcionLaberintoInvalido si el laberinto es inválido o no
+     *         tiene solución.
+     */
+    public void deseria(InputStream is, Resolvedor resolvedor) throws IOException {
         procesaEncabezado(is);
         procesaCuartos(is);
-        verificaSolucion();
+        resolvedor.resuelve(this);
     }
 
     /**
@@ -213,8 +354,9 @@ public class Laberinto implements Iterable<Cuarto> {
      */
     private void procesaCuartos(InputStream is) throws IOException {
         cuartos = new Cuarto[renglones][columnas];
-        byte[] cuartosData = leeCuartos(is);
-        creaCuartos(cuartosData);
+        datos = leeCuartos(is);
+        implicita = new GraficaCuartos(datos, columnas, renglones);
+        creaCuartos(datos);
         verificaCuartosExteriores();
         procesaPuertas();
     }
@@ -246,7 +388,6 @@ public class Laberinto implements Iterable<Cuarto> {
                 byte b = cuartosData[i++];
                 Cuarto cuarto = new Cuarto(x, y, b);
                 cuartos[y][x] = cuarto;
-                grafica.agrega(cuarto);
                 if(cuarto.isFrontera(columnas, renglones) && 
                    cuarto.tienePuertaExterior(columnas, renglones))
                     setCuartoExterior(cuarto);
@@ -288,60 +429,433 @@ public class Laberinto implements Iterable<Cuarto> {
      * @throws ExcepcionLaberintoInvalido si los cuartos son inconsistentes en sus puertas.
      */
     private void procesaPuertas() {
-        int puertasCreadas = creaPuertas();
-        if(puertasCreadas != puertas)
+        int puertasConsistentes = cuentaPuertas();
+        if(puertasConsistentes != puertas)
             throw new ExcepcionLaberintoInvalido("Los cuartos son inconsistentes en sus puertas.");
     }
 
     /**
-     * Crea las puertas del laberinto.
-     * @return el número de puertas creadas.
+     * Cuenta las puertas interiores que están abiertas desde ambos cuartos,
+     * recorriendo la gráfica implícita sin construir la gráfica. Cada puerta
+     * se cuenta sólo desde el cuarto con el menor índice.
+     * @return el número de puertas consistentes.
      */
-    private int creaPuertas() {
+    private int cuentaPuertas() {
+        int[] vecinos = new int[implicita.getGradoMaximo()];
+        int[] regresos = new int[implicita.getGradoMaximo()];
         int c = 0;
-        for(Cuarto cuarto : grafica) {
-            if(!cuarto.hayParedEste())
-                c += conectaCuarto(cuarto, Direccion.ESTE);
-            if(!cuarto.hayParedNorte())
-                c += conectaCuarto(cuarto, Direccion.NORTE);
-            if(!cuarto.hayParedOeste())
-                c += conectaCuarto(cuarto, Direccion.OESTE);
-            if(!cuarto.hayParedSur())
-                c += conectaCuarto(cuarto, Direccion.SUR);
+        for(int v = 0; v < datos.length; v++) {
+            int n = implicita.vecinos(v, vecinos);
+            for(int i = 0; i < n; i++) {
+                int u = vecinos[i];
+                if(u < v)
+                    continue;
+                int m = implicita.vecinos(u, regresos);
+                for(int j = 0; j < m; j++)
+                    if(regresos[j] == v)
+                        c++;
+            }
         }
         return c;
     }
 
     /**
-     * Conecta un cuarto con otro.
-     * El puntaje de la conexión es la suma de los puntajes de los cuartos más uno.
-     * @param cuarto el cuarto a conectar.
-     * @param direccion la dirección a la que conectar.
-     * @return 1 si la conexión ya existía, 0 en otro caso.
+     * Regresa el número de puertas interiores del laberinto.
+     * @return el número de puertas interiores del laberinto.
      */
-    private int conectaCuarto(Cuarto cuarto, Direccion direccion) {
-        int x = cuarto.getX() + direccion.getCambioColumna();
-        int y = cuarto.getY() + direccion.getCambioRenglon();
-        if(x < 0 || x >= columnas || y < 0 || y >= renglones)
-            return 0;
-        Cuarto vecino = cuartos[y][x];
-        int puntaje = 1 + cuarto.getPuntaje() + vecino.getPuntaje();
-        try {
-            grafica.conecta(cuarto, vecino, puntaje);
-            return 0;
-        }catch(IllegalArgumentException iae) {
-            return 1;
+    public int getPuertas() {
+        return puertas;
+    }
+
+    /**
+     * Resuelve el laberinto con el algoritmo de Dijkstra directamente sobre
+     * los bytes de los cuartos, sin construir ninguna gráfica.
+     * @throws ExcepcionLaberintoInvalido si el laberinto no tiene solución.
+     */
+    public void resuelveImplicito() {
+        setCamino(new BusquedaImplicita(implicita).dijkstra(getIndice(entrada),
+                                                            getIndice(salida)));
+    }
+
+    /**
+     * Resuelve el laberinto calculando el campo de distancias completo desde
+     * la entrada con el algoritmo de Dijkstra sobre los bytes de los cuartos.
+     * El camino es el mismo que el de {@link #resuelveImplicito()}, y las
+     * distancias se guardan para {@link #getDistancias()}, que así no vuelve
+     * a buscar.
+     * @throws ExcepcionLaberintoInvalido si el laberinto no tiene solución.
+     */
+    public void resuelveCampoDistancias() {
+        BusquedaImplicita busqueda = calculaDistancias();
+        setCamino(busqueda.trayectoria(getIndice(salida)));
+    }
+
+    /**
+     * Resuelve el laberinto con el algoritmo de Dijkstra sobre su gráfica
+     * compacta.
+     * @throws ExcepcionLaberintoInvalido si el laberinto no tiene solución.
+     */
+    public void resuelveCompacto() {
+        setCamino(getGraficaCompacta().dijkstra(getIndice(entrada), getIndice(salida)));
+    }
+
+    /**
+     * Resuelve el laberinto con el algoritmo de Dijkstra sobre su gráfica,
+     * con el tipo de montículo recibido.
+     * @param tipo el tipo de montículo.
+     * @throws ExcepcionLaberintoInvalido si el laberinto no tiene solución.
+     */
+    public void resuelveDijkstra(TipoMonticulo tipo) {
+        setCamino(getGrafica().dijkstra(entrada, salida, tipo));
+    }
+
+    /**
+     * Resuelve el laberinto con el algoritmo de Dijkstra perezoso sobre su
+     * gráfica, que sólo inicializa los vértices que alcanza.
+     * @throws ExcepcionLaberintoInvalido si el laberinto no tiene solución.
+     */
+    public void resuelvePerezoso() {
+        setCamino(getGrafica().dijkstraPerezoso(entrada, salida));
+    }
+
+    /**
+     * Regresa la gráfica implícita de los cuartos del laberinto, que calcula
+     * las puertas y sus costos directamente de {@link #getDatos()}.
+     * @return la gráfica implícita de los cuartos del laberinto.
+     */
+    public GraficaCuartos getGraficaImplicita() {
+        return implicita;
+    }
+
+    /**
+     * Regresa la gráfica de los cuartos del laberinto, construyéndola con la
+     * primera llamada. Sólo la necesitan los algoritmos de {@link Grafica};
+     * los demás trabajan sobre los bytes de los cuartos.
+     * @return la gráfica de los cuartos del laberinto.
+     */
+    private Grafica<Cuarto> getGrafica() {
+        if(grafica != null)
+            return grafica;
+        grafica = new Grafica<Cuarto>();
+        for(Cuarto cuarto : this)
+            grafica.agrega(cuarto);
+        int[] vecinos = new int[implicita.getGradoMaximo()];
+        for(int v = 0; v < datos.length; v++) {
+            Cuarto cuarto = getCuarto(v);
+            int n = implicita.vecinos(v, vecinos);
+            for(int i = 0; i < n; i++) {
+                Cuarto vecino = getCuarto(vecinos[i]);
+                if(!grafica.sonVecinos(cuarto, vecino))
+                    grafica.conecta(cuarto, vecino, implicita.getPeso(v, vecinos[i]));
+            }
         }
+        return grafica;
     }
 
     /**
-     * Verifica que el laberinto tenga solución.
+     * Regresa la gráfica compacta de los cuartos del laberinto, construyéndola
+     * si es necesario. El vértice <i>i</i> es el cuarto con índice <i>i</i>
+     * en {@link #getDatos()}.
+     * @return la gráfica compacta de los cuartos del laberinto.
+     */
+    public GraficaCompacta getGraficaCompacta() {
+        if(compacta == null)
+            compacta = creaGraficaCompacta(datos, columnas, renglones);
+        return compacta;
+    }
+
+    /**
+     * Construye una gráfica compacta directamente de los bytes de los cuartos,
+     * sin crear cuartos ni gráficas. El vértice <code>y*columnas+x</code> es
+     * el cuarto en la coordenada (x, y), sus vecinos son los cuartos con los
+     * que comparte una puerta y el peso de cada puerta es la suma de los
+     * puntajes de los cuartos más uno.
+     * @param cuartos los bytes de los cuartos, por renglones.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @return la gráfica compacta de los cuartos.
+     * @throws IllegalArgumentException si el número de bytes no corresponde a
+     *         las dimensiones.
+     */
+    public static GraficaCompacta creaGraficaCompacta(byte[] cuartos,
+                                                      int columnas,
+                                                      int renglones) {
+        GraficaCuartos implicita = new GraficaCuartos(cuartos, columnas, renglones);
+        int[] vecinos = new int[implicita.getGradoMaximo()];
+        int[] inicios = new int[cuartos.length + 1];
+        for(int v = 0; v < cuartos.length; v++)
+            inicios[v + 1] = inicios[v] + implicita.vecinos(v, vecinos);
+        int[] destinos = new int[inicios[cuartos.length]];
+        byte[] pesos = new byte[destinos.length];
+        for(int v = 0; v < cuartos.length; v++) {
+            int n = implicita.vecinos(v, vecinos);
+            for(int i = 0; i < n; i++) {
+                destinos[inicios[v] + i] = vecinos[i];
+                pesos[inicios[v] + i] = (byte)implicita.getPeso(v, vecinos[i]);
+            }
+        }
+        return new GraficaCompacta(inicios, destinos, pesos);
+    }
+
+    /**
+     * Nos dice si el laberinto es perfecto, es decir, si el número de puertas
+     * interiores es el número de cuartos menos uno.
+     * @return <code>true</code> si el laberinto es perfecto, <code>false</code>
+     *         en otro caso.
+     */
+    public boolean esPerfecto() {
+        return puertas == columnas * renglones - 1;
+    }
+
+    /**
+     * Resuelve el laberinto como un árbol, recorriendo los cuartos desde la
+     * entrada sin comparar distancias.
+     * @return <code>true</code> si las puertas alcanzables desde la entrada
+     *         forman un árbol y el laberinto quedó resuelto, <code>false</code>
+     *         si hay ciclos.
+     * @throws ExcepcionLaberintoInvalido si el laberinto no tiene solución.
+     */
+    public boolean resuelveArbol() {
+        ResolvedorArbol resolvedor = new ResolvedorArbol(datos, columnas, renglones);
+        int[] trayectoria = resolvedor.resuelve(getIndice(entrada), getIndice(salida));
+        if(trayectoria == null)
+            return false;
+        setCamino(trayectoria);
+        return true;
+    }
+
+    /**
+     * Resuelve el laberinto contrayendo sus pasillos: las cadenas de cuartos con
+     * dos puertas se reemplazan por una sola arista entre cruces, y el algoritmo
+     * de Dijkstra corre sobre la gráfica de cruces.
+     * @throws ExcepcionLaberintoInvalido si el laberinto no tiene solución.
+     */
+    public void resuelvePasillos() {
+        int s = getIndice(entrada);
+        int t = getIndice(salida);
+        setCamino(new ContraccionPasillos(datos, columnas, renglones, s, t).resuelve(s, t));
+    }
+
+    /**
+     * Construye la abstracción jerárquica del laberinto, con bloques de
+     * {@link AbstraccionJerarquica#TAMANO} cuartos por lado.
+     * @return la abstracción jerárquica del laberinto.
+     */
+    public AbstraccionJerarquica creaAbstraccionJerarquica() {
+        return new AbstraccionJerarquica(datos, columnas, renglones, AbstraccionJerarquica.TAMANO);
+    }
+
+    /**
+     * Carga la abstracción jerárquica del laberinto de un buffer, por ejemplo
+     * un archivo mapeado en memoria.
+     * @param buffer el buffer con la abstracción serializada.
+     * @return la abstracción jerárquica del laberinto.
+     * @throws IllegalArgumentException si el buffer no es una abstracción
+     *         válida de este laberinto.
+     */
+    public AbstraccionJerarquica cargaAbstraccionJerarquica(ByteBuffer buffer) {
+        return AbstraccionJerarquica.carga(buffer, datos, columnas, renglones);
+    }
+
+    /**
+     * Resuelve el laberinto con búsqueda jerárquica sobre una abstracción
+     * construida o cargada previamente.
+     * @param abstraccion la abstracción jerárquica del laberinto.
      * @throws ExcepcionLaberintoInvalido si el laberinto no tiene solución.
      */
-    private void verificaSolucion() {
-        camino = grafica.dijkstra(entrada, salida);
+    public void resuelveJerarquico(AbstraccionJerarquica abstraccion) {
+        setCamino(abstraccion.resuelve(getIndice(entrada), getIndice(salida)));
+    }
+
+    /**
+     * Resuelve el laberinto rellenando primero sus callejones sin salida. Si los
+     * cuartos que sobreviven forman un solo pasillo, como en los laberintos
+     * perfectos, ése es el camino de solución; en otro caso el algoritmo de
+     * Dijkstra corre sólo sobre los sobrevivientes.
+     * @throws ExcepcionLaberintoInvalido si el laberinto no tiene solución.
+     */
+    public void resuelveRellenoCallejones() {
+        int s = getIndice(entrada);
+        int t = getIndice(salida);
+        RellenoCallejones relleno = new RellenoCallejones(datos, columnas, renglones, s, t);
+        int[] trayectoria = relleno.getSolucion();
+        if(trayectoria == null) {
+            trayectoria = new BusquedaImplicita(relleno).dijkstra(s, t);
+        }
+        setCamino(trayectoria);
+    }
+
+    /**
+     * Resuelve el laberinto con el algoritmo A*. La heurística es la distancia
+     * Manhattan entre los cuartos multiplicada por el costo mínimo de una puerta,
+     * por lo que nunca sobreestima el costo a la salida. Es entera y consistente,
+     * por lo que el montículo se elige como en Dijkstra.
+     * @param paradaTemprana si es <code>true</code>, la búsqueda termina en cuanto
+     *        la distancia a la salida es definitiva.
+     * @throws ExcepcionLaberintoInvalido si el laberinto no tiene solución.
+     */
+    public void resuelveAEstrella(boolean paradaTemprana) {
+        setCamino(getGrafica().aEstrella(entrada, salida, Laberinto::manhattan, paradaTemprana,
+                                         TipoMonticulo.AUTOMATICO));
+    }
+
+    /**
+     * Resuelve el laberinto con el algoritmo de Dijkstra bidireccional, buscando
+     * al mismo tiempo desde la entrada y desde la salida.
+     * @throws ExcepcionLaberintoInvalido si el laberinto no tiene solución.
+     */
+    public void resuelveBidireccional() {
+        setCamino(getGrafica().dijkstraBidireccional(entrada, salida));
+    }
+
+    /**
+     * Regresa las <i>k</i> trayectorias sin ciclos de menor costo de la
+     * entrada a la salida, con el algoritmo de Yen. En un laberinto perfecto
+     * sólo hay una.
+     * @param k el número de trayectorias.
+     * @return a lo más <i>k</i> trayectorias, en orden de costo no decreciente.
+     * @throws IllegalArgumentException si <i>k</i> no es positivo.
+     */
+    public Lista<Lista<VerticeGrafica<Cuarto>>> getTrayectorias(int k) {
+        return getGrafica().yen(entrada, salida, k);
+    }
+
+    /**
+     * Regresa el costo de una trayectoria de cuartos vecinos.
+     * @param trayectoria la trayectoria.
+     * @return la suma de los costos de las puertas de la trayectoria.
+     */
+    public int getCosto(Lista<VerticeGrafica<Cuarto>> trayectoria) {
+        int costo = 0;
+        Cuarto anterior = null;
+        for(VerticeGrafica<Cuarto> v : trayectoria) {
+            if(anterior != null)
+                costo += 1 + anterior.getPuntaje() + v.get().getPuntaje();
+            anterior = v.get();
+        }
+        return costo;
+    }
+
+    /**
+     * Regresa el campo de distancias desde la entrada: el costo mínimo de la
+     * entrada a cada cuarto, en el orden de {@link #getDatos()}. Los cuartos
+     * inalcanzables tienen {@link BusquedaImplicita#INFINITO}. Si el laberinto
+     * se resolvió con {@link #resuelveCampoDistancias()} se regresan las
+     * distancias de esa búsqueda; en otro caso se calculan con la primera
+     * consulta.
+     * @return las distancias desde la entrada a todos los cuartos.
+     */
+    public int[] getDistancias() {
+        if(distancias == null)
+            calculaDistancias();
+        return distancias;
+    }
+
+    /**
+     * Calcula y guarda las distancias de la entrada a todos los cuartos.
+     * @return la búsqueda con el árbol de trayectorias mínimas desde la entrada.
+     */
+    private BusquedaImplicita calculaDistancias() {
+        BusquedaImplicita busqueda = new BusquedaImplicita(implicita);
+        busqueda.dijkstra(getIndice(entrada));
+        distancias = new int[datos.length];
+        for(int i = 0; i < datos.length; i++)
+            distancias[i] = busqueda.getDistancia(i);
+        return busqueda;
+    }
+
+    /**
+     * Regresa un resolvedor incremental sobre una copia de los cuartos del
+     * laberinto, para modificar puertas y puntajes y volver a resolver sin
+     * deserializar el laberinto ni recalcular todas las distancias.
+     * @return un resolvedor incremental de la entrada a la salida.
+     */
+    public ResolvedorIncremental creaResolvedorIncremental() {
+        return new ResolvedorIncremental(datos, columnas, renglones,
+                                         getIndice(entrada), getIndice(salida));
+    }
+
+    /**
+     * Regresa el costo de la trayectoria entre dos cuartos de un laberinto
+     * perfecto. La primera consulta construye un índice en tiempo
+     * <i>O</i>(<i>n</i> log <i>n</i>); las siguientes toman tiempo constante.
+     * @param a el primer cuarto.
+     * @param b el segundo cuarto.
+     * @return el costo de la trayectoria entre los cuartos.
+     * @throws IllegalStateException si el laberinto no es perfecto.
+     */
+    public int getCosto(Cuarto a, Cuarto b) {
+        return getIndiceAncestros().costo(getIndice(a), getIndice(b));
+    }
+
+    /**
+     * Regresa la trayectoria entre dos cuartos de un laberinto perfecto, en
+     * tiempo proporcional a su longitud una vez construido el índice.
+     * @param a el cuarto de origen.
+     * @param b el cuarto de destino.
+     * @return la lista de cuartos de la trayectoria, de <code>a</code> a
+     *         <code>b</code>.
+     * @throws IllegalStateException si el laberinto no es perfecto.
+     */
+    public Lista<Cuarto> getTrayectoria(Cuarto a, Cuarto b) {
+        Lista<Cuarto> trayectoria = new Lista<Cuarto>();
+        for(int indice : getIndiceAncestros().trayectoria(getIndice(a), getIndice(b)))
+            trayectoria.agrega(getCuarto(indice));
+        return trayectoria;
+    }
+
+    /**
+     * Regresa el índice para consultas entre cuartos, construyéndolo si es
+     * necesario con la entrada como raíz.
+     * @return el índice para consultas entre cuartos.
+     * @throws IllegalStateException si el laberinto no es perfecto.
+     */
+    private IndiceAncestros getIndiceAncestros() {
+        if(indiceAncestros != null)
+            return indiceAncestros;
+        if(!esPerfecto())
+            throw new IllegalStateException("El laberinto no es perfecto.");
+        try {
+            indiceAncestros = new IndiceAncestros(datos, columnas, renglones, getIndice(entrada));
+        } catch(IllegalArgumentException iae) {
+            throw new IllegalStateException("El laberinto no es perfecto.");
+        }
+        return indiceAncestros;
+    }
+
+    /**
+     * Estima el costo mínimo entre dos cuartos con la distancia Manhattan.
+     * @param cuarto el cuarto de origen.
+     * @param destino el cuarto de destino.
+     * @return la distancia Manhattan entre los cuartos por el costo mínimo de una puerta.
+     */
+    private static double manhattan(Cuarto cuarto, Cuarto destino) {
+        return COSTO_MINIMO_PUERTA * (Math.abs(cuarto.getX() - destino.getX()) +
+                                      Math.abs(cuarto.getY() - destino.getY()));
+    }
+
+    /**
+     * Define el camino de solución del laberinto a partir de los índices de sus
+     * cuartos.
+     * @param trayectoria los índices de los cuartos del camino de solución.
+     * @throws ExcepcionLaberintoInvalido si el camino es vacío.
+     */
+    private void setCamino(int[] trayectoria) {
+        Lista<VerticeGrafica<Cuarto>> camino = new Lista<VerticeGrafica<Cuarto>>();
+        for(int indice : trayectoria)
+            camino.agrega(new VerticeCuarto(indice));
+        setCamino(camino);
+    }
+
+    /**
+     * Define el camino de solución del laberinto.
+     * @param camino el camino de solución.
+     * @throws ExcepcionLaberintoInvalido si el camino es vacío.
+     */
+    private void setCamino(Lista<VerticeGrafica<Cuarto>> camino) {
         if(camino.esVacia())
             throw new ExcepcionLaberintoInvalido("El laberinto no tiene solución.");
+        this.camino = camino;
     }
 
 }
\ No newline at end of file
@@ -3,9 +3,19 @@ package mx.unam.ciencias.edd.proyecto3;
 import java.io.FileInputStream;
 import java.io.InputStream;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeGrafica;
 import mx.unam.ciencias.edd.proyecto3.algoritmos.FabricaSimple;
 import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberinto;
 import mx.unam.ciencias.edd.proyecto3.graficadores.GraficadorLaberinto;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.AbstraccionJerarquica;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.RegistroResolvedores;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.Resolvedor;
 
 /**
  * <p>Proyecto 3: Estructuras de datos.</p>
@@ -23,11 +33,16 @@ public class Proyecto3 {
     private static final int ERROR_USO = 1;
 	/* Codigo de terminacion por error de lectura. */
 	private static final int ERROR_LECTURA = 2;
+	/* Codigo de terminacion por error de escritura. */
+	private static final int ERROR_ESCRITURA = 3;
+	/* Extension del archivo de la abstraccion jerarquica. */
+	private static final String EXTENSION_ABSTRACCION = ".hpa";
     
     /* Imprime en pantalla como debe usarse el programa y lo termina. */
     private static void uso() {
       	System.out.println("Uso para generar laberinto: java -jar target/proyecto3.jar -g [-s <semilla>] -w <columnas> -h <renglones>");
-      	System.out.println("Uso para resolver laberinto: java -jar target/proyecto3.jar [<archivo>]");
+      	System.out.println("Uso para resolver laberinto: java -jar target/proyecto3.jar [-d <distancias>] [-p <imagen.pgm>] [-k <trayectorias>] [-j | -a <resolvedor>] [<archivo>]");
+      	System.out.println("Resolvedores: " + String.join(", ", RegistroResolvedores.getNombres()));
       	System.exit(ERROR_USO);
     }
 
@@ -36,21 +51,35 @@ public class Proyecto3 {
      * @param args los argumentos de la línea de comandos.
      */
     public static void main(String[] args) {
-		if(args.length > 1)
-			generaLaberinto(args);
+		EntradaEstandar entradaEstandar = null;
+		try {
+			entradaEstandar = new EntradaEstandar(args);
+		} catch (ExcepcionLaberintoInvalido eli) {
+			System.err.println(eli.getMessage() + "\n");
+			uso();
+		}
+		if(entradaEstandar.isGenerando())
+			generaLaberinto(entradaEstandar);
 		else
-			resuelveLaberinto(args);
+			resuelveLaberinto(entradaEstandar);
 	}
 
 	/**
 	 * Resuelve un laberinto.
-	 * @param args los argumentos de la línea de comandos.
+	 * @param entradaEstandar la entrada estándar con el archivo y las salidas.
 	 */
-	private static void resuelveLaberinto(String[] args) {
+	private static void resuelveLaberinto(EntradaEstandar entradaEstandar) {
 		Laberinto laberinto = new Laberinto();
+		Lista<Lista<VerticeGrafica<Cuarto>>> trayectorias = new Lista<Lista<VerticeGrafica<Cuarto>>>();
+		String archivo = entradaEstandar.getArchivo();
+		Resolvedor resolvedor = eligeResolvedor(entradaEstandar, trayectorias);
 		try{
-			InputStream is = (args.length == 0) ? System.in : new FileInputStream(args[0]);
-			laberinto.deseria(is);
+			if(archivo == null)
+				laberinto.deseria(System.in, resolvedor);
+			else
+				try (InputStream is = new FileInputStream(archivo)) {
+					laberinto.deseria(is, resolvedor);
+				}
 		}catch(IOException ioe) {
 			System.err.println("Error de lectura: " + ioe.getMessage() + "\n");
 			System.exit(ERROR_LECTURA);
@@ -58,17 +87,146 @@ public class Proyecto3 {
 			System.err.println(eli.getMessage() + "\n");
 			uso();
 		}
+		escribeDistancias(laberinto, entradaEstandar);
+		if(entradaEstandar.getTrayectorias() > 0) {
+			escribeTrayectorias(laberinto, trayectorias);
+			return;
+		}
 		GraficadorLaberinto graficadorLaberinto = new GraficadorLaberinto(laberinto);
 		System.out.println(graficadorLaberinto.graficaLaberinto());
 	}
 
+	/**
+	 * Regresa el resolvedor con el que se lee el laberinto, para que se
+	 * resuelva una sola vez. Con la bandera -k el resolvedor calcula las
+	 * trayectorias de menor costo y las agrega a la lista recibida, sin
+	 * calcular un camino; con la bandera -j resuelve con búsqueda
+	 * jerárquica; si no se eligió un resolvedor y se pidieron las distancias,
+	 * resuelve calculando el campo de distancias completo, que se reutiliza al
+	 * escribirlas; y en otro caso es el resolvedor elegido con la bandera -a.
+	 * @param entradaEstandar la entrada estándar con las banderas.
+	 * @param trayectorias la lista donde se agregan las trayectorias.
+	 * @return el resolvedor para leer el laberinto.
+	 */
+	private static Resolvedor eligeResolvedor(EntradaEstandar entradaEstandar,
+	                                          Lista<Lista<VerticeGrafica<Cuarto>>> trayectorias) {
+		int k = entradaEstandar.getTrayectorias();
+		if(k > 0)
+			return l -> {
+				for(Lista<VerticeGrafica<Cuarto>> trayectoria : l.getTrayectorias(k))
+					trayectorias.agrega(trayectoria);
+				if(trayectorias.esVacia())
+					throw new ExcepcionLaberintoInvalido("El laberinto no tiene solución.");
+			};
+		if(entradaEstandar.isJerarquico())
+			return l -> resuelveJerarquico(l, entradaEstandar.getArchivo());
+		if(RegistroResolvedores.AUTOMATICO.equals(entradaEstandar.getResolvedor()) &&
+		   (entradaEstandar.getArchivoDistancias() != null || entradaEstandar.getArchivoImagen() != null))
+			return Laberinto::resuelveCampoDistancias;
+		return RegistroResolvedores.getResolvedor(entradaEstandar.getResolvedor());
+	}
+
+	/**
+	 * Escribe el campo de distancias del laberinto en los archivos pedidos, si
+	 * se pidió alguno.
+	 * @param laberinto el laberinto resuelto.
+	 * @param entradaEstandar la entrada estándar con los archivos de salida.
+	 */
+	private static void escribeDistancias(Laberinto laberinto, EntradaEstandar entradaEstandar) {
+		String distancias = entradaEstandar.getArchivoDistancias();
+		String imagen = entradaEstandar.getArchivoImagen();
+		if(distancias == null && imagen == null)
+			return;
+		CampoDistancias campo = new CampoDistancias(laberinto.getDistancias(),
+		                                            laberinto.getColumnas(),
+		                                            laberinto.getRenglones());
+		try {
+			if(distancias != null)
+				try (FileChannel canal = abreCanal(distancias)) {
+					campo.seria(canal);
+				}
+			if(imagen != null)
+				try (FileChannel canal = abreCanal(imagen)) {
+					campo.seriaPGM(canal);
+				}
+		} catch (IOException ioe) {
+			System.err.println("Error de escritura: " + ioe.getMessage() + "\n");
+			System.exit(ERROR_ESCRITURA);
+		}
+	}
+
+	/**
+	 * Escribe las k trayectorias de menor costo del laberinto, una por
+	 * renglón: el costo seguido de las coordenadas de sus cuartos.
+	 * @param laberinto el laberinto.
+	 * @param trayectorias las trayectorias.
+	 */
+	private static void escribeTrayectorias(Laberinto laberinto,
+	                                        Lista<Lista<VerticeGrafica<Cuarto>>> trayectorias) {
+		StringBuilder sb = new StringBuilder();
+		for(Lista<VerticeGrafica<Cuarto>> trayectoria : trayectorias) {
+			sb.append(laberinto.getCosto(trayectoria)).append(':');
+			for(VerticeGrafica<Cuarto> v : trayectoria)
+				sb.append(' ').append(v.get().getX()).append(',').append(v.get().getY());
+			sb.append('\n');
+		}
+		System.out.print(sb);
+	}
+
+	/**
+	 * Resuelve el laberinto con búsqueda jerárquica. Si el laberinto se leyó
+	 * de un archivo, la abstracción se guarda junto a él y en las siguientes
+	 * ejecuciones se mapea en memoria en lugar de construirse; si la guardada
+	 * no corresponde al laberinto, se vuelve a construir. Si no se puede
+	 * guardar, sólo se avisa y se resuelve con la abstracción en memoria.
+	 * @param laberinto el laberinto a resolver.
+	 * @param archivo el archivo del laberinto, o <code>null</code> si se leyó
+	 *        de la entrada estándar.
+	 */
+	private static void resuelveJerarquico(Laberinto laberinto, String archivo) {
+		if(archivo == null) {
+			laberinto.resuelveJerarquico(laberinto.creaAbstraccionJerarquica());
+			return;
+		}
+		Path ruta = Paths.get(archivo + EXTENSION_ABSTRACCION);
+		AbstraccionJerarquica abstraccion = null;
+		if(Files.exists(ruta))
+			try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+				abstraccion = laberinto.cargaAbstraccionJerarquica(
+					canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()));
+			} catch (IOException | IllegalArgumentException e) {
+				abstraccion = null;
+			}
+		if(abstraccion == null) {
+			abstraccion = laberinto.creaAbstraccionJerarquica();
+			try (FileChannel canal = abreCanal(ruta.toString())) {
+				abstraccion.seria(canal);
+			} catch (IOException ioe) {
+				System.err.println("No se pudo guardar la abstracción: " + ioe.getMessage() + "\n");
+			}
+		}
+		laberinto.resuelveJerarquico(abstraccion);
+	}
+
+	/**
+	 * Abre un canal para escribir un archivo, reemplazando su contenido.
+	 * @param archivo el nombre del archivo.
+	 * @return el canal del archivo.
+	 * @throws IOException si ocurre un error de entrada o salida.
+	 */
+	private static FileChannel abreCanal(String archivo) throws IOException {
+		return FileChannel.open(Paths.get(archivo),
+		                        StandardOpenOption.CREATE,
+		                        StandardOpenOption.WRITE,
+		                        StandardOpenOption.TRUNCATE_EXISTING);
+	}
+
 	/**
 	 * Genera un laberinto.
-	 * @param args los argumentos de la línea de comandos.
+	 * @param entradaEstandar la entrada estándar con la semilla y las dimensiones.
 	 */
-	private static void generaLaberinto(String[] args) {
+	private static void generaLaberinto(EntradaEstandar entradaEstandar) {
 		try {
-            EntradaEstandar entradaEstandar = new EntradaEstandar(args);
             GeneradorLaberinto generadorLaberinto = FabricaSimple.creaGeneradorLaberinto(entradaEstandar);
 			generadorLaberinto.creaLaberinto();
             generadorLaberinto.generaLaberinto(System.out);
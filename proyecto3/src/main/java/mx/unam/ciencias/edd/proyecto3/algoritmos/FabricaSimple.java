@@ -5,15 +5,22 @@ import mx.unam.ciencias.edd.proyecto3.EntradaEstandar;
 /**
  * <p>Clase que fabrica generadores de laberintos con base en la entrada estandar. La fabrica simple 
  * elige un generador de laberintos con base en el tamaño del laberinto.</p>
+ *
+ * <p>Los primeros siete algoritmos tienen rangos del mismo tamaño; los algoritmos de Wilson y de
+ * Eller se agregaron después partiendo el último rango, para que los demás tamaños sigan eligiendo
+ * el mismo algoritmo que antes.</p>
  */
 public class FabricaSimple {
 
-    /* Número de algoritmos generadores. */
+    /* Número de algoritmos generadores con rangos del mismo tamaño. */
     private static final int NUM_ALGORITMOS = 7;
 
     /* Rango para cada algoritmo generador. */
     private static final int RANGO = 255 / NUM_ALGORITMOS;
 
+    /* Rango para cada algoritmo en el que se parte el último rango. */
+    private static final int RANGO_FINAL = (255 - RANGO * (NUM_ALGORITMOS - 1)) / 3;
+
     /* Constructor privado para evitar instanciacion. */
     private FabricaSimple() {}
     
@@ -37,7 +44,11 @@ public class FabricaSimple {
             return new GeneradorLaberintoBFS(ee);
         else if(columnas < RANGO * 6 && renglones < RANGO * 6)
             return new GeneradorLaberintoPrim(ee);
-        else
+        else if(columnas < RANGO * 6 + RANGO_FINAL && renglones < RANGO * 6 + RANGO_FINAL)
             return new GeneradorLaberintoArbolBinario(ee);
+        else if(columnas < RANGO * 6 + RANGO_FINAL * 2 && renglones < RANGO * 6 + RANGO_FINAL * 2)
+            return new GeneradorLaberintoWilson(ee);
+        else
+            return new GeneradorLaberintoEller(ee);
     }
 }
\ No newline at end of file
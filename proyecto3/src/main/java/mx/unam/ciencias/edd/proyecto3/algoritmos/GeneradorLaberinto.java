@@ -42,13 +42,13 @@ public abstract class GeneradorLaberinto {
         this.random = new Random(entradaEstandar.getSemilla());
         this.columnas = entradaEstandar.getColumnas();
         this.renglones = entradaEstandar.getRenglones();
-        this.laberinto = new Cuarto[renglones][columnas];
     }
 
     /**
      * Crea el laberinto.
      */
     public void creaLaberinto() {
+        laberinto = new Cuarto[renglones][columnas];
         creaEntrada();
         creaSalida();
         llenaLaberinto();
@@ -153,6 +153,62 @@ public abstract class GeneradorLaberinto {
         return vecinos;
     }
 
+    /**
+     * Regresa el cuarto con el índice <code>y*columnas+x</code>.
+     * @param indice el índice del cuarto.
+     * @return el cuarto.
+     */
+    protected Cuarto getCuarto(int indice) {
+        return laberinto[indice / columnas][indice % columnas];
+    }
+
+    /**
+     * Regresa el índice del vecino de un cuarto en una dirección.
+     * @param indice el índice del cuarto.
+     * @param direccion la dirección del vecino.
+     * @return el índice del vecino, o -1 si el vecino queda fuera del
+     *         laberinto.
+     */
+    protected int vecinoDe(int indice, Direccion direccion) {
+        int nx = indice % columnas + direccion.getCambioColumna();
+        int ny = indice / columnas + direccion.getCambioRenglon();
+        if(nx < 0 || nx >= columnas || ny < 0 || ny >= renglones)
+            return -1;
+        return ny * columnas + nx;
+    }
+
+    /**
+     * Regresa el identificador de la pared entre dos cuartos vecinos: el
+     * doble del índice del cuarto al sur o al este, más uno si la pared es
+     * vertical.
+     * @param cuarto el índice de un cuarto.
+     * @param vecino el índice del cuarto vecino.
+     * @return el identificador de la pared.
+     */
+    protected int pared(int cuarto, int vecino) {
+        int mayor = Math.max(cuarto, vecino);
+        return (mayor << 1) | (Math.abs(cuarto - vecino) == columnas ? 0 : 1);
+    }
+
+    /**
+     * Regresa el índice del cuarto al sur o al este de una pared.
+     * @param pared el identificador de la pared.
+     * @return el índice del cuarto.
+     */
+    protected int cuartoDe(int pared) {
+        return pared >> 1;
+    }
+
+    /**
+     * Regresa el índice del otro cuarto de una pared, el que queda al norte
+     * o al oeste.
+     * @param pared el identificador de la pared.
+     * @return el índice del cuarto.
+     */
+    protected int otroCuartoDe(int pared) {
+        return (pared & 1) == 1 ? (pared >> 1) - 1 : (pared >> 1) - columnas;
+    }
+
     /**
      * Quita la pared entre dos cuartos.
      * @param cuarto el cuarto al que se le quitara la pared.
@@ -1,9 +1,8 @@
 package mx.unam.ciencias.edd.proyecto3.algoritmos;
 
-import mx.unam.ciencias.edd.Conjunto;
-import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.BolsaEnteros;
+import mx.unam.ciencias.edd.proyecto3.Direccion;
 import mx.unam.ciencias.edd.proyecto3.EntradaEstandar;
-import mx.unam.ciencias.edd.proyecto3.Cuarto;
 
 /**
  * <p>Clase que genera un laberinto a partir de un cuarto con el algoritmo de búsqueda en amplitud (BFS).</p>
@@ -12,15 +11,18 @@ import mx.unam.ciencias.edd.proyecto3.Cuarto;
  * 
  * <ol>
  *     <li>Se elige un cuarto aleatorio y se marca como visitado.</li>
- *     <li>Se elige un cuarto aleatorio de la lista de cuartos y se elimina de la lista.</li>
+ *     <li>Se saca un cuarto aleatorio de la bolsa de cuartos.</li>
  *     <li>Por cada vecino del cuarto, si no ha sido visitado:
  *          <ul>
  *              <li>Se quita la pared entre el cuarto y el vecino.</li>
- *              <li>Se agrega el vecino a la lista de cuartos.</li>
+ *              <li>Se agrega el vecino a la bolsa de cuartos.</li>
  *              <li>Se marca el vecino como visitado.</li>
  *          </ul>
  *     </li>
  * </ol>
+ *
+ * <p>La bolsa guarda los índices <code>y*columnas+x</code> de los cuartos,
+ * por lo que sacar un cuarto toma tiempo constante.</p>
  */
 public class GeneradorLaberintoBFS extends GeneradorLaberinto {
     
@@ -39,21 +41,21 @@ public class GeneradorLaberintoBFS extends GeneradorLaberinto {
      */
     @Override
     public void creaLaberintoDesde(int x, int y) {
-        Conjunto<Cuarto> visitados = new Conjunto<Cuarto>();
-        Lista<Cuarto> lista = new Lista<Cuarto>();
-        lista.agrega(laberinto[y][x]);
-        visitados.agrega(laberinto[y][x]);
-        while(!lista.esVacia()) {
-            int i = random.nextInt(lista.getElementos());
-            Cuarto cuarto = lista.get(i);
-            lista.elimina(cuarto);
-            Lista<Cuarto> vecinos = vecinosDe(cuarto);
-            for(Cuarto vecino : vecinos)
-                if(!visitados.contiene(vecino)) {
-                    quitaPared(cuarto, vecino);
-                    lista.agrega(vecino);
-                    visitados.agrega(vecino);
+        boolean[] visitados = new boolean[columnas * renglones];
+        BolsaEnteros bolsa = new BolsaEnteros(random);
+        int inicio = y * columnas + x;
+        bolsa.mete(inicio);
+        visitados[inicio] = true;
+        while(!bolsa.esVacia()) {
+            int cuarto = bolsa.saca();
+            for(Direccion direccion : Direccion.values()) {
+                int vecino = vecinoDe(cuarto, direccion);
+                if(vecino != -1 && !visitados[vecino]) {
+                    quitaPared(getCuarto(cuarto), getCuarto(vecino));
+                    bolsa.mete(vecino);
+                    visitados[vecino] = true;
                 }
+            }
         }
     }
 }
\ No newline at end of file
@@ -1,15 +1,11 @@
 package mx.unam.ciencias.edd.proyecto3.algoritmos;
 
-import mx.unam.ciencias.edd.Conjunto;
-import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.proyecto3.Direccion;
 import mx.unam.ciencias.edd.proyecto3.EntradaEstandar;
-import mx.unam.ciencias.edd.proyecto3.Cuarto;
 
 /**
  * <p>Clase que genera un laberinto a partir de un cuarto con el algoritmo de búsqueda en profundidad (DFS).</p>
  * 
- * <p>Puede llegar a volcarse en un stack overflow si el laberinto es muy grande.</p>
- * 
  * <p>El algoritmo hace lo siguiente:</p>
  * 
  * <ol>
@@ -20,11 +16,26 @@ import mx.unam.ciencias.edd.proyecto3.Cuarto;
  *        ha creado un camino y se repite el paso 2.</li>
  *    <li>Se repite el paso 3 hasta que todos los cuartos hayan sido visitados.</li>
  * </ol>
+ *
+ * <p>El recorrido usa una pila explícita en lugar de recursión, por lo que no
+ * depende del tamaño de la pila de la máquina virtual. Cada entrada de la pila
+ * guarda el índice <code>y*columnas+x</code> de un cuarto y, en sus cuatro
+ * bits bajos, los vecinos que le quedan por elegir en el orden de {@link
+ * Direccion#values}. Como elegir un vecino lo quita sin cambiar el orden de
+ * los demás, para la misma semilla se obtiene el mismo laberinto que con la
+ * versión recursiva.</p>
  */
 public class GeneradorLaberintoDFS extends GeneradorLaberinto {
 
-    /* Conjunto de cuartos visitados. */
-    private Conjunto<Cuarto> visitados;
+    /* Las direcciones, en el orden en que se eligen los vecinos. */
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+
+    /* Cuartos visitados. */
+    private boolean[] visitados;
+    /* Pila de cuartos con sus vecinos por elegir. */
+    private int[] pila;
+    /* Direcciones de los vecinos por elegir del cuarto en el tope. */
+    private int[] vecinos;
     
     /**
      * Define el estado inicial del generador de laberintos.
@@ -32,7 +43,9 @@ public class GeneradorLaberintoDFS extends GeneradorLaberinto {
      */
     public GeneradorLaberintoDFS(EntradaEstandar entradaEstandar) {
         super(entradaEstandar);
-        visitados = new Conjunto<Cuarto>();
+        visitados = new boolean[columnas * renglones];
+        pila = new int[columnas * renglones];
+        vecinos = new int[DIRECCIONES.length];
     }
 
     /**
@@ -42,16 +55,43 @@ public class GeneradorLaberintoDFS extends GeneradorLaberinto {
      */
     @Override
     public void creaLaberintoDesde(int x, int y) {
-        visitados.agrega(laberinto[y][x]);
-        Lista<Cuarto> vecinos = vecinosDe(laberinto[y][x]);
-        while(!vecinos.esVacia()) {
-            int i = random.nextInt(vecinos.getElementos());
-            Cuarto vecino = vecinos.get(i);
-            if(!visitados.contiene(vecino)) {
-                quitaPared(laberinto[y][x], vecino);
-                creaLaberintoDesde(vecino.getX(), vecino.getY());
+        int tope = 0;
+        int inicio = y * columnas + x;
+        visitados[inicio] = true;
+        pila[tope++] = entrada(inicio);
+        while(tope > 0) {
+            int cuarto = pila[tope - 1] >> 4;
+            int pendientes = pila[tope - 1] & 0xF;
+            if(pendientes == 0) {
+                tope--;
+                continue;
+            }
+            int n = 0;
+            for(int d = 0; d < DIRECCIONES.length; d++)
+                if((pendientes & (1 << d)) != 0)
+                    vecinos[n++] = d;
+            int d = vecinos[random.nextInt(n)];
+            pila[tope - 1] &= ~(1 << d);
+            int vecino = vecinoDe(cuarto, DIRECCIONES[d]);
+            if(!visitados[vecino]) {
+                quitaPared(getCuarto(cuarto), getCuarto(vecino));
+                visitados[vecino] = true;
+                pila[tope++] = entrada(vecino);
             }
-            vecinos.elimina(vecino);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Regresa la entrada de la pila de un cuarto con todos sus vecinos
+     * dentro del laberinto por elegir.
+     * @param cuarto el índice del cuarto.
+     * @return la entrada de la pila del cuarto.
+     */
+    private int entrada(int cuarto) {
+        int pendientes = 0;
+        for(int d = 0; d < DIRECCIONES.length; d++)
+            if(vecinoDe(cuarto, DIRECCIONES[d]) != -1)
+                pendientes |= 1 << d;
+        return (cuarto << 4) | pendientes;
+    }
+}
@@ -0,0 +1,189 @@
+package mx.unam.ciencias.edd.proyecto3.algoritmos;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import mx.unam.ciencias.edd.proyecto3.Direccion;
+import mx.unam.ciencias.edd.proyecto3.EntradaEstandar;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+
+/**
+ * <p>Clase que genera un laberinto renglón por renglón con el algoritmo de Eller.</p>
+ *
+ * <p>El algoritmo hace lo siguiente:</p>
+ *
+ * <ol>
+ *    <li>Cada cuarto del primer renglón empieza en su propio conjunto.</li>
+ *    <li>Se quitan al azar paredes entre cuartos vecinos del renglón que estén
+ *        en conjuntos distintos, y se unen sus conjuntos.</li>
+ *    <li>Se quita al azar la pared sur de algunos cuartos del renglón, al menos
+ *        una por conjunto. Los cuartos de abajo conservan el conjunto, y los
+ *        demás cuartos del siguiente renglón empiezan en un conjunto nuevo.</li>
+ *    <li>Se repiten los pasos 2 y 3 hasta el último renglón, donde se quitan
+ *        todas las paredes entre cuartos vecinos de conjuntos distintos.</li>
+ * </ol>
+ *
+ * <p>A diferencia de los demás generadores, éste no construye la matriz de
+ * cuartos: sólo guarda las etiquetas de los conjuntos del renglón actual y
+ * qué cuartos del renglón anterior quitaron su pared sur. Cada renglón se
+ * escribe en cuanto termina, por lo que la memoria es proporcional a las
+ * columnas y la salida empieza de inmediato. Las etiquetas se reciclan, por
+ * lo que siempre están en el rango [0, columnas).</p>
+ */
+public class GeneradorLaberintoEller extends GeneradorLaberinto {
+
+    /* Conjunto de cada cuarto del renglón actual. */
+    private int[] conjuntos;
+    /* Cuartos del renglón que quitan su pared sur. */
+    private boolean[] abajo;
+    /* Cuartos del renglón anterior que quitaron su pared sur. */
+    private boolean[] arriba;
+    /* Arreglo de trabajo indexado por conjunto. */
+    private int[] cuentas;
+    /* Arreglo de trabajo indexado por conjunto. */
+    private int[] elegidos;
+    /* Bytes del renglón actual. */
+    private byte[] fila;
+
+    /**
+     * Define el estado inicial del generador de laberintos.
+     * @param entradaEstandar la entrada estandar del programa.
+     */
+    public GeneradorLaberintoEller(EntradaEstandar entradaEstandar) {
+        super(entradaEstandar);
+        conjuntos = new int[columnas];
+        abajo = new boolean[columnas];
+        arriba = new boolean[columnas];
+        cuentas = new int[columnas];
+        elegidos = new int[columnas];
+        fila = new byte[columnas];
+    }
+
+    /**
+     * Crea la entrada y la salida del laberinto. Los renglones se crean
+     * mientras se escriben en {@link #generaLaberinto}.
+     */
+    @Override
+    public void creaLaberinto() {
+        creaEntrada();
+        creaSalida();
+    }
+
+    /**
+     * No hace nada; el algoritmo de Eller crea los renglones mientras los
+     * escribe en {@link #generaLaberinto}.
+     * @param x la coordenada x del cuarto.
+     * @param y la coordenada y del cuarto.
+     */
+    @Override
+    public void creaLaberintoDesde(int x, int y) {}
+
+    /**
+     * Escribe el encabezado del laberinto, y después crea y escribe cada
+     * renglón con el algoritmo de Eller.
+     * @param os el flujo de salida donde escribir el laberinto.
+     * @throws IOException si ocurre un error de entrada o salida.
+     */
+    @Override
+    public void generaLaberinto(OutputStream os) throws IOException {
+        Laberinto.seriaEncabezado(os, columnas, renglones);
+        for(int x = 0; x < columnas; x++)
+            conjuntos[x] = x;
+        Arrays.fill(arriba, false);
+        for(int y = 0; y < renglones; y++) {
+            boolean ultimo = y == renglones - 1;
+            for(int x = 0; x < columnas; x++)
+                fila[x] = (byte)((random.nextInt(RANGO_PUNTAJE) << 4) | paredes(x, y));
+            for(int x = 0; x + 1 < columnas; x++)
+                if(conjuntos[x] != conjuntos[x + 1] && (ultimo || random.nextBoolean())) {
+                    fila[x] &= ~Direccion.ESTE.getPared();
+                    fila[x + 1] &= ~Direccion.OESTE.getPared();
+                    une(conjuntos[x], conjuntos[x + 1]);
+                }
+            if(ultimo)
+                Arrays.fill(abajo, false);
+            else
+                eligeAbajo();
+            for(int x = 0; x < columnas; x++) {
+                if(arriba[x])
+                    fila[x] &= ~Direccion.NORTE.getPared();
+                if(abajo[x])
+                    fila[x] &= ~Direccion.SUR.getPared();
+            }
+            os.write(fila);
+            siguienteRenglon();
+        }
+        os.flush();
+    }
+
+    /**
+     * Regresa las paredes iniciales de un cuarto: todas, menos la puerta al
+     * exterior si es la entrada o la salida.
+     * @param x la coordenada x del cuarto.
+     * @param y la coordenada y del cuarto.
+     * @return los bits de las paredes del cuarto.
+     */
+    private int paredes(int x, int y) {
+        if(entrada.getX() == x && entrada.getY() == y)
+            return entrada.seria() & 0xF;
+        if(salida.getX() == x && salida.getY() == y)
+            return salida.seria() & 0xF;
+        return Direccion.ESTE.getPared() | Direccion.NORTE.getPared() |
+            Direccion.OESTE.getPared() | Direccion.SUR.getPared();
+    }
+
+    /**
+     * Une dos conjuntos del renglón, cambiando la etiqueta del segundo por la
+     * del primero.
+     * @param a la etiqueta del primer conjunto.
+     * @param b la etiqueta del segundo conjunto.
+     */
+    private void une(int a, int b) {
+        for(int x = 0; x < columnas; x++)
+            if(conjuntos[x] == b)
+                conjuntos[x] = a;
+    }
+
+    /**
+     * Elige al azar qué cuartos del renglón quitan su pared sur: un cuarto de
+     * cada conjunto elegido uniformemente, más cada uno de los demás con
+     * probabilidad un medio.
+     */
+    private void eligeAbajo() {
+        Arrays.fill(cuentas, 0);
+        for(int x = 0; x < columnas; x++)
+            cuentas[conjuntos[x]]++;
+        for(int c = 0; c < columnas; c++)
+            if(cuentas[c] > 0)
+                elegidos[c] = random.nextInt(cuentas[c]);
+        Arrays.fill(cuentas, 0);
+        for(int x = 0; x < columnas; x++) {
+            int c = conjuntos[x];
+            abajo[x] = cuentas[c]++ == elegidos[c] || random.nextBoolean();
+        }
+    }
+
+    /**
+     * Prepara los conjuntos del siguiente renglón: los cuartos debajo de una
+     * pared sur quitada conservan su conjunto, y los demás reciben una
+     * etiqueta libre.
+     */
+    private void siguienteRenglon() {
+        boolean[] t = arriba;
+        arriba = abajo;
+        abajo = t;
+        Arrays.fill(cuentas, 0);
+        for(int x = 0; x < columnas; x++)
+            if(arriba[x])
+                cuentas[conjuntos[x]] = 1;
+        int libre = 0;
+        for(int x = 0; x < columnas; x++) {
+            if(arriba[x])
+                continue;
+            while(cuentas[libre] != 0)
+                libre++;
+            cuentas[libre] = 1;
+            conjuntos[x] = libre;
+        }
+    }
+}
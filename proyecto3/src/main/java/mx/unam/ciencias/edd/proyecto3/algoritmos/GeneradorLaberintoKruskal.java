@@ -1,9 +1,7 @@
 package mx.unam.ciencias.edd.proyecto3.algoritmos;
 
-import mx.unam.ciencias.edd.Lista;
-import mx.unam.ciencias.edd.proyecto3.Cuarto;
+import mx.unam.ciencias.edd.ConjuntoDisjunto;
 import mx.unam.ciencias.edd.proyecto3.EntradaEstandar;
-import mx.unam.ciencias.edd.proyecto3.Pared;
 
 /**
  * <p>Clase que genera un laberinto con el algoritmo de Kruskal.</p>
@@ -11,19 +9,24 @@ import mx.unam.ciencias.edd.proyecto3.Pared;
  * <p>El algoritmo hace lo siguiente:</p>
  * 
  * <ol>
- *    <li>Se llena una lista de paredes y se crea una lista para cada cuarto.</li>
- *    <li>Se elige una pared aleatoria de la lista de paredes y si
- *        los cuartos extremos de la pared no pertenecen a la misma lista,
- *        se quita la pared y se unen las listas.</li>
- *    <li>Se repite el paso 2 hasta que no haya paredes en la lista.</li>
+ *    <li>Se llena un arreglo con las paredes interiores y se revuelve, y se
+ *        crea un conjunto para cada cuarto.</li>
+ *    <li>Se toma la siguiente pared del arreglo y si los cuartos extremos de
+ *        la pared no pertenecen al mismo conjunto, se quita la pared y se
+ *        unen los conjuntos.</li>
+ *    <li>Se repite el paso 2 hasta que no haya paredes en el arreglo.</li>
  * </ol>
+ *
+ * <p>Los conjuntos de cuartos se guardan en un {@link ConjuntoDisjunto} sobre
+ * los índices <code>y*columnas+x</code> de los cuartos, y las paredes con
+ * los identificadores de {@link GeneradorLaberinto#pared}.</p>
  */
 public class GeneradorLaberintoKruskal extends GeneradorLaberinto {
 
-    /* Lista de listas de cuartos. */
-    private Lista<Lista<Cuarto>> cuartos;
-    /* Lista de paredes. */
-    private Lista<Pared> paredes;
+    /* Conjuntos de cuartos conectados. */
+    private ConjuntoDisjunto cuartos;
+    /* Identificadores de las paredes interiores. */
+    private int[] paredes;
 
     /**
      * Define el estado inicial del generador de laberintos.
@@ -31,8 +34,8 @@ public class GeneradorLaberintoKruskal extends GeneradorLaberinto {
      */
     public GeneradorLaberintoKruskal(EntradaEstandar entradaEstandar) {
         super(entradaEstandar);
-        cuartos = new Lista<Lista<Cuarto>>();
-        paredes = new Lista<Pared>();
+        cuartos = new ConjuntoDisjunto(columnas * renglones);
+        paredes = new int[(columnas - 1) * renglones + columnas * (renglones - 1)];
     }
 
     /**
@@ -42,53 +45,42 @@ public class GeneradorLaberintoKruskal extends GeneradorLaberinto {
      */
     @Override
     public void creaLaberintoDesde(int x, int y) {
-        while(!paredes.esVacia()) {
-            int i = random.nextInt(paredes.getElementos());
-            Pared pared = paredes.get(i);
-            paredes.elimina(pared);
-            Cuarto cuarto1 = pared.getCuarto1();
-            Cuarto cuarto2 = pared.getCuarto2();
-            Lista<Cuarto> lista1 = encuentraLista(cuarto1);
-            Lista<Cuarto> lista2 = encuentraLista(cuarto2);
-            if(!lista1.equals(lista2)) {
-                quitaPared(cuarto1, cuarto2);
-                for(Cuarto cuarto : lista2)
-                    lista1.agrega(cuarto);
-                cuartos.elimina(lista2);
-            }
+        revuelveParedes();
+        for(int pared : paredes) {
+            int cuarto = cuartoDe(pared);
+            int vecino = otroCuartoDe(pared);
+            if(cuartos.une(cuarto, vecino))
+                quitaPared(getCuarto(cuarto), getCuarto(vecino));
         }
     }
 
     /**
      * Llena el laberinto con cuartos.
-     * Agrega las paredes a la lista de paredes.
-     * Agrega los cuartos a la lista de cuartos.
+     * Agrega las paredes al arreglo de paredes.
      */
     @Override
     protected void llenaLaberinto() {
+        int n = 0;
         for(int y = 0; y < renglones; y++)
             for(int x = 0; x < columnas; x++) {
-                Cuarto cuarto = creaCuartoAleatorio(x, y);
-                laberinto[y][x] = cuarto;
-                Lista<Cuarto> lista = new Lista<Cuarto>();
-                lista.agrega(cuarto);
-                cuartos.agrega(lista);
+                laberinto[y][x] = creaCuartoAleatorio(x, y);
+                int cuarto = y * columnas + x;
                 if(y > 0)
-                    paredes.agrega(new Pared(cuarto, laberinto[y - 1][x]));
+                    paredes[n++] = pared(cuarto, cuarto - columnas);
                 if(x > 0)
-                    paredes.agrega(new Pared(cuarto, laberinto[y][x - 1]));
+                    paredes[n++] = pared(cuarto, cuarto - 1);
             }
     }
 
     /**
-     * Encuentra la lista que contiene al cuarto.
-     * @param cuarto el cuarto.
-     * @return la lista que contiene al cuarto.
+     * Revuelve el arreglo de paredes con el algoritmo de Fisher-Yates.
      */
-    private Lista<Cuarto> encuentraLista(Cuarto cuarto) {
-        for(Lista<Cuarto> lista : cuartos)
-            if(lista.contiene(cuarto))
-                return lista;
-        return null; // Nunca se llega a este punto.
+    private void revuelveParedes() {
+        for(int i = paredes.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = paredes[i];
+            paredes[i] = paredes[j];
+            paredes[j] = t;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,10 +1,8 @@
 package mx.unam.ciencias.edd.proyecto3.algoritmos;
 
-import mx.unam.ciencias.edd.Conjunto;
-import mx.unam.ciencias.edd.Lista;
-import mx.unam.ciencias.edd.proyecto3.Cuarto;
+import mx.unam.ciencias.edd.BolsaEnteros;
+import mx.unam.ciencias.edd.proyecto3.Direccion;
 import mx.unam.ciencias.edd.proyecto3.EntradaEstandar;
-import mx.unam.ciencias.edd.proyecto3.Pared;
 
 /**
  * <p>Clase que genera un laberinto a partir de un cuarto con el algoritmo de Prim.</p>
@@ -13,19 +11,23 @@ import mx.unam.ciencias.edd.proyecto3.Pared;
  * 
  * <ol>
  *      <li>Se elige un cuarto aleatorio y se marca como visitado.</li>
- *      <li>Se agregan las paredes de los vecinos no visitados a una lista de paredes.</li>
- *      <li>Se elige una pared aleatoria de la lista de paredes y se elimina de la lista.</li>
+ *      <li>Se agregan las paredes de los vecinos no visitados a una bolsa de paredes.</li>
+ *      <li>Se saca una pared aleatoria de la bolsa de paredes.</li>
  *      <li>Si alguno de los cuartos extremos de la pared no ha sido visitado, se quita la pared
  *          y se marca el cuarto como visitado.</li>
- *      <li>Se repite el paso 3 hasta que no haya paredes en la lista.</li>
+ *      <li>Se repite el paso 3 hasta que no haya paredes en la bolsa.</li>
  * </ol>
+ *
+ * <p>Los cuartos se identifican con sus índices <code>y*columnas+x</code> y
+ * las paredes con los identificadores de {@link GeneradorLaberinto#pared}, por
+ * lo que sacar una pared de la bolsa toma tiempo constante.</p>
  */
 public class GeneradorLaberintoPrim extends GeneradorLaberinto {
 
-    /* Conjunto de cuartos visitados. */
-    private Conjunto<Cuarto> visitados;
-    /* Lista de paredes. */
-    private Lista<Pared> paredes;
+    /* Cuartos visitados. */
+    private boolean[] visitados;
+    /* Bolsa de paredes. */
+    private BolsaEnteros paredes;
 
     /**
      * Define el estado inicial del generador de laberintos.
@@ -33,8 +35,8 @@ public class GeneradorLaberintoPrim extends GeneradorLaberinto {
      */
     public GeneradorLaberintoPrim(EntradaEstandar entradaEstandar) {
         super(entradaEstandar);
-        visitados = new Conjunto<Cuarto>();
-        paredes = new Lista<Pared>();
+        visitados = new boolean[columnas * renglones];
+        paredes = new BolsaEnteros(random);
     }
 
     /**
@@ -44,18 +46,16 @@ public class GeneradorLaberintoPrim extends GeneradorLaberinto {
      */
     @Override
     public void creaLaberintoDesde(int x, int y) {
-        marca(laberinto[y][x]);
+        marca(y * columnas + x);
         while(!paredes.esVacia()) {
-            int i = random.nextInt(paredes.getElementos());
-            Pared pared = paredes.get(i);
-            paredes.elimina(pared);
-            Cuarto cuarto1 = pared.getCuarto1();
-            Cuarto cuarto2 = pared.getCuarto2();
-            if(!visitados.contiene(cuarto1) || !visitados.contiene(cuarto2)) {
-                quitaPared(cuarto1, cuarto2);
-                if(!visitados.contiene(cuarto1))
+            int pared = paredes.saca();
+            int cuarto1 = cuartoDe(pared);
+            int cuarto2 = otroCuartoDe(pared);
+            if(!visitados[cuarto1] || !visitados[cuarto2]) {
+                quitaPared(getCuarto(cuarto1), getCuarto(cuarto2));
+                if(!visitados[cuarto1])
                     marca(cuarto1);
-                if(!visitados.contiene(cuarto2))
+                if(!visitados[cuarto2])
                     marca(cuarto2);
             }
         }
@@ -63,16 +63,17 @@ public class GeneradorLaberintoPrim extends GeneradorLaberinto {
     
 
     /**
-     * Agrega un cuarto a los visitados y sus paredes, de sus vecinos
-     * sin visitar, a la lista de paredes.
-     * @param cuarto el cuarto.
+     * Marca un cuarto como visitado y agrega sus paredes, de sus vecinos
+     * sin visitar, a la bolsa de paredes.
+     * @param cuarto el índice del cuarto.
      */
-    private void marca(Cuarto cuarto) {
-        visitados.agrega(cuarto);
-        Lista<Cuarto> vecinos = vecinosDe(cuarto);
-        for(Cuarto vecino : vecinos)
-            if(!visitados.contiene(vecino))
-                paredes.agrega(new Pared(cuarto, vecino));
+    private void marca(int cuarto) {
+        visitados[cuarto] = true;
+        for(Direccion direccion : Direccion.values()) {
+            int vecino = vecinoDe(cuarto, direccion);
+            if(vecino != -1 && !visitados[vecino])
+                paredes.mete(pared(cuarto, vecino));
+        }
     }
 
 }
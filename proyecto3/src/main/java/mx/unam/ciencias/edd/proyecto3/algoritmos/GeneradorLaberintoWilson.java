@@ -0,0 +1,88 @@
+package mx.unam.ciencias.edd.proyecto3.algoritmos;
+
+import mx.unam.ciencias.edd.proyecto3.Direccion;
+import mx.unam.ciencias.edd.proyecto3.EntradaEstandar;
+
+/**
+ * <p>Clase que genera un laberinto a partir de un cuarto con el algoritmo de Wilson.</p>
+ *
+ * <p>El algoritmo hace lo siguiente:</p>
+ *
+ * <ol>
+ *    <li>Se agrega el cuarto inicial al laberinto.</li>
+ *    <li>Se elige un cuarto que no esté en el laberinto y se camina al azar
+ *        desde él hasta llegar a un cuarto del laberinto. Cada cuarto del
+ *        camino recuerda sólo la última dirección en la que se salió de él, por
+ *        lo que los ciclos del camino se borran solos.</li>
+ *    <li>Se vuelve a recorrer el camino desde el cuarto elegido siguiendo las
+ *        direcciones recordadas, quitando las paredes y agregando los cuartos al
+ *        laberinto.</li>
+ *    <li>Se repite el paso 2 hasta que todos los cuartos estén en el laberinto.</li>
+ * </ol>
+ *
+ * <p>Como Aldous-Broder, elige cada laberinto perfecto con la misma
+ * probabilidad, pero sólo camina al azar fuera del laberinto ya construido,
+ * por lo que termina mucho antes en laberintos grandes. Los cuartos se
+ * identifican con sus índices <code>y*columnas+x</code>, y el camino se guarda
+ * en un arreglo de direcciones, una por cuarto.</p>
+ */
+public class GeneradorLaberintoWilson extends GeneradorLaberinto {
+
+    /* Las direcciones, indexadas por los enteros del camino. */
+    private static final Direccion[] DIRECCIONES = Direccion.values();
+
+    /* Cuartos que ya están en el laberinto. */
+    private boolean[] agregados;
+    /* Última dirección en la que se salió de cada cuarto del camino. */
+    private int[] camino;
+
+    /**
+     * Define el estado inicial del generador de laberintos.
+     * @param entradaEstandar la entrada estandar del programa.
+     */
+    public GeneradorLaberintoWilson(EntradaEstandar entradaEstandar) {
+        super(entradaEstandar);
+        agregados = new boolean[columnas * renglones];
+        camino = new int[columnas * renglones];
+    }
+
+    /**
+     * Crea un laberinto con el algoritmo de Wilson.
+     * @param x la coordenada x del cuarto.
+     * @param y la coordenada y del cuarto.
+     */
+    @Override
+    public void creaLaberintoDesde(int x, int y) {
+        agregados[y * columnas + x] = true;
+        for(int inicio = 0; inicio < agregados.length; inicio++) {
+            if(agregados[inicio])
+                continue;
+            int cuarto = inicio;
+            while(!agregados[cuarto]) {
+                int d = direccionAleatoria(cuarto);
+                camino[cuarto] = d;
+                cuarto = vecinoDe(cuarto, DIRECCIONES[d]);
+            }
+            cuarto = inicio;
+            while(!agregados[cuarto]) {
+                int vecino = vecinoDe(cuarto, DIRECCIONES[camino[cuarto]]);
+                quitaPared(getCuarto(cuarto), getCuarto(vecino));
+                agregados[cuarto] = true;
+                cuarto = vecino;
+            }
+        }
+    }
+
+    /**
+     * Regresa una dirección al azar hacia un vecino dentro del laberinto.
+     * @param cuarto el índice del cuarto.
+     * @return el índice de la dirección en {@link Direccion#values}.
+     */
+    private int direccionAleatoria(int cuarto) {
+        while(true) {
+            int d = random.nextInt(DIRECCIONES.length);
+            if(vecinoDe(cuarto, DIRECCIONES[d]) != -1)
+                return d;
+        }
+    }
+}
@@ -0,0 +1,558 @@
+package mx.unam.ciencias.edd.proyecto3.resolvedores;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.MonticuloIndexado;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+
+/**
+ * <p>Clase para resolver laberintos con búsqueda jerárquica (HPA*).</p>
+ *
+ * <p>La rejilla se parte en bloques cuadrados de tamaño fijo. Los nodos de la abstracción son los
+ * cuartos con una puerta hacia otro bloque; al construirse, la abstracción calcula una sola vez la
+ * distancia dentro de cada bloque entre cada par de sus nodos, y las guarda como arcos junto con los
+ * arcos de las puertas entre bloques. Los arcos se guardan en arreglos compactos, con los nodos
+ * ordenados por bloque.</p>
+ *
+ * <p>Cada consulta conecta el origen y el destino con los nodos de sus bloques, busca con A* sobre
+ * la abstracción y refina sólo los bloques por los que pasa la trayectoria abstracta. Como todas
+ * las puertas entre bloques son nodos, el costo de la trayectoria es el mínimo.</p>
+ *
+ * <p>La abstracción se serializa en un archivo binario con el siguiente formato, todo en enteros
+ * de 4 bytes en big-endian después del encabezado:</p>
+ * <ul>
+ *      <li>Encabezado de 4 bytes: "HPA1".</li>
+ *      <li>Las columnas, los renglones y el tamaño de los bloques.</li>
+ *      <li>El CRC32 de los bytes de los cuartos, para reconocer un archivo de otro laberinto.</li>
+ *      <li>El número de nodos y el número de arcos.</li>
+ *      <li>El cuarto de cada nodo, el inicio de los nodos de cada bloque, el inicio de los arcos de
+ *          cada nodo, el nodo destino de cada arco y el peso de cada arco.</li>
+ * </ul>
+ *
+ * <p>Al cargarse desde un buffer, por ejemplo un archivo mapeado en memoria, los arreglos de la
+ * abstracción son vistas del buffer y no se copian.</p>
+ */
+public class AbstraccionJerarquica {
+
+    /** Tamaño por omisión de los bloques. */
+    public static final int TAMANO = 16;
+
+    /* Encabezado del archivo de la abstracción. */
+    private static final byte[] HPA = new byte[]{0x48, 0x50, 0x41, 0x31};
+    /* Número de enteros del encabezado después de los 4 bytes iniciales. */
+    private static final int ENTEROS_ENCABEZADO = 6;
+
+    /* Bytes de los cuartos. */
+    private byte[] cuartos;
+    /* Gráfica de los cuartos. */
+    private GraficaCuartos grafica;
+    /* Columnas del laberinto. */
+    private int columnas;
+    /* Renglones del laberinto. */
+    private int renglones;
+    /* Tamaño de los bloques. */
+    private int tamano;
+    /* Bloques por renglón. */
+    private int bloquesRenglon;
+
+    /* Cuarto de cada nodo; los nodos están ordenados por bloque. */
+    private IntBuffer cuartosNodo;
+    /* Inicio de los nodos de cada bloque; los nodos del bloque b están en
+       [iniciosBloque[b], iniciosBloque[b+1]). */
+    private IntBuffer iniciosBloque;
+    /* Inicio de los arcos de cada nodo; los arcos del nodo v están en [inicios[v], inicios[v+1]). */
+    private IntBuffer inicios;
+    /* Nodo destino de cada arco. */
+    private IntBuffer destinos;
+    /* Peso de cada arco. */
+    private IntBuffer pesos;
+
+    /* Distancia local de cada cuarto del bloque en la última búsqueda local. */
+    private int[] distanciasLocales;
+    /* Cuarto anterior local de cada cuarto del bloque en la última búsqueda local. */
+    private int[] anterioresLocales;
+    /* Montículo de la búsqueda local. */
+    private MonticuloIndexado monticuloLocal;
+    /* Número de bloques refinados en la última consulta. */
+    private int refinados;
+    /* Vecinos del cuarto actual. */
+    private int[] vecinos;
+    /* Costos de las puertas del cuarto actual. */
+    private int[] costos;
+
+    /**
+     * Construye la abstracción del laberinto con bloques del tamaño recibido.
+     * @param cuartos los bytes de los cuartos, por renglones.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @param tamano el tamaño de los bloques.
+     * @throws IllegalArgumentException si el número de bytes no corresponde a las dimensiones, o
+     *         si el tamaño no es positivo.
+     */
+    public AbstraccionJerarquica(byte[] cuartos,
+                                 int columnas,
+                                 int renglones,
+                                 int tamano) {
+        inicializa(cuartos, columnas, renglones, tamano);
+        construye();
+    }
+
+    /**
+     * Carga la abstracción de un buffer, sin copiar sus arreglos.
+     * @param buffer el buffer con la abstracción serializada.
+     * @param cuartos los bytes de los cuartos, por renglones.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @throws IllegalArgumentException si el buffer no es una abstracción válida del laberinto.
+     */
+    private AbstraccionJerarquica(ByteBuffer buffer,
+                                  byte[] cuartos,
+                                  int columnas,
+                                  int renglones) {
+        ByteBuffer b = buffer.duplicate();
+        if(b.remaining() < HPA.length + 4 * ENTEROS_ENCABEZADO)
+            throw new IllegalArgumentException("Datos insuficientes para el encabezado.");
+        for(byte h : HPA)
+            if(b.get() != h)
+                throw new IllegalArgumentException("Encabezado inválido.");
+        if(b.getInt() != columnas || b.getInt() != renglones)
+            throw new IllegalArgumentException("La abstracción no corresponde al laberinto.");
+        int tamano = b.getInt();
+        if(b.getInt() != crc(cuartos))
+            throw new IllegalArgumentException("La abstracción no corresponde al laberinto.");
+        int nodos = b.getInt();
+        int arcos = b.getInt();
+        inicializa(cuartos, columnas, renglones, tamano);
+        int bloques = bloquesRenglon * ((renglones + tamano - 1) / tamano);
+        if(nodos < 0 || arcos < 0 ||
+           b.remaining() != 4L * (nodos + (bloques + 1) + (nodos + 1) + 2L * arcos))
+            throw new IllegalArgumentException("Tamaño inválido de la abstracción.");
+        cuartosNodo = vista(b, nodos);
+        iniciosBloque = vista(b, bloques + 1);
+        inicios = vista(b, nodos + 1);
+        destinos = vista(b, arcos);
+        pesos = vista(b, arcos);
+    }
+
+    /**
+     * Define el estado común de las abstracciones construidas y cargadas.
+     * @param cuartos los bytes de los cuartos, por renglones.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @param tamano el tamaño de los bloques.
+     * @throws IllegalArgumentException si el número de bytes no corresponde a las dimensiones, o
+     *         si el tamaño no es positivo.
+     */
+    private void inicializa(byte[] cuartos, int columnas, int renglones, int tamano) {
+        grafica = new GraficaCuartos(cuartos, columnas, renglones);
+        if(tamano < 1)
+            throw new IllegalArgumentException("Tamaño inválido de los bloques.");
+        this.cuartos = cuartos;
+        this.columnas = columnas;
+        this.renglones = renglones;
+        this.tamano = tamano;
+        bloquesRenglon = (columnas + tamano - 1) / tamano;
+        distanciasLocales = new int[tamano * tamano];
+        anterioresLocales = new int[tamano * tamano];
+        monticuloLocal = new MonticuloIndexado(tamano * tamano);
+        vecinos = new int[grafica.getGradoMaximo()];
+        costos = new int[grafica.getGradoMaximo()];
+    }
+
+    /**
+     * Carga una abstracción serializada con {@link #seria(WritableByteChannel)}. Los arreglos de
+     * la abstracción son vistas del buffer, por lo que un archivo mapeado en memoria no se copia.
+     * @param buffer el buffer con la abstracción serializada.
+     * @param cuartos los bytes de los cuartos, por renglones.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @return la abstracción cargada.
+     * @throws IllegalArgumentException si el buffer no es una abstracción válida del laberinto.
+     */
+    public static AbstraccionJerarquica carga(ByteBuffer buffer,
+                                              byte[] cuartos,
+                                              int columnas,
+                                              int renglones) {
+        return new AbstraccionJerarquica(buffer, cuartos, columnas, renglones);
+    }
+
+    /**
+     * Regresa una vista de enteros del buffer a partir de su posición, y avanza la posición.
+     * @param b el buffer.
+     * @param n el número de enteros de la vista.
+     * @return la vista de enteros.
+     */
+    private static IntBuffer vista(ByteBuffer b, int n) {
+        ByteBuffer v = b.slice();
+        v.limit(4 * n);
+        b.position(b.position() + 4 * n);
+        return v.asIntBuffer();
+    }
+
+    /**
+     * Regresa el CRC32 de los bytes de los cuartos.
+     * @param cuartos los bytes de los cuartos.
+     * @return el CRC32 de los cuartos.
+     */
+    private static int crc(byte[] cuartos) {
+        CRC32 crc = new CRC32();
+        crc.update(cuartos);
+        return (int)crc.getValue();
+    }
+
+    /**
+     * Construye los nodos y los arcos de la abstracción.
+     */
+    private void construye() {
+        int bloques = bloquesRenglon * ((renglones + tamano - 1) / tamano);
+        // Nodos, ordenados por bloque.
+        int[] nodos = new int[cuartos.length];
+        int[] iniciosB = new int[bloques + 1];
+        int n = 0;
+        for(int b = 0; b < bloques; b++) {
+            iniciosB[b] = n;
+            int x0 = (b % bloquesRenglon) * tamano;
+            int y0 = (b / bloquesRenglon) * tamano;
+            for(int y = y0; y < Math.min(y0 + tamano, renglones); y++)
+                for(int x = x0; x < Math.min(x0 + tamano, columnas); x++)
+                    if(esFrontera(y * columnas + x))
+                        nodos[n++] = y * columnas + x;
+        }
+        iniciosB[bloques] = n;
+        int[] nodoCuarto = new int[cuartos.length];
+        Arrays.fill(nodoCuarto, BusquedaImplicita.NINGUNO);
+        for(int i = 0; i < n; i++)
+            nodoCuarto[nodos[i]] = i;
+        // Arcos: las puertas entre bloques y las distancias locales dentro del bloque.
+        int[] iniciosA = new int[n + 1];
+        int[] destinosA = new int[4 * n];
+        int[] pesosA = new int[4 * n];
+        int m = 0;
+        for(int b = 0; b < bloques; b++) {
+            for(int i = iniciosB[b]; i < iniciosB[b + 1]; i++) {
+                iniciosA[i] = m;
+                int v = nodos[i];
+                if(m + 4 + iniciosB[b + 1] - iniciosB[b] > destinosA.length) {
+                    destinosA = Arrays.copyOf(destinosA, 2 * destinosA.length + 4 + n);
+                    pesosA = Arrays.copyOf(pesosA, destinosA.length);
+                }
+                int grado = grafica.vecinos(v, vecinos, costos);
+                for(int k = 0; k < grado; k++) {
+                    if(bloque(vecinos[k]) == b)
+                        continue;
+                    destinosA[m] = nodoCuarto[vecinos[k]];
+                    pesosA[m++] = costos[k];
+                }
+                dijkstraLocal(v);
+                for(int j = iniciosB[b]; j < iniciosB[b + 1]; j++) {
+                    int distancia = distanciasLocales[local(nodos[j])];
+                    if(j == i || distancia == BusquedaImplicita.INFINITO)
+                        continue;
+                    destinosA[m] = j;
+                    pesosA[m++] = distancia;
+                }
+            }
+        }
+        iniciosA[n] = m;
+        cuartosNodo = IntBuffer.wrap(Arrays.copyOf(nodos, n));
+        iniciosBloque = IntBuffer.wrap(iniciosB);
+        inicios = IntBuffer.wrap(iniciosA);
+        destinos = IntBuffer.wrap(Arrays.copyOf(destinosA, m));
+        pesos = IntBuffer.wrap(Arrays.copyOf(pesosA, m));
+    }
+
+    /**
+     * Nos dice si un cuarto tiene una puerta hacia otro bloque.
+     * @param v el índice del cuarto.
+     * @return <code>true</code> si el cuarto tiene una puerta hacia otro bloque,
+     *         <code>false</code> en otro caso.
+     */
+    private boolean esFrontera(int v) {
+        int grado = grafica.vecinos(v, vecinos);
+        for(int k = 0; k < grado; k++)
+            if(bloque(vecinos[k]) != bloque(v))
+                return true;
+        return false;
+    }
+
+    /**
+     * Serializa la abstracción en el formato binario "HPA1".
+     * @param canal el canal de salida donde escribir la abstracción.
+     * @throws IOException si ocurre un error de entrada o salida.
+     */
+    public void seria(WritableByteChannel canal) throws IOException {
+        int enteros = ENTEROS_ENCABEZADO + cuartosNodo.limit() + iniciosBloque.limit() +
+                      inicios.limit() + destinos.limit() + pesos.limit();
+        ByteBuffer buffer = ByteBuffer.allocate(HPA.length + 4 * enteros);
+        buffer.put(HPA);
+        buffer.putInt(columnas).putInt(renglones).putInt(tamano).putInt(crc(cuartos));
+        buffer.putInt(cuartosNodo.limit()).putInt(destinos.limit());
+        IntBuffer datos = buffer.asIntBuffer();
+        for(IntBuffer arreglo : new IntBuffer[]{ cuartosNodo, iniciosBloque, inicios, destinos, pesos })
+            datos.put(arreglo.duplicate().rewind());
+        buffer.position(buffer.limit());
+        buffer.flip();
+        while(buffer.hasRemaining())
+            canal.write(buffer);
+    }
+
+    /**
+     * Calcula una trayectoria de peso mínimo entre dos cuartos.
+     * @param origen el índice del cuarto de origen.
+     * @param destino el índice del cuarto de destino.
+     * @return los índices de los cuartos de la trayectoria, del origen al destino. Si el
+     *         destino no se puede alcanzar, regresa un arreglo vacío.
+     * @throws IndexOutOfBoundsException si alguno de los índices es inválido.
+     */
+    public int[] resuelve(int origen, int destino) {
+        if(origen < 0 || origen >= cuartos.length)
+            throw new IndexOutOfBoundsException("Índice inválido: " + origen);
+        if(destino < 0 || destino >= cuartos.length)
+            throw new IndexOutOfBoundsException("Índice inválido: " + destino);
+        int[] abstracta = buscaAbstracta(origen, destino);
+        if(abstracta == null)
+            return new int[0];
+        return refina(abstracta);
+    }
+
+    /**
+     * Busca con A* sobre la abstracción, con el origen y el destino como dos nodos más
+     * conectados a los nodos de sus bloques.
+     * @param origen el índice del cuarto de origen.
+     * @param destino el índice del cuarto de destino.
+     * @return los cuartos de la trayectoria abstracta, o <code>null</code> si el destino no se
+     *         puede alcanzar.
+     */
+    private int[] buscaAbstracta(int origen, int destino) {
+        int n = cuartosNodo.limit();
+        int s = n, t = n + 1;
+        int bs = bloque(origen), bt = bloque(destino);
+        // Distancias locales del origen y del destino a los nodos de sus bloques.
+        int[] salidas = distanciasBloque(origen, bs);
+        int directa = (bs == bt) ? distanciasLocales[local(destino)] : BusquedaImplicita.INFINITO;
+        int[] llegadas = distanciasBloque(destino, bt);
+        int[] distancias = new int[n + 2];
+        int[] anteriores = new int[n + 2];
+        Arrays.fill(distancias, BusquedaImplicita.INFINITO);
+        MonticuloIndexado monticulo = new MonticuloIndexado(n + 2);
+        distancias[s] = 0;
+        anteriores[s] = BusquedaImplicita.NINGUNO;
+        monticulo.agrega(s, manhattan(origen, destino));
+        while(!monticulo.esVacia()) {
+            int v = monticulo.elimina();
+            if(v == t)
+                return trayectoriaAbstracta(anteriores, s, t, origen, destino);
+            if(v == s) {
+                int inicio = iniciosBloque.get(bs);
+                for(int i = 0; i < salidas.length; i++)
+                    relaja(s, inicio + i, salidas[i], distancias, anteriores, monticulo, destino);
+                relaja(s, t, directa, distancias, anteriores, monticulo, destino);
+                continue;
+            }
+            for(int a = inicios.get(v); a < inicios.get(v + 1); a++)
+                relaja(v, destinos.get(a), pesos.get(a), distancias, anteriores, monticulo, destino);
+            int inicio = iniciosBloque.get(bt);
+            if(v >= inicio && v < iniciosBloque.get(bt + 1))
+                relaja(v, t, llegadas[v - inicio], distancias, anteriores, monticulo, destino);
+        }
+        return null;
+    }
+
+    /**
+     * Relaja un arco de la búsqueda abstracta.
+     * @param v el nodo de donde sale el arco.
+     * @param u el nodo al que llega el arco.
+     * @param peso el peso del arco, o {@link BusquedaImplicita#INFINITO} si no existe.
+     * @param distancias las distancias de los nodos.
+     * @param anteriores los nodos anteriores.
+     * @param monticulo el montículo de la búsqueda.
+     * @param destino el índice del cuarto de destino, para la heurística.
+     */
+    private void relaja(int v, int u, int peso, int[] distancias, int[] anteriores,
+                        MonticuloIndexado monticulo, int destino) {
+        if(peso == BusquedaImplicita.INFINITO)
+            return;
+        int d = distancias[v] + peso;
+        if(d >= distancias[u])
+            return;
+        distancias[u] = d;
+        anteriores[u] = v;
+        int cuarto = (u < cuartosNodo.limit()) ? cuartosNodo.get(u) : destino;
+        monticulo.actualiza(u, d + manhattan(cuarto, destino));
+    }
+
+    /**
+     * Regresa los cuartos de la trayectoria abstracta, del origen al destino.
+     * @param anteriores los nodos anteriores de la búsqueda.
+     * @param s el nodo del origen.
+     * @param t el nodo del destino.
+     * @param origen el índice del cuarto de origen.
+     * @param destino el índice del cuarto de destino.
+     * @return los cuartos de la trayectoria abstracta.
+     */
+    private int[] trayectoriaAbstracta(int[] anteriores, int s, int t, int origen, int destino) {
+        int n = 0;
+        for(int v = t; v != BusquedaImplicita.NINGUNO; v = anteriores[v])
+            n++;
+        int[] trayectoria = new int[n];
+        for(int v = t; v != BusquedaImplicita.NINGUNO; v = anteriores[v])
+            trayectoria[--n] = (v == s) ? origen : (v == t) ? destino : cuartosNodo.get(v);
+        return trayectoria;
+    }
+
+    /**
+     * Refina una trayectoria abstracta a una trayectoria de cuartos. Los cuartos consecutivos en
+     * bloques distintos son vecinos; entre los del mismo bloque se busca dentro del bloque.
+     * @param abstracta los cuartos de la trayectoria abstracta.
+     * @return los índices de los cuartos de la trayectoria.
+     */
+    private int[] refina(int[] abstracta) {
+        int[] trayectoria = new int[16];
+        int n = 0;
+        trayectoria[n++] = abstracta[0];
+        refinados = 0;
+        for(int i = 1; i < abstracta.length; i++) {
+            int p = abstracta[i - 1], q = abstracta[i];
+            if(p == q)
+                continue;
+            if(bloque(p) != bloque(q)) {
+                if(n == trayectoria.length)
+                    trayectoria = Arrays.copyOf(trayectoria, 2 * n);
+                trayectoria[n++] = q;
+                continue;
+            }
+            refinados++;
+            dijkstraLocal(p);
+            int l = 0;
+            for(int c = local(q); c != BusquedaImplicita.NINGUNO; c = anterioresLocales[c])
+                l++;
+            if(n + l > trayectoria.length)
+                trayectoria = Arrays.copyOf(trayectoria, 2 * (n + l));
+            // El primer cuarto del segmento local es p, que ya está en la trayectoria.
+            int fin = n + l - 1;
+            for(int c = local(q); anterioresLocales[c] != BusquedaImplicita.NINGUNO;
+                c = anterioresLocales[c])
+                trayectoria[--fin] = global(c, bloque(p));
+            n += l - 1;
+        }
+        return Arrays.copyOf(trayectoria, n);
+    }
+
+    /**
+     * Calcula las distancias locales de un cuarto a los nodos de su bloque.
+     * @param v el índice del cuarto.
+     * @param b el bloque del cuarto.
+     * @return la distancia a cada nodo del bloque, en orden; o {@link BusquedaImplicita#INFINITO}
+     *         si no se alcanza dentro del bloque.
+     */
+    private int[] distanciasBloque(int v, int b) {
+        dijkstraLocal(v);
+        int inicio = iniciosBloque.get(b);
+        int[] distancias = new int[iniciosBloque.get(b + 1) - inicio];
+        for(int i = 0; i < distancias.length; i++)
+            distancias[i] = distanciasLocales[local(cuartosNodo.get(inicio + i))];
+        return distancias;
+    }
+
+    /**
+     * Ejecuta el algoritmo de Dijkstra desde un cuarto sin salir de su bloque. Las distancias y
+     * los anteriores quedan en índices locales del bloque.
+     * @param origen el índice del cuarto de origen.
+     */
+    private void dijkstraLocal(int origen) {
+        int b = bloque(origen);
+        Arrays.fill(distanciasLocales, BusquedaImplicita.INFINITO);
+        monticuloLocal.limpia();
+        int o = local(origen);
+        distanciasLocales[o] = 0;
+        anterioresLocales[o] = BusquedaImplicita.NINGUNO;
+        monticuloLocal.agrega(o, 0);
+        while(!monticuloLocal.esVacia()) {
+            int c = monticuloLocal.elimina();
+            int v = global(c, b);
+            int grado = grafica.vecinos(v, vecinos, costos);
+            for(int k = 0; k < grado; k++) {
+                int u = vecinos[k];
+                if(bloque(u) != b)
+                    continue;
+                int l = local(u);
+                int distancia = distanciasLocales[c] + costos[k];
+                if(distancia < distanciasLocales[l]) {
+                    distanciasLocales[l] = distancia;
+                    anterioresLocales[l] = c;
+                    monticuloLocal.actualiza(l, distancia);
+                }
+            }
+        }
+    }
+
+    /**
+     * Regresa el bloque de un cuarto.
+     * @param v el índice del cuarto.
+     * @return el índice del bloque del cuarto.
+     */
+    private int bloque(int v) {
+        return (v / columnas / tamano) * bloquesRenglon + (v % columnas) / tamano;
+    }
+
+    /**
+     * Regresa el índice local de un cuarto dentro de su bloque.
+     * @param v el índice del cuarto.
+     * @return el índice local del cuarto.
+     */
+    private int local(int v) {
+        return ((v / columnas) % tamano) * tamano + (v % columnas) % tamano;
+    }
+
+    /**
+     * Regresa el índice de un cuarto a partir de su índice local en un bloque.
+     * @param c el índice local del cuarto.
+     * @param b el bloque del cuarto.
+     * @return el índice del cuarto.
+     */
+    private int global(int c, int b) {
+        int x = (b % bloquesRenglon) * tamano + c % tamano;
+        int y = (b / bloquesRenglon) * tamano + c / tamano;
+        return y * columnas + x;
+    }
+
+    /**
+     * Regresa la distancia Manhattan entre dos cuartos; como cada puerta cuesta al menos uno,
+     * nunca sobreestima el costo entre ellos.
+     * @param v el índice del primer cuarto.
+     * @param u el índice del segundo cuarto.
+     * @return la distancia Manhattan entre los cuartos.
+     */
+    private int manhattan(int v, int u) {
+        return Math.abs(v % columnas - u % columnas) + Math.abs(v / columnas - u / columnas);
+    }
+
+    /**
+     * Regresa el número de nodos de la abstracción.
+     * @return el número de nodos de la abstracción.
+     */
+    public int getNodos() {
+        return cuartosNodo.limit();
+    }
+
+    /**
+     * Regresa el número de arcos de la abstracción.
+     * @return el número de arcos de la abstracción.
+     */
+    public int getArcos() {
+        return destinos.limit();
+    }
+
+    /**
+     * Regresa el número de bloques refinados en la última consulta.
+     * @return el número de bloques refinados en la última consulta.
+     */
+    public int getRefinados() {
+        return refinados;
+    }
+}
@@ -0,0 +1,288 @@
+package mx.unam.ciencias.edd.proyecto3.resolvedores;
+
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.MonticuloIndexado;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+
+/**
+ * <p>Clase para resolver laberintos sobre la gráfica de cruces, contrayendo sus pasillos.</p>
+ *
+ * <p>Un pasillo es una cadena de cuartos con exactamente dos puertas. Al construirse, la
+ * contracción elige como nodos a los cuartos que no tienen dos puertas (cruces y callejones sin
+ * salida) y a los cuartos terminales recibidos, como la entrada y la salida. Cada pasillo entre dos
+ * nodos se reemplaza por un arco cuyo peso es la suma de los costos de sus puertas. Los arcos se
+ * guardan en arreglos compactos: el inicio de los arcos de cada nodo, el nodo destino, el peso y la
+ * posición, entre los vecinos del nodo en la {@link GraficaCuartos}, del cuarto por el que sale
+ * el pasillo.</p>
+ *
+ * <p>El algoritmo de Dijkstra corre sobre los nodos, y la trayectoria se expande de vuelta a
+ * cuartos recorriendo cada pasillo desde la salida guardada en su arco.</p>
+ */
+public class ContraccionPasillos {
+
+    /* Nodo de los cuartos que están dentro de un pasillo. */
+    private static final int PASILLO = -1;
+
+    /* Gráfica de los cuartos. */
+    private GraficaCuartos grafica;
+    /* Arreglo para los vecinos de un cuarto. */
+    private int[] vecinos;
+
+    /* Nodo de cada cuarto, o PASILLO. */
+    private int[] nodos;
+    /* Cuarto de cada nodo. */
+    private int[] cuartosNodo;
+    /* Inicio de los arcos de cada nodo; los arcos del nodo v están en [inicios[v], inicios[v+1]). */
+    private int[] inicios;
+    /* Nodo destino de cada arco. */
+    private int[] destinos;
+    /* Peso de cada arco. */
+    private int[] pesos;
+    /* Posición, entre los vecinos de su nodo, del cuarto por el que sale el pasillo de cada arco. */
+    private byte[] salidas;
+
+    /* Distancia de cada nodo al origen. */
+    private int[] distancias;
+    /* Arco por el que se llegó a cada nodo en la trayectoria desde el origen. */
+    private int[] arcosAnteriores;
+    /* Nodo de origen de cada arco anterior. */
+    private int[] nodosAnteriores;
+    /* Montículo de nodos por distancia. */
+    private MonticuloIndexado monticulo;
+
+    /**
+     * Construye la contracción de los pasillos del laberinto.
+     * @param cuartos los bytes de los cuartos, por renglones.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @param terminales los índices de los cuartos que deben ser nodos, como la entrada y la salida.
+     * @throws IllegalArgumentException si el número de bytes no corresponde a las dimensiones.
+     * @throws IndexOutOfBoundsException si alguno de los terminales es inválido.
+     */
+    public ContraccionPasillos(byte[] cuartos,
+                               int columnas,
+                               int renglones,
+                               int... terminales) {
+        grafica = new GraficaCuartos(cuartos, columnas, renglones);
+        vecinos = new int[grafica.getGradoMaximo()];
+        creaNodos(terminales);
+        creaArcos();
+        distancias = new int[cuartosNodo.length];
+        arcosAnteriores = new int[cuartosNodo.length];
+        nodosAnteriores = new int[cuartosNodo.length];
+        monticulo = new MonticuloIndexado(cuartosNodo.length);
+    }
+
+    /**
+     * Elige los nodos: los cuartos que no tienen exactamente dos puertas y los terminales.
+     * @param terminales los índices de los cuartos que deben ser nodos.
+     */
+    private void creaNodos(int[] terminales) {
+        nodos = new int[grafica.getElementos()];
+        int n = 0;
+        for(int v = 0; v < nodos.length; v++)
+            nodos[v] = (grafica.vecinos(v, vecinos) != 2) ? n++ : PASILLO;
+        for(int t : terminales)
+            if(nodos[t] == PASILLO)
+                nodos[t] = n++;
+        cuartosNodo = new int[n];
+        for(int v = 0; v < nodos.length; v++)
+            if(nodos[v] != PASILLO)
+                cuartosNodo[nodos[v]] = v;
+    }
+
+    /**
+     * Crea un arco por cada puerta de cada nodo, recorriendo el pasillo que sale por ella
+     * hasta el siguiente nodo.
+     */
+    private void creaArcos() {
+        int n = cuartosNodo.length;
+        inicios = new int[n + 1];
+        for(int i = 0; i < n; i++)
+            inicios[i + 1] = inicios[i] + grafica.vecinos(cuartosNodo[i], vecinos);
+        destinos = new int[inicios[n]];
+        pesos = new int[inicios[n]];
+        salidas = new byte[inicios[n]];
+        int[] vecinosNodo = new int[grafica.getGradoMaximo()];
+        int[] pesosNodo = new int[grafica.getGradoMaximo()];
+        for(int i = 0; i < n; i++) {
+            int a = inicios[i];
+            int v = cuartosNodo[i];
+            int grado = grafica.vecinos(v, vecinosNodo, pesosNodo);
+            for(int k = 0; k < grado; k++) {
+                int u = vecinosNodo[k];
+                int peso = pesosNodo[k];
+                int anterior = v;
+                while(nodos[u] == PASILLO) {
+                    int siguiente = siguienteEnPasillo(u, anterior);
+                    peso += grafica.getPeso(u, siguiente);
+                    anterior = u;
+                    u = siguiente;
+                }
+                destinos[a] = nodos[u];
+                pesos[a] = peso;
+                salidas[a++] = (byte)k;
+            }
+        }
+    }
+
+    /**
+     * Regresa el cuarto que sigue en un pasillo.
+     * @param v el índice de un cuarto del pasillo.
+     * @param anterior el índice del cuarto por el que se llegó.
+     * @return el índice del otro vecino del cuarto.
+     */
+    private int siguienteEnPasillo(int v, int anterior) {
+        grafica.vecinos(v, vecinos);
+        return (vecinos[0] != anterior) ? vecinos[0] : vecinos[1];
+    }
+
+    /**
+     * Regresa el número de nodos de la contracción.
+     * @return el número de nodos de la contracción.
+     */
+    public int getNodos() {
+        return cuartosNodo.length;
+    }
+
+    /**
+     * Regresa el número de arcos de la contracción. Cada pasillo aparece una vez desde
+     * cada uno de sus extremos.
+     * @return el número de arcos de la contracción.
+     */
+    public int getArcos() {
+        return destinos.length;
+    }
+
+    /**
+     * Regresa la proporción de cuartos por nodo de la contracción.
+     * @return el número de cuartos entre el número de nodos.
+     */
+    public double getCompresion() {
+        return (double)nodos.length / cuartosNodo.length;
+    }
+
+    /**
+     * Calcula una trayectoria de peso mínimo entre dos cuartos terminales.
+     * @param origen el índice del cuarto de origen.
+     * @param destino el índice del cuarto de destino.
+     * @return los índices de los cuartos de la trayectoria, del origen al destino. Si el
+     *         destino no se puede alcanzar, regresa un arreglo vacío.
+     * @throws IllegalArgumentException si alguno de los cuartos no es un nodo de la contracción.
+     */
+    public int[] resuelve(int origen, int destino) {
+        int s = nodos[origen];
+        int t = nodos[destino];
+        if(s == PASILLO || t == PASILLO)
+            throw new IllegalArgumentException("El cuarto no es un nodo de la contracción.");
+        dijkstra(s, t);
+        return expande(s, t);
+    }
+
+    /**
+     * Ejecuta el algoritmo de Dijkstra sobre los nodos, hasta que el destino sale del montículo.
+     * @param s el nodo de origen.
+     * @param t el nodo de destino.
+     */
+    private void dijkstra(int s, int t) {
+        for(int i = 0; i < distancias.length; i++) {
+            distancias[i] = BusquedaImplicita.INFINITO;
+            arcosAnteriores[i] = BusquedaImplicita.NINGUNO;
+        }
+        monticulo.limpia();
+        distancias[s] = 0;
+        monticulo.agrega(s, 0);
+        while(!monticulo.esVacia()) {
+            int v = monticulo.elimina();
+            if(v == t)
+                return;
+            for(int a = inicios[v]; a < inicios[v + 1]; a++) {
+                int u = destinos[a];
+                int d = distancias[v] + pesos[a];
+                if(d < distancias[u]) {
+                    distancias[u] = d;
+                    arcosAnteriores[u] = a;
+                    nodosAnteriores[u] = v;
+                    monticulo.actualiza(u, d);
+                }
+            }
+        }
+    }
+
+    /**
+     * Expande la trayectoria de nodos que termina en el nodo recibido a una trayectoria de
+     * cuartos, recorriendo el pasillo de cada arco.
+     * @param s el nodo de origen.
+     * @param t el nodo de destino.
+     * @return los índices de los cuartos de la trayectoria.
+     */
+    private int[] expande(int s, int t) {
+        if(distancias[t] == BusquedaImplicita.INFINITO)
+            return new int[0];
+        // Contamos los cuartos recorriendo los pasillos hacia atrás.
+        int n = 1;
+        for(int v = t; arcosAnteriores[v] != BusquedaImplicita.NINGUNO; v = nodosAnteriores[v])
+            n += longitudPasillo(arcosAnteriores[v], nodosAnteriores[v]);
+        int[] trayectoria = new int[n];
+        int fin = n;
+        for(int v = t; arcosAnteriores[v] != BusquedaImplicita.NINGUNO; v = nodosAnteriores[v]) {
+            int a = arcosAnteriores[v];
+            int l = longitudPasillo(a, nodosAnteriores[v]);
+            recorrePasillo(a, nodosAnteriores[v], trayectoria, fin - l);
+            fin -= l;
+        }
+        trayectoria[0] = cuartosNodo[s];
+        return trayectoria;
+    }
+
+    /**
+     * Regresa el número de puertas del pasillo de un arco.
+     * @param a el arco.
+     * @param v el nodo de donde sale el arco.
+     * @return el número de puertas del pasillo.
+     */
+    private int longitudPasillo(int a, int v) {
+        return recorrePasillo(a, v, null, 0);
+    }
+
+    /**
+     * Recorre el pasillo de un arco y, si recibe un arreglo, guarda en él los cuartos del
+     * pasillo sin el nodo de donde sale, empezando en la posición recibida.
+     * @param a el arco.
+     * @param v el nodo de donde sale el arco.
+     * @param trayectoria el arreglo donde guardar los cuartos, o <code>null</code>.
+     * @param i la posición donde guardar el primer cuarto.
+     * @return el número de puertas del pasillo.
+     */
+    private int recorrePasillo(int a, int v, int[] trayectoria, int i) {
+        int anterior = cuartosNodo[v];
+        grafica.vecinos(anterior, vecinos);
+        int u = vecinos[salidas[a]];
+        int l = 1;
+        if(trayectoria != null)
+            trayectoria[i] = u;
+        while(nodos[u] == PASILLO) {
+            int siguiente = siguienteEnPasillo(u, anterior);
+            anterior = u;
+            u = siguiente;
+            if(trayectoria != null)
+                trayectoria[i + l] = u;
+            l++;
+        }
+        return l;
+    }
+
+    /**
+     * Regresa la distancia del origen al cuarto terminal recibido, calculada por la última
+     * llamada a {@link #resuelve(int, int)}, o {@link BusquedaImplicita#INFINITO} si no se
+     * alcanzó.
+     * @param cuarto el índice del cuarto.
+     * @return la distancia del origen al cuarto.
+     * @throws IllegalArgumentException si el cuarto no es un nodo de la contracción.
+     */
+    public int getDistancia(int cuarto) {
+        if(nodos[cuarto] == PASILLO)
+            throw new IllegalArgumentException("El cuarto no es un nodo de la contracción.");
+        return distancias[nodos[cuarto]];
+    }
+}
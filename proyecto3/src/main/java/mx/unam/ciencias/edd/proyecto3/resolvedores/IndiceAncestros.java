@@ -0,0 +1,198 @@
+package mx.unam.ciencias.edd.proyecto3.resolvedores;
+
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+
+/**
+ * <p>Clase para consultar costos y trayectorias entre cualesquiera dos cuartos de un laberinto
+ * perfecto.</p>
+ *
+ * <p>Al construirse, el índice recorre una sola vez el árbol de puertas desde una raíz y guarda el
+ * cuarto padre, la profundidad y el costo desde la raíz de cada cuarto, junto con el recorrido de
+ * Euler del árbol. Sobre el recorrido de Euler se construye una tabla dispersa, con la que el
+ * ancestro común más bajo de dos cuartos se encuentra en tiempo constante. El costo entre dos
+ * cuartos es entonces la suma de sus costos desde la raíz menos dos veces el costo de su ancestro
+ * común, y la trayectoria se reconstruye subiendo por los padres sólo cuando se pide.</p>
+ *
+ * <p>El índice ocupa <i>O</i>(<i>n</i> log <i>n</i>) enteros para <i>n</i> cuartos.</p>
+ */
+public class IndiceAncestros {
+
+    /* Cuarto padre de cada cuarto; la raíz no tiene padre. */
+    private int[] padres;
+    /* Profundidad de cada cuarto. */
+    private int[] profundidades;
+    /* Costo de cada cuarto desde la raíz. */
+    private int[] costos;
+    /* Primera aparición de cada cuarto en el recorrido de Euler. */
+    private int[] primeras;
+    /* Tabla dispersa: el renglón k tiene el cuarto menos profundo de cada
+     * intervalo de 2^k posiciones del recorrido de Euler. */
+    private int[][] tabla;
+
+    /**
+     * Construye el índice de un laberinto perfecto.
+     * @param cuartos los bytes de los cuartos, por renglones.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @param raiz el índice del cuarto raíz.
+     * @throws IllegalArgumentException si el número de bytes no corresponde a las dimensiones,
+     *         o si las puertas del laberinto no forman un árbol que contenga a todos los cuartos.
+     * @throws IndexOutOfBoundsException si el índice de la raíz es inválido.
+     */
+    public IndiceAncestros(byte[] cuartos,
+                           int columnas,
+                           int renglones,
+                           int raiz) {
+        GraficaCuartos grafica = new GraficaCuartos(cuartos, columnas, renglones);
+        int n = grafica.getElementos();
+        if(raiz < 0 || raiz >= n)
+            throw new IndexOutOfBoundsException("Índice inválido: " + raiz);
+        padres = new int[n];
+        profundidades = new int[n];
+        costos = new int[n];
+        primeras = new int[n];
+        int[] euler = recorreEuler(grafica, raiz);
+        creaTabla(euler);
+    }
+
+    /**
+     * Recorre el árbol de puertas desde la raíz con una búsqueda en profundidad iterativa y
+     * regresa su recorrido de Euler.
+     * @param grafica la gráfica de los cuartos.
+     * @param raiz el índice del cuarto raíz.
+     * @return el recorrido de Euler del árbol, con 2<i>n</i>-1 cuartos.
+     * @throws IllegalArgumentException si las puertas no forman un árbol con todos los cuartos.
+     */
+    private int[] recorreEuler(GraficaCuartos grafica, int raiz) {
+        int n = grafica.getElementos();
+        int[] euler = new int[2 * n - 1];
+        int[] pila = new int[n];
+        int[] vecinos = new int[grafica.getGradoMaximo()];
+        int[] pesos = new int[grafica.getGradoMaximo()];
+        // El siguiente vecino a revisar de cada cuarto en la pila.
+        byte[] siguientes = new byte[n];
+        boolean[] visitados = new boolean[n];
+        int m = 0, cima = 0, alcanzados = 1;
+        padres[raiz] = BusquedaImplicita.NINGUNO;
+        visitados[raiz] = true;
+        pila[cima++] = raiz;
+        euler[m++] = raiz;
+        while(cima > 0) {
+            int v = pila[cima - 1];
+            int grado = grafica.vecinos(v, vecinos, pesos);
+            if(siguientes[v] == grado) {
+                if(--cima > 0)
+                    euler[m++] = pila[cima - 1];
+                continue;
+            }
+            int u = vecinos[siguientes[v]];
+            int peso = pesos[siguientes[v]++];
+            if(u == padres[v])
+                continue;
+            if(visitados[u])
+                throw new IllegalArgumentException("Las puertas del laberinto tienen ciclos.");
+            visitados[u] = true;
+            alcanzados++;
+            padres[u] = v;
+            profundidades[u] = profundidades[v] + 1;
+            costos[u] = costos[v] + peso;
+            primeras[u] = m;
+            euler[m++] = u;
+            pila[cima++] = u;
+        }
+        if(alcanzados != n)
+            throw new IllegalArgumentException("Hay cuartos inalcanzables desde la raíz.");
+        return euler;
+    }
+
+    /**
+     * Construye la tabla dispersa sobre el recorrido de Euler.
+     * @param euler el recorrido de Euler.
+     */
+    private void creaTabla(int[] euler) {
+        int niveles = 32 - Integer.numberOfLeadingZeros(euler.length);
+        tabla = new int[niveles][];
+        tabla[0] = euler;
+        for(int k = 1; k < niveles; k++) {
+            int mitad = 1 << (k - 1);
+            int[] anterior = tabla[k - 1];
+            int[] renglon = new int[euler.length - (1 << k) + 1];
+            for(int i = 0; i < renglon.length; i++)
+                renglon[i] = menosProfundo(anterior[i], anterior[i + mitad]);
+            tabla[k] = renglon;
+        }
+    }
+
+    /**
+     * Regresa el menos profundo de dos cuartos.
+     * @param a el primer cuarto.
+     * @param b el segundo cuarto.
+     * @return el cuarto menos profundo.
+     */
+    private int menosProfundo(int a, int b) {
+        return profundidades[a] <= profundidades[b] ? a : b;
+    }
+
+    /**
+     * Regresa el ancestro común más bajo de dos cuartos, en tiempo constante.
+     * @param a el índice del primer cuarto.
+     * @param b el índice del segundo cuarto.
+     * @return el índice del ancestro común más bajo.
+     * @throws IndexOutOfBoundsException si alguno de los índices es inválido.
+     */
+    public int ancestroComun(int a, int b) {
+        int i = primeras[a];
+        int j = primeras[b];
+        if(i > j) {
+            int t = i;
+            i = j;
+            j = t;
+        }
+        int k = 31 - Integer.numberOfLeadingZeros(j - i + 1);
+        return menosProfundo(tabla[k][i], tabla[k][j - (1 << k) + 1]);
+    }
+
+    /**
+     * Regresa el costo de la trayectoria entre dos cuartos, en tiempo constante.
+     * @param a el índice del primer cuarto.
+     * @param b el índice del segundo cuarto.
+     * @return el costo de la trayectoria entre los cuartos.
+     * @throws IndexOutOfBoundsException si alguno de los índices es inválido.
+     */
+    public int costo(int a, int b) {
+        return costos[a] + costos[b] - 2 * costos[ancestroComun(a, b)];
+    }
+
+    /**
+     * Regresa el número de puertas de la trayectoria entre dos cuartos, en tiempo constante.
+     * @param a el índice del primer cuarto.
+     * @param b el índice del segundo cuarto.
+     * @return el número de puertas entre los cuartos.
+     * @throws IndexOutOfBoundsException si alguno de los índices es inválido.
+     */
+    public int longitud(int a, int b) {
+        return profundidades[a] + profundidades[b] - 2 * profundidades[ancestroComun(a, b)];
+    }
+
+    /**
+     * Regresa la trayectoria entre dos cuartos, en tiempo proporcional a su longitud.
+     * @param a el índice del cuarto de origen.
+     * @param b el índice del cuarto de destino.
+     * @return los índices de los cuartos de la trayectoria, de <code>a</code> a <code>b</code>.
+     * @throws IndexOutOfBoundsException si alguno de los índices es inválido.
+     */
+    public int[] trayectoria(int a, int b) {
+        int c = ancestroComun(a, b);
+        int subida = profundidades[a] - profundidades[c];
+        int[] trayectoria = new int[subida + profundidades[b] - profundidades[c] + 1];
+        int i = 0;
+        for(int v = a; v != c; v = padres[v])
+            trayectoria[i++] = v;
+        trayectoria[i] = c;
+        int j = trayectoria.length;
+        for(int v = b; v != c; v = padres[v])
+            trayectoria[--j] = v;
+        return trayectoria;
+    }
+}
@@ -0,0 +1,133 @@
+package mx.unam.ciencias.edd.proyecto3.resolvedores;
+
+import java.util.NoSuchElementException;
+import mx.unam.ciencias.edd.Diccionario;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.TipoMonticulo;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+
+/**
+ * <p>Clase que registra los resolvedores de laberintos por nombre.</p>
+ *
+ * <p>El registro empieza con los resolvedores del proyecto, y se pueden
+ * agregar otros con {@link #registra}. El resolvedor {@link #AUTOMATICO}
+ * elige uno de los demás con el número de puertas del laberinto: si es
+ * perfecto, lo recorre como árbol; y en otro caso usa el algoritmo de
+ * Dijkstra sobre los bytes de los cuartos.</p>
+ */
+public class RegistroResolvedores {
+
+    /** Nombre del resolvedor que elige el resolvedor según el laberinto. */
+    public static final String AUTOMATICO = "auto";
+    /** Nombre del resolvedor que recorre el laberinto como árbol. */
+    public static final String ARBOL = "arbol";
+    /** Nombre del resolvedor que contrae los pasillos del laberinto. */
+    public static final String PASILLOS = "pasillos";
+    /** Nombre del resolvedor de Dijkstra sobre los bytes de los cuartos. */
+    public static final String IMPLICITO = "implicito";
+    /** Nombre del resolvedor de Dijkstra sobre la gráfica compacta. */
+    public static final String COMPACTO = "compacto";
+    /** Nombre del resolvedor que rellena los callejones sin salida. */
+    public static final String CALLEJONES = "callejones";
+    /** Nombre del resolvedor de Dijkstra sobre la gráfica; seguido de un
+     * guión y del tipo de montículo en minúsculas, nombra la variante con ese
+     * montículo. */
+    public static final String DIJKSTRA = "dijkstra";
+    /** Nombre del resolvedor de Dijkstra perezoso. */
+    public static final String PEREZOSO = "perezoso";
+    /** Nombre del resolvedor A*. */
+    public static final String A_ESTRELLA = "aestrella";
+    /** Nombre del resolvedor de Dijkstra bidireccional. */
+    public static final String BIDIRECCIONAL = "bidireccional";
+
+    /* Los resolvedores por nombre. */
+    private static final Diccionario<String, Resolvedor> resolvedores =
+        new Diccionario<String, Resolvedor>();
+    /* Los nombres de los resolvedores, en el orden en que se registraron. */
+    private static final Lista<String> nombres = new Lista<String>();
+
+    static {
+        registra(AUTOMATICO, l -> elige(l).resuelve(l));
+        registra(ARBOL, l -> {
+                if(!l.resuelveArbol())
+                    l.resuelveImplicito();
+            });
+        registra(PASILLOS, Laberinto::resuelvePasillos);
+        registra(IMPLICITO, Laberinto::resuelveImplicito);
+        registra(COMPACTO, Laberinto::resuelveCompacto);
+        registra(CALLEJONES, Laberinto::resuelveRellenoCallejones);
+        registra(DIJKSTRA, l -> l.resuelveDijkstra(TipoMonticulo.AUTOMATICO));
+        for(TipoMonticulo tipo : TipoMonticulo.values())
+            if(tipo != TipoMonticulo.AUTOMATICO)
+                registra(DIJKSTRA + "-" + tipo.name().toLowerCase(),
+                         l -> l.resuelveDijkstra(tipo));
+        registra(PEREZOSO, Laberinto::resuelvePerezoso);
+        registra(A_ESTRELLA, l -> l.resuelveAEstrella(true));
+        registra(BIDIRECCIONAL, Laberinto::resuelveBidireccional);
+    }
+
+    /* Constructor privado para evitar instanciación. */
+    private RegistroResolvedores() {}
+
+    /**
+     * Registra un resolvedor con un nombre.
+     * @param nombre el nombre del resolvedor.
+     * @param resolvedor el resolvedor.
+     * @throws IllegalArgumentException si ya hay un resolvedor con el nombre,
+     *         o si alguno de los argumentos es <code>null</code>.
+     */
+    public static void registra(String nombre, Resolvedor resolvedor) {
+        if(nombre == null || resolvedor == null)
+            throw new IllegalArgumentException("Argumentos inválidos.");
+        if(resolvedores.contiene(nombre))
+            throw new IllegalArgumentException("Ya hay un resolvedor " + nombre + ".");
+        resolvedores.agrega(nombre, resolvedor);
+        nombres.agrega(nombre);
+    }
+
+    /**
+     * Nos dice si hay un resolvedor registrado con el nombre recibido.
+     * @param nombre el nombre del resolvedor.
+     * @return <code>true</code> si hay un resolvedor con el nombre,
+     *         <code>false</code> en otro caso.
+     */
+    public static boolean contiene(String nombre) {
+        return nombre != null && resolvedores.contiene(nombre);
+    }
+
+    /**
+     * Regresa el resolvedor registrado con el nombre recibido.
+     * @param nombre el nombre del resolvedor.
+     * @return el resolvedor con el nombre.
+     * @throws NoSuchElementException si no hay un resolvedor con el nombre.
+     */
+    public static Resolvedor getResolvedor(String nombre) {
+        if(!contiene(nombre))
+            throw new NoSuchElementException("No hay un resolvedor " + nombre + ".");
+        return resolvedores.get(nombre);
+    }
+
+    /**
+     * Regresa los nombres de los resolvedores registrados, en el orden en que
+     * se registraron.
+     * @return los nombres de los resolvedores.
+     */
+    public static Lista<String> getNombres() {
+        return nombres.copia();
+    }
+
+    /**
+     * Elige el resolvedor para un laberinto a partir de su número de puertas.
+     * Un laberinto perfecto se recorre como árbol; en otro caso se usa el
+     * algoritmo de Dijkstra sobre los bytes de los cuartos, que en el banco
+     * de pruebas empata o le gana a contraer los pasillos aun con muy pocos
+     * ciclos.
+     * @param laberinto el laberinto.
+     * @return el resolvedor para el laberinto.
+     */
+    public static Resolvedor elige(Laberinto laberinto) {
+        if(laberinto.esPerfecto())
+            return getResolvedor(ARBOL);
+        return getResolvedor(IMPLICITO);
+    }
+}
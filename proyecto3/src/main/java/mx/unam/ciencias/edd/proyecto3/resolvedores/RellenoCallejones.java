@@ -0,0 +1,204 @@
+package mx.unam.ciencias.edd.proyecto3.resolvedores;
+
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.GraficaImplicita;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+
+/**
+ * <p>Clase para podar los callejones sin salida de un laberinto antes de resolverlo.</p>
+ *
+ * <p>Un callejón sin salida es un cuarto con a lo más una puerta que no es la entrada ni la salida.
+ * Al construirse, el relleno mete todos los callejones a una lista de trabajo; al rellenar un
+ * callejón se le quita una puerta a su único vecino, que puede volverse a su vez un callejón. Cada
+ * cuarto se rellena a lo más una vez, por lo que el relleno toma tiempo lineal en el número de
+ * cuartos y sólo usa arreglos de enteros.</p>
+ *
+ * <p>Los cuartos que sobreviven son los únicos que pueden estar en una trayectoria entre la entrada
+ * y la salida. En un laberinto perfecto sobrevive únicamente el pasillo de la solución, que
+ * {@link #getSolucion()} regresa directamente; en otro caso el relleno es también la gráfica
+ * implícita de los sobrevivientes, en la que los cuartos rellenados no tienen vecinos, para
+ * resolverla con {@link BusquedaImplicita} sin copiar los bytes del laberinto.</p>
+ */
+public class RellenoCallejones implements GraficaImplicita {
+
+    /* Gráfica de los cuartos. */
+    private GraficaCuartos grafica;
+    /* Arreglo para los vecinos de un cuarto. */
+    private int[] vecinos;
+    /* Índice de la entrada. */
+    private int entrada;
+    /* Índice de la salida. */
+    private int salida;
+
+    /* Número de puertas hacia cuartos no rellenados de cada cuarto. */
+    private int[] grados;
+    /* Nos dice si cada cuarto fue rellenado. */
+    private boolean[] rellenados;
+    /* Número de cuartos que sobreviven. */
+    private int sobrevivientes;
+
+    /**
+     * Rellena los callejones sin salida del laberinto.
+     * @param cuartos los bytes de los cuartos, por renglones.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @param entrada el índice del cuarto de entrada.
+     * @param salida el índice del cuarto de salida.
+     * @throws IllegalArgumentException si el número de bytes no corresponde a las dimensiones.
+     * @throws IndexOutOfBoundsException si alguno de los índices es inválido.
+     */
+    public RellenoCallejones(byte[] cuartos,
+                             int columnas,
+                             int renglones,
+                             int entrada,
+                             int salida) {
+        grafica = new GraficaCuartos(cuartos, columnas, renglones);
+        if(entrada < 0 || entrada >= cuartos.length)
+            throw new IndexOutOfBoundsException("Índice inválido: " + entrada);
+        if(salida < 0 || salida >= cuartos.length)
+            throw new IndexOutOfBoundsException("Índice inválido: " + salida);
+        vecinos = new int[grafica.getGradoMaximo()];
+        this.entrada = entrada;
+        this.salida = salida;
+        rellena();
+    }
+
+    /**
+     * Rellena los callejones con una lista de trabajo.
+     */
+    private void rellena() {
+        int n = grafica.getElementos();
+        grados = new int[n];
+        rellenados = new boolean[n];
+        int[] pendientes = new int[n];
+        int cima = 0;
+        for(int v = 0; v < n; v++) {
+            grados[v] = grafica.vecinos(v, vecinos);
+            if(esCallejon(v))
+                pendientes[cima++] = v;
+        }
+        sobrevivientes = n;
+        while(cima > 0) {
+            int v = pendientes[--cima];
+            rellenados[v] = true;
+            sobrevivientes--;
+            int grado = grafica.vecinos(v, vecinos);
+            for(int i = 0; i < grado; i++) {
+                int u = vecinos[i];
+                if(rellenados[u])
+                    continue;
+                // Un cuarto entra a la lista justo cuando su grado baja a uno.
+                if(--grados[u] == 1 && esCallejon(u))
+                    pendientes[cima++] = u;
+            }
+        }
+    }
+
+    /**
+     * Nos dice si un cuarto es un callejón sin salida.
+     * @param v el índice del cuarto.
+     * @return <code>true</code> si el cuarto tiene a lo más una puerta y no es la entrada ni
+     *         la salida, <code>false</code> en otro caso.
+     */
+    private boolean esCallejon(int v) {
+        return grados[v] <= 1 && v != entrada && v != salida;
+    }
+
+    /**
+     * Regresa el número de cuartos que sobrevivieron al relleno.
+     * @return el número de cuartos que sobrevivieron al relleno.
+     */
+    public int getSobrevivientes() {
+        return sobrevivientes;
+    }
+
+    /**
+     * Nos dice si un cuarto fue rellenado.
+     * @param cuarto el índice del cuarto.
+     * @return <code>true</code> si el cuarto fue rellenado, <code>false</code> en otro caso.
+     */
+    public boolean estaRellenado(int cuarto) {
+        return rellenados[cuarto];
+    }
+
+    /**
+     * Regresa el número de cuartos del laberinto, rellenados o no.
+     * @return el número de cuartos.
+     */
+    @Override public int getElementos() {
+        return grafica.getElementos();
+    }
+
+    /**
+     * Regresa el mayor número de puertas interiores de un cuarto.
+     * @return el grado máximo de la gráfica.
+     */
+    @Override public int getGradoMaximo() {
+        return grafica.getGradoMaximo();
+    }
+
+    /**
+     * Escribe los cuartos no rellenados a los que lleva una puerta interior
+     * del cuarto recibido. Un cuarto rellenado no tiene vecinos.
+     * @param vertice el índice del cuarto.
+     * @param vecinos el arreglo donde escribir los índices de los vecinos.
+     * @return el número de vecinos escritos.
+     * @throws IndexOutOfBoundsException si el índice es inválido.
+     */
+    @Override public int vecinos(int vertice, int[] vecinos) {
+        int grado = grafica.vecinos(vertice, vecinos);
+        if(rellenados[vertice])
+            return 0;
+        int n = 0;
+        for(int i = 0; i < grado; i++)
+            if(!rellenados[vecinos[i]])
+                vecinos[n++] = vecinos[i];
+        return n;
+    }
+
+    /**
+     * Regresa el costo de la puerta entre dos cuartos no rellenados.
+     * @param a el índice del cuarto de origen.
+     * @param b el índice del cuarto de destino.
+     * @return el costo de la puerta de a a b.
+     * @throws IndexOutOfBoundsException si alguno de los índices es inválido.
+     * @throws IllegalArgumentException si no hay una puerta de a a b, o si
+     *         alguno de los cuartos fue rellenado.
+     */
+    @Override public int getPeso(int a, int b) {
+        int peso = grafica.getPeso(a, b);
+        if(rellenados[a] || rellenados[b])
+            throw new IllegalArgumentException("El cuarto fue rellenado.");
+        return peso;
+    }
+
+    /**
+     * Regresa la solución del laberinto si los sobrevivientes forman un solo pasillo de la
+     * entrada a la salida, como ocurre en los laberintos perfectos.
+     * @return los índices de los cuartos del pasillo, de la entrada a la salida; o
+     *         <code>null</code> si los sobrevivientes no forman un solo pasillo.
+     */
+    public int[] getSolucion() {
+        if(rellenados[entrada] || rellenados[salida])
+            return null;
+        int[] trayectoria = new int[sobrevivientes];
+        int anterior = BusquedaImplicita.NINGUNO;
+        int v = entrada;
+        for(int i = 0; i < sobrevivientes; i++) {
+            trayectoria[i] = v;
+            if(v == salida)
+                return i == sobrevivientes - 1 ? trayectoria : null;
+            int siguiente = BusquedaImplicita.NINGUNO;
+            int vivos = vecinos(v, vecinos);
+            for(int k = 0; k < vivos; k++)
+                if(vecinos[k] != anterior)
+                    siguiente = vecinos[k];
+            // En un pasillo, la entrada tiene un vecino vivo y los demás cuartos dos.
+            if(vivos != (v == entrada ? 1 : 2))
+                return null;
+            anterior = v;
+            v = siguiente;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,23 @@
+package mx.unam.ciencias.edd.proyecto3.resolvedores;
+
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+
+/**
+ * <p>Interfaz para estrategias de resolución de laberintos. Un resolvedor
+ * calcula el camino de solución de un laberinto ya leído, que después se
+ * obtiene con {@link Laberinto#getCamino()}.</p>
+ *
+ * <p>Los resolvedores disponibles se registran por nombre en {@link
+ * RegistroResolvedores}.</p>
+ */
+@FunctionalInterface
+public interface Resolvedor {
+
+    /**
+     * Resuelve el laberinto recibido.
+     * @param laberinto el laberinto a resolver.
+     * @throws mx.unam.ciencias.edd.proyecto3.ExcepcionLaberintoInvalido si el
+     *         laberinto no tiene solución.
+     */
+    public void resuelve(Laberinto laberinto);
+}
@@ -0,0 +1,128 @@
+package mx.unam.ciencias.edd.proyecto3.resolvedores;
+
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+
+/**
+ * <p>Clase para resolver laberintos perfectos directamente sobre los bytes de sus cuartos.</p>
+ *
+ * <p>En un laberinto perfecto las puertas forman un árbol, por lo que la trayectoria entre dos
+ * cuartos es única y no hace falta comparar distancias. El resolvedor recorre la componente del
+ * origen con una búsqueda en profundidad iterativa sobre la {@link GraficaCuartos}, usando una
+ * pila de enteros, y guarda el cuarto anterior de cada cuarto visitado. El recorrido toma tiempo
+ * lineal en el número de cuartos.</p>
+ *
+ * <p>Si durante el recorrido se encuentra una puerta a un cuarto ya visitado que no es el
+ * anterior, la componente tiene un ciclo y el resolvedor lo reporta, para que se use un algoritmo
+ * de trayectorias de peso mínimo en su lugar.</p>
+ */
+public class ResolvedorArbol {
+
+    /* Gráfica de los cuartos. */
+    private GraficaCuartos grafica;
+    /* Arreglo para los vecinos del cuarto actual. */
+    private int[] vecinos;
+
+    /* Cuarto anterior de cada cuarto en el recorrido desde el origen. */
+    private int[] anteriores;
+    /* Nos dice si cada cuarto fue visitado. */
+    private boolean[] visitados;
+    /* Pila de cuartos por visitar. */
+    private int[] pila;
+
+    /**
+     * Define el estado inicial del resolvedor.
+     * @param cuartos los bytes de los cuartos, por renglones.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @throws IllegalArgumentException si el número de bytes no corresponde a las dimensiones.
+     */
+    public ResolvedorArbol(byte[] cuartos,
+                           int columnas,
+                           int renglones) {
+        grafica = new GraficaCuartos(cuartos, columnas, renglones);
+        vecinos = new int[grafica.getGradoMaximo()];
+        anteriores = new int[cuartos.length];
+        visitados = new boolean[cuartos.length];
+        pila = new int[cuartos.length];
+    }
+
+    /**
+     * Calcula la trayectoria entre dos cuartos, si la componente del origen es un árbol.
+     * @param origen el índice del cuarto de origen.
+     * @param destino el índice del cuarto de destino.
+     * @return los índices de los cuartos de la trayectoria, del origen al destino; un arreglo
+     *         vacío si el destino no se puede alcanzar; o <code>null</code> si la componente
+     *         del origen tiene ciclos.
+     * @throws IndexOutOfBoundsException si alguno de los índices es inválido.
+     */
+    public int[] resuelve(int origen, int destino) {
+        if(destino < 0 || destino >= anteriores.length)
+            throw new IndexOutOfBoundsException("Índice inválido: " + destino);
+        return recorre(origen) ? trayectoria(destino) : null;
+    }
+
+    /**
+     * Recorre la componente del origen con una búsqueda en profundidad. Después de llamar a
+     * este método, {@link #getAnterior(int)} regresa el cuarto anterior de cada cuarto visitado.
+     * @param origen el índice del cuarto de origen.
+     * @return <code>true</code> si la componente del origen es un árbol, <code>false</code>
+     *         si tiene ciclos.
+     * @throws IndexOutOfBoundsException si el índice es inválido.
+     */
+    public boolean recorre(int origen) {
+        if(origen < 0 || origen >= anteriores.length)
+            throw new IndexOutOfBoundsException("Índice inválido: " + origen);
+        for(int i = 0; i < anteriores.length; i++) {
+            visitados[i] = false;
+            anteriores[i] = BusquedaImplicita.NINGUNO;
+        }
+        int cima = 0;
+        pila[cima++] = origen;
+        visitados[origen] = true;
+        while(cima > 0) {
+            int v = pila[--cima];
+            int grado = grafica.vecinos(v, vecinos);
+            for(int i = 0; i < grado; i++) {
+                int u = vecinos[i];
+                if(u == anteriores[v])
+                    continue;
+                if(visitados[u])
+                    return false;
+                visitados[u] = true;
+                anteriores[u] = v;
+                pila[cima++] = u;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reconstruye la trayectoria al cuarto recibido a partir de los cuartos anteriores
+     * calculados por la última ejecución de {@link #recorre(int)}.
+     * @param destino el índice del cuarto de destino.
+     * @return los índices de los cuartos de la trayectoria, del origen al destino. Si el
+     *         destino no se alcanzó, regresa un arreglo vacío.
+     */
+    public int[] trayectoria(int destino) {
+        if(!visitados[destino])
+            return new int[0];
+        int n = 0;
+        for(int v = destino; v != BusquedaImplicita.NINGUNO; v = anteriores[v])
+            n++;
+        int[] trayectoria = new int[n];
+        for(int v = destino; v != BusquedaImplicita.NINGUNO; v = anteriores[v])
+            trayectoria[--n] = v;
+        return trayectoria;
+    }
+
+    /**
+     * Regresa el cuarto anterior en el recorrido desde el origen, o
+     * {@link BusquedaImplicita#NINGUNO} si el cuarto es el origen o no se visitó.
+     * @param cuarto el índice del cuarto.
+     * @return el índice del cuarto anterior.
+     */
+    public int getAnterior(int cuarto) {
+        return anteriores[cuarto];
+    }
+}
@@ -0,0 +1,378 @@
+package mx.unam.ciencias.edd.proyecto3.resolvedores;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+
+/**
+ * <p>Clase para resolver laberintos con el algoritmo <i>delta-stepping</i> en paralelo.</p>
+ *
+ * <p>Los cuartos se guardan en cubetas de ancho <i>delta</i> según su distancia al origen. Se
+ * procesa la cubeta mínima relajando en paralelo las puertas ligeras (costo a lo más
+ * <i>delta</i>) de sus cuartos hasta que la cubeta queda vacía, y después se relajan en paralelo
+ * las puertas pesadas de todos los cuartos que pasaron por ella. Las distancias se actualizan con
+ * operaciones atómicas, por lo que el resultado es el mismo que el del algoritmo de Dijkstra.</p>
+ *
+ * <p>El resolvedor trabaja sobre la {@link GraficaCuartos}, calculada directamente de los bytes de
+ * los cuartos, y el cuarto en la coordenada (x, y) tiene el índice <code>y*columnas+x</code>. El ancho
+ * de las cubetas se elige a partir del costo máximo de las puertas (entre 1 y 31) y del grado
+ * promedio de los cuartos. El resolvedor tiene su propio grupo de hilos, que se libera con
+ * {@link #close()}.</p>
+ */
+public class ResolvedorDeltaStepping implements AutoCloseable {
+
+    /* Número mínimo de cuartos en una frontera para repartirla entre los hilos. */
+    private static final int FRONTERA_PARALELA = 64;
+
+    /* Clase interna privada para relajar una parte de la frontera en un hilo. */
+    private class Relajacion extends RecursiveAction {
+
+        /* Versión para serialización. */
+        private static final long serialVersionUID = 1L;
+
+        /* El inicio de la parte de la frontera. */
+        private int inicio;
+        /* El fin (exclusivo) de la parte de la frontera. */
+        private int fin;
+        /* Los cuartos de la frontera. */
+        private int[] frontera;
+        /* Nos dice si se relajan las puertas ligeras o las pesadas. */
+        private boolean ligeras;
+        /* Los cuartos cuya distancia mejoró. */
+        private int[] mejorados;
+        /* El cuarto desde el que mejoró cada cuarto de los mejorados. */
+        private int[] desde;
+        /* La distancia con la que mejoró cada cuarto de los mejorados. */
+        private int[] mejoras;
+        /* El número de cuartos cuya distancia mejoró. */
+        private int numeroMejorados;
+        /* Arreglo para los vecinos del cuarto actual. */
+        private int[] vecinos;
+        /* Arreglo para los costos de las puertas del cuarto actual. */
+        private int[] costos;
+
+        /* Construye una relajación. */
+        public Relajacion() {
+            vecinos = new int[grafica.getGradoMaximo()];
+            costos = new int[grafica.getGradoMaximo()];
+            mejorados = new int[16];
+            desde = new int[16];
+            mejoras = new int[16];
+        }
+
+        /* Define la parte de la frontera a relajar. */
+        public void define(int[] frontera, int inicio, int fin, boolean ligeras) {
+            this.frontera = frontera;
+            this.inicio = inicio;
+            this.fin = fin;
+            this.ligeras = ligeras;
+            numeroMejorados = 0;
+        }
+
+        /* Relaja las puertas de los cuartos de la parte de la frontera. */
+        @Override protected void compute() {
+            for(int i = inicio; i < fin; i++)
+                relaja(frontera[i]);
+        }
+
+        /* Relaja las puertas ligeras o pesadas de un cuarto. */
+        private void relaja(int v) {
+            int d = distancias.get(v);
+            int grado = grafica.vecinos(v, vecinos, costos);
+            for(int i = 0; i < grado; i++) {
+                int u = vecinos[i];
+                int costo = costos[i];
+                if((costo <= delta) != ligeras)
+                    continue;
+                int nueva = d + costo;
+                int actual;
+                while((actual = distancias.get(u)) > nueva)
+                    if(distancias.compareAndSet(u, actual, nueva)) {
+                        agregaMejorado(u, v, nueva);
+                        break;
+                    }
+            }
+        }
+
+        /* Agrega un cuarto a los mejorados, con el cuarto y la distancia de la mejora. */
+        private void agregaMejorado(int u, int v, int nueva) {
+            if(numeroMejorados == mejorados.length) {
+                mejorados = crece(mejorados, numeroMejorados);
+                desde = crece(desde, numeroMejorados);
+                mejoras = crece(mejoras, numeroMejorados);
+            }
+            mejorados[numeroMejorados] = u;
+            desde[numeroMejorados] = v;
+            mejoras[numeroMejorados++] = nueva;
+        }
+
+        /* Regresa una copia del arreglo con el doble de tamaño. */
+        private int[] crece(int[] arreglo, int n) {
+            int[] nuevo = new int[arreglo.length << 1];
+            System.arraycopy(arreglo, 0, nuevo, 0, n);
+            return nuevo;
+        }
+    }
+
+    /* Gráfica de los cuartos. */
+    private GraficaCuartos grafica;
+    /* Número de cuartos. */
+    private int numeroCuartos;
+    /* Número de hilos. */
+    private int hilos;
+    /* Ancho de las cubetas. */
+    private int delta;
+
+    /* Distancia de cada cuarto al origen. */
+    private AtomicIntegerArray distancias;
+    /* Cuarto anterior a cada cuarto en una trayectoria mínima desde el origen. */
+    private int[] anteriores;
+    /* Cubetas circulares de cuartos. */
+    private int[][] cubetas;
+    /* Número de cuartos en cada cubeta. */
+    private int[] tamanos;
+    /* Marca de la última ronda en la que se procesó cada cuarto. */
+    private int[] marcas;
+    /* Relajaciones, una por hilo. */
+    private Relajacion[] relajaciones;
+    /* Grupo de hilos; es null si sólo hay un hilo. */
+    private ForkJoinPool grupo;
+
+    /**
+     * Define el estado inicial del resolvedor.
+     * @param cuartos los bytes de los cuartos, por renglones.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @param hilos el número de hilos a usar.
+     * @throws IllegalArgumentException si el número de bytes no corresponde a las dimensiones,
+     *         o si el número de hilos no es positivo.
+     */
+    public ResolvedorDeltaStepping(byte[] cuartos,
+                                   int columnas,
+                                   int renglones,
+                                   int hilos) {
+        grafica = new GraficaCuartos(cuartos, columnas, renglones);
+        if(hilos < 1)
+            throw new IllegalArgumentException("Número inválido de hilos.");
+        numeroCuartos = cuartos.length;
+        this.hilos = hilos;
+        int pesoMaximo = calculaDelta();
+        distancias = new AtomicIntegerArray(numeroCuartos);
+        anteriores = new int[numeroCuartos];
+        marcas = new int[numeroCuartos];
+        // Las distancias pendientes están entre la cubeta actual y ésta más el peso máximo.
+        int numeroCubetas = pesoMaximo / delta + 2;
+        cubetas = new int[numeroCubetas][16];
+        tamanos = new int[numeroCubetas];
+        relajaciones = new Relajacion[hilos];
+        for(int i = 0; i < hilos; i++)
+            relajaciones[i] = new Relajacion();
+        if(hilos > 1)
+            grupo = new ForkJoinPool(hilos);
+    }
+
+    /**
+     * Calcula el ancho de las cubetas como el costo máximo de las puertas entre el grado
+     * promedio de los cuartos, para que cada cubeta tenga en promedio una puerta ligera por
+     * cuarto.
+     * @return el costo máximo de las puertas.
+     */
+    private int calculaDelta() {
+        int pesoMaximo = 1;
+        long grados = 0;
+        int[] vecinos = new int[grafica.getGradoMaximo()];
+        int[] costos = new int[grafica.getGradoMaximo()];
+        for(int v = 0; v < numeroCuartos; v++) {
+            int grado = grafica.vecinos(v, vecinos, costos);
+            for(int i = 0; i < grado; i++)
+                pesoMaximo = Math.max(pesoMaximo, costos[i]);
+            grados += grado;
+        }
+        double gradoPromedio = Math.max(1.0, (double)grados / numeroCuartos);
+        delta = Math.max(1, (int)Math.round(pesoMaximo / gradoPromedio));
+        return pesoMaximo;
+    }
+
+    /**
+     * Regresa el ancho de las cubetas.
+     * @return el ancho de las cubetas.
+     */
+    public int getDelta() {
+        return delta;
+    }
+
+    /**
+     * Calcula una trayectoria de peso mínimo entre dos cuartos.
+     * @param origen el índice del cuarto de origen.
+     * @param destino el índice del cuarto de destino.
+     * @return los índices de los cuartos de la trayectoria, del origen al destino. Si el
+     *         destino no se puede alcanzar, regresa un arreglo vacío.
+     * @throws IndexOutOfBoundsException si alguno de los índices es inválido.
+     */
+    public int[] resuelve(int origen, int destino) {
+        if(destino < 0 || destino >= numeroCuartos)
+            throw new IndexOutOfBoundsException("Índice inválido: " + destino);
+        calculaDistancias(origen);
+        return trayectoria(destino);
+    }
+
+    /**
+     * Calcula las distancias de todos los cuartos al origen.
+     * @param origen el índice del cuarto de origen.
+     * @throws IndexOutOfBoundsException si el índice es inválido.
+     */
+    public void calculaDistancias(int origen) {
+        if(origen < 0 || origen >= numeroCuartos)
+            throw new IndexOutOfBoundsException("Índice inválido: " + origen);
+        for(int i = 0; i < numeroCuartos; i++) {
+            distancias.set(i, BusquedaImplicita.INFINITO);
+            anteriores[i] = BusquedaImplicita.NINGUNO;
+            marcas[i] = -1;
+        }
+        for(int i = 0; i < tamanos.length; i++)
+            tamanos[i] = 0;
+        distancias.set(origen, 0);
+        agregaCubeta(origen);
+        int pendientes = 1;
+        int[] frontera = new int[16];
+        int[] definitivos = new int[16];
+        for(int i = 0; pendientes > 0; i++) {
+            int c = i % cubetas.length;
+            int numeroDefinitivos = 0;
+            while(tamanos[c] > 0) {
+                // Sacamos los cuartos vigentes de la cubeta.
+                int numeroFrontera = 0;
+                if(frontera.length < tamanos[c])
+                    frontera = new int[cubetas[c].length];
+                for(int k = 0; k < tamanos[c]; k++) {
+                    int v = cubetas[c][k];
+                    if(distancias.get(v) / delta != i || marcas[v] == Integer.MAX_VALUE)
+                        continue;
+                    if(marcas[v] != i) {
+                        if(numeroDefinitivos == definitivos.length) {
+                            int[] nuevo = new int[definitivos.length << 1];
+                            System.arraycopy(definitivos, 0, nuevo, 0, numeroDefinitivos);
+                            definitivos = nuevo;
+                        }
+                        definitivos[numeroDefinitivos++] = v;
+                    }
+                    marcas[v] = Integer.MAX_VALUE;
+                    frontera[numeroFrontera++] = v;
+                }
+                pendientes -= tamanos[c];
+                tamanos[c] = 0;
+                pendientes += relaja(frontera, numeroFrontera, true);
+                // Los cuartos procesados pueden volver a la cubeta si mejoran.
+                for(int k = 0; k < numeroFrontera; k++)
+                    marcas[frontera[k]] = i;
+            }
+            pendientes += relaja(definitivos, numeroDefinitivos, false);
+        }
+    }
+
+    /**
+     * Relaja en paralelo las puertas ligeras o pesadas de los cuartos de una frontera, y
+     * agrega a las cubetas los cuartos cuya distancia mejoró. El anterior de cada cuarto se
+     * escribe al juntar los mejorados, después de que terminan los hilos, y sólo para la mejora
+     * vigente: una mejora que después fue superada por otro hilo no lo sobrescribe.
+     * @param frontera los cuartos de la frontera.
+     * @param n el número de cuartos en la frontera.
+     * @param ligeras si se relajan las puertas ligeras o las pesadas.
+     * @return el número de cuartos agregados a las cubetas.
+     */
+    private int relaja(int[] frontera, int n, boolean ligeras) {
+        if(n == 0)
+            return 0;
+        int partes = (grupo == null || n < FRONTERA_PARALELA) ? 1 : hilos;
+        for(int k = 0; k < partes; k++) {
+            relajaciones[k].reinitialize();
+            relajaciones[k].define(frontera, (int)((long)n * k / partes),
+                                   (int)((long)n * (k + 1) / partes), ligeras);
+        }
+        if(partes == 1)
+            relajaciones[0].compute();
+        else
+            grupo.invoke(new RecursiveAction() {
+                    @Override protected void compute() {
+                        ForkJoinTask.invokeAll(relajaciones);
+                    }
+                });
+        int agregados = 0;
+        for(int k = 0; k < partes; k++) {
+            Relajacion r = relajaciones[k];
+            for(int j = 0; j < r.numeroMejorados; j++) {
+                int u = r.mejorados[j];
+                if(distancias.get(u) == r.mejoras[j])
+                    anteriores[u] = r.desde[j];
+                agregaCubeta(u);
+            }
+            agregados += r.numeroMejorados;
+        }
+        return agregados;
+    }
+
+    /**
+     * Agrega un cuarto a la cubeta de su distancia.
+     * @param v el índice del cuarto.
+     */
+    private void agregaCubeta(int v) {
+        int c = (distancias.get(v) / delta) % cubetas.length;
+        if(tamanos[c] == cubetas[c].length) {
+            int[] nueva = new int[tamanos[c] << 1];
+            System.arraycopy(cubetas[c], 0, nueva, 0, tamanos[c]);
+            cubetas[c] = nueva;
+        }
+        cubetas[c][tamanos[c]++] = v;
+    }
+
+    /**
+     * Reconstruye la trayectoria al cuarto recibido a partir de los anteriores registrados por
+     * la última ejecución de {@link #calculaDistancias(int)}.
+     * @param destino el índice del cuarto de destino.
+     * @return los índices de los cuartos de la trayectoria, del origen al destino. Si el
+     *         destino no se alcanzó, regresa un arreglo vacío.
+     */
+    public int[] trayectoria(int destino) {
+        if(distancias.get(destino) == BusquedaImplicita.INFINITO)
+            return new int[0];
+        int[] inversa = new int[16];
+        int n = 0;
+        int v = destino;
+        while(true) {
+            if(n == inversa.length) {
+                int[] nuevo = new int[n << 1];
+                System.arraycopy(inversa, 0, nuevo, 0, n);
+                inversa = nuevo;
+            }
+            inversa[n++] = v;
+            if(anteriores[v] == BusquedaImplicita.NINGUNO)
+                break;
+            v = anteriores[v];
+        }
+        int[] trayectoria = new int[n];
+        for(int i = 0; i < n; i++)
+            trayectoria[i] = inversa[n - 1 - i];
+        return trayectoria;
+    }
+
+    /**
+     * Regresa la distancia del origen al cuarto recibido, o {@link BusquedaImplicita#INFINITO}
+     * si no se puede alcanzar.
+     * @param cuarto el índice del cuarto.
+     * @return la distancia del origen al cuarto.
+     */
+    public int getDistancia(int cuarto) {
+        return distancias.get(cuarto);
+    }
+
+    /**
+     * Libera el grupo de hilos del resolvedor.
+     */
+    @Override public void close() {
+        if(grupo != null)
+            grupo.shutdown();
+    }
+}
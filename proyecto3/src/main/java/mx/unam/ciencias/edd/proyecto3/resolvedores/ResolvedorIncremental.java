@@ -0,0 +1,304 @@
+package mx.unam.ciencias.edd.proyecto3.resolvedores;
+
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.MonticuloIndexado;
+import mx.unam.ciencias.edd.proyecto3.Direccion;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+
+/**
+ * <p>Clase para laberintos modificables que se vuelven a resolver después de cada cambio.</p>
+ *
+ * <p>El resolvedor guarda su propia copia de los bytes de los cuartos, que se modifica abriendo o
+ * cerrando puertas y cambiando puntajes, y recorre las puertas con una {@link GraficaCuartos}
+ * sobre esa copia. Para resolver usa el algoritmo LPA* (<i>Lifelong Planning
+ * A*</i>): cada cuarto tiene su distancia <i>g</i> desde la entrada y una distancia
+ * <i>rhs</i> calculada a partir de sus vecinos. Un cambio sólo recalcula <i>rhs</i> en los cuartos
+ * de las puertas afectadas, y la siguiente solución sólo expande los cuartos inconsistentes
+ * (aquéllos con <i>g</i> distinta de <i>rhs</i>) que pueden mejorar la trayectoria a la salida. La
+ * heurística es la distancia Manhattan a la salida, que nunca sobreestima porque cada puerta cuesta
+ * al menos uno.</p>
+ *
+ * <p>La primera solución cuesta lo mismo que una búsqueda A*; las siguientes sólo cuestan en
+ * proporción a la parte del campo de distancias que cambió.</p>
+ */
+public class ResolvedorIncremental {
+
+    /* Puntaje máximo de un cuarto. */
+    private static final int PUNTAJE_MAXIMO = 15;
+
+    /* Bytes de los cuartos. */
+    private byte[] cuartos;
+    /* Gráfica sobre los bytes de los cuartos. */
+    private GraficaCuartos grafica;
+    /* Columnas del laberinto. */
+    private int columnas;
+    /* Renglones del laberinto. */
+    private int renglones;
+    /* Índice de la entrada. */
+    private int entrada;
+    /* Índice de la salida. */
+    private int salida;
+
+    /* Distancia de la entrada a cada cuarto. */
+    private int[] distancias;
+    /* Distancia de la entrada a cada cuarto según sus vecinos. */
+    private int[] estimaciones;
+    /* Montículo de los cuartos inconsistentes. */
+    private MonticuloIndexado monticulo;
+    /* Número de cuartos expandidos en la última solución. */
+    private int expandidos;
+    /* Vecinos del cuarto expandido. */
+    private int[] vecinos;
+    /* Vecinos del cuarto actualizado. */
+    private int[] vecinosActualizado;
+    /* Costos de las puertas del cuarto actualizado. */
+    private int[] costosActualizado;
+
+    /**
+     * Define el estado inicial del resolvedor.
+     * @param cuartos los bytes de los cuartos, por renglones; el resolvedor trabaja sobre una copia.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @param entrada el índice del cuarto de entrada.
+     * @param salida el índice del cuarto de salida.
+     * @throws IllegalArgumentException si el número de bytes no corresponde a las dimensiones.
+     * @throws IndexOutOfBoundsException si alguno de los índices es inválido.
+     */
+    public ResolvedorIncremental(byte[] cuartos,
+                                 int columnas,
+                                 int renglones,
+                                 int entrada,
+                                 int salida) {
+        this.cuartos = cuartos.clone();
+        grafica = new GraficaCuartos(this.cuartos, columnas, renglones);
+        vecinos = new int[grafica.getGradoMaximo()];
+        vecinosActualizado = new int[grafica.getGradoMaximo()];
+        costosActualizado = new int[grafica.getGradoMaximo()];
+        this.columnas = columnas;
+        this.renglones = renglones;
+        this.entrada = valida(entrada);
+        this.salida = valida(salida);
+        distancias = new int[cuartos.length];
+        estimaciones = new int[cuartos.length];
+        for(int i = 0; i < cuartos.length; i++) {
+            distancias[i] = BusquedaImplicita.INFINITO;
+            estimaciones[i] = BusquedaImplicita.INFINITO;
+        }
+        monticulo = new MonticuloIndexado(cuartos.length);
+        estimaciones[entrada] = 0;
+        monticulo.agrega(entrada, llave(entrada));
+    }
+
+    /**
+     * Abre la puerta de un cuarto en una dirección, de ambos lados.
+     * @param cuarto el índice del cuarto.
+     * @param direccion la dirección de la puerta.
+     * @throws IndexOutOfBoundsException si el índice es inválido.
+     * @throws IllegalArgumentException si la puerta da al exterior del laberinto.
+     */
+    public void abrePuerta(int cuarto, Direccion direccion) {
+        int vecino = vecino(cuarto, direccion);
+        cuartos[cuarto] &= ~direccion.getPared();
+        cuartos[vecino] &= ~direccion.getOpuesta().getPared();
+        actualiza(cuarto);
+        actualiza(vecino);
+    }
+
+    /**
+     * Cierra la puerta de un cuarto en una dirección, de ambos lados.
+     * @param cuarto el índice del cuarto.
+     * @param direccion la dirección de la puerta.
+     * @throws IndexOutOfBoundsException si el índice es inválido.
+     * @throws IllegalArgumentException si la puerta da al exterior del laberinto.
+     */
+    public void cierraPuerta(int cuarto, Direccion direccion) {
+        int vecino = vecino(cuarto, direccion);
+        cuartos[cuarto] |= direccion.getPared();
+        cuartos[vecino] |= direccion.getOpuesta().getPared();
+        actualiza(cuarto);
+        actualiza(vecino);
+    }
+
+    /**
+     * Cambia el puntaje de un cuarto. Cambian los costos de todas sus puertas, por lo que se
+     * actualizan el cuarto y sus vecinos.
+     * @param cuarto el índice del cuarto.
+     * @param puntaje el nuevo puntaje, entre 0 y 15.
+     * @throws IndexOutOfBoundsException si el índice es inválido.
+     * @throws IllegalArgumentException si el puntaje es inválido.
+     */
+    public void setPuntaje(int cuarto, int puntaje) {
+        valida(cuarto);
+        if(puntaje < 0 || puntaje > PUNTAJE_MAXIMO)
+            throw new IllegalArgumentException("Puntaje inválido: " + puntaje);
+        cuartos[cuarto] = (byte)((cuartos[cuarto] & 0xF) | (puntaje << 4));
+        actualiza(cuarto);
+        int grado = grafica.vecinos(cuarto, vecinos);
+        for(int i = 0; i < grado; i++)
+            actualiza(vecinos[i]);
+    }
+
+    /**
+     * Calcula una trayectoria de peso mínimo de la entrada a la salida, reutilizando las
+     * distancias de la solución anterior.
+     * @return los índices de los cuartos de la trayectoria, de la entrada a la salida. Si la
+     *         salida no se puede alcanzar, regresa un arreglo vacío.
+     */
+    public int[] resuelve() {
+        calculaDistancias();
+        return trayectoria();
+    }
+
+    /**
+     * Expande los cuartos inconsistentes hasta que la distancia a la salida es definitiva.
+     */
+    private void calculaDistancias() {
+        expandidos = 0;
+        while(!monticulo.esVacia() &&
+              (monticulo.getPrioridad(monticulo.minimo()) < llave(salida) ||
+               estimaciones[salida] != distancias[salida])) {
+            int v = monticulo.elimina();
+            expandidos++;
+            if(distancias[v] > estimaciones[v]) {
+                distancias[v] = estimaciones[v];
+            } else {
+                distancias[v] = BusquedaImplicita.INFINITO;
+                actualiza(v);
+            }
+            int grado = grafica.vecinos(v, vecinos);
+            for(int i = 0; i < grado; i++)
+                actualiza(vecinos[i]);
+        }
+    }
+
+    /**
+     * Reconstruye la trayectoria de la salida a la entrada, eligiendo en cada cuarto el vecino
+     * que realiza su distancia; en caso de empate se elige el de menor índice.
+     * @return los índices de los cuartos de la trayectoria, de la entrada a la salida.
+     */
+    private int[] trayectoria() {
+        if(distancias[salida] == BusquedaImplicita.INFINITO)
+            return new int[0];
+        int[] inversa = new int[cuartos.length];
+        int n = 0;
+        int v = salida;
+        inversa[n++] = v;
+        while(v != entrada) {
+            int anterior = BusquedaImplicita.NINGUNO;
+            int grado = grafica.vecinos(v, vecinosActualizado, costosActualizado);
+            for(int i = 0; i < grado; i++) {
+                int u = vecinosActualizado[i];
+                if(distancias[u] == BusquedaImplicita.INFINITO)
+                    continue;
+                if(distancias[u] + costosActualizado[i] == distancias[v] &&
+                   (anterior == BusquedaImplicita.NINGUNO || u < anterior))
+                    anterior = u;
+            }
+            v = anterior;
+            inversa[n++] = v;
+        }
+        int[] trayectoria = new int[n];
+        for(int i = 0; i < n; i++)
+            trayectoria[i] = inversa[n - 1 - i];
+        return trayectoria;
+    }
+
+    /**
+     * Recalcula la estimación de un cuarto a partir de sus vecinos, y lo mete o lo saca del
+     * montículo según si quedó inconsistente.
+     * @param v el índice del cuarto.
+     */
+    private void actualiza(int v) {
+        if(v != entrada) {
+            int minima = BusquedaImplicita.INFINITO;
+            int grado = grafica.vecinos(v, vecinosActualizado, costosActualizado);
+            for(int i = 0; i < grado; i++) {
+                int u = vecinosActualizado[i];
+                if(distancias[u] != BusquedaImplicita.INFINITO)
+                    minima = Math.min(minima, distancias[u] + costosActualizado[i]);
+            }
+            estimaciones[v] = minima;
+        }
+        if(distancias[v] != estimaciones[v])
+            monticulo.actualiza(v, llave(v));
+        else if(monticulo.contiene(v))
+            monticulo.elimina(v);
+    }
+
+    /**
+     * Regresa la llave de un cuarto en el montículo: la menor de sus distancias más la
+     * heurística en los bits altos, y la menor de sus distancias en los bits bajos.
+     * @param v el índice del cuarto.
+     * @return la llave del cuarto.
+     */
+    private long llave(int v) {
+        int minima = Math.min(distancias[v], estimaciones[v]);
+        if(minima == BusquedaImplicita.INFINITO)
+            return Long.MAX_VALUE;
+        return ((long)(minima + heuristica(v)) << 32) | minima;
+    }
+
+    /**
+     * Regresa la distancia Manhattan de un cuarto a la salida.
+     * @param v el índice del cuarto.
+     * @return la distancia Manhattan del cuarto a la salida.
+     */
+    private int heuristica(int v) {
+        return Math.abs(v % columnas - salida % columnas) +
+               Math.abs(v / columnas - salida / columnas);
+    }
+
+    /**
+     * Regresa el cuarto vecino en una dirección, haya o no puerta hacia él.
+     * @param v el índice del cuarto.
+     * @param direccion la dirección.
+     * @return el índice del vecino.
+     * @throws IndexOutOfBoundsException si el índice es inválido.
+     * @throws IllegalArgumentException si el vecino está fuera del laberinto.
+     */
+    private int vecino(int v, Direccion direccion) {
+        valida(v);
+        int nx = v % columnas + direccion.getCambioColumna();
+        int ny = v / columnas + direccion.getCambioRenglon();
+        if(nx < 0 || nx >= columnas || ny < 0 || ny >= renglones)
+            throw new IllegalArgumentException("La puerta da al exterior del laberinto.");
+        return ny * columnas + nx;
+    }
+
+    /**
+     * Valida el índice de un cuarto.
+     * @param v el índice del cuarto.
+     * @return el mismo índice.
+     * @throws IndexOutOfBoundsException si el índice es inválido.
+     */
+    private int valida(int v) {
+        if(v < 0 || v >= cuartos.length)
+            throw new IndexOutOfBoundsException("Índice inválido: " + v);
+        return v;
+    }
+
+    /**
+     * Regresa la distancia de la entrada a la salida calculada por la última llamada a
+     * {@link #resuelve()}, o {@link BusquedaImplicita#INFINITO} si no se puede alcanzar.
+     * @return la distancia de la entrada a la salida.
+     */
+    public int getDistancia() {
+        return distancias[salida];
+    }
+
+    /**
+     * Regresa el número de cuartos expandidos por la última llamada a {@link #resuelve()}.
+     * @return el número de cuartos expandidos.
+     */
+    public int getExpandidos() {
+        return expandidos;
+    }
+
+    /**
+     * Regresa una copia de los bytes actuales de los cuartos.
+     * @return los bytes de los cuartos, con todas las modificaciones.
+     */
+    public byte[] getCuartos() {
+        return cuartos.clone();
+    }
+}
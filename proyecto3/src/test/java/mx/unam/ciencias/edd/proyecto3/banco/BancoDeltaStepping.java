@@ -0,0 +1,63 @@
+package mx.unam.ciencias.edd.proyecto3.banco;
+
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoArbolBinario;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.ResolvedorDeltaStepping;
+
+/**
+ * <p>Banco de pruebas de escalabilidad de {@link ResolvedorDeltaStepping}.</p>
+ *
+ * <p>Genera un laberinto de 255×255 cuartos, le quita paredes al azar para
+ * que tenga ciclos, y mide el tiempo de calcular las distancias desde la
+ * esquina superior izquierda con 1, 2, 4, 8 y 16 hilos. Reporta la
+ * aceleración respecto a un hilo y compara las distancias con las de
+ * {@link BusquedaImplicita} sobre la {@link GraficaCuartos}. Se ejecuta
+ * con:</p>
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes mx.unam.ciencias.edd.proyecto3.banco.BancoDeltaStepping [semilla] [proporción]
+ * </pre>
+ */
+public class BancoDeltaStepping {
+
+    /* Lado del laberinto. */
+    private static final int LADO = 255;
+    /* Número de repeticiones de cada medición. */
+    private static final int REPETICIONES = 20;
+    /* Número de hilos a medir. */
+    private static final int[] HILOS = { 1, 2, 4, 8, 16 };
+
+    /**
+     * Ejecuta el banco de pruebas.
+     * @param args la semilla y la proporción de paredes a quitar, opcionales.
+     */
+    public static void main(String[] args) {
+        long semilla = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        double proporcion = args.length > 1 ? Double.parseDouble(args[1]) : 0.5;
+        byte[] cuartos = UtilBanco.cuartos(
+            new GeneradorLaberintoArbolBinario(UtilBanco.entrada(semilla, LADO, LADO)));
+        UtilBanco.trenza(cuartos, LADO, LADO, proporcion, semilla);
+
+        BusquedaImplicita busqueda =
+            new BusquedaImplicita(new GraficaCuartos(cuartos, LADO, LADO));
+        double dijkstra = UtilBanco.mide(REPETICIONES, () -> busqueda.dijkstra(0));
+        System.out.printf("Dijkstra secuencial: %.2f ms%n", dijkstra);
+
+        double base = 0;
+        for (int hilos : HILOS) {
+            try (ResolvedorDeltaStepping delta =
+                 new ResolvedorDeltaStepping(cuartos, LADO, LADO, hilos)) {
+                double t = UtilBanco.mide(REPETICIONES, () -> delta.calculaDistancias(0));
+                if (hilos == 1)
+                    base = t;
+                for (int v = 0; v < cuartos.length; v++)
+                    if (delta.getDistancia(v) != busqueda.getDistancia(v))
+                        throw new IllegalStateException("Distancia distinta en el cuarto " + v);
+                System.out.printf("delta = %d, %2d hilos: %.2f ms, aceleración %.2fx%n",
+                                  delta.getDelta(), hilos, t, base / t);
+            }
+        }
+    }
+}
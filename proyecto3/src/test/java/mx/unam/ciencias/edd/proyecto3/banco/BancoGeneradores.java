@@ -0,0 +1,77 @@
+package mx.unam.ciencias.edd.proyecto3.banco;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Function;
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.proyecto3.EntradaEstandar;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberinto;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoAldousBroder;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoArbolBinario;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoBFS;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoDFS;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoEller;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoHuntAndKill;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoKruskal;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoPrim;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoWilson;
+
+/**
+ * <p>Banco de pruebas de los generadores de laberintos.</p>
+ *
+ * <p>Para cada generador, mide el tiempo de crear un laberinto cuadrado y
+ * escribirlo en un flujo que descarta los bytes, incluyendo la construcción
+ * del generador, pues {@link GeneradorLaberintoEller} crea los renglones
+ * mientras los escribe. También reporta si el laberinto es perfecto: si
+ * tiene una puerta menos que cuartos y es conexo. Se ejecuta con:</p>
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes mx.unam.ciencias.edd.proyecto3.banco.BancoGeneradores [lado] [semilla]
+ * </pre>
+ */
+public class BancoGeneradores {
+
+    /* Número de repeticiones de cada medición. */
+    private static final int REPETICIONES = 10;
+
+    /* Mide un generador. */
+    private static void mide(String nombre, int lado, long semilla,
+                             Function<EntradaEstandar, GeneradorLaberinto> generador) {
+        double t = UtilBanco.mide(REPETICIONES, () -> {
+                GeneradorLaberinto g = generador.apply(UtilBanco.entrada(semilla, lado, lado));
+                g.creaLaberinto();
+                try {
+                    g.generaLaberinto(OutputStream.nullOutputStream());
+                } catch (IOException ioe) {
+                    throw new UncheckedIOException(ioe);
+                }
+            });
+        byte[] cuartos = UtilBanco.cuartos(generador.apply(UtilBanco.entrada(semilla, lado, lado)));
+        Laberinto laberinto = UtilBanco.laberinto(cuartos, lado, lado);
+        boolean perfecto = laberinto.esPerfecto() &&
+            new BusquedaImplicita(laberinto.getGraficaImplicita()).esConexa();
+        System.out.printf("%-14s %11.3f %9s%n", nombre, t, perfecto ? "sí" : "no");
+    }
+
+    /**
+     * Ejecuta el banco de pruebas.
+     * @param args el lado del laberinto y la semilla, opcionales.
+     */
+    public static void main(String[] args) {
+        int lado = args.length > 0 ? Integer.parseInt(args[0]) : 255;
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : 42;
+        System.out.printf("%-14s %11s %9s%n", "Generador", "Tiempo (ms)", "Perfecto");
+        mide("Kruskal", lado, semilla, GeneradorLaberintoKruskal::new);
+        mide("DFS", lado, semilla, GeneradorLaberintoDFS::new);
+        mide("AldousBroder", lado, semilla, GeneradorLaberintoAldousBroder::new);
+        mide("Wilson", lado, semilla, GeneradorLaberintoWilson::new);
+        mide("HuntAndKill", lado, semilla, GeneradorLaberintoHuntAndKill::new);
+        mide("BFS", lado, semilla, GeneradorLaberintoBFS::new);
+        mide("Prim", lado, semilla, GeneradorLaberintoPrim::new);
+        mide("ArbolBinario", lado, semilla, GeneradorLaberintoArbolBinario::new);
+        mide("Eller", lado, semilla, GeneradorLaberintoEller::new);
+    }
+}
@@ -0,0 +1,93 @@
+package mx.unam.ciencias.edd.proyecto3.banco;
+
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.GraficaCompacta;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoArbolBinario;
+
+/**
+ * <p>Banco de pruebas de {@link GraficaCompacta}.</p>
+ *
+ * <p>Genera un laberinto de 255×255 cuartos, le quita paredes al azar para
+ * que tenga ciclos, y construye con él una {@link Grafica}. Mide el tiempo de
+ * congelarla con {@link Grafica#compacta} y de construir la gráfica compacta
+ * directamente de los bytes con {@link Laberinto#creaGraficaCompacta}; después
+ * compara Dijkstra, BFS y la conexidad en ambas representaciones, y verifica
+ * las distancias con {@link BusquedaImplicita} sobre la {@link
+ * GraficaCuartos}. Se ejecuta con:</p>
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes mx.unam.ciencias.edd.proyecto3.banco.BancoGraficaCompacta [semilla] [proporción]
+ * </pre>
+ */
+public class BancoGraficaCompacta {
+
+    /* Lado del laberinto. */
+    private static final int LADO = 255;
+    /* Número de repeticiones de cada medición. */
+    private static final int REPETICIONES = 20;
+
+    /**
+     * Ejecuta el banco de pruebas.
+     * @param args la semilla y la proporción de paredes a quitar, opcionales.
+     */
+    public static void main(String[] args) {
+        long semilla = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        double proporcion = args.length > 1 ? Double.parseDouble(args[1]) : 0.2;
+        byte[] cuartos = UtilBanco.cuartos(
+            new GeneradorLaberintoArbolBinario(UtilBanco.entrada(semilla, LADO, LADO)));
+        UtilBanco.trenza(cuartos, LADO, LADO, proporcion, semilla);
+
+        GraficaCuartos cuartosImplicita = new GraficaCuartos(cuartos, LADO, LADO);
+        Grafica<Integer> grafica = new Grafica<Integer>();
+        for (int v = 0; v < cuartos.length; v++)
+            grafica.agrega(v);
+        int[] vecinos = new int[cuartosImplicita.getGradoMaximo()];
+        int[] pesos = new int[cuartosImplicita.getGradoMaximo()];
+        for (int v = 0; v < cuartos.length; v++) {
+            int n = cuartosImplicita.vecinos(v, vecinos, pesos);
+            for (int i = 0; i < n; i++)
+                if (vecinos[i] > v)
+                    grafica.conecta(v, vecinos[i], pesos[i]);
+        }
+
+        GraficaCompacta[] compacta = new GraficaCompacta[1];
+        double tCongela = UtilBanco.mide(REPETICIONES, () -> compacta[0] = grafica.compacta());
+        double tBytes = UtilBanco.mide(REPETICIONES, () ->
+            compacta[0] = Laberinto.creaGraficaCompacta(cuartos, LADO, LADO));
+        GraficaCompacta c = compacta[0];
+        System.out.printf("Compacta: %d vértices, %d arcos%n", c.getElementos(), c.getArcos());
+        System.out.printf("Congelar la gráfica: %.2f ms, desde los bytes: %.2f ms%n",
+                          tCongela, tBytes);
+
+        int origen = 0, destino = cuartos.length - 1;
+        double tGrafica = UtilBanco.mide(REPETICIONES,
+                                         () -> grafica.dijkstraPerezoso(origen, destino));
+        double tCompacta = UtilBanco.mide(REPETICIONES, () -> c.dijkstra(origen));
+        BusquedaImplicita busqueda = new BusquedaImplicita(cuartosImplicita);
+        busqueda.dijkstra(origen);
+        for (int v = 0; v < cuartos.length; v++)
+            if (c.getDistancia(v) != busqueda.getDistancia(v))
+                throw new IllegalStateException("Distancia distinta en el cuarto " + v);
+        System.out.printf("Dijkstra  Grafica: %7.2f ms, compacta: %6.2f ms, %.2fx%n",
+                          tGrafica, tCompacta, tGrafica / tCompacta);
+
+        int[] visitados = new int[1];
+        double tBfsGrafica = UtilBanco.mide(REPETICIONES,
+                                            () -> grafica.bfs(origen, v -> visitados[0]++));
+        double tBfsCompacta = UtilBanco.mide(REPETICIONES,
+                                             () -> c.bfs(origen, v -> visitados[0]++));
+        System.out.printf("BFS       Grafica: %7.2f ms, compacta: %6.2f ms, %.2fx%n",
+                          tBfsGrafica, tBfsCompacta, tBfsGrafica / tBfsCompacta);
+
+        double tConexaGrafica = UtilBanco.mide(REPETICIONES, grafica::esConexa);
+        double tConexaCompacta = UtilBanco.mide(REPETICIONES, c::esConexa);
+        if (grafica.esConexa() != c.esConexa())
+            throw new IllegalStateException("Conexidad distinta.");
+        System.out.printf("esConexa  Grafica: %7.2f ms, compacta: %6.2f ms, %.2fx%n",
+                          tConexaGrafica, tConexaCompacta, tConexaGrafica / tConexaCompacta);
+    }
+}
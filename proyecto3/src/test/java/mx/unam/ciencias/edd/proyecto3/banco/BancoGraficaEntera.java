@@ -0,0 +1,92 @@
+package mx.unam.ciencias.edd.proyecto3.banco;
+
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.GraficaEntera;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import mx.unam.ciencias.edd.proyecto3.Direccion;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoArbolBinario;
+
+/**
+ * <p>Banco de pruebas de {@link GraficaEntera}.</p>
+ *
+ * <p>Genera un laberinto de 255×255 cuartos, le quita paredes al azar para
+ * que tenga ciclos, y construye con él una {@link Grafica} y una {@link
+ * GraficaEntera} con los mismos pesos. Mide el tiempo de la trayectoria de
+ * peso mínimo entre esquinas opuestas con {@link Grafica#dijkstraPerezoso} y
+ * con {@link GraficaEntera#dijkstra}, y compara los pesos. Se ejecuta
+ * con:</p>
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes mx.unam.ciencias.edd.proyecto3.banco.BancoGraficaEntera [semilla] [proporción]
+ * </pre>
+ */
+public class BancoGraficaEntera {
+
+    /* Lado del laberinto. */
+    private static final int LADO = 255;
+    /* Número de repeticiones de cada medición. */
+    private static final int REPETICIONES = 20;
+
+    /**
+     * Ejecuta el banco de pruebas.
+     * @param args la semilla y la proporción de paredes a quitar, opcionales.
+     */
+    public static void main(String[] args) {
+        long semilla = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        double proporcion = args.length > 1 ? Double.parseDouble(args[1]) : 0.2;
+        byte[] cuartos = UtilBanco.cuartos(
+            new GeneradorLaberintoArbolBinario(UtilBanco.entrada(semilla, LADO, LADO)));
+        UtilBanco.trenza(cuartos, LADO, LADO, proporcion, semilla);
+
+        Grafica<Integer> grafica = new Grafica<Integer>();
+        GraficaEntera<Integer> entera = new GraficaEntera<Integer>();
+        for (int v = 0; v < cuartos.length; v++) {
+            grafica.agrega(v);
+            entera.agrega(v);
+        }
+        for (int v = 0; v < cuartos.length; v++) {
+            int x = v % LADO;
+            int y = v / LADO;
+            for (Direccion d : Direccion.values()) {
+                int nx = x + d.getCambioColumna();
+                int ny = y + d.getCambioRenglon();
+                int u = ny * LADO + nx;
+                if ((cuartos[v] & d.getPared()) != 0 || nx < 0 || nx >= LADO ||
+                    ny < 0 || ny >= LADO || u < v)
+                    continue;
+                int peso = 1 + ((cuartos[v] >> 4) & 0xF) + ((cuartos[u] >> 4) & 0xF);
+                grafica.conecta(v, u, peso);
+                entera.conecta(v, u, peso);
+            }
+        }
+
+        int origen = 0, destino = cuartos.length - 1;
+        double tGrafica = UtilBanco.mide(REPETICIONES,
+                                         () -> grafica.dijkstraPerezoso(origen, destino));
+        double tEntera = UtilBanco.mide(REPETICIONES,
+                                        () -> entera.dijkstra(origen, destino));
+        long pesoGrafica = 0, pesoEntera = 0;
+        VerticeGrafica<Integer> anterior = null;
+        for (VerticeGrafica<Integer> v : grafica.dijkstraPerezoso(origen, destino)) {
+            if (anterior != null)
+                pesoGrafica += (long)grafica.getPeso(anterior.get(), v.get());
+            anterior = v;
+        }
+        Lista<VerticeGrafica<Integer>> trayectoria = entera.dijkstra(origen, destino);
+        anterior = null;
+        for (VerticeGrafica<Integer> v : trayectoria) {
+            if (anterior != null)
+                pesoEntera += entera.getPeso(anterior.get(), v.get());
+            anterior = v;
+        }
+        if (pesoGrafica != pesoEntera || pesoEntera != entera.getDistancia(destino))
+            throw new IllegalStateException("Pesos distintos: " + pesoGrafica +
+                                            " y " + pesoEntera);
+        System.out.printf("Peso mínimo: %d%n", pesoEntera);
+        System.out.printf("Grafica (double): %.2f ms%n", tGrafica);
+        System.out.printf("GraficaEntera:    %.2f ms, aceleración %.2fx%n",
+                          tEntera, tGrafica / tEntera);
+    }
+}
@@ -0,0 +1,111 @@
+package mx.unam.ciencias.edd.proyecto3.banco;
+
+import java.util.function.Supplier;
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.GraficaCompacta;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoArbolBinario;
+
+/**
+ * <p>Banco de pruebas de {@link BusquedaImplicita} sobre {@link
+ * GraficaCuartos}.</p>
+ *
+ * <p>Genera un laberinto de 255×255 cuartos, le quita paredes al azar para
+ * que tenga ciclos, y mide una consulta de Dijkstra de esquina a esquina
+ * incluyendo la construcción de la representación: sobre los bytes de los
+ * cuartos, sobre una {@link GraficaCompacta} y sobre una {@link Grafica}.
+ * También reporta la memoria que retiene cada representación. Se ejecuta
+ * con:</p>
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes mx.unam.ciencias.edd.proyecto3.banco.BancoGraficaImplicita [semilla] [proporción]
+ * </pre>
+ */
+public class BancoGraficaImplicita {
+
+    /* Lado del laberinto. */
+    private static final int LADO = 255;
+    /* Número de repeticiones de cada medición. */
+    private static final int REPETICIONES = 10;
+
+    /**
+     * Ejecuta el banco de pruebas.
+     * @param args la semilla y la proporción de paredes a quitar, opcionales.
+     */
+    public static void main(String[] args) {
+        long semilla = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        double proporcion = args.length > 1 ? Double.parseDouble(args[1]) : 0.2;
+        byte[] cuartos = UtilBanco.cuartos(
+            new GeneradorLaberintoArbolBinario(UtilBanco.entrada(semilla, LADO, LADO)));
+        UtilBanco.trenza(cuartos, LADO, LADO, proporcion, semilla);
+        int origen = 0, destino = cuartos.length - 1;
+
+        int[] costos = new int[3];
+        double tImplicita = UtilBanco.mide(REPETICIONES, () -> {
+            BusquedaImplicita busqueda =
+                new BusquedaImplicita(new GraficaCuartos(cuartos, LADO, LADO));
+            busqueda.dijkstra(origen, destino);
+            costos[0] = busqueda.getDistancia(destino);
+        });
+        double tCompacta = UtilBanco.mide(REPETICIONES, () -> {
+            GraficaCompacta compacta = Laberinto.creaGraficaCompacta(cuartos, LADO, LADO);
+            compacta.dijkstra(origen, destino);
+            costos[1] = compacta.getDistancia(destino);
+        });
+        double tGrafica = UtilBanco.mide(REPETICIONES, () -> {
+            Grafica<Integer> grafica = grafica(cuartos);
+            double costo = 0;
+            VerticeGrafica<Integer> anterior = null;
+            for (VerticeGrafica<Integer> v : grafica.dijkstraPerezoso(origen, destino)) {
+                if (anterior != null)
+                    costo += grafica.getPeso(anterior.get(), v.get());
+                anterior = v;
+            }
+            costos[2] = (int)costo;
+        });
+        if (costos[0] != costos[1] || costos[1] != costos[2])
+            throw new IllegalStateException("Costos distintos.");
+
+        System.out.printf("Costo mínimo: %d%n", costos[0]);
+        System.out.printf("Implícita: %7.2f ms, %6d KB%n", tImplicita,
+                          memoria(() -> new GraficaCuartos(cuartos, LADO, LADO)));
+        System.out.printf("Compacta:  %7.2f ms, %6d KB%n", tCompacta,
+                          memoria(() -> Laberinto.creaGraficaCompacta(cuartos, LADO, LADO)));
+        System.out.printf("Grafica:   %7.2f ms, %6d KB%n", tGrafica,
+                          memoria(() -> grafica(cuartos)));
+    }
+
+    /* Construye la gráfica de los cuartos con la gráfica implícita. */
+    private static Grafica<Integer> grafica(byte[] cuartos) {
+        GraficaCuartos implicita = new GraficaCuartos(cuartos, LADO, LADO);
+        Grafica<Integer> grafica = new Grafica<Integer>();
+        for (int v = 0; v < cuartos.length; v++)
+            grafica.agrega(v);
+        int[] vecinos = new int[implicita.getGradoMaximo()];
+        for (int v = 0; v < cuartos.length; v++) {
+            int n = implicita.vecinos(v, vecinos);
+            for (int i = 0; i < n; i++)
+                if (vecinos[i] > v)
+                    grafica.conecta(v, vecinos[i], implicita.getPeso(v, vecinos[i]));
+        }
+        return grafica;
+    }
+
+    /* Regresa aproximadamente los kilobytes que retiene el objeto creado por
+     * la tarea. */
+    private static long memoria(Supplier<Object> tarea) {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long antes = runtime.totalMemory() - runtime.freeMemory();
+        Object objeto = tarea.get();
+        System.gc();
+        long despues = runtime.totalMemory() - runtime.freeMemory();
+        if (objeto == null)
+            throw new IllegalStateException();
+        return Math.max(0, despues - antes) / 1024;
+    }
+}
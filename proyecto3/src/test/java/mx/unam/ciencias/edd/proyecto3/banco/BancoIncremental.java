@@ -0,0 +1,91 @@
+package mx.unam.ciencias.edd.proyecto3.banco;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.proyecto3.Direccion;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoArbolBinario;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.ResolvedorIncremental;
+
+/**
+ * <p>Banco de pruebas de latencia de {@link ResolvedorIncremental}.</p>
+ *
+ * <p>Genera un laberinto de 255×255 cuartos, le quita paredes al azar para
+ * que tenga ciclos, y aplica una secuencia de cambios al azar: abrir una
+ * puerta, cerrarla o cambiar un puntaje. Después de cada cambio mide el
+ * tiempo de volver a resolver de forma incremental y el de resolver desde
+ * cero con {@link BusquedaImplicita} sobre la {@link GraficaCuartos}, y
+ * compara las distancias. Se ejecuta con:</p>
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes mx.unam.ciencias.edd.proyecto3.banco.BancoIncremental [semilla] [cambios]
+ * </pre>
+ */
+public class BancoIncremental {
+
+    /* Lado del laberinto. */
+    private static final int LADO = 255;
+    /* Proporción de paredes a quitar. */
+    private static final double PROPORCION = 0.2;
+
+    /**
+     * Ejecuta el banco de pruebas.
+     * @param args la semilla y el número de cambios, opcionales.
+     */
+    public static void main(String[] args) {
+        long semilla = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        int cambios = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        byte[] cuartos = UtilBanco.cuartos(
+            new GeneradorLaberintoArbolBinario(UtilBanco.entrada(semilla, LADO, LADO)));
+        UtilBanco.trenza(cuartos, LADO, LADO, PROPORCION, semilla);
+        int[] exteriores = UtilBanco.exteriores(cuartos, LADO, LADO);
+        int entrada = exteriores[0], salida = exteriores[1];
+
+        ResolvedorIncremental incremental =
+            new ResolvedorIncremental(cuartos, LADO, LADO, entrada, salida);
+        long t = System.nanoTime();
+        incremental.resuelve();
+        System.out.printf("Solución inicial: %.2f ms, %d cuartos expandidos%n",
+                          (System.nanoTime() - t) / 1e6, incremental.getExpandidos());
+
+        Random random = new Random(semilla);
+        Direccion[] direcciones = Direccion.values();
+        long tiempoIncremental = 0, tiempoCompleto = 0, expandidos = 0;
+        for (int i = 0; i < cambios; i++) {
+            int v = random.nextInt(cuartos.length);
+            Direccion d = direcciones[random.nextInt(direcciones.length)];
+            int nx = v % LADO + d.getCambioColumna();
+            int ny = v / LADO + d.getCambioRenglon();
+            boolean interior = nx >= 0 && nx < LADO && ny >= 0 && ny < LADO;
+            switch (random.nextInt(3)) {
+            case 0:
+                if (interior)
+                    incremental.abrePuerta(v, d);
+                break;
+            case 1:
+                if (interior)
+                    incremental.cierraPuerta(v, d);
+                break;
+            default:
+                incremental.setPuntaje(v, random.nextInt(16));
+            }
+
+            t = System.nanoTime();
+            incremental.resuelve();
+            tiempoIncremental += System.nanoTime() - t;
+            expandidos += incremental.getExpandidos();
+
+            BusquedaImplicita busqueda = new BusquedaImplicita(
+                new GraficaCuartos(incremental.getCuartos(), LADO, LADO));
+            t = System.nanoTime();
+            busqueda.dijkstra(entrada);
+            tiempoCompleto += System.nanoTime() - t;
+            if (busqueda.getDistancia(salida) != incremental.getDistancia())
+                throw new IllegalStateException("Distancia distinta después del cambio " + i);
+        }
+        System.out.printf("Incremental: %.3f ms por cambio, %d cuartos expandidos en promedio%n",
+                          tiempoIncremental / 1e6 / cambios, expandidos / cambios);
+        System.out.printf("Desde cero:  %.3f ms por cambio%n", tiempoCompleto / 1e6 / cambios);
+    }
+}
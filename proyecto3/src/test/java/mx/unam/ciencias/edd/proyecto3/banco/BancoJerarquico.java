@@ -0,0 +1,109 @@
+package mx.unam.ciencias.edd.proyecto3.banco;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoArbolBinario;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.AbstraccionJerarquica;
+
+/**
+ * <p>Banco de pruebas de {@link AbstraccionJerarquica}.</p>
+ *
+ * <p>Genera un laberinto de 255×255 cuartos y le quita paredes al azar para
+ * que tenga ciclos. Mide el tiempo de construir la abstracción, de escribirla
+ * en un archivo temporal y de cargarla mapeando el archivo en memoria; después
+ * resuelve consultas entre cuartos al azar con la abstracción cargada y con
+ * {@link BusquedaImplicita} sobre la {@link GraficaCuartos}, y compara los
+ * costos. Se ejecuta con:</p>
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes mx.unam.ciencias.edd.proyecto3.banco.BancoJerarquico [semilla] [consultas] [tamaño]
+ * </pre>
+ */
+public class BancoJerarquico {
+
+    /* Lado del laberinto. */
+    private static final int LADO = 255;
+    /* Proporción de paredes a quitar. */
+    private static final double PROPORCION = 0.2;
+    /* Número de repeticiones de la construcción y la carga. */
+    private static final int REPETICIONES = 10;
+
+    /**
+     * Ejecuta el banco de pruebas.
+     * @param args la semilla, el número de consultas y el tamaño de los
+     *        bloques, opcionales.
+     * @throws IOException si ocurre un error con el archivo temporal.
+     */
+    public static void main(String[] args) throws IOException {
+        long semilla = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        int consultas = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int tamano = args.length > 2 ? Integer.parseInt(args[2]) : AbstraccionJerarquica.TAMANO;
+        byte[] cuartos = UtilBanco.cuartos(
+            new GeneradorLaberintoArbolBinario(UtilBanco.entrada(semilla, LADO, LADO)));
+        UtilBanco.trenza(cuartos, LADO, LADO, PROPORCION, semilla);
+
+        AbstraccionJerarquica[] abstraccion = new AbstraccionJerarquica[1];
+        double tConstruye = UtilBanco.mide(REPETICIONES, () ->
+            abstraccion[0] = new AbstraccionJerarquica(cuartos, LADO, LADO, tamano));
+        Path archivo = Files.createTempFile("laberinto", ".hpa");
+        try {
+            try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.WRITE)) {
+                abstraccion[0].seria(canal);
+            }
+            double tCarga = UtilBanco.mide(REPETICIONES, () -> {
+                try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+                    abstraccion[0] = AbstraccionJerarquica.carga(
+                        canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()),
+                        cuartos, LADO, LADO);
+                } catch (IOException ioe) {
+                    throw new IllegalStateException(ioe);
+                }
+            });
+            System.out.printf("Abstracción: %d nodos, %d arcos, %d bytes%n",
+                              abstraccion[0].getNodos(), abstraccion[0].getArcos(),
+                              Files.size(archivo));
+            System.out.printf("Construir: %.3f ms, cargar mapeada: %.3f ms%n", tConstruye, tCarga);
+        } finally {
+            Files.delete(archivo);
+        }
+
+        AbstraccionJerarquica a = abstraccion[0];
+        GraficaCuartos grafica = new GraficaCuartos(cuartos, LADO, LADO);
+        BusquedaImplicita busqueda = new BusquedaImplicita(grafica);
+        Random random = new Random(semilla);
+        long tiempoJerarquico = 0, tiempoDijkstra = 0, refinados = 0;
+        for (int i = 0; i < consultas; i++) {
+            int s = random.nextInt(cuartos.length);
+            int t = random.nextInt(cuartos.length);
+            long inicio = System.nanoTime();
+            int[] trayectoria = a.resuelve(s, t);
+            tiempoJerarquico += System.nanoTime() - inicio;
+            refinados += a.getRefinados();
+            inicio = System.nanoTime();
+            busqueda.dijkstra(s);
+            tiempoDijkstra += System.nanoTime() - inicio;
+            if (costo(grafica, trayectoria) != busqueda.getDistancia(t))
+                throw new IllegalStateException("Costo distinto en la consulta " + i);
+        }
+        System.out.printf("Jerárquico: %.3f ms por consulta, %d bloques refinados en promedio%n",
+                          tiempoJerarquico / 1e6 / consultas, refinados / consultas);
+        System.out.printf("Dijkstra:   %.3f ms por consulta%n", tiempoDijkstra / 1e6 / consultas);
+    }
+
+    /* Regresa el costo de una trayectoria de cuartos. */
+    private static int costo(GraficaCuartos grafica, int[] trayectoria) {
+        if (trayectoria.length == 0)
+            return BusquedaImplicita.INFINITO;
+        int costo = 0;
+        for (int i = 1; i < trayectoria.length; i++)
+            costo += grafica.getPeso(trayectoria[i - 1], trayectoria[i]);
+        return costo;
+    }
+}
@@ -0,0 +1,77 @@
+package mx.unam.ciencias.edd.proyecto3.banco;
+
+import java.util.function.Function;
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.proyecto3.EntradaEstandar;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberinto;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoAldousBroder;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoArbolBinario;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoBFS;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoDFS;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoHuntAndKill;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoKruskal;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoPrim;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.ContraccionPasillos;
+
+/**
+ * <p>Banco de pruebas de {@link ContraccionPasillos}.</p>
+ *
+ * <p>Para cada generador de laberintos, genera un laberinto y reporta la
+ * proporción de cuartos por nodo de la contracción, el tiempo de construirla,
+ * y el tiempo de resolver el laberinto con Dijkstra sobre todos los cuartos y
+ * sobre los nodos. Dijkstra sobre los cuartos es {@link BusquedaImplicita}
+ * sobre la {@link GraficaCuartos}, y calcula las distancias a todos los
+ * cuartos; sobre los nodos termina en cuanto la salida es definitiva.
+ * Verifica que ambos costos coincidan. Se ejecuta con:</p>
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes mx.unam.ciencias.edd.proyecto3.banco.BancoPasillos [lado] [semilla]
+ * </pre>
+ */
+public class BancoPasillos {
+
+    /* Número de repeticiones de cada medición. */
+    private static final int REPETICIONES = 20;
+
+    /* Mide un generador. */
+    private static void mide(String nombre, int lado, long semilla,
+                             Function<EntradaEstandar, GeneradorLaberinto> generador) {
+        byte[] cuartos = UtilBanco.cuartos(generador.apply(UtilBanco.entrada(semilla, lado, lado)));
+        int[] exteriores = UtilBanco.exteriores(cuartos, lado, lado);
+        int s = exteriores[0];
+        int t = exteriores[1];
+        BusquedaImplicita busqueda =
+            new BusquedaImplicita(new GraficaCuartos(cuartos, lado, lado));
+        double tDijkstra = UtilBanco.mide(REPETICIONES, () -> busqueda.dijkstra(s));
+        ContraccionPasillos[] contraccion = new ContraccionPasillos[1];
+        double tConstruye = UtilBanco.mide(REPETICIONES, () ->
+            contraccion[0] = new ContraccionPasillos(cuartos, lado, lado, s, t));
+        ContraccionPasillos c = contraccion[0];
+        double tPasillos = UtilBanco.mide(REPETICIONES, () -> c.resuelve(s, t));
+        if (c.getDistancia(t) != busqueda.getDistancia(t))
+            throw new IllegalStateException("Costo distinto con " + nombre);
+        System.out.printf("%-14s %8.2f %10.3f %10.3f %10.3f %8.2fx%n",
+                          nombre, c.getCompresion(), tConstruye, tDijkstra,
+                          tPasillos, tDijkstra / tPasillos);
+    }
+
+    /**
+     * Ejecuta el banco de pruebas.
+     * @param args el lado del laberinto y la semilla, opcionales.
+     */
+    public static void main(String[] args) {
+        int lado = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : 42;
+        System.out.printf("%-14s %8s %10s %10s %10s %9s%n", "Generador",
+                          "Cuartos/nodo", "Contracción", "Dijkstra", "Pasillos", "Ganancia");
+        mide("Kruskal", lado, semilla, GeneradorLaberintoKruskal::new);
+        mide("DFS", lado, semilla, GeneradorLaberintoDFS::new);
+        mide("AldousBroder", lado, semilla, GeneradorLaberintoAldousBroder::new);
+        mide("HuntAndKill", lado, semilla, GeneradorLaberintoHuntAndKill::new);
+        mide("BFS", lado, semilla, GeneradorLaberintoBFS::new);
+        mide("Prim", lado, semilla, GeneradorLaberintoPrim::new);
+        mide("ArbolBinario", lado, semilla, GeneradorLaberintoArbolBinario::new);
+    }
+}
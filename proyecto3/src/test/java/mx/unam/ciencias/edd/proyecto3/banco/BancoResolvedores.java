@@ -0,0 +1,79 @@
+package mx.unam.ciencias.edd.proyecto3.banco;
+
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.TipoMonticulo;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import mx.unam.ciencias.edd.proyecto3.Cuarto;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoArbolBinario;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.RegistroResolvedores;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.Resolvedor;
+
+/**
+ * <p>Banco de pruebas de los resolvedores de {@link RegistroResolvedores}.</p>
+ *
+ * <p>Genera laberintos de 255×255 cuartos con distintas proporciones de
+ * paredes quitadas, desde laberintos perfectos hasta laberintos con muchos
+ * ciclos, y mide el tiempo de leer y resolver cada uno con cada resolvedor
+ * registrado, incluyendo la construcción de las gráficas que necesite.
+ * Verifica que todos los caminos tengan el mismo costo y marca el resolvedor
+ * que elige {@link RegistroResolvedores#AUTOMATICO}. El resolvedor de
+ * Dijkstra con arreglo se omite porque es cuadrático en el número de cuartos
+ * y tarda segundos por laberinto. Se ejecuta con:</p>
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes mx.unam.ciencias.edd.proyecto3.banco.BancoResolvedores [semilla]
+ * </pre>
+ */
+public class BancoResolvedores {
+
+    /* Lado del laberinto. */
+    private static final int LADO = 255;
+    /* Número de repeticiones de cada medición. */
+    private static final int REPETICIONES = 3;
+    /* Proporciones de paredes a quitar. */
+    private static final double[] PROPORCIONES = { 0, 0.005, 0.02, 0.05, 0.1, 0.3 };
+    /* Resolvedor que se omite por cuadrático. */
+    private static final String OMITIDO = RegistroResolvedores.DIJKSTRA + "-" +
+        TipoMonticulo.ARREGLO.name().toLowerCase();
+
+    /**
+     * Ejecuta el banco de pruebas.
+     * @param args la semilla, opcional.
+     */
+    public static void main(String[] args) {
+        long semilla = args.length > 0 ? Long.parseLong(args[0]) : 42;
+        for (double proporcion : PROPORCIONES) {
+            byte[] cuartos = UtilBanco.cuartos(
+                new GeneradorLaberintoArbolBinario(UtilBanco.entrada(semilla, LADO, LADO)));
+            UtilBanco.trenza(cuartos, LADO, LADO, proporcion, semilla);
+            Laberinto referencia = UtilBanco.laberinto(cuartos, LADO, LADO);
+            int cuartosTotales = LADO * LADO;
+            Resolvedor elegido = RegistroResolvedores.elige(referencia);
+            System.out.printf("Proporción %.3f: %d puertas que cierran ciclos%n", proporcion,
+                              referencia.getPuertas() - (cuartosTotales - 1));
+            int costo = referencia.getCosto(lista(referencia));
+            for (String nombre : RegistroResolvedores.getNombres()) {
+                if (nombre.equals(OMITIDO))
+                    continue;
+                Resolvedor resolvedor = RegistroResolvedores.getResolvedor(nombre);
+                Laberinto[] laberinto = new Laberinto[1];
+                double t = UtilBanco.mide(REPETICIONES, () ->
+                    laberinto[0] = UtilBanco.laberinto(cuartos, LADO, LADO, resolvedor));
+                if (laberinto[0].getCosto(lista(laberinto[0])) != costo)
+                    throw new IllegalStateException("Costo distinto con " + nombre);
+                System.out.printf("  %-17s %8.2f ms%s%n", nombre, t,
+                                  resolvedor == elegido ? "  <- auto" : "");
+            }
+        }
+    }
+
+    /* Regresa el camino de un laberinto como lista. */
+    private static Lista<VerticeGrafica<Cuarto>> lista(Laberinto laberinto) {
+        Lista<VerticeGrafica<Cuarto>> lista = new Lista<VerticeGrafica<Cuarto>>();
+        for (VerticeGrafica<Cuarto> v : laberinto.getCamino())
+            lista.agrega(v);
+        return lista;
+    }
+}
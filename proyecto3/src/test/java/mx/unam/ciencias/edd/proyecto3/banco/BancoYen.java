@@ -0,0 +1,61 @@
+package mx.unam.ciencias.edd.proyecto3.banco;
+
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import mx.unam.ciencias.edd.proyecto3.Cuarto;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoArbolBinario;
+
+/**
+ * <p>Banco de pruebas del algoritmo de Yen sobre la gráfica de un
+ * laberinto.</p>
+ *
+ * <p>Genera un laberinto de 255×255 cuartos, le quita paredes al azar para
+ * que tenga ciclos, y mide el tiempo de calcular las <i>k</i> trayectorias
+ * sin ciclos de menor costo de la entrada a la salida. Verifica que los
+ * costos no decrezcan. Se ejecuta con:</p>
+ *
+ * <pre>
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes mx.unam.ciencias.edd.proyecto3.banco.BancoYen [k] [semilla] [proporción]
+ * </pre>
+ */
+public class BancoYen {
+
+    /* Lado del laberinto. */
+    private static final int LADO = 255;
+    /* Número de repeticiones de la medición. */
+    private static final int REPETICIONES = 5;
+
+    /**
+     * Ejecuta el banco de pruebas.
+     * @param args el número de trayectorias, la semilla y la proporción de
+     *        paredes a quitar, opcionales.
+     */
+    public static void main(String[] args) {
+        int k = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : 42;
+        double proporcion = args.length > 2 ? Double.parseDouble(args[2]) : 0.2;
+        byte[] cuartos = UtilBanco.cuartos(
+            new GeneradorLaberintoArbolBinario(UtilBanco.entrada(semilla, LADO, LADO)));
+        UtilBanco.trenza(cuartos, LADO, LADO, proporcion, semilla);
+        Laberinto laberinto = UtilBanco.laberinto(cuartos, LADO, LADO);
+
+        @SuppressWarnings("unchecked")
+        Lista<Lista<VerticeGrafica<Cuarto>>>[] trayectorias = new Lista[1];
+        double t = UtilBanco.mide(REPETICIONES,
+                                  () -> trayectorias[0] = laberinto.getTrayectorias(k));
+        int anterior = 0, longitud = 0;
+        for (Lista<VerticeGrafica<Cuarto>> trayectoria : trayectorias[0]) {
+            int costo = laberinto.getCosto(trayectoria);
+            if (costo < anterior)
+                throw new IllegalStateException("Los costos no están ordenados.");
+            anterior = costo;
+            longitud = Math.max(longitud, trayectoria.getElementos());
+        }
+        System.out.printf("k = %d: %d trayectorias, costos %d a %d, longitud máxima %d%n",
+                          k, trayectorias[0].getElementos(),
+                          laberinto.getCosto(trayectorias[0].getPrimero()), anterior, longitud);
+        System.out.printf("Yen: %.2f ms%n", t);
+    }
+}
@@ -0,0 +1,170 @@
+package mx.unam.ciencias.edd.proyecto3.banco;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import mx.unam.ciencias.edd.proyecto3.Direccion;
+import mx.unam.ciencias.edd.proyecto3.EntradaEstandar;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberinto;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.RegistroResolvedores;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.Resolvedor;
+
+/**
+ * Clase de métodos utilitarios para los bancos de pruebas de rendimiento de
+ * los laberintos.
+ */
+public class UtilBanco {
+
+    /* Número de bytes del encabezado de un laberinto serializado. */
+    private static final int ENCABEZADO = 6;
+
+    /* Constructor privado para evitar instanciación. */
+    private UtilBanco() {}
+
+    /**
+     * Crea la entrada estándar para generar un laberinto.
+     * @param semilla la semilla del laberinto.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @return la entrada estándar para generar el laberinto.
+     */
+    public static EntradaEstandar entrada(long semilla, int columnas, int renglones) {
+        return new EntradaEstandar(new String[] {
+                "-g", "-s", String.valueOf(semilla),
+                "-w", String.valueOf(columnas), "-h", String.valueOf(renglones) });
+    }
+
+    /**
+     * Genera un laberinto y regresa los bytes de sus cuartos, sin el
+     * encabezado.
+     * @param generador el generador del laberinto.
+     * @return los bytes de los cuartos del laberinto.
+     */
+    public static byte[] cuartos(GeneradorLaberinto generador) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try {
+            generador.creaLaberinto();
+            generador.generaLaberinto(salida);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+        byte[] bytes = salida.toByteArray();
+        byte[] cuartos = new byte[bytes.length - ENCABEZADO];
+        System.arraycopy(bytes, ENCABEZADO, cuartos, 0, cuartos.length);
+        return cuartos;
+    }
+
+    /**
+     * Deserializa un laberinto a partir de los bytes de sus cuartos.
+     * @param cuartos los bytes de los cuartos.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @return el laberinto.
+     */
+    public static Laberinto laberinto(byte[] cuartos, int columnas, int renglones) {
+        return laberinto(cuartos, columnas, renglones,
+                         RegistroResolvedores.getResolvedor(RegistroResolvedores.AUTOMATICO));
+    }
+
+    /**
+     * Deserializa un laberinto a partir de los bytes de sus cuartos y lo
+     * resuelve con el resolvedor recibido.
+     * @param cuartos los bytes de los cuartos.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @param resolvedor el resolvedor del laberinto.
+     * @return el laberinto.
+     */
+    public static Laberinto laberinto(byte[] cuartos, int columnas, int renglones,
+                                      Resolvedor resolvedor) {
+        byte[] bytes = new byte[ENCABEZADO + cuartos.length];
+        bytes[0] = 'M';
+        bytes[1] = 'A';
+        bytes[2] = 'Z';
+        bytes[3] = 'E';
+        bytes[4] = (byte)renglones;
+        bytes[5] = (byte)columnas;
+        System.arraycopy(cuartos, 0, bytes, ENCABEZADO, cuartos.length);
+        Laberinto laberinto = new Laberinto();
+        try {
+            laberinto.deseria(new ByteArrayInputStream(bytes), resolvedor);
+        } catch (IOException ioe) {
+            throw new UncheckedIOException(ioe);
+        }
+        return laberinto;
+    }
+
+    /**
+     * Regresa los índices de los cuartos con una puerta al exterior, es decir,
+     * la entrada y la salida del laberinto.
+     * @param cuartos los bytes de los cuartos.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @return los índices de la entrada y la salida.
+     */
+    public static int[] exteriores(byte[] cuartos, int columnas, int renglones) {
+        int[] exteriores = new int[2];
+        int n = 0;
+        for (int v = 0; v < cuartos.length && n < 2; v++) {
+            int x = v % columnas;
+            int y = v / columnas;
+            for (Direccion d : Direccion.values()) {
+                int nx = x + d.getCambioColumna();
+                int ny = y + d.getCambioRenglon();
+                if ((cuartos[v] & d.getPared()) == 0 &&
+                    (nx < 0 || nx >= columnas || ny < 0 || ny >= renglones)) {
+                    exteriores[n++] = v;
+                    break;
+                }
+            }
+        }
+        return exteriores;
+    }
+
+    /**
+     * Quita paredes interiores al azar, de ambos lados, para que el laberinto
+     * tenga ciclos y las trayectorias mínimas dependan de los puntajes.
+     * @param cuartos los bytes de los cuartos.
+     * @param columnas las columnas del laberinto.
+     * @param renglones los renglones del laberinto.
+     * @param proporcion la proporción de cuartos a los que se les quita una pared.
+     * @param semilla la semilla para elegir las paredes.
+     */
+    public static void trenza(byte[] cuartos, int columnas, int renglones,
+                              double proporcion, long semilla) {
+        Random random = new Random(semilla);
+        Direccion[] direcciones = Direccion.values();
+        int n = (int)(cuartos.length * proporcion);
+        for (int i = 0; i < n; i++) {
+            int v = random.nextInt(cuartos.length);
+            Direccion d = direcciones[random.nextInt(direcciones.length)];
+            int nx = v % columnas + d.getCambioColumna();
+            int ny = v / columnas + d.getCambioRenglon();
+            if (nx < 0 || nx >= columnas || ny < 0 || ny >= renglones)
+                continue;
+            int u = ny * columnas + nx;
+            cuartos[v] &= ~d.getPared();
+            cuartos[u] &= ~d.getOpuesta().getPared();
+        }
+    }
+
+    /**
+     * Ejecuta una tarea varias veces y regresa el tiempo mínimo en
+     * milisegundos.
+     * @param repeticiones el número de repeticiones.
+     * @param tarea la tarea a medir.
+     * @return el tiempo mínimo de la tarea, en milisegundos.
+     */
+    public static double mide(int repeticiones, Runnable tarea) {
+        long minimo = Long.MAX_VALUE;
+        for (int i = 0; i < repeticiones; i++) {
+            long t = System.nanoTime();
+            tarea.run();
+            minimo = Math.min(minimo, System.nanoTime() - t);
+        }
+        return minimo / 1e6;
+    }
+}
@@ -0,0 +1,140 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Random;
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoKruskal;
+import mx.unam.ciencias.edd.proyecto3.banco.UtilBanco;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.AbstraccionJerarquica;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link AbstraccionJerarquica}.
+ */
+public class TestAbstraccionJerarquica {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Las columnas del laberinto. */
+    private int columnas;
+    /* Los renglones del laberinto. */
+    private int renglones;
+    /* Los cuartos de un laberinto trenzado. */
+    private byte[] cuartos;
+    /* La abstracción del laberinto. */
+    private AbstraccionJerarquica abstraccion;
+
+    /**
+     * Crea un laberinto trenzado y su abstracción para cada prueba.
+     */
+    public TestAbstraccionJerarquica() {
+        random = new Random();
+        columnas = 2 + random.nextInt(40);
+        renglones = 2 + random.nextInt(40);
+        cuartos = UtilBanco.cuartos(new GeneradorLaberintoKruskal(
+            UtilBanco.entrada(1 + random.nextInt(1000), columnas, renglones)));
+        UtilBanco.trenza(cuartos, columnas, renglones, 0.2, random.nextLong());
+        abstraccion = new AbstraccionJerarquica(cuartos, columnas, renglones,
+                                                2 + random.nextInt(6));
+    }
+
+    /* Regresa la abstracción serializada. */
+    private byte[] seria(AbstraccionJerarquica abstraccion) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        abstraccion.seria(Channels.newChannel(salida));
+        return salida.toByteArray();
+    }
+
+    /* Verifica que la trayectoria sea válida y de costo mínimo. */
+    private void verificaTrayectoria(AbstraccionJerarquica abstraccion,
+                                     GraficaCuartos grafica, int origen, int destino) {
+        BusquedaImplicita busqueda = new BusquedaImplicita(grafica);
+        busqueda.dijkstra(origen);
+        int[] trayectoria = abstraccion.resuelve(origen, destino);
+        Assert.assertTrue(trayectoria.length > 0);
+        Assert.assertTrue(trayectoria[0] == origen);
+        Assert.assertTrue(trayectoria[trayectoria.length - 1] == destino);
+        int costo = 0;
+        for (int i = 1; i < trayectoria.length; i++)
+            costo += grafica.getPeso(trayectoria[i - 1], trayectoria[i]);
+        Assert.assertTrue(costo == busqueda.getDistancia(destino));
+    }
+
+    /**
+     * Prueba unitaria para {@link AbstraccionJerarquica#resuelve}.
+     */
+    @Test public void testResuelve() {
+        GraficaCuartos grafica = new GraficaCuartos(cuartos, columnas, renglones);
+        for (int i = 0; i < 20; i++)
+            verificaTrayectoria(abstraccion, grafica,
+                                random.nextInt(cuartos.length),
+                                random.nextInt(cuartos.length));
+        try {
+            abstraccion.resuelve(-1, 0);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+        try {
+            abstraccion.resuelve(0, cuartos.length);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link AbstraccionJerarquica#seria} y {@link
+     * AbstraccionJerarquica#carga}.
+     * @throws IOException si ocurre un error al serializar.
+     */
+    @Test public void testSeriaCarga() throws IOException {
+        byte[] bytes = seria(abstraccion);
+        AbstraccionJerarquica cargada =
+            AbstraccionJerarquica.carga(ByteBuffer.wrap(bytes), cuartos, columnas, renglones);
+        Assert.assertTrue(cargada.getNodos() == abstraccion.getNodos());
+        Assert.assertTrue(cargada.getArcos() == abstraccion.getArcos());
+        Assert.assertArrayEquals(bytes, seria(cargada));
+        GraficaCuartos grafica = new GraficaCuartos(cuartos, columnas, renglones);
+        for (int i = 0; i < 20; i++) {
+            int origen = random.nextInt(cuartos.length);
+            int destino = random.nextInt(cuartos.length);
+            verificaTrayectoria(cargada, grafica, origen, destino);
+            Assert.assertArrayEquals(abstraccion.resuelve(origen, destino),
+                                     cargada.resuelve(origen, destino));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link AbstraccionJerarquica#carga} con un buffer
+     * que no corresponde al laberinto o está truncado.
+     * @throws IOException si ocurre un error al serializar.
+     */
+    @Test public void testCargaInvalida() throws IOException {
+        byte[] bytes = seria(abstraccion);
+        byte[] otros = cuartos.clone();
+        otros[random.nextInt(otros.length)] ^= 0x10;
+        try {
+            AbstraccionJerarquica.carga(ByteBuffer.wrap(bytes), otros, columnas, renglones);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            AbstraccionJerarquica.carga(ByteBuffer.wrap(bytes), cuartos, columnas + 1, renglones);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        int[] cortes = { 0, 3, 10, bytes.length - 1 - random.nextInt(bytes.length - 32) };
+        for (int corte : cortes) {
+            try {
+                AbstraccionJerarquica.carga(ByteBuffer.wrap(bytes, 0, corte),
+                                            cuartos, columnas, renglones);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        }
+    }
+}
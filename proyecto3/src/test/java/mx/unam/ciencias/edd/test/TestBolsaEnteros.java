@@ -0,0 +1,122 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.BolsaEnteros;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link BolsaEnteros}.
+ */
+public class TestBolsaEnteros {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La bolsa. */
+    private BolsaEnteros bolsa;
+
+    /**
+     * Crea una bolsa para cada prueba.
+     */
+    public TestBolsaEnteros() {
+        random = new Random();
+        total = 2 + random.nextInt(100);
+        bolsa = new BolsaEnteros(random);
+    }
+
+    /**
+     * Prueba unitaria para {@link BolsaEnteros#BolsaEnteros}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(bolsa.esVacia());
+        Assert.assertTrue(bolsa.getElementos() == 0);
+        BolsaEnteros vacia = new BolsaEnteros(random, 0);
+        vacia.mete(1);
+        vacia.mete(2);
+        Assert.assertTrue(vacia.getElementos() == 2);
+        try {
+            new BolsaEnteros(random, -1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link BolsaEnteros#mete}.
+     */
+    @Test public void testMete() {
+        for (int i = 0; i < total; i++) {
+            bolsa.mete(random.nextInt(total));
+            Assert.assertFalse(bolsa.esVacia());
+            Assert.assertTrue(bolsa.getElementos() == i+1);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link BolsaEnteros#saca}. Cada elemento metido
+     * se saca exactamente una vez, incluyendo los repetidos.
+     */
+    @Test public void testSaca() {
+        try {
+            bolsa.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int[] cuentas = new int[total];
+        for (int i = 0; i < 2 * total; i++) {
+            int e = random.nextInt(total);
+            bolsa.mete(e);
+            cuentas[e]++;
+        }
+        for (int i = 2 * total; i > 0; i--) {
+            Assert.assertTrue(bolsa.getElementos() == i);
+            int e = bolsa.saca();
+            Assert.assertTrue(cuentas[e]-- > 0);
+        }
+        Assert.assertTrue(bolsa.esVacia());
+        for (int c : cuentas)
+            Assert.assertTrue(c == 0);
+        try {
+            bolsa.saca();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link BolsaEnteros#saca}, verificando que los
+     * elementos no salgan en el orden en que se metieron.
+     */
+    @Test public void testSacaAleatorio() {
+        int n = 100 + total;
+        for (int i = 0; i < n; i++)
+            bolsa.mete(i);
+        boolean enOrden = true;
+        boolean enOrdenInverso = true;
+        for (int i = 0; i < n; i++) {
+            int e = bolsa.saca();
+            enOrden &= e == i;
+            enOrdenInverso &= e == n - 1 - i;
+        }
+        Assert.assertFalse(enOrden);
+        Assert.assertFalse(enOrdenInverso);
+    }
+
+    /**
+     * Prueba unitaria para {@link BolsaEnteros#limpia}.
+     */
+    @Test public void testLimpia() {
+        for (int i = 0; i < total; i++)
+            bolsa.mete(i);
+        bolsa.limpia();
+        Assert.assertTrue(bolsa.esVacia());
+        Assert.assertTrue(bolsa.getElementos() == 0);
+        bolsa.mete(total);
+        Assert.assertTrue(bolsa.saca() == total);
+    }
+}
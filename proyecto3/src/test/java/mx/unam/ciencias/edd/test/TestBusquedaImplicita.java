@@ -0,0 +1,154 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.GraficaImplicita;
+import mx.unam.ciencias.edd.Lista;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link BusquedaImplicita}.
+ */
+public class TestBusquedaImplicita {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Gráfica implícita de un anillo de n vértices, donde el peso de la
+     * arista entre i e i+1 es i+1. */
+    private static class Anillo implements GraficaImplicita {
+
+        /* El número de vértices. */
+        private int n;
+
+        /* Crea un anillo de n vértices. */
+        public Anillo(int n) {
+            this.n = n;
+        }
+
+        @Override public int getElementos() {
+            return n;
+        }
+
+        @Override public int getGradoMaximo() {
+            return 2;
+        }
+
+        @Override public int vecinos(int vertice, int[] vecinos) {
+            if (vertice < 0 || vertice >= n)
+                throw new IndexOutOfBoundsException();
+            vecinos[0] = (vertice + 1) % n;
+            vecinos[1] = (vertice + n - 1) % n;
+            return 2;
+        }
+
+        @Override public int getPeso(int a, int b) {
+            if ((a + 1) % n == b)
+                return a + 1;
+            if ((b + 1) % n == a)
+                return b + 1;
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba. Las búsquedas
+     * sobre gráficas con aristas aleatorias se prueban a través de {@link
+     * mx.unam.ciencias.edd.GraficaCompacta}, que las delega a esta clase.
+     */
+    public TestBusquedaImplicita() {
+        random = new Random();
+        total = 3 + random.nextInt(100);
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaImplicita#vecinos(int,int[],int[])}
+     * en su implementación por omisión.
+     */
+    @Test public void testVecinosPesos() {
+        Anillo anillo = new Anillo(total);
+        int[] vecinos = new int[anillo.getGradoMaximo()];
+        int[] pesos = new int[anillo.getGradoMaximo()];
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(anillo.vecinos(i, vecinos, pesos) == 2);
+            for (int j = 0; j < 2; j++)
+                Assert.assertTrue(pesos[j] == anillo.getPeso(i, vecinos[j]));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link BusquedaImplicita#bfs} y {@link
+     * BusquedaImplicita#dfs} en una gráfica que sólo existe implícitamente.
+     */
+    @Test public void testRecorridos() {
+        BusquedaImplicita busqueda = new BusquedaImplicita(new Anillo(total));
+        int origen = random.nextInt(total);
+        Lista<Integer> amplitud = new Lista<Integer>();
+        busqueda.bfs(origen, v -> amplitud.agrega(v));
+        Assert.assertTrue(amplitud.getLongitud() == total);
+        int k = 0;
+        for (int v : amplitud) {
+            int paso = (k + 1) / 2;
+            int esperado = (k % 2 == 1) ? origen + paso : origen - paso;
+            Assert.assertTrue(v == (esperado % total + total) % total);
+            k++;
+        }
+        Lista<Integer> profundidad = new Lista<Integer>();
+        busqueda.dfs(origen, v -> profundidad.agrega(v));
+        Assert.assertTrue(profundidad.getLongitud() == total);
+        k = 0;
+        for (int v : profundidad)
+            Assert.assertTrue(v == (origen + total - k++) % total);
+        try {
+            busqueda.bfs(total, v -> {});
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+        try {
+            busqueda.dfs(-1, v -> {});
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link BusquedaImplicita#esConexa}.
+     */
+    @Test public void testEsConexa() {
+        Assert.assertTrue(new BusquedaImplicita(new Anillo(total)).esConexa());
+        Grafica<Integer> aislados = new Grafica<Integer>();
+        aislados.agrega(0);
+        aislados.agrega(1);
+        Assert.assertFalse(new BusquedaImplicita(aislados.compacta()).esConexa());
+    }
+
+    /**
+     * Prueba unitaria para {@link BusquedaImplicita#dijkstra(int)} en una
+     * gráfica que sólo existe implícitamente.
+     */
+    @Test public void testDijkstraAnillo() {
+        BusquedaImplicita busqueda = new BusquedaImplicita(new Anillo(total));
+        busqueda.dijkstra(0);
+        // Las distancias de los recorridos no invalidan las de la búsqueda.
+        busqueda.bfs(0, v -> {});
+        int total2 = total * (total + 1) / 2;
+        for (int i = 0; i < total; i++) {
+            int horario = i * (i + 1) / 2;
+            int antihorario = total2 - horario;
+            Assert.assertTrue(busqueda.getDistancia(i) == Math.min(horario, antihorario));
+            int[] trayectoria = busqueda.trayectoria(i);
+            Assert.assertTrue(trayectoria[0] == 0);
+            Assert.assertTrue(trayectoria[trayectoria.length - 1] == i);
+            for (int j = 1; j < trayectoria.length; j++)
+                Assert.assertTrue(busqueda.getAnterior(trayectoria[j]) == trayectoria[j-1]);
+        }
+        Assert.assertTrue(busqueda.getAnterior(0) == BusquedaImplicita.NINGUNO);
+    }
+}
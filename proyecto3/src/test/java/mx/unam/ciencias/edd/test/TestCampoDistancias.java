@@ -0,0 +1,69 @@
+package mx.unam.ciencias.edd.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import mx.unam.ciencias.edd.proyecto3.CampoDistancias;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link CampoDistancias}.
+ */
+public class TestCampoDistancias {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Valor máximo de un pixel de la imagen PGM. */
+    private static final int BLANCO = 0xFFFF;
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+
+    /**
+     * Crea un generador de números aleatorios para cada prueba.
+     */
+    public TestCampoDistancias() {
+        random = new Random();
+        total = 2 + random.nextInt(100);
+    }
+
+    /**
+     * Prueba unitaria para {@link CampoDistancias#seriaPGM}, con distancias
+     * mayores a 32768, cuyo producto por el valor máximo de un pixel no cabe
+     * en un entero.
+     * @throws IOException si ocurre un error al serializar.
+     */
+    @Test public void testSeriaPGM() throws IOException {
+        int[] distancias = new int[total];
+        int maxima = 273478;
+        distancias[0] = 0;
+        distancias[total - 1] = maxima;
+        for (int i = 1; i < total - 1; i++)
+            distancias[i] = random.nextInt(5) == 0 ? -1 : random.nextInt(maxima);
+        CampoDistancias campo = new CampoDistancias(distancias, total, 1);
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        campo.seriaPGM(Channels.newChannel(salida));
+        byte[] encabezado = String.format("P5\n%d %d\n%d\n", total, 1, BLANCO)
+                                  .getBytes(StandardCharsets.US_ASCII);
+        byte[] bytes = salida.toByteArray();
+        Assert.assertTrue(bytes.length == encabezado.length + 2 * total);
+        ByteBuffer pixeles = ByteBuffer.wrap(bytes, encabezado.length, 2 * total);
+        for (int i = 0; i < total; i++) {
+            int gris = pixeles.getShort() & 0xFFFF;
+            int esperado = distancias[i] < 0 ? BLANCO :
+                (int)((long)distancias[i] * (BLANCO - 1) / maxima);
+            Assert.assertTrue(gris == esperado);
+        }
+        Assert.assertTrue((bytes[bytes.length - 2] & 0xFF) == 0xFF);
+        Assert.assertTrue((bytes[bytes.length - 1] & 0xFF) == 0xFE);
+    }
+}
@@ -0,0 +1,103 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.ConjuntoDisjunto;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ConjuntoDisjunto}.
+ */
+public class TestConjuntoDisjunto {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El bosque de conjuntos disjuntos. */
+    private ConjuntoDisjunto conjunto;
+
+    /**
+     * Crea un bosque de conjuntos disjuntos para cada prueba.
+     */
+    public TestConjuntoDisjunto() {
+        random = new Random();
+        total = 2 + random.nextInt(100);
+        conjunto = new ConjuntoDisjunto(total);
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoDisjunto#ConjuntoDisjunto}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(conjunto.getElementos() == total);
+        Assert.assertTrue(conjunto.getConjuntos() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(conjunto.busca(i) == i);
+        Assert.assertTrue(new ConjuntoDisjunto(0).getConjuntos() == 0);
+        try {
+            new ConjuntoDisjunto(-1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoDisjunto#busca}.
+     */
+    @Test public void testBusca() {
+        for (int i = 1; i < total; i++)
+            conjunto.une(i-1, i);
+        int raiz = conjunto.busca(0);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(conjunto.busca(i) == raiz);
+        try {
+            conjunto.busca(-1);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+        try {
+            conjunto.busca(total);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link ConjuntoDisjunto#une} y {@link
+     * ConjuntoDisjunto#mismoConjunto}, comparando contra un arreglo de
+     * etiquetas que se vuelve a etiquetar en cada unión.
+     */
+    @Test public void testUneMismoConjunto() {
+        int[] etiquetas = new int[total];
+        for (int i = 0; i < total; i++)
+            etiquetas[i] = i;
+        int conjuntos = total;
+        for (int k = 0; k < 2 * total; k++) {
+            int a = random.nextInt(total);
+            int b = random.nextInt(total);
+            boolean distintos = etiquetas[a] != etiquetas[b];
+            Assert.assertTrue(conjunto.mismoConjunto(a, b) == !distintos);
+            Assert.assertTrue(conjunto.une(a, b) == distintos);
+            Assert.assertTrue(conjunto.mismoConjunto(a, b));
+            if (distintos) {
+                int vieja = etiquetas[b];
+                for (int i = 0; i < total; i++)
+                    if (etiquetas[i] == vieja)
+                        etiquetas[i] = etiquetas[a];
+                conjuntos--;
+            }
+            Assert.assertTrue(conjunto.getConjuntos() == conjuntos);
+        }
+        for (int i = 0; i < total; i++)
+            for (int j = 0; j < total; j++)
+                Assert.assertTrue(conjunto.mismoConjunto(i, j) ==
+                                  (etiquetas[i] == etiquetas[j]));
+        try {
+            conjunto.une(0, total);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+    }
+}
@@ -3,9 +3,12 @@ package mx.unam.ciencias.edd.test;
 import java.util.NoSuchElementException;
 import java.util.Random;
 import mx.unam.ciencias.edd.AccionVerticeGrafica;
+import mx.unam.ciencias.edd.ArbolTrayectorias;
+import mx.unam.ciencias.edd.BosqueTrayectorias;
 import mx.unam.ciencias.edd.Color;
 import mx.unam.ciencias.edd.Grafica;
 import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.TipoMonticulo;
 import mx.unam.ciencias.edd.VerticeGrafica;
 import org.junit.Assert;
 import org.junit.Rule;
@@ -666,4 +669,369 @@ public class TestGrafica {
             Assert.assertTrue(lista.equals(dijkstra));
         }
     }
+
+    /* Calcula las distancias desde el vértice 0 con Bellman-Ford. */
+    private double[] bellmanFord() {
+        double[] d = new double[total];
+        for (int i = 1; i < total; i++)
+            d[i] = Double.POSITIVE_INFINITY;
+        for (int k = 0; k < total; k++)
+            for (int i = 0; i < total; i++)
+                for (int j = 0; j < total; j++)
+                    if (i != j && grafica.sonVecinos(i, j))
+                        d[j] = Math.min(d[j], d[i] + grafica.getPeso(i, j));
+        return d;
+    }
+
+    /* Calcula el peso de una trayectoria. */
+    private double peso(Lista<VerticeGrafica<Integer>> trayectoria) {
+        double peso = 0;
+        VerticeGrafica<Integer> anterior = null;
+        for (VerticeGrafica<Integer> v : trayectoria) {
+            if (anterior != null)
+                peso += grafica.getPeso(anterior.get(), v.get());
+            anterior = v;
+        }
+        return peso;
+    }
+
+    /* Llena la gráfica con pesos enteros entre 1 y 31. */
+    private void llenaPesosEnteros() {
+        total = 2 + random.nextInt(60);
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 1; i < total; i++)
+            grafica.conecta(i - 1, i, 1 + random.nextInt(31));
+        for (int k = 0; k < total; k++) {
+            int i = random.nextInt(total);
+            int j = random.nextInt(total);
+            if (i != j && !grafica.sonVecinos(i, j))
+                grafica.conecta(i, j, 1 + random.nextInt(31));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#dijkstra} con pesos enteros
+     * pequeños.
+     */
+    @Test public void testDijkstraPesosEnteros() {
+        llenaPesosEnteros();
+        double[] d = bellmanFord();
+        for (int i = 0; i < total; i++) {
+            Lista<VerticeGrafica<Integer>> dijkstra = grafica.dijkstra(0, i);
+            Assert.assertTrue(dijkstra.getPrimero().get() == 0);
+            Assert.assertTrue(dijkstra.getUltimo().get() == i);
+            Assert.assertTrue(peso(dijkstra) == d[i]);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#dijkstra} con pesos enteros
+     * demasiado grandes para el montículo de cubetas.
+     */
+    @Test public void testDijkstraPesosGrandes() {
+        for (double peso : new double[] { 5e8, 3e9 }) {
+            grafica = new Grafica<Integer>();
+            total = 2 + random.nextInt(100);
+            for (int i = 0; i < total; i++)
+                grafica.agrega(i);
+            for (int i = 1; i < total; i++)
+                grafica.conecta(i - 1, i, 1 + random.nextInt(31));
+            grafica.conecta(0, total - 1, peso);
+            try {
+                grafica.dijkstra(0, total - 1, TipoMonticulo.CUBETAS);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+            try {
+                grafica.dijkstraBidireccional(0, total - 1, TipoMonticulo.CUBETAS);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+            Lista<VerticeGrafica<Integer>> dijkstra = grafica.dijkstra(0, total - 1);
+            Assert.assertTrue(dijkstra.getElementos() == total);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#aEstrella}.
+     */
+    @Test public void testAEstrella() {
+        llenaPesosEnteros();
+        double[] d = bellmanFord();
+        for (int i = 0; i < total; i++) {
+            Lista<VerticeGrafica<Integer>> a =
+                grafica.aEstrella(0, i, (e, f) -> 0, random.nextBoolean());
+            Assert.assertTrue(a.getPrimero().get() == 0);
+            Assert.assertTrue(a.getUltimo().get() == i);
+            Assert.assertTrue(peso(a) == d[i]);
+        }
+        // Heurística exacta en los pares y cero en los nones: no sobreestima,
+        // pero no es consistente, por lo que hay que reabrir vértices.
+        final double[] h = d;
+        for (int i = 0; i < total; i++) {
+            Lista<VerticeGrafica<Integer>> a =
+                grafica.aEstrella(i, 0, (e, f) -> (e % 2 == 0) ? h[e] : 0,
+                                  random.nextBoolean());
+            Assert.assertTrue(peso(a) == d[i]);
+        }
+        grafica.agrega(total);
+        Assert.assertTrue(grafica.aEstrella(0, total, (e, f) -> 0, true).esVacia());
+        // Rejilla con la distancia Manhattan como heurística.
+        int lado = 2 + random.nextInt(10);
+        grafica = new Grafica<Integer>();
+        for (int i = 0; i < lado * lado; i++)
+            grafica.agrega(i);
+        for (int i = 0; i < lado * lado; i++) {
+            if (i % lado + 1 < lado)
+                grafica.conecta(i, i + 1, 1 + random.nextInt(31));
+            if (i + lado < lado * lado)
+                grafica.conecta(i, i + lado, 1 + random.nextInt(31));
+        }
+        total = lado * lado;
+        d = bellmanFord();
+        final int l = lado;
+        for (TipoMonticulo tipo : TipoMonticulo.values()) {
+            for (int i = 0; i < total; i++) {
+                Lista<VerticeGrafica<Integer>> a =
+                    grafica.aEstrella(0, i, (e, f) -> Math.abs(e % l - f % l) +
+                                      Math.abs(e / l - f / l), true, tipo);
+                Assert.assertTrue(peso(a) == d[i]);
+            }
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#dijkstraBidireccional}.
+     */
+    @Test public void testDijkstraBidireccional() {
+        llenaPesosEnteros();
+        double[] d = bellmanFord();
+        for (TipoMonticulo tipo : TipoMonticulo.values()) {
+            for (int i = 0; i < total; i++) {
+                Lista<VerticeGrafica<Integer>> b =
+                    grafica.dijkstraBidireccional(0, i, tipo);
+                Assert.assertTrue(b.getPrimero().get() == 0);
+                Assert.assertTrue(b.getUltimo().get() == i);
+                Assert.assertTrue(peso(b) == d[i]);
+                Assert.assertTrue(peso(grafica.dijkstra(0, i, tipo)) == d[i]);
+            }
+        }
+        grafica.agrega(total);
+        Assert.assertTrue(grafica.dijkstraBidireccional(0, total).esVacia());
+        grafica.agrega(total + 1);
+        grafica.conecta(total, total + 1, 0.5);
+        try {
+            grafica.dijkstraBidireccional(0, total, TipoMonticulo.CUBETAS);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        Assert.assertTrue(grafica.dijkstraBidireccional(total + 1, total).getElementos() == 2);
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#arbolDijkstra}.
+     */
+    @Test public void testArbolDijkstra() {
+        llenaPesosEnteros();
+        double[] d = bellmanFord();
+        ArbolTrayectorias<Integer> arbol = grafica.arbolDijkstra(0);
+        Assert.assertTrue(arbol.getOrigen() == 0);
+        for (int i = 0; i < total; i++) {
+            Lista<VerticeGrafica<Integer>> t = arbol.trayectoria(i);
+            Assert.assertTrue(arbol.alcanza(i));
+            Assert.assertTrue(arbol.getDistancia(i) == d[i]);
+            Assert.assertTrue(t.getPrimero().get() == 0);
+            Assert.assertTrue(t.getUltimo().get() == i);
+            Assert.assertTrue(peso(t) == d[i]);
+        }
+        try {
+            arbol.trayectoria(total);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        grafica.agrega(total);
+        try {
+            arbol.trayectoria(0);
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        arbol = grafica.arbolDijkstra(0);
+        Assert.assertFalse(arbol.alcanza(total));
+        Assert.assertTrue(arbol.trayectoria(total).esVacia());
+        grafica.dijkstra(total, 0);
+        try {
+            arbol.getDistancia(0);
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#arbolTrayectoriasMinimas}.
+     */
+    @Test public void testArbolTrayectoriasMinimas() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 1; i < total; i++)
+            grafica.conecta(i - 1, i);
+        ArbolTrayectorias<Integer> arbol = grafica.arbolTrayectoriasMinimas(0);
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(arbol.getDistancia(i) == i);
+            Assert.assertTrue(arbol.trayectoria(i).getElementos() == i + 1);
+        }
+        grafica.desconecta(0, 1);
+        try {
+            arbol.alcanza(1);
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        arbol = grafica.arbolTrayectoriasMinimas(0);
+        for (int i = 1; i < total; i++)
+            Assert.assertFalse(arbol.alcanza(i));
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#dijkstraPerezoso}.
+     */
+    @Test public void testDijkstraPerezoso() {
+        llenaPesosEnteros();
+        double[] d = bellmanFord();
+        for (TipoMonticulo tipo : TipoMonticulo.values()) {
+            for (int i = 0; i < total; i++) {
+                Lista<VerticeGrafica<Integer>> p =
+                    grafica.dijkstraPerezoso(0, i, tipo);
+                Assert.assertTrue(p.getPrimero().get() == 0);
+                Assert.assertTrue(p.getUltimo().get() == i);
+                Assert.assertTrue(peso(p) == d[i]);
+            }
+        }
+        grafica.agrega(total);
+        Assert.assertTrue(grafica.dijkstraPerezoso(0, total).esVacia());
+        Assert.assertTrue(grafica.dijkstraPerezoso(total, 0).esVacia());
+        Assert.assertTrue(grafica.dijkstraPerezoso(total, total).getElementos() == 1);
+        Assert.assertTrue(peso(grafica.dijkstraPerezoso(0, total - 1)) == d[total - 1]);
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#dijkstraMultiple}.
+     */
+    @Test public void testDijkstraMultiple() {
+        llenaPesosEnteros();
+        Lista<Integer> origenes = new Lista<Integer>();
+        Lista<Integer> destinos = new Lista<Integer>();
+        for (int i = 0; i < total; i++) {
+            if (random.nextInt(5) == 0)
+                origenes.agrega(i);
+            if (random.nextInt(5) == 0)
+                destinos.agrega(i);
+        }
+        origenes.agrega(random.nextInt(total));
+        destinos.agrega(random.nextInt(total));
+        // Distancia mínima desde algún origen a cada vértice.
+        double[] d = new double[total];
+        for (int i = 0; i < total; i++)
+            d[i] = Double.POSITIVE_INFINITY;
+        for (Integer o : origenes) {
+            ArbolTrayectorias<Integer> arbol = grafica.arbolDijkstra(o);
+            for (int i = 0; i < total; i++)
+                d[i] = Math.min(d[i], arbol.getDistancia(i));
+        }
+        double minima = Double.POSITIVE_INFINITY;
+        for (Integer t : destinos)
+            minima = Math.min(minima, d[t]);
+        for (TipoMonticulo tipo : TipoMonticulo.values()) {
+            BosqueTrayectorias<Integer> bosque =
+                grafica.dijkstraMultiple(origenes, destinos, false, tipo);
+            Integer ganador = bosque.getGanador();
+            Assert.assertTrue(destinos.contiene(ganador));
+            Assert.assertTrue(bosque.getDistancia(ganador) == minima);
+            Lista<VerticeGrafica<Integer>> p = bosque.trayectoria(ganador);
+            Assert.assertTrue(origenes.contiene(p.getPrimero().get()));
+            Assert.assertTrue(p.getPrimero().get().equals(bosque.getOrigen(ganador)));
+            Assert.assertTrue(p.getUltimo().get().equals(ganador));
+            Assert.assertTrue(peso(p) == minima);
+            bosque = grafica.dijkstraMultiple(origenes, destinos, true, tipo);
+            Assert.assertTrue(bosque.getDistancia(bosque.getGanador()) == minima);
+            for (Integer t : destinos) {
+                Assert.assertTrue(bosque.alcanza(t));
+                Assert.assertTrue(bosque.getDistancia(t) == d[t]);
+                Assert.assertTrue(peso(bosque.trayectoria(t)) == d[t]);
+            }
+        }
+        grafica.agrega(total);
+        destinos = new Lista<Integer>();
+        destinos.agrega(total);
+        BosqueTrayectorias<Integer> bosque =
+            grafica.dijkstraMultiple(origenes, destinos, false);
+        Assert.assertTrue(bosque.getGanador() == null);
+        Assert.assertFalse(bosque.alcanza(total));
+        Assert.assertTrue(bosque.trayectoria(total).esVacia());
+        Assert.assertTrue(bosque.getOrigen(total) == null);
+        origenes.agrega(total);
+        bosque = grafica.dijkstraMultiple(origenes, destinos, false);
+        Assert.assertTrue(bosque.getGanador() == total);
+        Assert.assertTrue(bosque.getDistancia(total) == 0);
+        grafica.dijkstra(0, 1);
+        try {
+            bosque.getGanador();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /* Agrega a la lista los pesos de todas las trayectorias sin ciclos de v
+     * al destino que empiezan con la trayectoria recibida. */
+    private void pesosSinCiclos(int v, int destino, boolean[] visitados,
+                                double peso, Lista<Double> pesos) {
+        if (v == destino) {
+            pesos.agrega(peso);
+            return;
+        }
+        visitados[v] = true;
+        for (int u = 0; u < total; u++)
+            if (!visitados[u] && grafica.sonVecinos(v, u))
+                pesosSinCiclos(u, destino, visitados,
+                               peso + grafica.getPeso(v, u), pesos);
+        visitados[v] = false;
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#yen}.
+     */
+    @Test public void testYen() {
+        total = 3 + random.nextInt(6);
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 1; i < total; i++)
+            grafica.conecta(i - 1, i, 1 + random.nextInt(31));
+        for (int i = 0; i < total; i++)
+            for (int j = i + 2; j < total; j++)
+                if (random.nextInt(3) == 0)
+                    grafica.conecta(i, j, 1 + random.nextInt(31));
+        int destino = total - 1;
+        Lista<Double> pesos = new Lista<Double>();
+        pesosSinCiclos(0, destino, new boolean[total], 0, pesos);
+        pesos = Lista.mergeSort(pesos);
+        int k = 1 + random.nextInt(pesos.getElementos() + 3);
+        Lista<Lista<VerticeGrafica<Integer>>> trayectorias =
+            grafica.yen(0, destino, k);
+        Assert.assertTrue(trayectorias.getElementos() ==
+                          Math.min(k, pesos.getElementos()));
+        Lista<String> vistas = new Lista<String>();
+        int i = 0;
+        for (Lista<VerticeGrafica<Integer>> t : trayectorias) {
+            Assert.assertTrue(t.getPrimero().get() == 0);
+            Assert.assertTrue(t.getUltimo().get() == destino);
+            boolean[] visitados = new boolean[total];
+            String firma = "";
+            for (VerticeGrafica<Integer> v : t) {
+                Assert.assertFalse(visitados[v.get()]);
+                visitados[v.get()] = true;
+                firma += v.get() + ",";
+            }
+            Assert.assertTrue(peso(t) == pesos.get(i++));
+            Assert.assertFalse(vistas.contiene(firma));
+            vistas.agrega(firma);
+        }
+        Assert.assertTrue(grafica.yen(0, 0, 3).getElementos() == 1);
+        grafica.agrega(total);
+        Assert.assertTrue(grafica.yen(0, total, 3).esVacia());
+        try {
+            grafica.yen(0, destino, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
 }
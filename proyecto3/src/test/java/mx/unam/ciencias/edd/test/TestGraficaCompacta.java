@@ -0,0 +1,199 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.GraficaCompacta;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link GraficaCompacta}.
+ */
+public class TestGraficaCompacta {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La gráfica de referencia. */
+    private Grafica<Integer> grafica;
+
+    /**
+     * Crea una gráfica de referencia con aristas y pesos aleatorios para cada
+     * prueba.
+     */
+    public TestGraficaCompacta() {
+        random = new Random();
+        total = 2 + random.nextInt(100);
+        grafica = new Grafica<Integer>();
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int k = 0; k < 2 * total; k++) {
+            int i = random.nextInt(total);
+            int j = random.nextInt(total);
+            if (i != j && !grafica.sonVecinos(i, j))
+                grafica.conecta(i, j, 1 + random.nextInt(GraficaCompacta.PESO_MAXIMO));
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaCompacta#GraficaCompacta}.
+     */
+    @Test public void testConstructor() {
+        GraficaCompacta vacia = new GraficaCompacta(new int[] { 0 }, new int[0], new byte[0]);
+        Assert.assertTrue(vacia.getElementos() == 0);
+        Assert.assertTrue(vacia.getArcos() == 0);
+        Assert.assertTrue(vacia.esConexa());
+        GraficaCompacta arco = new GraficaCompacta(new int[] { 0, 1, 1 },
+                                                   new int[] { 1 },
+                                                   new byte[] { (byte)200 });
+        Assert.assertTrue(arco.sonVecinos(0, 1));
+        Assert.assertFalse(arco.sonVecinos(1, 0));
+        Assert.assertTrue(arco.getPeso(0, 1) == 200);
+        try {
+            new GraficaCompacta(new int[] { 0, 1 }, new int[] { 0 }, new byte[0]);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new GraficaCompacta(new int[] { 0, 1 }, new int[] { 1 }, new byte[] { 1 });
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new GraficaCompacta(new int[] { 0, 1 }, new int[] { 0 }, new byte[] { 0 });
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            new GraficaCompacta(new int[] { 0, 2, 1 }, new int[] { 0 }, new byte[] { 1 });
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link Grafica#compacta}.
+     */
+    @Test public void testCompacta() {
+        GraficaCompacta compacta = grafica.compacta();
+        Assert.assertTrue(compacta.getElementos() == total);
+        Assert.assertTrue(compacta.getArcos() == 2 * grafica.getAristas());
+        for (int i = 0; i < total; i++) {
+            Assert.assertTrue(compacta.getGrado(i) == grafica.vertice(i).getGrado());
+            for (int j = 0; j < total; j++) {
+                Assert.assertTrue(compacta.sonVecinos(i, j) == grafica.sonVecinos(i, j));
+                if (grafica.sonVecinos(i, j))
+                    Assert.assertTrue(compacta.getPeso(i, j) == grafica.getPeso(i, j));
+            }
+        }
+        int[] vecinos = new int[compacta.getGradoMaximo()];
+        int[] pesos = new int[compacta.getGradoMaximo()];
+        for (int i = 0; i < total; i++) {
+            int grado = compacta.vecinos(i, vecinos, pesos);
+            Assert.assertTrue(grado == compacta.getGrado(i));
+            for (int j = 0; j < grado; j++)
+                Assert.assertTrue(pesos[j] == grafica.getPeso(i, vecinos[j]));
+        }
+        try {
+            compacta.getGrado(total);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+        grafica.agrega(total);
+        grafica.conecta(0, total, 1.5);
+        try {
+            grafica.compacta();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+        grafica.setPeso(0, total, GraficaCompacta.PESO_MAXIMO + 1);
+        try {
+            grafica.compacta();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaCompacta#bfs} y {@link
+     * GraficaCompacta#dfs}, comparando el orden con el de {@link Grafica}.
+     */
+    @Test public void testRecorridos() {
+        GraficaCompacta compacta = grafica.compacta();
+        int origen = random.nextInt(total);
+        Lista<Integer> esperada = new Lista<Integer>();
+        Lista<Integer> obtenida = new Lista<Integer>();
+        grafica.bfs(origen, v -> esperada.agrega(v.get()));
+        compacta.bfs(origen, v -> obtenida.agrega(v));
+        Assert.assertTrue(esperada.equals(obtenida));
+        esperada.limpia();
+        obtenida.limpia();
+        grafica.dfs(origen, v -> esperada.agrega(v.get()));
+        compacta.dfs(origen, v -> obtenida.agrega(v));
+        Assert.assertTrue(esperada.equals(obtenida));
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaCompacta#esConexa}.
+     */
+    @Test public void testEsConexa() {
+        Assert.assertTrue(grafica.compacta().esConexa() == grafica.esConexa());
+        grafica.limpia();
+        grafica.agrega(0);
+        for (int i = 1; i < total; i++) {
+            grafica.agrega(i);
+            Assert.assertFalse(grafica.compacta().esConexa());
+            grafica.conecta(i-1, i);
+            Assert.assertTrue(grafica.compacta().esConexa());
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaCompacta#dijkstra(int,int)} y {@link
+     * GraficaCompacta#dijkstra(int)}, comparando los pesos con los de {@link
+     * Grafica#dijkstra}.
+     */
+    @Test public void testDijkstra() {
+        GraficaCompacta compacta = grafica.compacta();
+        Assert.assertTrue(compacta.getDistancia(0) == GraficaCompacta.INFINITO);
+        int origen = random.nextInt(total);
+        for (int i = 0; i < total; i++) {
+            Lista<VerticeGrafica<Integer>> esperada = grafica.dijkstra(origen, i);
+            int[] trayectoria = compacta.dijkstra(origen, i);
+            Assert.assertTrue(esperada.esVacia() == (trayectoria.length == 0));
+            if (trayectoria.length == 0) {
+                Assert.assertTrue(compacta.getDistancia(i) == GraficaCompacta.INFINITO);
+                continue;
+            }
+            Assert.assertTrue(trayectoria[0] == origen);
+            Assert.assertTrue(trayectoria[trayectoria.length - 1] == i);
+            int peso = 0;
+            for (int j = 1; j < trayectoria.length; j++)
+                peso += compacta.getPeso(trayectoria[j-1], trayectoria[j]);
+            double pesoEsperado = 0;
+            VerticeGrafica<Integer> anterior = null;
+            for (VerticeGrafica<Integer> v : esperada) {
+                if (anterior != null)
+                    pesoEsperado += grafica.getPeso(anterior.get(), v.get());
+                anterior = v;
+            }
+            Assert.assertTrue(peso == pesoEsperado);
+            Assert.assertTrue(compacta.getDistancia(i) == peso);
+        }
+        compacta.dijkstra(origen);
+        // Los recorridos no invalidan las distancias de la última búsqueda.
+        compacta.bfs(origen, v -> {});
+        for (int i = 0; i < total; i++) {
+            int[] trayectoria = compacta.trayectoria(i);
+            int peso = 0;
+            for (int j = 1; j < trayectoria.length; j++) {
+                Assert.assertTrue(compacta.getAnterior(trayectoria[j]) == trayectoria[j-1]);
+                peso += compacta.getPeso(trayectoria[j-1], trayectoria[j]);
+            }
+            if (trayectoria.length > 0)
+                Assert.assertTrue(compacta.getDistancia(i) == peso);
+        }
+        Assert.assertTrue(compacta.getAnterior(origen) == GraficaCompacta.NINGUNO);
+    }
+}
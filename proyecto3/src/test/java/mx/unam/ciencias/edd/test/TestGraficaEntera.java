@@ -0,0 +1,295 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Grafica;
+import mx.unam.ciencias.edd.GraficaEntera;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link GraficaEntera}.
+ */
+public class TestGraficaEntera {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* La gráfica. */
+    private GraficaEntera<Integer> grafica;
+
+    /**
+     * Crea una gráfica para cada prueba.
+     */
+    public TestGraficaEntera() {
+        random = new Random();
+        total = 2 + random.nextInt(100);
+        grafica = new GraficaEntera<Integer>();
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaEntera#GraficaEntera}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(grafica.esVacia());
+        Assert.assertTrue(grafica.getElementos() == 0);
+        Assert.assertTrue(grafica.getAristas() == 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaEntera#agrega}.
+     */
+    @Test public void testAgrega() {
+        try {
+            grafica.agrega(null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        for (int i = 0; i < total; i++) {
+            grafica.agrega(i);
+            Assert.assertTrue(grafica.contiene(i));
+            Assert.assertTrue(grafica.getElementos() == i+1);
+        }
+        try {
+            grafica.agrega(total/2);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaEntera#conecta(Object,Object,int)}.
+     */
+    @Test public void testConecta() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        int c = 0;
+        for (int i = 0; i < total; i++) {
+            for (int j = i+1; j < total; j++) {
+                int peso = 1 + random.nextInt(total);
+                Assert.assertFalse(grafica.sonVecinos(i, j));
+                grafica.conecta(i, j, peso);
+                Assert.assertTrue(grafica.sonVecinos(i, j));
+                Assert.assertTrue(grafica.sonVecinos(j, i));
+                Assert.assertTrue(grafica.getAristas() == ++c);
+                Assert.assertTrue(grafica.getPeso(i, j) == peso);
+                Assert.assertTrue(grafica.getPeso(j, i) == peso);
+            }
+        }
+        try {
+            grafica.conecta(0, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            grafica.conecta(-1, -2);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            grafica.conecta(0, 1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        grafica.agrega(-1);
+        try {
+            grafica.conecta(0, -1, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaEntera#desconecta} y {@link
+     * GraficaEntera#setPeso}.
+     */
+    @Test public void testDesconectaSetPeso() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 1; i < total; i++)
+            grafica.conecta(i-1, i);
+        for (int i = 1; i < total; i++) {
+            grafica.setPeso(i-1, i, i);
+            Assert.assertTrue(grafica.getPeso(i, i-1) == i);
+        }
+        try {
+            grafica.setPeso(0, 1, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        int aristas = total - 1;
+        for (int i = 1; i < total; i++) {
+            grafica.desconecta(i, i-1);
+            Assert.assertFalse(grafica.sonVecinos(i-1, i));
+            Assert.assertTrue(grafica.getAristas() == --aristas);
+            try {
+                grafica.getPeso(i-1, i);
+                Assert.fail();
+            } catch (IllegalArgumentException iae) {}
+        }
+        try {
+            grafica.desconecta(0, 1);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaEntera#elimina}.
+     */
+    @Test public void testElimina() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        for (int i = 0; i < total; i++)
+            for (int j = i+1; j < total; j++)
+                grafica.conecta(i, j);
+        int vertices = total;
+        int aristas = (total * (total - 1)) / 2;
+        for (int i = 0; i < total; i++) {
+            int grado = vertices - 1;
+            grafica.paraCadaVertice(v -> Assert.assertTrue(v.getGrado() == grado));
+            Assert.assertTrue(grafica.getElementos() == vertices);
+            Assert.assertTrue(grafica.getAristas() == aristas);
+            // Eliminamos en desorden para mover los índices de los vértices.
+            grafica.elimina((i % 2 == 0) ? i/2 : total - 1 - i/2);
+            vertices--;
+            aristas -= vertices;
+        }
+        Assert.assertTrue(grafica.esVacia());
+        Assert.assertTrue(grafica.getAristas() == 0);
+        try {
+            grafica.elimina(-1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaEntera#esConexa}.
+     */
+    @Test public void testEsConexa() {
+        grafica.agrega(0);
+        for (int i = 1; i < total; i++) {
+            grafica.agrega(i);
+            Assert.assertFalse(grafica.esConexa());
+            grafica.conecta(i-1, i);
+            Assert.assertTrue(grafica.esConexa());
+        }
+        grafica.desconecta(total/2 - 1, total/2);
+        Assert.assertFalse(grafica.esConexa());
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaEntera#bfs} y {@link
+     * GraficaEntera#dfs}.
+     */
+    @Test public void testRecorridos() {
+        for (int i = 0; i < 7; i++)
+            grafica.agrega(i);
+        grafica.conecta(0, 1);
+        grafica.conecta(0, 2);
+        grafica.conecta(1, 3);
+        grafica.conecta(1, 4);
+        grafica.conecta(3, 5);
+        grafica.conecta(3, 6);
+        int[] c = { 0 };
+        int[] a = { 0, 1, 2, 3, 4, 5, 6 };
+        grafica.bfs(0, v -> Assert.assertTrue(v.get() == a[c[0]++]));
+        Assert.assertTrue(c[0] == 7);
+        c[0] = 0;
+        int[] b = { 0, 2, 1, 4, 3, 6, 5 };
+        grafica.dfs(0, v -> Assert.assertTrue(v.get() == b[c[0]++]));
+        Assert.assertTrue(c[0] == 7);
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaEntera#iterator}, {@link
+     * GraficaEntera#equals} y {@link GraficaEntera#hashCode}.
+     */
+    @Test public void testIteratorEquals() {
+        GraficaEntera<Integer> otra = new GraficaEntera<Integer>();
+        for (int i = 0; i < total; i++) {
+            grafica.agrega(i);
+            otra.agrega(total - 1 - i);
+        }
+        int i = 0;
+        for (Integer e : grafica)
+            Assert.assertTrue(e == i++);
+        Assert.assertTrue(i == total);
+        Assert.assertTrue(grafica.equals(otra));
+        Assert.assertTrue(grafica.hashCode() == otra.hashCode());
+        grafica.conecta(0, total - 1);
+        Assert.assertFalse(grafica.equals(otra));
+        otra.conecta(total - 1, 0);
+        Assert.assertTrue(grafica.equals(otra));
+        Assert.assertTrue(grafica.hashCode() == otra.hashCode());
+        Assert.assertFalse(grafica.equals(null));
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaEntera#trayectoriaMinima}.
+     */
+    @Test public void testTrayectoriaMinima() {
+        for (int i = 0; i < total; i++)
+            grafica.agrega(i);
+        Lista<VerticeGrafica<Integer>> lista =
+            new Lista<VerticeGrafica<Integer>>();
+        lista.agrega(grafica.vertice(0));
+        Assert.assertTrue(lista.equals(grafica.trayectoriaMinima(0, 0)));
+        for (int i = 1; i < total; i++) {
+            Assert.assertTrue(grafica.trayectoriaMinima(0, i).esVacia());
+            grafica.conecta(i-1, i);
+            lista.agrega(grafica.vertice(i));
+            Assert.assertTrue(lista.equals(grafica.trayectoriaMinima(0, i)));
+            Assert.assertTrue(grafica.getDistancia(i) == i);
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link GraficaEntera#dijkstra}, comparando los
+     * pesos con los de {@link Grafica#dijkstra} en la misma gráfica.
+     */
+    @Test public void testDijkstra() {
+        Grafica<Integer> referencia = new Grafica<Integer>();
+        for (int i = 0; i < total; i++) {
+            grafica.agrega(i);
+            referencia.agrega(i);
+        }
+        for (int k = 0; k < 2 * total; k++) {
+            int i = random.nextInt(total);
+            int j = random.nextInt(total);
+            if (i == j || grafica.sonVecinos(i, j))
+                continue;
+            int peso = 1 + random.nextInt(31);
+            grafica.conecta(i, j, peso);
+            referencia.conecta(i, j, peso);
+        }
+        for (int i = 0; i < total; i++) {
+            Lista<VerticeGrafica<Integer>> dijkstra = grafica.dijkstra(0, i);
+            Lista<VerticeGrafica<Integer>> esperada = referencia.dijkstra(0, i);
+            Assert.assertTrue(dijkstra.getLongitud() == 0 ||
+                              dijkstra.getPrimero().get() == 0);
+            Assert.assertTrue(esperada.esVacia() == dijkstra.esVacia());
+            if (dijkstra.esVacia()) {
+                Assert.assertTrue(grafica.getDistancia(i) == GraficaEntera.INFINITO);
+                continue;
+            }
+            Assert.assertTrue(dijkstra.getUltimo().get() == i);
+            int peso = 0;
+            VerticeGrafica<Integer> anterior = null;
+            for (VerticeGrafica<Integer> v : dijkstra) {
+                if (anterior != null)
+                    peso += grafica.getPeso(anterior.get(), v.get());
+                anterior = v;
+            }
+            int pesoEsperado = 0;
+            anterior = null;
+            for (VerticeGrafica<Integer> v : esperada) {
+                if (anterior != null)
+                    pesoEsperado += (int)referencia.getPeso(anterior.get(), v.get());
+                anterior = v;
+            }
+            Assert.assertTrue(peso == pesoEsperado);
+            Assert.assertTrue(grafica.getDistancia(i) == peso);
+        }
+    }
+}
@@ -100,6 +100,27 @@ public class TestMonticuloArreglo {
             Assert.assertTrue(arreglo[i] == null);
     }
 
+    /**
+     * Prueba unitaria para {@link MonticuloArreglo#agrega}.
+     */
+    @Test public void testAgrega() {
+        Integer minimo = monticulo.elimina();
+        monticulo.agrega(minimo);
+        Assert.assertTrue(monticulo.getElementos() == total);
+        Assert.assertTrue(monticulo.elimina().equals(minimo));
+        monticulo = new MonticuloArreglo<Integer>(new Lista<Integer>(), 0);
+        Lista<Integer> ordenada = new Lista<Integer>();
+        for (int i = 0; i < total; i++) {
+            int e = random.nextInt();
+            monticulo.agrega(e);
+            ordenada.agrega(e);
+            Assert.assertTrue(monticulo.getElementos() == i + 1);
+        }
+        ordenada = Lista.mergeSort(ordenada);
+        while (!monticulo.esVacia())
+            Assert.assertTrue(monticulo.elimina().equals(ordenada.eliminaPrimero()));
+    }
+
     /**
      * Prueba unitaria para {@link MonticuloArreglo#esVacia}.
      */
@@ -0,0 +1,156 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.MonticuloCubetas;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloCubetas}.
+ */
+public class TestMonticuloCubetas {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El rango de las cubetas. */
+    private int rango;
+    /* Las cajas del montículo. */
+    private Lista<Caja<Integer>> cajas;
+    /* El montículo de cubetas. */
+    private MonticuloCubetas<Caja<Integer>> monticulo;
+
+    /* Crea un montículo de cubetas con las cajas recibidas. */
+    private MonticuloCubetas<Caja<Integer>> creaMonticulo(Lista<Caja<Integer>> l) {
+        return new MonticuloCubetas<Caja<Integer>>(l, l.getElementos(), rango,
+                                                   c -> c.getElemento());
+    }
+
+    /**
+     * Crea un montículo de cubetas con prioridades dentro del rango para cada
+     * prueba.
+     */
+    public TestMonticuloCubetas() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        rango = 1 + random.nextInt(31);
+        cajas = new Lista<Caja<Integer>>();
+        for (int i = 0; i < total; i++)
+            cajas.agrega(new Caja<Integer>(random.nextInt(rango + 1)));
+        monticulo = creaMonticulo(cajas);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloCubetas#MonticuloCubetas}.
+     */
+    @Test public void testConstructor() {
+        Assert.assertTrue(monticulo.getElementos() == total);
+        Assert.assertFalse(monticulo.esVacia());
+        Lista<Caja<Integer>> l = new Lista<Caja<Integer>>();
+        Assert.assertTrue(creaMonticulo(l).esVacia());
+        l.agrega(new Caja<Integer>(0));
+        l.agrega(new Caja<Integer>(rango + 1));
+        try {
+            creaMonticulo(l);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloCubetas#elimina}.
+     */
+    @Test public void testElimina() {
+        Lista<Integer> ordenada = new Lista<Integer>();
+        for (Caja<Integer> caja : cajas)
+            ordenada.agrega(caja.getElemento());
+        ordenada = Lista.mergeSort(ordenada);
+        while (!monticulo.esVacia()) {
+            Caja<Integer> caja = monticulo.elimina();
+            Assert.assertTrue(caja.getElemento().equals(ordenada.eliminaPrimero()));
+            Assert.assertTrue(monticulo.getElementos() == --total);
+        }
+        try {
+            monticulo.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloCubetas#reordena}, simulando el
+     * algoritmo de Dijkstra: las prioridades sólo decrementan y siempre están
+     * dentro del rango a partir del último mínimo.
+     */
+    @Test public void testReordena() {
+        cajas = new Lista<Caja<Integer>>();
+        for (int i = 0; i < total; i++)
+            cajas.agrega(new Caja<Integer>(MonticuloCubetas.INFINITO));
+        Caja<Integer> origen = cajas.getPrimero();
+        origen.setElemento(0);
+        monticulo = creaMonticulo(cajas);
+        int anterior = 0;
+        while (!monticulo.esVacia()) {
+            Caja<Integer> caja = monticulo.elimina();
+            int d = caja.getElemento();
+            Assert.assertTrue(d >= anterior);
+            anterior = d;
+            if (d == MonticuloCubetas.INFINITO)
+                continue;
+            for (int k = 0; k < 3; k++) {
+                Caja<Integer> vecina = cajas.get(random.nextInt(total));
+                int nueva = d + 1 + random.nextInt(rango);
+                if (nueva < vecina.getElemento()) {
+                    vecina.setElemento(nueva);
+                    monticulo.reordena(vecina);
+                }
+            }
+        }
+        for (Caja<Integer> caja : cajas)
+            monticulo.reordena(caja);
+        Assert.assertTrue(monticulo.esVacia());
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloCubetas#agrega}.
+     */
+    @Test public void testAgrega() {
+        Caja<Integer> minima = monticulo.elimina();
+        try {
+            monticulo.agrega(monticulo.get(0));
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        monticulo.agrega(minima);
+        Assert.assertTrue(monticulo.getElementos() == total);
+        Caja<Integer> caja = new Caja<Integer>(MonticuloCubetas.INFINITO);
+        monticulo.agrega(caja);
+        Assert.assertTrue(monticulo.getElementos() == total + 1);
+        Assert.assertTrue(monticulo.get(total) == caja);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloCubetas#get}.
+     */
+    @Test public void testGet() {
+        try {
+            monticulo.get(-1);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        try {
+            monticulo.get(total);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+        int anterior = -1;
+        for (int i = 0; i < total; i++) {
+            int p = monticulo.get(i).getElemento();
+            Assert.assertTrue(p >= anterior);
+            anterior = p;
+        }
+    }
+}
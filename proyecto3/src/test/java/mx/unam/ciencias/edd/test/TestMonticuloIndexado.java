@@ -0,0 +1,175 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.MonticuloIndexado;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link MonticuloIndexado}.
+ */
+public class TestMonticuloIndexado {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Número total de elementos. */
+    private int total;
+    /* El montículo indexado. */
+    private MonticuloIndexado monticulo;
+    /* Las prioridades de cada índice. */
+    private long[] prioridades;
+
+    /**
+     * Crea un montículo indexado con prioridades aleatorias para cada prueba.
+     */
+    public TestMonticuloIndexado() {
+        random = new Random();
+        total = 10 + random.nextInt(90);
+        monticulo = new MonticuloIndexado(total);
+        prioridades = new long[total];
+        for (int i = 0; i < total; i++) {
+            prioridades[i] = random.nextInt(1000);
+            monticulo.agrega(i, prioridades[i]);
+        }
+    }
+
+    /* Verifica que el montículo regrese los índices en orden de prioridad. */
+    private void verificaOrden() {
+        long anterior = Long.MIN_VALUE;
+        int c = 0;
+        while (!monticulo.esVacia()) {
+            int i = monticulo.elimina();
+            Assert.assertFalse(monticulo.contiene(i));
+            Assert.assertTrue(prioridades[i] >= anterior);
+            anterior = prioridades[i];
+            c++;
+        }
+        Assert.assertTrue(monticulo.getElementos() == 0);
+        Assert.assertTrue(c > 0);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexado#MonticuloIndexado}.
+     */
+    @Test public void testConstructor() {
+        MonticuloIndexado m = new MonticuloIndexado(total);
+        Assert.assertTrue(m.esVacia());
+        Assert.assertTrue(m.getElementos() == 0);
+        try {
+            m.elimina();
+            Assert.fail();
+        } catch (IllegalStateException ise) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexado#agrega}.
+     */
+    @Test public void testAgrega() {
+        Assert.assertTrue(monticulo.getElementos() == total);
+        for (int i = 0; i < total; i++)
+            Assert.assertTrue(monticulo.contiene(i));
+        try {
+            monticulo.agrega(0, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            monticulo.agrega(-1, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        long[] nuevas = new long[total * 3];
+        System.arraycopy(prioridades, 0, nuevas, 0, total);
+        prioridades = nuevas;
+        for (int i = total; i < prioridades.length; i++) {
+            prioridades[i] = random.nextInt(1000);
+            monticulo.agrega(i, prioridades[i]);
+        }
+        Assert.assertTrue(monticulo.getElementos() == prioridades.length);
+        verificaOrden();
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexado#elimina()}.
+     */
+    @Test public void testElimina() {
+        long[] ordenadas = prioridades.clone();
+        Arrays.sort(ordenadas);
+        for (int k = 0; k < total; k++) {
+            Assert.assertTrue(prioridades[monticulo.minimo()] == ordenadas[k]);
+            int i = monticulo.elimina();
+            Assert.assertTrue(prioridades[i] == ordenadas[k]);
+            Assert.assertTrue(monticulo.getElementos() == total - k - 1);
+        }
+        try {
+            monticulo.minimo();
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexado#elimina(int)}.
+     */
+    @Test public void testEliminaIndice() {
+        int eliminados = 0;
+        for (int i = 0; i < total; i += 2) {
+            monticulo.elimina(i);
+            Assert.assertFalse(monticulo.contiene(i));
+            eliminados++;
+        }
+        monticulo.elimina(0);
+        Assert.assertTrue(monticulo.getElementos() == total - eliminados);
+        while (!monticulo.esVacia())
+            Assert.assertTrue(monticulo.elimina() % 2 == 1);
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexado#reordena}.
+     */
+    @Test public void testReordena() {
+        for (int k = 0; k < total; k++) {
+            int i = random.nextInt(total);
+            prioridades[i] = random.nextInt(2000) - 500;
+            monticulo.reordena(i, prioridades[i]);
+            Assert.assertTrue(monticulo.getPrioridad(i) == prioridades[i]);
+        }
+        verificaOrden();
+        try {
+            monticulo.reordena(0, 0);
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexado#actualiza}.
+     */
+    @Test public void testActualiza() {
+        int i = monticulo.elimina();
+        prioridades[i] = -1;
+        monticulo.actualiza(i, -1);
+        Assert.assertTrue(monticulo.minimo() == i);
+        int j = (i + 1) % total;
+        prioridades[j] = -2;
+        monticulo.actualiza(j, -2);
+        Assert.assertTrue(monticulo.minimo() == j);
+        Assert.assertTrue(monticulo.getElementos() == total);
+        verificaOrden();
+    }
+
+    /**
+     * Prueba unitaria para {@link MonticuloIndexado#limpia}.
+     */
+    @Test public void testLimpia() {
+        monticulo.limpia();
+        Assert.assertTrue(monticulo.esVacia());
+        for (int i = 0; i < total; i++)
+            Assert.assertFalse(monticulo.contiene(i));
+        monticulo.agrega(0, 0);
+        Assert.assertTrue(monticulo.elimina() == 0);
+    }
+}
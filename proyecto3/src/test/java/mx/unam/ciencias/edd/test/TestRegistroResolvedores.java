@@ -0,0 +1,122 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+import mx.unam.ciencias.edd.Lista;
+import mx.unam.ciencias.edd.VerticeGrafica;
+import mx.unam.ciencias.edd.proyecto3.Cuarto;
+import mx.unam.ciencias.edd.proyecto3.Direccion;
+import mx.unam.ciencias.edd.proyecto3.Laberinto;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoKruskal;
+import mx.unam.ciencias.edd.proyecto3.banco.UtilBanco;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.RegistroResolvedores;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link RegistroResolvedores}.
+ */
+public class TestRegistroResolvedores {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Las columnas del laberinto. */
+    private int columnas;
+    /* Los renglones del laberinto. */
+    private int renglones;
+    /* Los cuartos de un laberinto perfecto. */
+    private byte[] cuartos;
+
+    /**
+     * Crea un laberinto perfecto para cada prueba.
+     */
+    public TestRegistroResolvedores() {
+        random = new Random();
+        columnas = 2 + random.nextInt(20);
+        renglones = 2 + random.nextInt(20);
+        cuartos = UtilBanco.cuartos(new GeneradorLaberintoKruskal(
+            UtilBanco.entrada(1 + random.nextInt(1000), columnas, renglones)));
+    }
+
+    /* Quita la primera pared interior del laberinto, lo que cierra un ciclo. */
+    private void quitaPared() {
+        for (int v = 0; v < cuartos.length; v++) {
+            for (Direccion d : new Direccion[] { Direccion.ESTE, Direccion.SUR }) {
+                int nx = v % columnas + d.getCambioColumna();
+                int ny = v / columnas + d.getCambioRenglon();
+                if (nx >= columnas || ny >= renglones || (cuartos[v] & d.getPared()) == 0)
+                    continue;
+                cuartos[v] &= ~d.getPared();
+                cuartos[ny * columnas + nx] &= ~d.getOpuesta().getPared();
+                return;
+            }
+        }
+        Assert.fail();
+    }
+
+    /* Regresa el costo del camino de solución del laberinto. */
+    private int costo(Laberinto laberinto) {
+        Lista<VerticeGrafica<Cuarto>> camino = new Lista<VerticeGrafica<Cuarto>>();
+        for (VerticeGrafica<Cuarto> v : laberinto.getCamino())
+            camino.agrega(v);
+        return laberinto.getCosto(camino);
+    }
+
+    /**
+     * Prueba unitaria para {@link RegistroResolvedores#elige}.
+     */
+    @Test public void testElige() {
+        Laberinto laberinto = UtilBanco.laberinto(cuartos, columnas, renglones);
+        Assert.assertTrue(laberinto.esPerfecto());
+        Assert.assertTrue(RegistroResolvedores.elige(laberinto) ==
+                          RegistroResolvedores.getResolvedor(RegistroResolvedores.ARBOL));
+        quitaPared();
+        laberinto = UtilBanco.laberinto(cuartos, columnas, renglones);
+        Assert.assertFalse(laberinto.esPerfecto());
+        Assert.assertTrue(RegistroResolvedores.elige(laberinto) ==
+                          RegistroResolvedores.getResolvedor(RegistroResolvedores.IMPLICITO));
+    }
+
+    /**
+     * Prueba unitaria para {@link RegistroResolvedores#getResolvedor}: todos
+     * los resolvedores registrados encuentran un camino del mismo costo.
+     */
+    @Test public void testGetResolvedor() {
+        UtilBanco.trenza(cuartos, columnas, renglones, 0.2, random.nextLong());
+        int costo = costo(UtilBanco.laberinto(cuartos, columnas, renglones));
+        for (String nombre : RegistroResolvedores.getNombres()) {
+            Assert.assertTrue(RegistroResolvedores.contiene(nombre));
+            Laberinto laberinto = UtilBanco.laberinto(cuartos, columnas, renglones,
+                RegistroResolvedores.getResolvedor(nombre));
+            Assert.assertTrue(costo(laberinto) == costo);
+        }
+        Assert.assertFalse(RegistroResolvedores.contiene(null));
+        try {
+            RegistroResolvedores.getResolvedor("");
+            Assert.fail();
+        } catch (NoSuchElementException nsee) {}
+    }
+
+    /**
+     * Prueba unitaria para {@link RegistroResolvedores#registra}.
+     */
+    @Test public void testRegistra() {
+        try {
+            RegistroResolvedores.registra(RegistroResolvedores.ARBOL, l -> {});
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            RegistroResolvedores.registra(null, l -> {});
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            RegistroResolvedores.registra("", null);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+}
@@ -0,0 +1,125 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.proyecto3.Direccion;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoKruskal;
+import mx.unam.ciencias.edd.proyecto3.banco.UtilBanco;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.ResolvedorDeltaStepping;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ResolvedorDeltaStepping}.
+ */
+public class TestResolvedorDeltaStepping {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Las columnas del laberinto. */
+    private int columnas;
+    /* Los renglones del laberinto. */
+    private int renglones;
+    /* Los cuartos de un laberinto trenzado. */
+    private byte[] cuartos;
+
+    /**
+     * Crea un laberinto trenzado para cada prueba.
+     */
+    public TestResolvedorDeltaStepping() {
+        random = new Random();
+        columnas = 2 + random.nextInt(100);
+        renglones = 2 + random.nextInt(100);
+        cuartos = UtilBanco.cuartos(new GeneradorLaberintoKruskal(
+            UtilBanco.entrada(1 + random.nextInt(1000), columnas, renglones)));
+        UtilBanco.trenza(cuartos, columnas, renglones, 0.2, random.nextLong());
+    }
+
+    /* Cierra todas las puertas interiores de un cuarto. */
+    private void aisla(int v) {
+        int x = v % columnas;
+        int y = v / columnas;
+        for (Direccion d : Direccion.values()) {
+            int nx = x + d.getCambioColumna();
+            int ny = y + d.getCambioRenglon();
+            if (nx < 0 || nx >= columnas || ny < 0 || ny >= renglones)
+                continue;
+            cuartos[v] |= d.getPared();
+            cuartos[ny * columnas + nx] |= d.getOpuesta().getPared();
+        }
+    }
+
+    /* Compara el resolvedor con el número de hilos recibido contra Dijkstra. */
+    private void comparaConDijkstra(int hilos) {
+        GraficaCuartos grafica = new GraficaCuartos(cuartos, columnas, renglones);
+        BusquedaImplicita busqueda = new BusquedaImplicita(grafica);
+        try (ResolvedorDeltaStepping delta =
+             new ResolvedorDeltaStepping(cuartos, columnas, renglones, hilos)) {
+            for (int i = 0; i < 3; i++) {
+                int origen = random.nextInt(cuartos.length);
+                busqueda.dijkstra(origen);
+                delta.calculaDistancias(origen);
+                for (int v = 0; v < cuartos.length; v++)
+                    Assert.assertTrue(delta.getDistancia(v) == busqueda.getDistancia(v));
+                int destino = random.nextInt(cuartos.length);
+                int[] trayectoria = delta.trayectoria(destino);
+                Assert.assertTrue(trayectoria[0] == origen);
+                Assert.assertTrue(trayectoria[trayectoria.length - 1] == destino);
+                int costo = 0;
+                for (int k = 1; k < trayectoria.length; k++)
+                    costo += grafica.getPeso(trayectoria[k - 1], trayectoria[k]);
+                Assert.assertTrue(costo == busqueda.getDistancia(destino));
+            }
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ResolvedorDeltaStepping#calculaDistancias}
+     * y {@link ResolvedorDeltaStepping#trayectoria} con un solo hilo.
+     */
+    @Test public void testUnHilo() {
+        comparaConDijkstra(1);
+    }
+
+    /**
+     * Prueba unitaria para {@link ResolvedorDeltaStepping#calculaDistancias}
+     * y {@link ResolvedorDeltaStepping#trayectoria} con varios hilos.
+     */
+    @Test public void testVariosHilos() {
+        comparaConDijkstra(2 + random.nextInt(4));
+    }
+
+    /**
+     * Prueba unitaria para {@link ResolvedorDeltaStepping#resuelve}.
+     */
+    @Test public void testResuelve() {
+        int origen = random.nextInt(cuartos.length);
+        int destino = (origen + 1 + random.nextInt(cuartos.length - 1)) % cuartos.length;
+        aisla(destino);
+        try (ResolvedorDeltaStepping delta =
+             new ResolvedorDeltaStepping(cuartos, columnas, renglones, 2)) {
+            Assert.assertTrue(delta.resuelve(origen, destino).length == 0);
+            Assert.assertTrue(delta.getDistancia(destino) == BusquedaImplicita.INFINITO);
+            int[] trayectoria = delta.resuelve(origen, origen);
+            Assert.assertTrue(trayectoria.length == 1 && trayectoria[0] == origen);
+            try {
+                delta.resuelve(origen, cuartos.length);
+                Assert.fail();
+            } catch (IndexOutOfBoundsException ioobe) {}
+            try {
+                delta.resuelve(-1, destino);
+                Assert.fail();
+            } catch (IndexOutOfBoundsException ioobe) {}
+        }
+        try {
+            new ResolvedorDeltaStepping(cuartos, columnas, renglones, 0);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+    }
+}
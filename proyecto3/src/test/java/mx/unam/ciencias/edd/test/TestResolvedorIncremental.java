@@ -0,0 +1,150 @@
+package mx.unam.ciencias.edd.test;
+
+import java.util.Random;
+import mx.unam.ciencias.edd.BusquedaImplicita;
+import mx.unam.ciencias.edd.proyecto3.Direccion;
+import mx.unam.ciencias.edd.proyecto3.GraficaCuartos;
+import mx.unam.ciencias.edd.proyecto3.algoritmos.GeneradorLaberintoKruskal;
+import mx.unam.ciencias.edd.proyecto3.banco.UtilBanco;
+import mx.unam.ciencias.edd.proyecto3.resolvedores.ResolvedorIncremental;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+
+/**
+ * Clase para pruebas unitarias de la clase {@link ResolvedorIncremental}.
+ */
+public class TestResolvedorIncremental {
+
+    /** Expiración para que ninguna prueba tarde más de 5 segundos. */
+    @Rule public Timeout expiracion = Timeout.seconds(5);
+
+    /* Generador de números aleatorios. */
+    private Random random;
+    /* Las columnas del laberinto. */
+    private int columnas;
+    /* Los renglones del laberinto. */
+    private int renglones;
+    /* La entrada del laberinto. */
+    private int entrada;
+    /* La salida del laberinto. */
+    private int salida;
+    /* El resolvedor incremental. */
+    private ResolvedorIncremental resolvedor;
+
+    /**
+     * Crea un resolvedor sobre un laberinto trenzado para cada prueba.
+     */
+    public TestResolvedorIncremental() {
+        random = new Random();
+        columnas = 2 + random.nextInt(30);
+        renglones = 2 + random.nextInt(30);
+        byte[] cuartos = UtilBanco.cuartos(new GeneradorLaberintoKruskal(
+            UtilBanco.entrada(1 + random.nextInt(1000), columnas, renglones)));
+        UtilBanco.trenza(cuartos, columnas, renglones, 0.2, random.nextLong());
+        entrada = random.nextInt(cuartos.length);
+        salida = random.nextInt(cuartos.length);
+        resolvedor = new ResolvedorIncremental(cuartos, columnas, renglones, entrada, salida);
+    }
+
+    /* Nos dice si el cuarto tiene un vecino en la dirección. */
+    private boolean hayVecino(int v, Direccion d) {
+        int nx = v % columnas + d.getCambioColumna();
+        int ny = v / columnas + d.getCambioRenglon();
+        return nx >= 0 && nx < columnas && ny >= 0 && ny < renglones;
+    }
+
+    /* Compara la solución del resolvedor con el algoritmo de Dijkstra. */
+    private void comparaConDijkstra() {
+        int[] trayectoria = resolvedor.resuelve();
+        GraficaCuartos grafica = new GraficaCuartos(resolvedor.getCuartos(), columnas, renglones);
+        BusquedaImplicita busqueda = new BusquedaImplicita(grafica);
+        busqueda.dijkstra(entrada);
+        int distancia = busqueda.getDistancia(salida);
+        Assert.assertTrue(resolvedor.getDistancia() == distancia);
+        if (distancia == BusquedaImplicita.INFINITO) {
+            Assert.assertTrue(trayectoria.length == 0);
+            return;
+        }
+        Assert.assertTrue(trayectoria[0] == entrada);
+        Assert.assertTrue(trayectoria[trayectoria.length - 1] == salida);
+        int costo = 0;
+        for (int i = 1; i < trayectoria.length; i++)
+            costo += grafica.getPeso(trayectoria[i - 1], trayectoria[i]);
+        Assert.assertTrue(costo == distancia);
+    }
+
+    /**
+     * Prueba unitaria para {@link ResolvedorIncremental#resuelve} después de
+     * abrir y cerrar puertas y cambiar puntajes.
+     */
+    @Test public void testResuelve() {
+        comparaConDijkstra();
+        Direccion[] direcciones = Direccion.values();
+        for (int i = 0; i < 100; i++) {
+            int v = random.nextInt(columnas * renglones);
+            Direccion d = direcciones[random.nextInt(direcciones.length)];
+            switch (random.nextInt(3)) {
+            case 0:
+                if (hayVecino(v, d))
+                    resolvedor.abrePuerta(v, d);
+                break;
+            case 1:
+                if (hayVecino(v, d))
+                    resolvedor.cierraPuerta(v, d);
+                break;
+            default:
+                resolvedor.setPuntaje(v, random.nextInt(16));
+            }
+            comparaConDijkstra();
+        }
+    }
+
+    /**
+     * Prueba unitaria para {@link ResolvedorIncremental#resuelve} cuando la
+     * salida deja de ser alcanzable y vuelve a serlo.
+     */
+    @Test public void testSalidaInalcanzable() {
+        if (entrada == salida)
+            salida = (salida + 1) % (columnas * renglones);
+        resolvedor = new ResolvedorIncremental(resolvedor.getCuartos(), columnas, renglones,
+                                               entrada, salida);
+        comparaConDijkstra();
+        Direccion abierta = null;
+        for (Direccion d : Direccion.values())
+            if (hayVecino(salida, d)) {
+                resolvedor.cierraPuerta(salida, d);
+                abierta = d;
+            }
+        Assert.assertTrue(resolvedor.resuelve().length == 0);
+        Assert.assertTrue(resolvedor.getDistancia() == BusquedaImplicita.INFINITO);
+        resolvedor.setPuntaje(salida, random.nextInt(16));
+        Assert.assertTrue(resolvedor.resuelve().length == 0);
+        resolvedor.abrePuerta(salida, abierta);
+        comparaConDijkstra();
+    }
+
+    /**
+     * Prueba unitaria para las modificaciones inválidas de {@link
+     * ResolvedorIncremental}.
+     */
+    @Test public void testModificacionesInvalidas() {
+        try {
+            resolvedor.setPuntaje(entrada, 16);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            resolvedor.setPuntaje(-1, 0);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+        try {
+            resolvedor.abrePuerta(0, Direccion.NORTE);
+            Assert.fail();
+        } catch (IllegalArgumentException iae) {}
+        try {
+            resolvedor.cierraPuerta(columnas * renglones, Direccion.SUR);
+            Assert.fail();
+        } catch (IndexOutOfBoundsException ioobe) {}
+    }
+}